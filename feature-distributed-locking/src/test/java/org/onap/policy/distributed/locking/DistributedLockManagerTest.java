@@ -197,8 +197,8 @@ class DistributedLockManagerTest {
         // grant() and deny() calls will come through here and be immediately executed
         PolicySession session = new PolicySession(null, null, kieSess) {
             @Override
-            public void insertDrools(Object object) {
-                ((Runnable) object).run();
+            public void execute(Runnable task) {
+                task.run();
             }
         };
 
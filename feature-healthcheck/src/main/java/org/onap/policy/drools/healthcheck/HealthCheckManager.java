@@ -49,6 +49,7 @@ import org.onap.policy.common.endpoints.http.server.HttpServletServerFactory;
 import org.onap.policy.common.endpoints.http.server.HttpServletServerFactoryInstance;
 import org.onap.policy.drools.controller.DroolsController;
 import org.onap.policy.drools.persistence.SystemPersistenceConstants;
+import org.onap.policy.drools.system.IngressQueueStats;
 import org.onap.policy.drools.system.PolicyController;
 import org.onap.policy.drools.system.PolicyControllerConstants;
 import org.onap.policy.drools.system.PolicyControllerFactory;
@@ -280,7 +281,22 @@ public class HealthCheckManager implements HealthCheck {
          * potentially blocking drools application operation
          */
 
-        return reportOn(controller.getDrools(), report).setEndTime();
+        reportOn(controller.getDrools(), report);
+        reportOn(controller.getIngressStats(), report);
+        return report.setEndTime();
+    }
+
+    private void reportOn(IngressQueueStats ingress, @NonNull Report report) {
+        if (ingress == null) {
+            return;
+        }
+
+        /*
+         * the high-water mark tells how close to overflowing the controller has been
+         */
+        report.setMessage(StringUtils.defaultString(report.getMessage()) + "[ingress:depth=" + ingress.getDepth()
+            + ",maxDepth=" + ingress.getMaxDepth() + ",capacity=" + ingress.getCapacity()
+            + ",dropped=" + ingress.getDropped() + ",paused=" + ingress.isPaused() + "]");
     }
 
     private Report reportOn(@NonNull DroolsController drools, @NonNull Report report) {
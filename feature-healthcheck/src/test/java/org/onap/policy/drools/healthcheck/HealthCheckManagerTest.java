@@ -52,6 +52,7 @@ import org.onap.policy.common.endpoints.http.server.HttpServletServerFactory;
 import org.onap.policy.drools.controller.DroolsController;
 import org.onap.policy.drools.healthcheck.HealthCheck.Report;
 import org.onap.policy.drools.healthcheck.HealthCheck.Reports;
+import org.onap.policy.drools.system.IngressQueueStats;
 import org.onap.policy.drools.system.PolicyController;
 import org.onap.policy.drools.system.PolicyControllerFactory;
 import org.onap.policy.drools.system.PolicyEngine;
@@ -334,6 +335,23 @@ class HealthCheckManagerTest {
         when(drools1.isAlive()).thenReturn(true);
 
         assertController2(monitor.controllerHealthcheck(controller2));
+
+        /* ingress queue high-water mark */
+
+        var ingress = mock(IngressQueueStats.class);
+        when(ingress.getDepth()).thenReturn(1);
+        when(ingress.getMaxDepth()).thenReturn(5);
+        when(ingress.getCapacity()).thenReturn(10);
+        when(ingress.getDropped()).thenReturn(2L);
+        when(controller1.getIngressStats()).thenReturn(ingress);
+
+        reports = monitor.controllerHealthcheck(controller1);
+        logger.info("{}", reports);
+
+        var report = reports.getDetails().stream()
+                        .filter(rpt -> controller1.getName().equals(rpt.getName())).findFirst().orElseThrow();
+        assertTrue(report.isHealthy());
+        assertTrue(report.getMessage().endsWith("[ingress:depth=1,maxDepth=5,capacity=10,dropped=2,paused=false]"));
     }
 
     @Test
@@ -66,6 +66,7 @@ public class PolicyTypeDroolsController implements PolicyTypeController {
         this.policyType = policyType;
         this.controllers.put(controller.getName(), controller);
         this.fsm = fsm;
+        indexPolicies(controller);
     }
 
     @Override
@@ -93,6 +94,15 @@ public class PolicyTypeDroolsController implements PolicyTypeController {
                 "controller " + controller.getName() + " does not support " + this.policyType);
         }
         controllers.put(controller.getName(), controller);
+        indexPolicies(controller);
+    }
+
+    /**
+     * Indexes the policies in the sessions of a controller by identifier, so checking
+     * whether a policy is deployed does not scan all the policies in the sessions.
+     */
+    private static void indexPolicies(PolicyController controller) {
+        controller.getDrools().indexFacts(ToscaPolicy.class, ToscaPolicy::getIdentifier);
     }
 
     /**
@@ -21,19 +21,45 @@
 package org.onap.policy.drools.core;
 
 import java.util.concurrent.Executor;
-import lombok.AllArgsConstructor;
 import org.drools.core.WorkingMemory;
 
 /**
- * An executor that executes its tasks by inserting {@link DroolsRunnable} objects into
- * the working memory of a running session.
+ * An executor that executes its tasks on the thread of a running session. Tasks are
+ * passed to the session's task queue when the executor is built from a
+ * {@link PolicySession}, otherwise they are executed by inserting {@link DroolsRunnable}
+ * objects into the working memory of the session.
  */
-@AllArgsConstructor
 public class DroolsExecutor implements Executor {
+    private final PolicySession session;
     private final WorkingMemory workingMemory;
 
+    /**
+     * Constructs the object.
+     *
+     * @param session session whose thread executes the tasks
+     */
+    public DroolsExecutor(PolicySession session) {
+        this.session = session;
+        this.workingMemory = null;
+    }
+
+    /**
+     * Constructs the object.
+     *
+     * @param workingMemory working memory into which the tasks are inserted
+     */
+    public DroolsExecutor(WorkingMemory workingMemory) {
+        this.session = null;
+        this.workingMemory = workingMemory;
+    }
+
     @Override
     public void execute(Runnable command) {
+        if (session != null) {
+            session.execute(command);
+            return;
+        }
+
         DroolsRunnable runnable = command::run;
         workingMemory.insert(runnable);
     }
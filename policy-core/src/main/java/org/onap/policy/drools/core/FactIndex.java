@@ -0,0 +1,224 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.commons.lang3.ClassUtils;
+import org.kie.api.runtime.rule.FactHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optional secondary index of the facts of a 'PolicySession'. Facts of the classes
+ * registered with a key extractor, such as 'ToscaPolicy.getIdentifier()', are mapped
+ * from their class and key to their fact handles, so a fact can be found by equality
+ * without scanning all the facts of its class. The index is kept up to date by the
+ * 'RuleRuntimeEventListener' callbacks of the session.
+ *
+ * <p>The key of a fact must not change while it is in the session, unless the change
+ * is notified to Drools with an update.
+ */
+public class FactIndex {
+    private static final Logger logger = LoggerFactory.getLogger(FactIndex.class);
+
+    /**
+     * Index entry: the registered class and the key of a fact.
+     */
+    private record Key(Class<?> clazz, Object value) {
+    }
+
+    /**
+     * Registration that applies to a fact class.
+     */
+    private record Indexed(Class<?> clazz, Function<Object, Object> extractor) {
+    }
+
+    private static final Indexed NOT_INDEXED = new Indexed(null, null);
+
+    // key extractors of the registered classes
+    private final Map<Class<?>, Function<Object, Object>> extractors = new ConcurrentHashMap<>();
+
+    // registration that applies to each fact class, resolved once per class
+    private final Map<Class<?>, Indexed> resolved = new ConcurrentHashMap<>();
+
+    // handles of the indexed facts, by key
+    private final Map<Key, Set<FactHandle>> handles = new ConcurrentHashMap<>();
+
+    // key of each indexed fact, so it can be removed even if the fact has changed since
+    private final Map<FactHandle, Key> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a class of facts to be indexed. Facts of subclasses are indexed as well.
+     * Facts that are already in the session must be added by the caller.
+     *
+     * @param clazz class of the facts
+     * @param keyExtractor extracts the key of a fact, facts with a 'null' key are not indexed
+     */
+    public <T> void register(Class<T> clazz, Function<? super T, ?> keyExtractor) {
+        extractors.put(clazz, fact -> keyExtractor.apply(clazz.cast(fact)));
+        resolved.clear();
+    }
+
+    /**
+     * Indicates whether any class is registered.
+     *
+     * @return 'true' if facts of some class are indexed, 'false' if not
+     */
+    public boolean hasRegistrations() {
+        return !extractors.isEmpty();
+    }
+
+    /**
+     * Indicates whether facts of a class are indexed.
+     *
+     * @param clazz class of the facts
+     * @return 'true' if the facts are indexed, 'false' if not
+     */
+    public boolean isIndexed(Class<?> clazz) {
+        return resolve(clazz) != NOT_INDEXED;
+    }
+
+    /**
+     * Get the number of indexed facts.
+     *
+     * @return the number of indexed facts
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Adds a fact, if its class is indexed.
+     *
+     * @param fact the fact
+     * @param handle handle of the fact
+     */
+    public void add(Object fact, FactHandle handle) {
+        if (extractors.isEmpty() || fact == null) {
+            return;
+        }
+
+        var key = keyOf(fact);
+        if (key != null) {
+            handles.computeIfAbsent(key, unused -> ConcurrentHashMap.newKeySet()).add(handle);
+            keys.put(handle, key);
+        }
+    }
+
+    /**
+     * Removes a fact.
+     *
+     * @param handle handle of the fact
+     */
+    public void remove(FactHandle handle) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        var key = keys.remove(handle);
+        if (key != null) {
+            handles.computeIfPresent(key, (unused, set) -> {
+                set.remove(handle);
+                return (set.isEmpty() ? null : set);
+            });
+        }
+    }
+
+    /**
+     * Re-indexes a fact that has been updated.
+     *
+     * @param fact the fact
+     * @param handle handle of the fact
+     */
+    public void update(Object fact, FactHandle handle) {
+        remove(handle);
+        add(fact, handle);
+    }
+
+    /**
+     * Looks up the facts that have the same class and key as a given object.
+     *
+     * @param object object whose equal facts are sought
+     * @return the handles of the facts with the same key, which may or may not be equal
+     *     to the object, or 'null' if the object's class is not indexed or it has no key
+     */
+    public Collection<FactHandle> lookup(Object object) {
+        if (extractors.isEmpty() || object == null) {
+            return null;    // NOSONAR
+        }
+
+        var key = keyOf(object);
+        if (key == null) {
+            return null;    // NOSONAR -- distinguishes "not indexed" from "no facts"
+        }
+
+        Set<FactHandle> set = handles.get(key);
+        return (set == null ? List.of() : List.copyOf(set));
+    }
+
+    private Key keyOf(Object fact) {
+        var indexed = resolve(fact.getClass());
+        if (indexed == NOT_INDEXED) {
+            return null;
+        }
+
+        try {
+            Object value = indexed.extractor().apply(fact);
+            return (value == null ? null : new Key(indexed.clazz(), value));
+
+        } catch (RuntimeException e) {
+            logger.warn("cannot extract the index key of {}", fact.getClass().getName(), e);
+            return null;
+        }
+    }
+
+    private Indexed resolve(Class<?> clazz) {
+        return resolved.computeIfAbsent(clazz, this::findRegistration);
+    }
+
+    private Indexed findRegistration(Class<?> clazz) {
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            var extractor = extractors.get(current);
+            if (extractor != null) {
+                return new Indexed(current, extractor);
+            }
+        }
+
+        for (Class<?> iface : ClassUtils.getAllInterfaces(clazz)) {
+            var extractor = extractors.get(iface);
+            if (extractor != null) {
+                return new Indexed(iface, extractor);
+            }
+        }
+
+        return NOT_INDEXED;
+    }
+
+    @Override
+    public String toString() {
+        return "FactIndex [classes=" + extractors.keySet() + ", size=" + size() + "]";
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Selects the facts that are inserted into every partition of a session, rather than
+ * into the partition selected by their key, such as the policies that the rules of all
+ * the partitions apply. A fact is selected if its class, one of its superclasses or one
+ * of its interfaces has one of the configured names.
+ */
+public class PartitionBroadcast implements Predicate<Object> {
+
+    /**
+     * Classes of the facts that are always inserted into every partition.
+     */
+    public static final Set<String> DEFAULT_CLASSES =
+        Set.of("org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy");
+
+    // names of the classes of the facts inserted into every partition
+    private final Set<String> classNames;
+
+    // 'true' for the fact classes that are inserted into every partition
+    private final Map<Class<?>, Boolean> selected = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param classNames names of the classes of the facts inserted into every partition
+     */
+    public PartitionBroadcast(Set<String> classNames) {
+        this.classNames = Set.copyOf(classNames);
+    }
+
+    /**
+     * Indicates whether a fact is inserted into every partition.
+     *
+     * @param fact fact
+     * @return 'true' if the fact is inserted into every partition
+     */
+    @Override
+    public boolean test(Object fact) {
+        return (fact != null && selected.computeIfAbsent(fact.getClass(), this::isSelected));
+    }
+
+    private boolean isSelected(Class<?> clazz) {
+        Deque<Class<?>> types = new ArrayDeque<>();
+        types.add(clazz);
+
+        Class<?> type;
+        while ((type = types.poll()) != null) {
+            if (classNames.contains(type.getName())) {
+                return true;
+            }
+            if (type.getSuperclass() != null) {
+                types.add(type.getSuperclass());
+            }
+            Collections.addAll(types, type.getInterfaces());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionBroadcast [classNames=" + classNames + "]";
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Extracts the partition key of a fact from the first of a list of properties, such as
+ * 'requestId' or 'closedLoopControlName', that has a non-null value. Properties are read
+ * with their public getters, or looked up in facts that are maps. Facts without any of the
+ * properties have a 'null' key.
+ */
+public class PartitionKeyExtractor implements Function<Object, Object> {
+    private static final Logger logger = LoggerFactory.getLogger(PartitionKeyExtractor.class);
+
+    private static final String[] GETTER_PREFIXES = {"get", "is"};
+
+    // names of the properties holding the key, in order of preference
+    private final List<String> properties;
+
+    // getters of the properties, resolved once per fact class
+    private final Map<Class<?>, List<Method>> getters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param properties names of the properties holding the key, in order of preference
+     */
+    public PartitionKeyExtractor(List<String> properties) {
+        this.properties = List.copyOf(properties);
+    }
+
+    /**
+     * Gets the partition key of a fact.
+     *
+     * @param fact fact
+     * @return the value of the first property of the fact that is not 'null', or 'null'
+     *     if there is none
+     */
+    @Override
+    public Object apply(Object fact) {
+        if (fact instanceof Map<?, ?> map) {
+            for (String property : properties) {
+                Object value = map.get(property);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        if (fact == null) {
+            return null;
+        }
+
+        for (Method getter : getters.computeIfAbsent(fact.getClass(), this::findGetters)) {
+            try {
+                Object value = getter.invoke(fact);
+                if (value != null) {
+                    return value;
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                logger.debug("cannot get partition key {} of {}", getter.getName(), fact.getClass().getName(), e);
+            }
+        }
+        return null;
+    }
+
+    private List<Method> findGetters(Class<?> clazz) {
+        List<Method> methods = new ArrayList<>(properties.size());
+        for (String property : properties) {
+            var getter = findGetter(clazz, property);
+            if (getter != null) {
+                methods.add(getter);
+            }
+        }
+        return methods;
+    }
+
+    private static Method findGetter(Class<?> clazz, String property) {
+        String suffix = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        for (String prefix : GETTER_PREFIXES) {
+            try {
+                var method = clazz.getMethod(prefix + suffix);
+                if (method.getReturnType() != void.class) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                logger.trace("{} has no {}{}() method", clazz.getName(), prefix, suffix);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionKeyExtractor [properties=" + properties + "]";
+    }
+}
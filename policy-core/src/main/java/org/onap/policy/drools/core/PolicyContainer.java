@@ -22,14 +22,23 @@
 
 package org.onap.policy.drools.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.kie.api.KieServices;
 import org.kie.api.builder.KieScanner;
 import org.kie.api.builder.Message;
@@ -39,6 +48,7 @@ import org.kie.api.definition.KiePackage;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 import org.onap.policy.common.capabilities.Startable;
+import org.onap.policy.drools.properties.DroolsPropertyConstants;
 import org.onap.policy.drools.util.KieUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,8 +77,38 @@ public class PolicyContainer implements Startable {
     // (started = sessions created, threads running)
     private volatile boolean isStarted = false;
 
-    // maps session name into the associated 'PolicySession' instance
-    private final HashMap<String, PolicySession> sessions = new HashMap<>();
+    // separates the name of a 'KieSession' from the index of one of its partitions
+    public static final char PARTITION_SEPARATOR = '#';
+
+    // partition of the facts inserted into all the partitions of a session
+    private static final int ALL_PARTITIONS = -1;
+
+    // immutable snapshot of the sessions, replaced when sessions are added or removed,
+    // so that the per-event paths read it without locking
+    private volatile SessionTable sessionTable = SessionTable.EMPTY;
+
+    // serializes changes to 'sessionTable'
+    private final Object sessionLock = new Object();
+
+    // extracts the key that selects the partition of a fact, when 'KieSession'
+    // instances are partitioned
+    @Getter
+    @Setter
+    private volatile Function<Object, Object> partitionKeyExtractor = null;
+
+    // selects the facts inserted into every partition, when 'KieSession' instances
+    // are partitioned, in addition to the facts without a key
+    @Getter
+    @Setter
+    private volatile Predicate<Object> partitionBroadcast = null;
+
+    // indexes the facts of a class in a session, for each class indexed in all sessions
+    private final Map<Class<?>, Consumer<PolicySession>> factIndexes = new ConcurrentHashMap<>();
+
+    // controller properties, which configure the sessions (e.g. their 'ThreadModel')
+    @Getter
+    @Setter
+    private Properties properties = null;
 
     // if not null, this is a 'KieScanner' looking for updates
     private KieScanner scanner = null;
@@ -237,7 +277,7 @@ public class PolicyContainer implements Startable {
      * @return a PolicySession if found, 'null' if not
      */
     public PolicySession getPolicySession(String name) {
-        return sessions.get(name);
+        return sessionTable.get(name);
     }
 
     /**
@@ -248,9 +288,27 @@ public class PolicyContainer implements Startable {
      * @return a new or existing PolicySession, or 'null' if not found
      */
     private PolicySession activatePolicySession(String name, String kieBaseName) {
-        synchronized (sessions) {
+        return activatePolicySession(name, name, kieBaseName);
+    }
+
+    /**
+     * Internal method to create a PolicySession, possibly restoring it from persistent storage.
+     *
+     * @param name           of the PolicySession (and of its partition of the KieSession)
+     * @param kieSessionName name of the KieSession in the 'kmodule.xml' file
+     * @param kieBaseName    name of the associated 'KieBase' instance
+     * @return a new or existing PolicySession, or 'null' if not found
+     */
+    private PolicySession activatePolicySession(String name, String kieSessionName, String kieBaseName) {
+        synchronized (sessionLock) {
             logger.info("activatePolicySession:name :{}", name);
-            PolicySession session = sessions.computeIfAbsent(name, key -> makeSession(name, kieBaseName));
+            PolicySession session = sessionTable.get(name);
+            if (session == null) {
+                session = makeSession(name, kieSessionName, kieBaseName);
+                if (session != null) {
+                    sessionTable = sessionTable.withSession(name, session);
+                }
+            }
 
             logger.info("activatePolicySession:session - {} is returned.",
                 session == null ? "null" : session.getFullName());
@@ -258,7 +316,84 @@ public class PolicyContainer implements Startable {
         }
     }
 
-    private PolicySession makeSession(String name, String kieBaseName) {
+    /**
+     * Internal method to create the PolicySession instances of a KieSession -- a single one,
+     * or one per partition if the controller properties partition the sessions.
+     *
+     * @param kieSessionName name of the KieSession in the 'kmodule.xml' file
+     * @param kieBaseName    name of the associated 'KieBase' instance
+     * @return the PolicySession instances that were found or created
+     */
+    private List<PolicySession> activatePartitions(String kieSessionName, String kieBaseName) {
+        int count = getPartitionCount();
+        List<PolicySession> created = new ArrayList<>(count);
+
+        synchronized (sessionLock) {
+            if (count <= 1) {
+                var session = activatePolicySession(kieSessionName, kieBaseName);
+                if (session != null) {
+                    created.add(session);
+                }
+            } else {
+                for (var index = 0; index < count; ++index) {
+                    var session = activatePolicySession(kieSessionName + PARTITION_SEPARATOR + index,
+                        kieSessionName, kieBaseName);
+                    if (session != null) {
+                        created.add(session);
+                    }
+                }
+            }
+
+            if (!created.isEmpty()) {
+                sessionTable = sessionTable.withPartitions(kieSessionName, created.toArray(new PolicySession[0]));
+            }
+        }
+
+        return created;
+    }
+
+    private int getPartitionCount() {
+        if (properties == null) {
+            return 1;
+        }
+
+        return NumberUtils.toInt(properties.getProperty(DroolsPropertyConstants.PROPERTY_SESSION_PARTITIONS), 1);
+    }
+
+    /**
+     * Configures the partition key extractor and the facts inserted into every
+     * partition from the controller properties, unless they have been set already.
+     */
+    private void initPartitionKeyExtractor() {
+        if (getPartitionCount() <= 1) {
+            return;
+        }
+
+        if (partitionBroadcast == null) {
+            Set<String> classNames = new HashSet<>(PartitionBroadcast.DEFAULT_CLASSES);
+            classNames.addAll(splitProperty(DroolsPropertyConstants.PROPERTY_SESSION_PARTITION_BROADCAST));
+            partitionBroadcast = new PartitionBroadcast(classNames);
+        }
+
+        if (partitionKeyExtractor != null) {
+            return;
+        }
+
+        List<String> keys = splitProperty(DroolsPropertyConstants.PROPERTY_SESSION_PARTITION_KEY);
+        if (keys.isEmpty()) {
+            logger.warn("{}: sessions are partitioned, but no partition key is configured: "
+                + "all facts will be inserted into every partition", getName());
+        }
+
+        partitionKeyExtractor = new PartitionKeyExtractor(keys);
+    }
+
+    private List<String> splitProperty(String name) {
+        return Arrays.stream(StringUtils.split(StringUtils.defaultString(properties.getProperty(name)), ','))
+            .map(String::strip).filter(value -> !value.isEmpty()).toList();
+    }
+
+    private PolicySession makeSession(String name, String kieSessionName, String kieBaseName) {
         PolicySession session = null;
         KieSession kieSession = null;
 
@@ -276,13 +411,14 @@ public class PolicyContainer implements Startable {
 
         // if none of the features created the session, create one now
         if (kieSession == null) {
-            kieSession = kieContainer.newKieSession(name);
+            kieSession = kieContainer.newKieSession(kieSessionName);
         }
 
         if (kieSession != null) {
             // creation of 'KieSession' was successful - build
             // a PolicySession
             session = new PolicySession(name, this, kieSession);
+            applyFactIndexes(session);
 
             // notify features
             for (PolicySessionFeatureApi feature : PolicySessionFeatureApiConstants.getImpl().getList()) {
@@ -343,8 +479,8 @@ public class PolicyContainer implements Startable {
                 "KieSession '" + name + "' does not reside within container " + getName());
         }
 
-        synchronized (sessions) {
-            if (sessions.get(name) != null) {
+        synchronized (sessionLock) {
+            if (sessionTable.get(name) != null) {
                 throw new IllegalStateException("PolicySession '" + name + "' already exists");
             }
 
@@ -352,7 +488,9 @@ public class PolicyContainer implements Startable {
             // and return the object to the caller
             logger.info("adoptKieSession:create a new policySession with name {}", name);
             var policySession = new PolicySession(name, this, kieSession);
-            sessions.put(name, policySession);
+            applyFactIndexes(policySession);
+            sessionTable = sessionTable.withSession(name, policySession)
+                            .withPartitions(name, new PolicySession[] {policySession});
 
             // notify features
             for (PolicySessionFeatureApi feature : PolicySessionFeatureApiConstants.getImpl().getList()) {
@@ -397,7 +535,7 @@ public class PolicyContainer implements Startable {
         }
 
         // stop all session threads
-        for (PolicySession session : sessions.values()) {
+        for (PolicySession session : sessionTable.getPolicySessions()) {
             session.stopThread();
         }
 
@@ -409,7 +547,7 @@ public class PolicyContainer implements Startable {
         addCommonPackages();
 
         // restart all session threads, and notify the sessions
-        for (PolicySession session : sessions.values()) {
+        for (PolicySession session : sessionTable.getPolicySessions()) {
             session.startThread();
             session.updated();
         }
@@ -428,23 +566,47 @@ public class PolicyContainer implements Startable {
         }
     }
 
+    /**
+     * Updates the 'KieSession' event listeners of all the sessions of all the
+     * containers, after a change that affects them, such as a logger level.
+     */
+    public static void updateSessionListeners() {
+        for (PolicyContainer container : getPolicyContainers()) {
+            for (PolicySession session : container.getPolicySessions()) {
+                session.updateListeners();
+            }
+        }
+    }
+
     /**
      * Get policy sessions.
      *
      * @return all the 'PolicySession' instances
      */
     public Collection<PolicySession> getPolicySessions() {
+        startIfNoFeatures();
+
+        // return current set of PolicySessions
+        return sessionTable.getPolicySessions();
+    }
+
+    /**
+     * Indicates whether there are any sessions, without copying them.
+     *
+     * @return 'true' if there is at least one 'PolicySession', 'false' if not
+     */
+    public boolean hasSessions() {
+        startIfNoFeatures();
+        return !sessionTable.isEmpty();
+    }
+
+    private void startIfNoFeatures() {
         // KLUDGE WARNING: this is a temporary workaround -- if there are
         // no features, we don't have persistence, and 'activate' is never
         // called. In this case, make sure the container is started.
-        if (PolicySessionFeatureApiConstants.getImpl().getList().isEmpty()) {
+        if (!isStarted && PolicySessionFeatureApiConstants.getImpl().getList().isEmpty()) {
             start();
         }
-
-        // return current set of PolicySessions
-        synchronized (sessions) {
-            return new HashSet<>(sessions.values());
-        }
     }
 
     /**
@@ -485,6 +647,25 @@ public class PolicyContainer implements Startable {
         }.start();
     }
 
+    /**
+     * Index the facts of a class by key in all sessions, current and future, so they
+     * can be found by equality without scanning all the facts of the class.
+     *
+     * @param clazz        class of the facts
+     * @param keyExtractor extracts the key of a fact, such as its identifier
+     */
+    public <T> void indexFacts(@NonNull Class<T> clazz, @NonNull Function<? super T, ?> keyExtractor) {
+        Consumer<PolicySession> indexer = session -> session.indexFacts(clazz, keyExtractor);
+        factIndexes.put(clazz, indexer);
+        sessionTable.getPolicySessions().forEach(indexer);
+    }
+
+    private void applyFactIndexes(PolicySession session) {
+        for (Consumer<PolicySession> indexer : factIndexes.values()) {
+            indexer.accept(session);
+        }
+    }
+
     /**
      * Insert a fact into a specific named session.
      *
@@ -493,12 +674,19 @@ public class PolicyContainer implements Startable {
      * @return 'true' if the named session was found, 'false' if not
      */
     public boolean insert(String name, Object object) {
-        synchronized (sessions) {
-            PolicySession session = sessions.get(name);
-            if (session != null) {
-                session.insertDrools(object);
-                return true;
-            }
+        var table = sessionTable;
+
+        PolicySession[] group = table.getPartitions(name);
+        if (group != null) {
+            insertPartitioned(group, object);
+            return true;
+        }
+
+        // this may be a specific partition
+        PolicySession session = table.get(name);
+        if (session != null) {
+            session.insertDrools(object);
+            return true;
         }
         return false;
     }
@@ -511,15 +699,127 @@ public class PolicyContainer implements Startable {
      */
     public boolean insertAll(Object object) {
         var rval = false;
-        synchronized (sessions) {
-            for (PolicySession session : sessions.values()) {
+        for (PolicySession[] group : sessionTable.getAllPartitions()) {
+            insertPartitioned(group, object);
+            rval = true;
+        }
+        return rval;
+    }
+
+    /**
+     * Insert a batch of facts into all sessions associated with this container,
+     * with a single Drools batch command per session.
+     *
+     * @param objects these are the facts to be inserted into the sessions
+     * @return 'true' if the facts were inserted into at least one session, 'false' if not
+     */
+    public boolean insertBatch(Collection<?> objects) {
+        var rval = false;
+        for (PolicySession[] group : sessionTable.getAllPartitions()) {
+            insertPartitioned(group, objects);
+            rval = true;
+        }
+        return rval;
+    }
+
+    /**
+     * Insert a fact into every partition of all sessions associated with this container,
+     * such as a fact that the rules of all partitions need to see.  Each partition
+     * processes the same fact object.
+     *
+     * @param object this is the fact to be inserted into the partitions
+     * @return 'true' if the fact was inserted into at least one session, 'false' if not
+     */
+    public boolean insertAllPartitions(Object object) {
+        var rval = false;
+        for (PolicySession[] group : sessionTable.getAllPartitions()) {
+            for (PolicySession session : group) {
                 session.insertDrools(object);
-                rval = true;
             }
+            rval = true;
         }
         return rval;
     }
 
+    /**
+     * Insert a fact into the partition of a session selected by its key, or into all
+     * of them if it is broadcast.
+     *
+     * @param group  the session, or its partitions
+     * @param object the fact to be inserted
+     */
+    private void insertPartitioned(PolicySession[] group, Object object) {
+        int partition = partitionOf(group, object);
+        if (partition != ALL_PARTITIONS) {
+            group[partition].insertDrools(object);
+            return;
+        }
+
+        for (PolicySession session : group) {
+            session.insertDrools(object);
+        }
+    }
+
+    /**
+     * Insert a batch of facts into the partitions of a session selected by their keys,
+     * with a single Drools batch command per partition.
+     *
+     * @param group   the session, or its partitions
+     * @param objects the facts to be inserted
+     */
+    private void insertPartitioned(PolicySession[] group, Collection<?> objects) {
+        if (group.length == 1) {
+            group[0].insertAllDrools(objects);
+            return;
+        }
+
+        List<List<Object>> shards = new ArrayList<>(group.length);
+        for (var index = 0; index < group.length; ++index) {
+            shards.add(new ArrayList<>());
+        }
+
+        for (Object object : objects) {
+            int partition = partitionOf(group, object);
+            if (partition != ALL_PARTITIONS) {
+                shards.get(partition).add(object);
+                continue;
+            }
+
+            for (List<Object> shard : shards) {
+                shard.add(object);
+            }
+        }
+
+        for (var index = 0; index < group.length; ++index) {
+            if (!shards.get(index).isEmpty()) {
+                group[index].insertAllDrools(shards.get(index));
+            }
+        }
+    }
+
+    /**
+     * Selects the partition of a fact.  Facts without a key, and the facts selected by
+     * the partition broadcast, such as policies, go to all the partitions, so that the
+     * rules of every partition see them.
+     *
+     * @param group  the partitions of a session
+     * @param object the fact
+     * @return the index of the partition, or {@link #ALL_PARTITIONS}
+     */
+    private int partitionOf(PolicySession[] group, Object object) {
+        if (group.length == 1) {
+            return 0;
+        }
+
+        var broadcast = partitionBroadcast;
+        if (broadcast != null && broadcast.test(object)) {
+            return ALL_PARTITIONS;
+        }
+
+        Object key = (partitionKeyExtractor == null ? null : partitionKeyExtractor.apply(object));
+        return (key == null ? ALL_PARTITIONS : Math.floorMod(key.hashCode(), group.length));
+    }
+
     /*=======================*/
     /* 'Startable' interface */
     /*=======================*/
@@ -538,14 +838,16 @@ public class PolicyContainer implements Startable {
             return true;
         }
 
+        initPartitionKeyExtractor();
+
         // This will create all 'PolicySession' instances specified in the
-        // 'kmodule.xml' file that don't exist yet
+        // 'kmodule.xml' file that don't exist yet, one per partition when
+        // the sessions are partitioned
         for (String kieBaseName : kieContainer.getKieBaseNames()) {
             for (String kieSessionName : kieContainer.getKieSessionNamesInKieBase(kieBaseName)) {
-                // if the 'PolicySession' does not currently exist, this method
-                // call will attempt to create it
-                var session = activatePolicySession(kieSessionName, kieBaseName);
-                if (session != null) {
+                // if the 'PolicySession' instances do not currently exist, this method
+                // call will attempt to create them
+                for (PolicySession session : activatePartitions(kieSessionName, kieBaseName)) {
                     session.startThread();
                 }
             }
@@ -565,12 +867,12 @@ public class PolicyContainer implements Startable {
     private boolean doStop() {
         Collection<PolicySession> localSessions;
 
-        synchronized (sessions) {
+        synchronized (sessionLock) {
             // local set containing all the sessions
-            localSessions = new HashSet<>(sessions.values());
+            localSessions = sessionTable.getPolicySessions();
 
             // clear the 'name->session' map in 'PolicyContainer'
-            sessions.clear();
+            sessionTable = SessionTable.EMPTY;
         }
         for (PolicySession session : localSessions) {
             // stop session thread
@@ -628,12 +930,12 @@ public class PolicyContainer implements Startable {
         start();
         Collection<PolicySession> localSessions;
 
-        synchronized (sessions) {
+        synchronized (sessionLock) {
             // local set containing all the sessions
-            localSessions = new HashSet<>(sessions.values());
+            localSessions = sessionTable.getPolicySessions();
 
             // clear the 'name->session' map in 'PolicyContainer'
-            sessions.clear();
+            sessionTable = SessionTable.EMPTY;
         }
         for (PolicySession session : localSessions) {
             // stop session thread
@@ -22,8 +22,23 @@
 
 package org.onap.policy.drools.core;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import lombok.Getter;
+import org.drools.core.ClassObjectFilter;
+import org.kie.api.KieServices;
+import org.kie.api.command.KieCommands;
 import org.kie.api.event.rule.AfterMatchFiredEvent;
 import org.kie.api.event.rule.AgendaEventListener;
 import org.kie.api.event.rule.AgendaGroupPoppedEvent;
@@ -39,6 +54,7 @@ import org.kie.api.event.rule.RuleFlowGroupDeactivatedEvent;
 import org.kie.api.event.rule.RuleRuntimeEventListener;
 import org.kie.api.runtime.KieSession;
 import org.onap.policy.drools.core.jmx.PdpJmx;
+import org.onap.policy.drools.properties.DroolsPropertyConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,6 +73,9 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
     // supports 'getCurrentSession()' method
     private static ThreadLocal<PolicySession> policySess = new ThreadLocal<>();
 
+    // builds the batch insert commands
+    private static final KieCommands kieCommands = KieServices.Factory.get().getCommands();
+
     // name of the 'PolicySession' and associated 'KieSession'
     @Getter
     private String name;
@@ -74,8 +93,35 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
     @Getter
     private KieSession kieSession;
 
+    // optional index of the facts by class and key, kept up to date by the
+    // 'RuleRuntimeEventListener' callbacks
+    @Getter
+    private final FactIndex factIndex = new FactIndex();
+
+    // number of facts of each class in the 'KieSession', kept up to date by the
+    // 'RuleRuntimeEventListener' callbacks
+    private final Map<Class<?>, LongAdder> factCounts = new ConcurrentHashMap<>();
+
+    // 'true' if the facts are counted as they change, which needs the
+    // 'RuleRuntimeEventListener' -- on by default
+    private final boolean counting;
+
+    // 'true' if this is registered as a 'RuleRuntimeEventListener'
+    private boolean ruleRuntimeListener = false;
+
+    // tasks waiting to run on the session thread
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    // 'true' if the session thread has been asked to run the pending tasks
+    private final AtomicBoolean tasksScheduled = new AtomicBoolean(false);
+
+    // if not 'null', this profiles the execution of the rules
+    @Getter
+    private volatile RuleProfiler ruleProfiler = null;
+
     // if not 'null', this is the thread model processing the 'KieSession'
-    private ThreadModel threadModel = null;
+    @Getter
+    private volatile ThreadModel threadModel = null;
 
     /**
      * Internal constructor - create a 'PolicySession' instance.
@@ -89,8 +135,61 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
         this.name = name;
         this.container = container;
         this.kieSession = kieSession;
+
+        Properties properties = (container == null ? null : container.getProperties());
+        this.counting = (properties == null || !"false".equalsIgnoreCase(
+                properties.getProperty(DroolsPropertyConstants.PROPERTY_SESSION_COUNTING)));
+
+        if (counting) {
+            // the session may have been restored with facts (e.g. by a persistence feature)
+            for (Object fact : kieSession.getObjects()) {
+                countFact(fact, 1);
+            }
+        }
+
+        if (properties != null && Boolean.parseBoolean(
+                properties.getProperty(DroolsPropertyConstants.PROPERTY_SESSION_PROFILER))) {
+            ruleProfiler = new RuleProfiler();
+        }
+
+        // the fired rules are always counted, for 'PdpJmx'
         kieSession.addEventListener((AgendaEventListener) this);
-        kieSession.addEventListener((RuleRuntimeEventListener) this);
+
+        updateListeners();
+    }
+
+    /**
+     * Registers this session as a listener of the working memory events when they
+     * are in use, and unregisters it otherwise, so Drools does not build events that
+     * nobody needs. Working memory events are used for debug logging, counting and
+     * indexing the facts. This must be invoked when any of these change, such as the
+     * level of the logger. The agenda events, which count the fired rules, are
+     * always listened to.
+     */
+    public synchronized void updateListeners() {
+        boolean ruleRuntime = logger.isDebugEnabled() || counting || factIndex.hasRegistrations();
+        if (ruleRuntime != ruleRuntimeListener) {
+            if (ruleRuntime) {
+                kieSession.addEventListener((RuleRuntimeEventListener) this);
+            } else {
+                kieSession.removeEventListener((RuleRuntimeEventListener) this);
+            }
+            ruleRuntimeListener = ruleRuntime;
+        }
+    }
+
+    /**
+     * Enables or disables the profiling of the rules. Statistics are discarded
+     * when profiling is disabled.
+     *
+     * @param enabled 'true' to profile the rules, 'false' otherwise
+     */
+    public synchronized void setProfiling(boolean enabled) {
+        if (!enabled) {
+            ruleProfiler = null;
+        } else if (ruleProfiler == null) {
+            ruleProfiler = new RuleProfiler();
+        }
     }
 
     /**
@@ -127,13 +226,28 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
             }
         }
         if (threadModel == null) {
-            // no feature created a ThreadModel -- select the default
-            threadModel = new DefaultThreadModel(this);
+            // no feature created a ThreadModel -- use the controller configuration
+            threadModel = makeThreadModel();
         }
         logger.info("starting ThreadModel for session {}", getFullName());
         threadModel.start();
     }
 
+    /**
+     * Create the 'ThreadModel' selected by the controller properties, which is
+     * 'DefaultThreadModel' unless otherwise configured.
+     *
+     * @return a new 'ThreadModel'
+     */
+    private ThreadModel makeThreadModel() {
+        Properties properties = container.getProperties();
+        if (properties != null && QueuedThreadModel.NAME.equalsIgnoreCase(
+                properties.getProperty(DroolsPropertyConstants.PROPERTY_SESSION_THREAD_MODEL))) {
+            return new QueuedThreadModel(this, properties);
+        }
+        return new DefaultThreadModel(this);
+    }
+
     /**
      * If a 'ThreadModel' is currently running, this calls the 'stop()' method,
      * and sets the 'threadModel' reference to 'null'.
@@ -142,6 +256,11 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
         if (threadModel != null) {
             threadModel.stop();
             threadModel = null;
+
+            if (!tasks.isEmpty()) {
+                // tasks that the thread model did not run are left to the 'KieSession'
+                kieSession.submit(unused -> runTasks());
+            }
         }
     }
 
@@ -225,19 +344,173 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
      * @param object the object to insert in Drools memory
      */
     public void insertDrools(Object object) {
-        for (PolicySessionFeatureApi feature :
-                PolicySessionFeatureApiConstants.getImpl().getList()) {
-            if (feature.insertDrools(this, object)) {
-                // feature is performing the insert
-                return;
-            }
+        if (insertedByFeature(PolicySessionFeatureApiConstants.getImpl().getList(), object)) {
+            // feature is performing the insert
+            return;
         }
         // no feature has intervened -- do the insert locally
+        ThreadModel model = threadModel;
+        if (model != null && model.insert(Collections.singletonList(object))) {
+            // the thread model will insert it
+            return;
+        }
         if (kieSession != null) {
             kieSession.insert(object);
         }
     }
 
+    /**
+     * This method will insert a batch of objects into the Drools memory associated
+     * with this 'PolicySession' instance.  Features are given the opportunity
+     * to handle the insert of each object, as in 'insertDrools', and the remaining
+     * objects are inserted locally with a single Drools batch command.
+     *
+     * @param objects the objects to insert in Drools memory
+     */
+    public void insertAllDrools(Collection<?> objects) {
+        List<PolicySessionFeatureApi> features = PolicySessionFeatureApiConstants.getImpl().getList();
+        List<Object> local = new ArrayList<>(objects.size());
+        for (Object object : objects) {
+            if (!insertedByFeature(features, object)) {
+                local.add(object);
+            }
+        }
+
+        if (local.isEmpty()) {
+            return;
+        }
+
+        ThreadModel model = threadModel;
+        if (model == null || !model.insert(local)) {
+            insertLocally(local);
+        }
+    }
+
+    /**
+     * Insert objects in the 'KieSession' with a single Drools batch command,
+     * from the current thread, bypassing features and the 'ThreadModel'.
+     *
+     * @param objects the objects to insert in Drools memory
+     */
+    void insertLocally(Collection<?> objects) {
+        if (kieSession != null && !objects.isEmpty()) {
+            kieSession.execute(kieCommands.newInsertElements(objects));
+        }
+    }
+
+    /**
+     * Run a task on the session thread, without inserting it in Drools memory.
+     * Tasks run in the order they are submitted, and the tasks that are pending
+     * when the session thread wakes up run together, between the firing of rules.
+     *
+     * @param task the task to run
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+
+        if (tasksScheduled.compareAndSet(false, true)) {
+            ThreadModel model = threadModel;
+            if ((model == null || !model.tasksPending()) && kieSession != null) {
+                // 'fireUntilHalt()' and 'fireAllRules()' both run submitted actions
+                kieSession.submit(unused -> runTasks());
+            }
+        }
+    }
+
+    /**
+     * Run a task on the session thread, as in 'execute', unless a feature handles
+     * it. Features are given the opportunity to handle the task as they would
+     * handle its insert through 'insertDrools', so a distributed host feature
+     * could run it on another host.
+     *
+     * @param task the task to run
+     */
+    public void executeDrools(DroolsRunnable task) {
+        if (insertedByFeature(PolicySessionFeatureApiConstants.getImpl().getList(), task)) {
+            // feature is handling the task
+            return;
+        }
+
+        execute(task);
+    }
+
+    /**
+     * Run the pending tasks. This must only be invoked from the session thread.
+     */
+    void runTasks() {
+        // reset first, so tasks added while draining schedule another run
+        tasksScheduled.set(false);
+
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("{}: task failed", getFullName(), e);
+            }
+        }
+    }
+
+    /**
+     * Index the facts of a class by key, so they can be found by equality without
+     * scanning all the facts of the class. Facts already in the session are indexed too.
+     *
+     * @param clazz        class of the facts
+     * @param keyExtractor extracts the key of a fact
+     */
+    public <T> void indexFacts(Class<T> clazz, Function<? super T, ?> keyExtractor) {
+        factIndex.register(clazz, keyExtractor);
+
+        if (kieSession != null) {
+            // listen before indexing, so facts inserted in the meantime are not missed
+            updateListeners();
+
+            for (var handle : kieSession.getFactHandles(new ClassObjectFilter(clazz))) {
+                factIndex.add(kieSession.getObject(handle), handle);
+            }
+        }
+    }
+
+    /**
+     * Get the number of facts of each class in the 'KieSession'. Unless counting
+     * is disabled, the counts are maintained as facts are inserted, updated and
+     * deleted, so this does not scan the facts.
+     *
+     * @return the number of facts of each class, for the classes that have facts
+     */
+    public Map<Class<?>, Long> getFactCounts() {
+        Map<Class<?>, Long> counts = new HashMap<>();
+        if (!counting) {
+            for (Object fact : kieSession.getObjects()) {
+                counts.merge(fact.getClass(), 1L, Long::sum);
+            }
+            return counts;
+        }
+
+        factCounts.forEach((clazz, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                counts.put(clazz, value);
+            }
+        });
+        return counts;
+    }
+
+    private void countFact(Object fact, int delta) {
+        if (counting && fact != null) {
+            factCounts.computeIfAbsent(fact.getClass(), unused -> new LongAdder()).add(delta);
+        }
+    }
+
+    private boolean insertedByFeature(List<PolicySessionFeatureApi> features, Object object) {
+        for (PolicySessionFeatureApi feature : features) {
+            if (feature.insertDrools(this, object)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /*=================================*/
     /* 'AgendaEventListener' interface */
     /*=================================*/
@@ -249,6 +522,11 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
     public void afterMatchFired(AfterMatchFiredEvent event) {
         logger.debug("afterMatchFired: {}: AgendaEventListener.afterMatchFired({})", getFullName(), event);
         PdpJmx.getInstance().ruleFired();
+
+        var profiler = ruleProfiler;
+        if (profiler != null) {
+            profiler.afterFired(event.getMatch().getRule());
+        }
     }
 
     /**
@@ -291,6 +569,11 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
     @Override
     public void beforeMatchFired(BeforeMatchFiredEvent event) {
         logger.debug("beforeMatchFired: {}: AgendaEventListener.beforeMatchFired({})", getFullName(), event);
+
+        var profiler = ruleProfiler;
+        if (profiler != null) {
+            profiler.beforeFired();
+        }
     }
 
     /**
@@ -317,6 +600,11 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
     @Override
     public void matchCancelled(MatchCancelledEvent event) {
         logger.debug("matchCancelled: {}: AgendaEventListener.matchCancelled({})", getFullName(), event);
+
+        var profiler = ruleProfiler;
+        if (profiler != null) {
+            profiler.matchCancelled(event.getMatch().getRule());
+        }
     }
 
     /**
@@ -325,6 +613,11 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
     @Override
     public void matchCreated(MatchCreatedEvent event) {
         logger.debug("matchCreated: {}: AgendaEventListener.matchCreated({})", getFullName(), event);
+
+        var profiler = ruleProfiler;
+        if (profiler != null) {
+            profiler.matchCreated(event.getMatch().getRule());
+        }
     }
 
     /* ====================================== */
@@ -337,6 +630,8 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
     @Override
     public void objectDeleted(ObjectDeletedEvent event) {
         logger.debug("objectDeleted: {}: AgendaEventListener.objectDeleted({})", getFullName(), event);
+        factIndex.remove(event.getFactHandle());
+        countFact(event.getOldObject(), -1);
     }
 
     /**
@@ -345,6 +640,8 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
     @Override
     public void objectInserted(ObjectInsertedEvent event) {
         logger.debug("objectInserted: {}: AgendaEventListener.objectInserted({})", getFullName(), event);
+        factIndex.add(event.getObject(), event.getFactHandle());
+        countFact(event.getObject(), 1);
     }
 
     /**
@@ -353,6 +650,15 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
     @Override
     public void objectUpdated(ObjectUpdatedEvent event) {
         logger.debug("objectUpdated: {}: AgendaEventListener.objectUpdated({})", getFullName(), event);
+        factIndex.update(event.getObject(), event.getFactHandle());
+
+        // the handle may now refer to an object of another class
+        Object oldObject = event.getOldObject();
+        Object newObject = event.getObject();
+        if (oldObject != null && newObject != null && oldObject.getClass() != newObject.getClass()) {
+            countFact(oldObject, -1);
+            countFact(newObject, 1);
+        }
     }
 
     /* ============================================================ */
@@ -379,6 +685,32 @@ public class PolicySession implements AgendaEventListener, RuleRuntimeEventListe
          */
         default void updated() {
         }
+
+        /**
+         * This method is called when objects are inserted into the session
+         * from any thread, after features have had their chance to handle the
+         * insert. Thread models that insert objects from their own threads
+         * take them over here.
+         *
+         * @param objects the objects to insert in Drools memory
+         * @return 'true' if the thread model is handling the insert, and 'false'
+         *     if the caller should insert the objects itself
+         */
+        default boolean insert(Collection<?> objects) {
+            return false;
+        }
+
+        /**
+         * This method is called when tasks are waiting to run on the session
+         * thread. Thread models that run the tasks from their own loop, using
+         * 'PolicySession.runTasks()', wake up the session thread here.
+         *
+         * @return 'true' if the thread model will run the tasks, and 'false'
+         *     if they should be submitted to the 'KieSession' as an action
+         */
+        default boolean tasksPending() {
+            return false;
+        }
     }
 
     /* ============================================================ */
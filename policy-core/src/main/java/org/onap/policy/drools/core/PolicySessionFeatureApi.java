@@ -51,7 +51,9 @@ public interface PolicySessionFeatureApi extends OrderedService {
      * @param policyContainer the 'PolicyContainer' instance containing this
      *     session
      * @param name the name of the KieSession (which is also the name of
-     *     the associated PolicySession)
+     *     the associated PolicySession). When sessions are partitioned, this
+     *     is the name of the partition: the name of the KieSession followed
+     *     by '#' and the index of the partition.
      * @param kieBaseName the name of the 'KieBase' instance containing
      *     this session
      * @return a new KieSession, if one was created, or 'null' if not
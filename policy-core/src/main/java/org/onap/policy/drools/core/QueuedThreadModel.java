@@ -0,0 +1,328 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import static org.onap.policy.drools.properties.DroolsPropertyConstants.PROPERTY_SESSION_QUEUE_BATCH_SIZE;
+import static org.onap.policy.drools.properties.DroolsPropertyConstants.PROPERTY_SESSION_QUEUE_CAPACITY;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This 'ThreadModel' variant makes the session thread the only writer of the
+ * 'KieSession'. Objects inserted from other threads are placed in a bounded
+ * queue, and the session thread drains the queue in batches, inserting each
+ * batch and then calling 'KieSession.fireAllRules()'. Producers block while
+ * the queue is full.
+ *
+ * <p>Tasks passed to 'PolicySession.execute()' run on the session thread at
+ * the start of each cycle, and wake it up if it is waiting for objects.
+ *
+ * <p>As the session thread does not run 'KieSession.fireUntilHalt()', timers
+ * and actions submitted to the 'KieSession' are processed on the next cycle,
+ * that is, within {@link #POLL_MILLIS} milliseconds.
+ */
+public class QueuedThreadModel implements Runnable, PolicySession.ThreadModel {
+    private static final Logger logger = LoggerFactory.getLogger(QueuedThreadModel.class);
+
+    // name of the thread model, in the controller properties
+    public static final String NAME = "queued";
+
+    public static final int DEFAULT_CAPACITY = 10000;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    // maximum time the session thread waits for objects before firing rules again
+    public static final long POLL_MILLIS = 100;
+
+    // placed in the queue to wake up the session thread when tasks are pending
+    private static final Object TASKS_PENDING = new Object();
+
+    // session associated with this thread
+    private final PolicySession session;
+
+    // objects waiting to be inserted
+    private final BlockingQueue<Object> queue;
+
+    // maximum number of objects inserted at once
+    @Getter
+    private final int batchSize;
+
+    // highest queue depth seen by the session thread
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    // the session thread
+    private final Thread thread;
+
+    // controls whether the thread loops or terminates, and objects are queued
+    private volatile boolean repeat = false;
+
+    /**
+     * Constructor - configures the queue from the controller properties.
+     *
+     * @param session the 'PolicySession' instance
+     * @param properties controller properties
+     */
+    public QueuedThreadModel(PolicySession session, Properties properties) {
+        this(session,
+            NumberUtils.toInt(properties.getProperty(PROPERTY_SESSION_QUEUE_CAPACITY), DEFAULT_CAPACITY),
+            NumberUtils.toInt(properties.getProperty(PROPERTY_SESSION_QUEUE_BATCH_SIZE), DEFAULT_BATCH_SIZE));
+    }
+
+    /**
+     * Constructor - initialize 'session' and create the queue and thread.
+     *
+     * @param session the 'PolicySession' instance
+     * @param capacity maximum number of objects waiting to be inserted
+     * @param batchSize maximum number of objects inserted at once
+     */
+    public QueuedThreadModel(PolicySession session, int capacity, int batchSize) {
+        this.session = session;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.thread = new Thread(this, getThreadName());
+    }
+
+    /**
+     * Get thread name.
+     *
+     * @return the String to use as the thread name
+     */
+    private String getThreadName() {
+        return "Session " + session.getFullName();
+    }
+
+    /**
+     * Get the queue depth.
+     *
+     * @return the number of objects waiting to be inserted
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Get the queue depth high-water mark.
+     *
+     * @return the highest number of objects seen waiting to be inserted
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /*=========================*/
+    /* 'ThreadModel' interface */
+    /*=========================*/
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public void start() {
+        repeat = true;
+        thread.start();
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public void stop() {
+        repeat = false;
+
+        // this interrupts a long 'fireAllRules()' -- the queue is polled with a timeout
+        session.getKieSession().halt();
+        try {
+            // wait up to 10 seconds for the thread to stop
+            thread.join(10000);
+        } catch (InterruptedException e) {
+            logger.error("stopThread in thread.join error", e);
+            Thread.currentThread().interrupt();
+        }
+
+        // objects that are still queued are not lost
+        insertQueued();
+    }
+
+    /**
+     * Inserts directly the objects left in the queue once the session thread has stopped.
+     */
+    private void insertQueued() {
+        List<Object> remaining = new ArrayList<>(queue.size());
+        queue.drainTo(remaining);
+        remaining.removeIf(object -> object == TASKS_PENDING);
+        if (!remaining.isEmpty()) {
+            logger.info("inserting {} queued objects in stopped session {}", remaining.size(), session.getFullName());
+            session.insertLocally(remaining);
+        }
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public void updated() {
+        // the container artifact has been updated -- adjust the thread name
+        thread.setName(getThreadName());
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public boolean insert(Collection<?> objects) {
+        if (!repeat || Thread.currentThread() == thread) {
+            // the session thread inserts directly, it would deadlock on a full queue
+            return false;
+        }
+
+        Iterator<?> iter = objects.iterator();
+        while (iter.hasNext()) {
+            Object object = iter.next();
+            try {
+                if (!offer(object)) {
+                    insertRemaining(object, iter);
+                    return true;
+                }
+
+            } catch (InterruptedException e) {
+                // the objects that are not queued yet are not lost
+                logger.warn("{}: interrupted while queuing objects", session.getFullName(), e);
+                insertRemaining(object, iter);
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+
+        if (!repeat) {
+            // 'stop()' may have drained the queue before these objects were queued
+            insertQueued();
+        }
+
+        return true;
+    }
+
+    /**
+     * Queues an object, waiting for room in the queue while the session thread runs.
+     *
+     * @param object object to be queued
+     * @return true if the object was queued, false if the session thread has stopped
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private boolean offer(Object object) throws InterruptedException {
+        while (!queue.offer(object, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (!repeat) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public boolean tasksPending() {
+        if (!repeat) {
+            return false;
+        }
+
+        // if the queue is full, the session thread is busy -- the tasks are then
+        // submitted to the 'KieSession', which runs them when the thread fires rules
+        return queue.offer(TASKS_PENDING);
+    }
+
+    private void insertRemaining(Object object, Iterator<?> iter) {
+        if (!repeat) {
+            // the objects queued before this one go first
+            insertQueued();
+        }
+
+        List<Object> remaining = new ArrayList<>();
+        remaining.add(object);
+        iter.forEachRemaining(remaining::add);
+        session.insertLocally(remaining);
+    }
+
+    /*======================*/
+    /* 'Runnable' interface */
+    /*======================*/
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public void run() {
+        // set thread local variable
+        session.setPolicySession();
+
+        var kieSession = session.getKieSession();
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (repeat) {
+            try {
+                Object first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    maxQueueDepth.accumulateAndGet(batch.size() + queue.size(), Math::max);
+                    batch.removeIf(object -> object == TASKS_PENDING);
+                    session.insertLocally(batch);
+                }
+
+                session.runTasks();
+
+                kieSession.fireAllRules();
+
+            } catch (InterruptedException e) {
+                logger.warn("{}: session thread interrupted", session.getFullName(), e);
+                Thread.currentThread().interrupt();
+                break;
+
+            } catch (Exception | LinkageError e) {
+                logger.error("startThread error in kieSession.fireAllRules", e);
+
+            } finally {
+                batch.clear();
+            }
+        }
+
+        if (repeat) {
+            // exiting without 'stop()': producers must not wait for this thread
+            repeat = false;
+            insertQueued();
+            session.runTasks();
+        }
+
+        session.removePolicySession();
+        logger.info("fireAllRules() loop returned");
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.kie.api.definition.rule.Rule;
+
+/**
+ * Rule execution profiler of a 'PolicySession'. For each rule, it counts the matches
+ * created and cancelled, and the activations fired, and records the time spent
+ * executing the rule's consequence (RHS). RHS times are kept in power of two
+ * nanosecond buckets, from which percentiles are estimated.
+ *
+ * <p>A session only has a profiler when profiling is enabled, so it costs nothing
+ * otherwise.
+ */
+public class RuleProfiler {
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    // bucket 'i' holds the RHS times in [2^(i-1), 2^i) nanoseconds
+    private static final int BUCKETS = Long.SIZE;
+
+    // counters of each rule, by rule definition
+    private final Map<Rule, RuleCounters> rules = new ConcurrentHashMap<>();
+
+    // counters of each rule, by full rule name; a rule has new definitions when
+    // the 'KieContainer' is updated
+    private final Map<String, RuleCounters> ruleNames = new ConcurrentHashMap<>();
+
+    // start time of the consequence being executed, only accessed by the thread
+    // firing the rules
+    private long firingNanos;
+
+    /**
+     * Records the creation of a match.
+     *
+     * @param rule matched rule
+     */
+    public void matchCreated(Rule rule) {
+        countersOf(rule).created.increment();
+    }
+
+    /**
+     * Records the cancellation of a match.
+     *
+     * @param rule matched rule
+     */
+    public void matchCancelled(Rule rule) {
+        countersOf(rule).cancelled.increment();
+    }
+
+    /**
+     * Records the start of the execution of a consequence.
+     */
+    public void beforeFired() {
+        firingNanos = System.nanoTime();
+    }
+
+    /**
+     * Records the end of the execution of a consequence.
+     *
+     * @param rule fired rule
+     */
+    public void afterFired(Rule rule) {
+        long nanos = Math.max(0, System.nanoTime() - firingNanos);
+
+        var counters = countersOf(rule);
+        counters.fired.increment();
+        counters.totalNanos.add(nanos);
+        counters.maxNanos.accumulate(nanos);
+        counters.buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Get the statistics of the rules.
+     *
+     * @return the statistics of each rule that has been matched or fired, by full rule name
+     */
+    public Map<String, RuleStats> getStats() {
+        Map<String, RuleStats> stats = new TreeMap<>();
+        ruleNames.forEach((name, counters) -> stats.put(name, counters.snapshot()));
+        return stats;
+    }
+
+    /**
+     * Clears the statistics.
+     */
+    public void reset() {
+        rules.clear();
+        ruleNames.clear();
+    }
+
+    private RuleCounters countersOf(Rule rule) {
+        var counters = rules.get(rule);
+        if (counters != null) {
+            return counters;
+        }
+
+        return rules.computeIfAbsent(rule,
+            unused -> ruleNames.computeIfAbsent(rule.getPackageName() + "." + rule.getName(), RuleCounters::new));
+    }
+
+    @Override
+    public String toString() {
+        return "RuleProfiler [rules=" + ruleNames.size() + "]";
+    }
+
+    /**
+     * Counters of a rule.
+     */
+    private static class RuleCounters {
+        private final String name;
+        private final LongAdder created = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder fired = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        RuleCounters(String name) {
+            this.name = name;
+        }
+
+        RuleStats snapshot() {
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            for (var index = 0; index < BUCKETS; ++index) {
+                counts[index] = buckets.get(index);
+                count += counts[index];
+            }
+
+            long total = totalNanos.sum();
+
+            return new RuleStats(name, created.sum(), cancelled.sum(), fired.sum(), total / NANOS_PER_MS,
+                (count == 0 ? 0 : total / NANOS_PER_MS / count), maxNanos.get() / NANOS_PER_MS,
+                percentile(counts, count, 0.50), percentile(counts, count, 0.95),
+                percentile(counts, count, 0.99));
+        }
+
+        /**
+         * Estimates a percentile of the RHS times.
+         *
+         * @return the upper bound of the bucket holding the percentile, in milliseconds
+         */
+        private static double percentile(long[] counts, long count, double fraction) {
+            long target = (long) Math.ceil(count * fraction);
+            long seen = 0;
+            for (var index = 0; index < BUCKETS; ++index) {
+                seen += counts[index];
+                if (seen >= target && seen > 0) {
+                    return Math.pow(2, index) / NANOS_PER_MS;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Statistics of a rule. Times are in milliseconds.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class RuleStats {
+        private final String rule;
+        private final long matchesCreated;
+        private final long matchesCancelled;
+        private final long fired;
+        private final double totalTimeMs;
+        private final double averageTimeMs;
+        private final double maxTimeMs;
+        private final double p50TimeMs;
+        private final double p95TimeMs;
+        private final double p99TimeMs;
+    }
+}
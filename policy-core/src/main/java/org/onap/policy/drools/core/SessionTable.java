@@ -0,0 +1,115 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Immutable snapshot of the sessions of a 'PolicyContainer'. The container replaces
+ * its snapshot whenever sessions are added or removed, so looking up sessions and
+ * inserting facts into them does not need any locking.
+ */
+final class SessionTable {
+
+    static final SessionTable EMPTY = new SessionTable(new LinkedHashMap<>(), new LinkedHashMap<>());
+
+    // maps session name into the associated 'PolicySession' instance
+    private final Map<String, PolicySession> sessions;
+
+    // maps 'KieSession' name into the sessions that facts are inserted into:
+    // the session itself, or all of its partitions
+    private final Map<String, PolicySession[]> partitions;
+
+    // all the 'PolicySession' instances
+    @Getter
+    private final List<PolicySession> policySessions;
+
+    private SessionTable(LinkedHashMap<String, PolicySession> sessions,
+                    LinkedHashMap<String, PolicySession[]> partitions) {
+        this.sessions = Collections.unmodifiableMap(sessions);
+        this.partitions = Collections.unmodifiableMap(partitions);
+        this.policySessions = List.copyOf(sessions.values());
+    }
+
+    /**
+     * Fetch a session.
+     *
+     * @param name session name, which may be the name of a partition
+     * @return the session, or 'null' if not found
+     */
+    PolicySession get(String name) {
+        return sessions.get(name);
+    }
+
+    /**
+     * Fetch the sessions that facts for a 'KieSession' are inserted into.
+     *
+     * @param kieSessionName name of the 'KieSession'
+     * @return the session itself, or all of its partitions, or 'null' if not found
+     */
+    PolicySession[] getPartitions(String kieSessionName) {
+        return partitions.get(kieSessionName);
+    }
+
+    /**
+     * Get the sessions that facts are inserted into.
+     *
+     * @return the sessions of each 'KieSession': the session itself, or all of its partitions
+     */
+    Collection<PolicySession[]> getAllPartitions() {
+        return partitions.values();
+    }
+
+    boolean isEmpty() {
+        return sessions.isEmpty();
+    }
+
+    /**
+     * Add a session.
+     *
+     * @param name session name
+     * @param session session to add
+     * @return a new table, including the session
+     */
+    SessionTable withSession(String name, PolicySession session) {
+        var newSessions = new LinkedHashMap<>(sessions);
+        newSessions.put(name, session);
+        return new SessionTable(newSessions, new LinkedHashMap<>(partitions));
+    }
+
+    /**
+     * Add the sessions that facts for a 'KieSession' are inserted into.
+     *
+     * @param kieSessionName name of the 'KieSession'
+     * @param group the session itself, or all of its partitions
+     * @return a new table, including the sessions
+     */
+    SessionTable withPartitions(String kieSessionName, PolicySession[] group) {
+        var newPartitions = new LinkedHashMap<>(partitions);
+        newPartitions.put(kieSessionName, group);
+        return new SessionTable(new LinkedHashMap<>(sessions), newPartitions);
+    }
+}
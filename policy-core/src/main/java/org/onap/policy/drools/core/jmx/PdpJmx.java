@@ -46,6 +46,10 @@ public class PdpJmx implements PdpJmxMBean  {
         updates.incrementAndGet();
     }
 
+    public void updatesOccurred(int count) {
+        updates.addAndGet(count);
+    }
+
     public void ruleFired() {
         actions.incrementAndGet();
     }
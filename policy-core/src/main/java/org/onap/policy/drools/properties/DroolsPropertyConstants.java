@@ -35,9 +35,37 @@ public final class DroolsPropertyConstants {
     public static final String DEFAULT_CONTROLLER_POLICY_TYPE_VERSION = "1.0.0";
     public static final String PROPERTY_CONTROLLER_POLICY_TYPES = "controller.policy.types";
 
+    public static final String PROPERTY_CONTROLLER_INGRESS_CAPACITY = "controller.ingress.capacity";
+    public static final String PROPERTY_CONTROLLER_INGRESS_POLICY = "controller.ingress.policy";
+    public static final String PROPERTY_CONTROLLER_DECODE_WORKERS = "controller.decode.workers";
+    public static final String PROPERTY_CONTROLLER_DECODE_KEY = "controller.decode.key";
+
+    /**
+     * Model classes, comma separated, whose decoded objects may be shared with the other
+     * controllers that decode the same events alike.  Only classes whose objects are
+     * immutable, that is, never modified by the rules of any of these controllers, may be
+     * listed, as the very same object is inserted into all their sessions.
+     */
+    public static final String PROPERTY_CONTROLLER_DECODE_SHARED = "controller.decode.shared";
+
+    public static final String PROPERTY_CONTROLLER_DELIVER_ASYNC = "controller.deliver.async";
+    public static final String PROPERTY_CONTROLLER_DELIVER_CAPACITY = "controller.deliver.capacity";
+    public static final String PROPERTY_CONTROLLER_DELIVER_BATCH_SIZE = "controller.deliver.batchSize";
+
     /* Drools Properties */
 
     public static final String RULES_GROUPID = "rules.groupId";
     public static final String RULES_ARTIFACTID = "rules.artifactId";
     public static final String RULES_VERSION = "rules.version";
+
+    /* Session Properties */
+
+    public static final String PROPERTY_SESSION_THREAD_MODEL = "rules.session.threadModel";
+    public static final String PROPERTY_SESSION_QUEUE_CAPACITY = "rules.session.queue.capacity";
+    public static final String PROPERTY_SESSION_QUEUE_BATCH_SIZE = "rules.session.queue.batchSize";
+    public static final String PROPERTY_SESSION_PARTITIONS = "rules.session.partitions";
+    public static final String PROPERTY_SESSION_PARTITION_KEY = "rules.session.partitionKey";
+    public static final String PROPERTY_SESSION_PARTITION_BROADCAST = "rules.session.partitionBroadcast";
+    public static final String PROPERTY_SESSION_PROFILER = "rules.session.profiler";
+    public static final String PROPERTY_SESSION_COUNTING = "rules.session.counting";
 }
@@ -159,6 +159,11 @@ class DroolsContainerTest {
             executor.execute(() -> lbq.add("another DroolsRunnable String"));
             assertEquals("another DroolsRunnable String", lbq.poll(TIMEOUT_SEC, TimeUnit.SECONDS));
 
+            // the session's task queue runs tasks on the session thread too
+            executor = new DroolsExecutor(container.getPolicySession("session1"));
+            executor.execute(() -> lbq.add("session task String"));
+            assertEquals("session task String", lbq.poll(TIMEOUT_SEC, TimeUnit.SECONDS));
+
         } finally {
             container.shutdown();
             assertFalse(container.isAlive());
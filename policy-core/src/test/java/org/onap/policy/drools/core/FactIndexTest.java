@@ -0,0 +1,165 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.rule.FactHandle;
+
+class FactIndexTest {
+
+    private FactIndex index;
+    private FactHandle handle1;
+    private FactHandle handle2;
+
+    /**
+     * Initializes the index and the handles.
+     */
+    @BeforeEach
+    void setUp() {
+        index = new FactIndex();
+        handle1 = mock(FactHandle.class);
+        handle2 = mock(FactHandle.class);
+    }
+
+    @Test
+    void testNotIndexed() {
+        index.add("abc", handle1);
+        assertEquals(0, index.size());
+        assertNull(index.lookup("abc"));
+        assertNull(index.lookup(null));
+        assertFalse(index.isIndexed(String.class));
+
+        // removing unknown handles is harmless
+        index.remove(handle1);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testAddLookupRemove() {
+        index.register(Fact.class, Fact::id);
+        assertTrue(index.isIndexed(Fact.class));
+        assertFalse(index.isIndexed(String.class));
+
+        index.add(new Fact("a", 1), handle1);
+        index.add(new Fact("a", 2), handle2);
+        assertEquals(2, index.size());
+
+        assertThat(index.lookup(new Fact("a", 3))).containsExactlyInAnyOrder(handle1, handle2);
+        assertEquals(List.of(), index.lookup(new Fact("b", 1)));
+
+        // other classes are not indexed
+        assertNull(index.lookup("a"));
+
+        index.remove(handle1);
+        assertEquals(List.of(handle2), index.lookup(new Fact("a", 1)));
+
+        index.remove(handle2);
+        assertEquals(List.of(), index.lookup(new Fact("a", 1)));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testUpdate() {
+        index.register(Fact.class, Fact::id);
+        var fact = new Fact("a", 1);
+        index.add(fact, handle1);
+
+        index.update(new Fact("b", 1), handle1);
+        assertEquals(List.of(), index.lookup(fact));
+        assertEquals(List.of(handle1), index.lookup(new Fact("b", 1)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testNullKey() {
+        index.register(Fact.class, Fact::id);
+
+        index.add(new Fact(null, 1), handle1);
+        assertEquals(0, index.size());
+        assertNull(index.lookup(new Fact(null, 1)));
+    }
+
+    @Test
+    void testExtractorThrows() {
+        index.register(Fact.class, fact -> {
+            throw new IllegalStateException("expected exception");
+        });
+
+        index.add(new Fact("a", 1), handle1);
+        assertEquals(0, index.size());
+        assertNull(index.lookup(new Fact("a", 1)));
+    }
+
+    @Test
+    void testSubclassesAndInterfaces() {
+        index.register(Fact.class, Fact::id);
+        index.register(Set.class, Set::size);
+
+        // a subclass shares the key space of its registered superclass
+        index.add(new SubFact("a", 1), handle1);
+        assertEquals(List.of(handle1), index.lookup(new Fact("a", 2)));
+
+        // registered interface
+        index.add(Set.of("x", "y"), handle2);
+        assertEquals(List.of(handle2), index.lookup(Set.of(1, 2)));
+        assertEquals(List.of(), index.lookup(Set.of(1)));
+    }
+
+    @Test
+    void testToString() {
+        index.register(Fact.class, Fact::id);
+        assertThat(index.toString()).contains("Fact", "size=0");
+    }
+
+    public static class Fact {
+        private final String id;
+        private final int value;
+
+        public Fact(String id, int value) {
+            this.id = id;
+            this.value = value;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public int value() {
+            return value;
+        }
+    }
+
+    public static class SubFact extends Fact {
+        public SubFact(String id, int value) {
+            super(id, value);
+        }
+    }
+}
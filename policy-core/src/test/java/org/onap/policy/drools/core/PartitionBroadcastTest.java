@@ -0,0 +1,55 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PartitionBroadcastTest {
+
+    private final PartitionBroadcast broadcast =
+        new PartitionBroadcast(Set.of("java.lang.Integer", "java.util.AbstractList", "java.lang.CharSequence"));
+
+    @Test
+    void testTest() {
+        // class, superclass and interface
+        assertTrue(broadcast.test(Integer.valueOf(1)));
+        assertTrue(broadcast.test(new ArrayList<>()));
+        assertTrue(broadcast.test("a string"));
+
+        // again, from the cache
+        assertTrue(broadcast.test("another string"));
+
+        assertFalse(broadcast.test(10L));
+        assertFalse(broadcast.test(null));
+
+        // policies are broadcast by default
+        assertThat(PartitionBroadcast.DEFAULT_CLASSES)
+            .contains("org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy");
+
+        assertThat(broadcast.toString()).startsWith("PartitionBroadcast [");
+    }
+}
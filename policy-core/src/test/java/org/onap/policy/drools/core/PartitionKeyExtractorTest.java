@@ -0,0 +1,81 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+class PartitionKeyExtractorTest {
+
+    private final PartitionKeyExtractor extractor =
+        new PartitionKeyExtractor(List.of("requestId", "closedLoopControlName", "active"));
+
+    @Test
+    void testApply() {
+        assertEquals("req-1", extractor.apply(new Event("req-1", "loop-1")));
+
+        // falls back to the next property
+        assertEquals("loop-1", extractor.apply(new Event(null, "loop-1")));
+
+        // "is" getter
+        assertEquals(true, extractor.apply(new Event(null, null)));
+
+        // no such properties
+        assertNull(extractor.apply("a string"));
+        assertNull(extractor.apply(null));
+
+        // getter throws
+        assertNull(new PartitionKeyExtractor(List.of("failure")).apply(new Event(null, null)));
+    }
+
+    @Test
+    void testApply_Map() {
+        assertEquals("loop-2", extractor.apply(Map.of("closedLoopControlName", "loop-2", "other", "x")));
+        assertNull(extractor.apply(Map.of("other", "x")));
+    }
+
+    @Test
+    void testToString() {
+        assertThat(extractor.toString()).contains("requestId", "closedLoopControlName");
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Event {
+        private String requestId;
+        private String closedLoopControlName;
+
+        public boolean isActive() {
+            return true;
+        }
+
+        public String getFailure() {
+            throw new IllegalStateException("expected exception");
+        }
+    }
+}
@@ -33,10 +33,15 @@ import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 import org.kie.api.KieBase;
 import org.kie.api.KieServices;
@@ -95,8 +100,9 @@ class PolicyContainerTest {
         when(mockKieContainer.getKieBaseNames()).thenReturn(List.of("baseName"));
         when(mockKieContainer.getKieBase()).thenReturn(mockKieBase);
 
-        HashMap<String, PolicySession> sessions = new HashMap<>();
-        ReflectionTestUtils.setField(policyContainer, "sessions", sessions);
+        ReflectionTestUtils.setField(policyContainer, "sessionTable", SessionTable.EMPTY);
+        ReflectionTestUtils.setField(policyContainer, "sessionLock", new Object());
+        ReflectionTestUtils.setField(policyContainer, "factIndexes", new ConcurrentHashMap<>());
         ReflectionTestUtils.setField(policyContainer, "kieContainer", mockKieContainer);
 
         assertNotNull(policyContainer.adoptKieSession("name", mockKieSession));
@@ -217,12 +223,130 @@ class PolicyContainerTest {
         var object = new Object();
         when(policyContainer.insert("name", object)).thenCallRealMethod();
 
-        HashMap<String, PolicySession> sessions = new HashMap<>();
-        ReflectionTestUtils.setField(policyContainer, "sessions", sessions);
+        ReflectionTestUtils.setField(policyContainer, "sessionTable", SessionTable.EMPTY);
 
         assertFalse(policyContainer.insert("name", object));
     }
 
+    @Test
+    void insertBatch() {
+        var policyContainer = mock(PolicyContainer.class);
+        var objects = List.of(new Object(), new Object());
+        when(policyContainer.insertBatch(objects)).thenCallRealMethod();
+
+        ReflectionTestUtils.setField(policyContainer, "sessionTable", SessionTable.EMPTY);
+
+        assertFalse(policyContainer.insertBatch(objects));
+
+        var session = mock(PolicySession.class);
+        ReflectionTestUtils.setField(policyContainer, "sessionTable", SessionTable.EMPTY
+            .withSession("name", session).withPartitions("name", new PolicySession[] {session}));
+
+        assertTrue(policyContainer.insertBatch(objects));
+        verify(session).insertAllDrools(objects);
+    }
+
+    @Test
+    void insertPartitioned() {
+        var policyContainer = mock(PolicyContainer.class);
+        when(policyContainer.insert(any(), any())).thenCallRealMethod();
+        when(policyContainer.insertAll(any())).thenCallRealMethod();
+        when(policyContainer.insertBatch(any())).thenCallRealMethod();
+        when(policyContainer.insertAllPartitions(any())).thenCallRealMethod();
+
+        var shard0 = mock(PolicySession.class);
+        var shard1 = mock(PolicySession.class);
+        var table = SessionTable.EMPTY.withSession("name#0", shard0).withSession("name#1", shard1)
+            .withPartitions("name", new PolicySession[] {shard0, shard1});
+
+        ReflectionTestUtils.setField(policyContainer, "sessionTable", table);
+        ReflectionTestUtils.setField(policyContainer, "partitionKeyExtractor",
+            new PartitionKeyExtractor(List.of("key")));
+        ReflectionTestUtils.setField(policyContainer, "partitionBroadcast",
+            new PartitionBroadcast(Set.of(String.class.getName())));
+
+        // keys 0 and 1 hash to their own partition, facts without a key go to all of them
+        Map<String, Integer> fact0 = Map.of("key", 0);
+        Map<String, Integer> fact1 = Map.of("key", 1);
+        Map<String, Integer> shared = Map.of("other", 1);
+
+        assertTrue(policyContainer.insertAll(fact0));
+        verify(shard0).insertDrools(fact0);
+        verify(shard1, never()).insertDrools(fact0);
+
+        assertTrue(policyContainer.insert("name", fact1));
+        verify(shard1).insertDrools(fact1);
+
+        assertTrue(policyContainer.insert("name#0", fact1));
+        verify(shard0).insertDrools(fact1);
+
+        assertTrue(policyContainer.insertAll(shared));
+        verify(shard0).insertDrools(shared);
+        verify(shard1).insertDrools(shared);
+
+        // so do the broadcast classes
+        assertTrue(policyContainer.insertAll("policy"));
+        verify(shard0).insertDrools("policy");
+        verify(shard1).insertDrools("policy");
+
+        assertTrue(policyContainer.insertBatch(List.of(fact0, fact1, shared, "policy")));
+        verify(shard0).insertAllDrools(List.of(fact0, shared, "policy"));
+        verify(shard1).insertAllDrools(List.of(fact1, shared, "policy"));
+
+        // or when inserted explicitly into all partitions
+        Map<String, Integer> broadcast = Map.of("other", 2);
+        assertTrue(policyContainer.insertAllPartitions(broadcast));
+        verify(shard0).insertDrools(broadcast);
+        verify(shard1).insertDrools(broadcast);
+
+        ReflectionTestUtils.setField(policyContainer, "sessionTable", SessionTable.EMPTY);
+        assertFalse(policyContainer.insertAllPartitions(broadcast));
+    }
+
+    @Test
+    void testHasSessions() {
+        var policyContainer = mock(PolicyContainer.class);
+        when(policyContainer.hasSessions()).thenCallRealMethod();
+        when(policyContainer.getPolicySessions()).thenCallRealMethod();
+        ReflectionTestUtils.setField(policyContainer, "isStarted", true);
+        ReflectionTestUtils.setField(policyContainer, "sessionTable", SessionTable.EMPTY);
+
+        assertFalse(policyContainer.hasSessions());
+        assertTrue(policyContainer.getPolicySessions().isEmpty());
+
+        var session = mock(PolicySession.class);
+        var table = SessionTable.EMPTY.withSession("name", session);
+        ReflectionTestUtils.setField(policyContainer, "sessionTable", table);
+
+        assertTrue(policyContainer.hasSessions());
+        assertEquals(List.of(session), policyContainer.getPolicySessions());
+
+        // snapshots are not changed by later changes
+        assertEquals(2, table.withSession("other", session).getPolicySessions().size());
+        assertEquals(List.of(session), table.getPolicySessions());
+        assertTrue(SessionTable.EMPTY.isEmpty());
+    }
+
+    @Test
+    void testIndexFacts() {
+        var policyContainer = mock(PolicyContainer.class);
+        doCallRealMethod().when(policyContainer).indexFacts(any(), any());
+
+        var session = mock(PolicySession.class);
+        ReflectionTestUtils.setField(policyContainer, "sessionTable", SessionTable.EMPTY.withSession("name", session));
+        ReflectionTestUtils.setField(policyContainer, "factIndexes", new ConcurrentHashMap<>());
+
+        Function<String, Object> extractor = String::length;
+        policyContainer.indexFacts(String.class, extractor);
+
+        // existing sessions are indexed right away
+        verify(session).indexFacts(String.class, extractor);
+
+        assertThatThrownBy(() -> policyContainer.indexFacts(null, extractor)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> policyContainer.indexFacts(String.class, null))
+            .isInstanceOf(NullPointerException.class);
+    }
+
     @Test
     void deactivate() {
         assertDoesNotThrow(PolicyContainer::deactivate);
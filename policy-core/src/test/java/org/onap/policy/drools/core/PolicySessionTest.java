@@ -23,19 +23,48 @@ package org.onap.policy.drools.core;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.concurrent.Semaphore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.api.command.Command;
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
 import org.kie.api.event.rule.AgendaEventListener;
+import org.kie.api.event.rule.BeforeMatchFiredEvent;
+import org.kie.api.event.rule.MatchCancelledEvent;
+import org.kie.api.event.rule.MatchCreatedEvent;
+import org.kie.api.event.rule.ObjectDeletedEvent;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.event.rule.ObjectUpdatedEvent;
 import org.kie.api.event.rule.RuleRuntimeEventListener;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSession.AtomicAction;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.api.runtime.rule.Match;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.onap.policy.common.utils.logging.LoggerUtils;
+import org.onap.policy.common.utils.services.OrderedServiceImpl;
 import org.onap.policy.drools.core.PolicySession.ThreadModel;
+import org.onap.policy.drools.core.jmx.PdpJmx;
+import org.onap.policy.drools.properties.DroolsPropertyConstants;
 
 class PolicySessionTest {
 
@@ -87,9 +116,242 @@ class PolicySessionTest {
         session.beforeRuleFlowGroupDeactivated(null);
         session.matchCancelled(null);
         session.matchCreated(null);
-        session.objectDeleted(null);
-        session.objectInserted(null);
-        session.objectUpdated(null);
+        session.objectDeleted(mock(ObjectDeletedEvent.class));
+        session.objectInserted(mock(ObjectInsertedEvent.class));
+        session.objectUpdated(mock(ObjectUpdatedEvent.class));
+    }
+
+    @Test
+    void testRuleProfiler() {
+        // profiling is off by default
+        assertNull(session.getRuleProfiler());
+
+        var properties = new Properties();
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_SESSION_PROFILER, "true");
+        when(container.getProperties()).thenReturn(properties);
+        session = new PolicySession(MY_NAME, container, kie);
+
+        var profiler = session.getRuleProfiler();
+        assertNotNull(profiler);
+
+        var rule = mock(Rule.class);
+        when(rule.getPackageName()).thenReturn("org.onap.rules");
+        when(rule.getName()).thenReturn("my-rule");
+        var match = mock(Match.class);
+        when(match.getRule()).thenReturn(rule);
+
+        var created = mock(MatchCreatedEvent.class);
+        when(created.getMatch()).thenReturn(match);
+        session.matchCreated(created);
+
+        var cancelled = mock(MatchCancelledEvent.class);
+        when(cancelled.getMatch()).thenReturn(match);
+        session.matchCancelled(cancelled);
+
+        session.beforeMatchFired(mock(BeforeMatchFiredEvent.class));
+        var fired = mock(AfterMatchFiredEvent.class);
+        when(fired.getMatch()).thenReturn(match);
+        long rulesFired = PdpJmx.getInstance().getRulesFired();
+        session.afterMatchFired(fired);
+
+        // fired rules are always counted
+        assertEquals(rulesFired + 1, PdpJmx.getInstance().getRulesFired());
+
+        var stats = profiler.getStats().get("org.onap.rules.my-rule");
+        assertEquals(1, stats.getMatchesCreated());
+        assertEquals(1, stats.getMatchesCancelled());
+        assertEquals(1, stats.getFired());
+
+        // enabling again keeps the statistics
+        session.setProfiling(true);
+        assertSame(profiler, session.getRuleProfiler());
+
+        session.setProfiling(false);
+        assertNull(session.getRuleProfiler());
+    }
+
+    @Test
+    void testUpdateListeners() {
+        LoggerUtils.setLevel(PolicySession.class.getName(), "INFO");
+        try {
+            // counting is on by default, which needs the working memory events
+            var kie3 = mock(KieSession.class);
+            session = new PolicySession(MY_NAME, container, kie3);
+            verify(kie3).addEventListener((AgendaEventListener) session);
+            verify(kie3).addEventListener((RuleRuntimeEventListener) session);
+
+            var properties = new Properties();
+            properties.setProperty(DroolsPropertyConstants.PROPERTY_SESSION_COUNTING, "false");
+            when(container.getProperties()).thenReturn(properties);
+
+            var kie2 = mock(KieSession.class);
+            doReturn(List.of("abc", "def", 1)).when(kie2).getObjects();
+            session = new PolicySession(MY_NAME, container, kie2);
+            AgendaEventListener agenda = session;
+            RuleRuntimeEventListener rule = session;
+
+            // the fired rules are always counted
+            verify(kie2).addEventListener(agenda);
+            verify(kie2, never()).addEventListener(any(RuleRuntimeEventListener.class));
+
+            // facts are counted by scanning them
+            assertEquals(Map.of(String.class, 2L, Integer.class, 1L), session.getFactCounts());
+
+            // profiling needs no other events
+            session.setProfiling(true);
+            session.setProfiling(false);
+            verify(kie2).addEventListener(agenda);
+            verify(kie2, never()).removeEventListener(agenda);
+            verify(kie2, never()).addEventListener(any(RuleRuntimeEventListener.class));
+
+            // debug logging needs the working memory events
+            LoggerUtils.setLevel(PolicySession.class.getName(), "DEBUG");
+            session.updateListeners();
+            verify(kie2).addEventListener(rule);
+            LoggerUtils.setLevel(PolicySession.class.getName(), "INFO");
+            session.updateListeners();
+            verify(kie2).removeEventListener(rule);
+
+            // indexing needs the working memory events
+            session.indexFacts(String.class, String::length);
+            verify(kie2, times(2)).addEventListener(rule);
+
+        } finally {
+            LoggerUtils.setLevel(PolicySession.class.getName(), "DEBUG");
+        }
+    }
+
+    @Test
+    void testGetFactCounts() {
+        // facts already in the session are counted
+        doReturn(List.of("abc", 1)).when(kie).getObjects();
+        session = new PolicySession(MY_NAME, container, kie);
+        assertEquals(Map.of(String.class, 1L, Integer.class, 1L), session.getFactCounts());
+
+        var inserted = mock(ObjectInsertedEvent.class);
+        when(inserted.getObject()).thenReturn("def");
+        session.objectInserted(inserted);
+        assertEquals(Map.of(String.class, 2L, Integer.class, 1L), session.getFactCounts());
+
+        // same class - no change
+        var updated = mock(ObjectUpdatedEvent.class);
+        when(updated.getOldObject()).thenReturn("def");
+        when(updated.getObject()).thenReturn("ghi");
+        session.objectUpdated(updated);
+        assertEquals(Map.of(String.class, 2L, Integer.class, 1L), session.getFactCounts());
+
+        // replaced with another class
+        when(updated.getObject()).thenReturn(2L);
+        session.objectUpdated(updated);
+        assertEquals(Map.of(String.class, 1L, Integer.class, 1L, Long.class, 1L), session.getFactCounts());
+
+        // classes without facts are not reported
+        var deleted = mock(ObjectDeletedEvent.class);
+        when(deleted.getOldObject()).thenReturn(1);
+        session.objectDeleted(deleted);
+        assertEquals(Map.of(String.class, 1L, Long.class, 1L), session.getFactCounts());
+    }
+
+    @Test
+    void testIndexFacts() {
+        var existing = mock(FactHandle.class);
+        when(kie.getFactHandles(any())).thenReturn(List.of(existing));
+        when(kie.getObject(existing)).thenReturn("abc");
+
+        session.indexFacts(String.class, String::length);
+
+        // facts already in the session are indexed
+        assertEquals(List.of(existing), session.getFactIndex().lookup("xyz"));
+
+        // inserted facts are indexed
+        var handle = mock(FactHandle.class);
+        var inserted = mock(ObjectInsertedEvent.class);
+        when(inserted.getObject()).thenReturn("hello");
+        when(inserted.getFactHandle()).thenReturn(handle);
+        session.objectInserted(inserted);
+        assertEquals(List.of(handle), session.getFactIndex().lookup("world"));
+
+        // updated facts are re-indexed
+        var updated = mock(ObjectUpdatedEvent.class);
+        when(updated.getObject()).thenReturn("hi");
+        when(updated.getFactHandle()).thenReturn(handle);
+        session.objectUpdated(updated);
+        assertEquals(List.of(), session.getFactIndex().lookup("world"));
+        assertEquals(List.of(handle), session.getFactIndex().lookup("ho"));
+
+        // deleted facts are removed
+        var deleted = mock(ObjectDeletedEvent.class);
+        when(deleted.getFactHandle()).thenReturn(handle);
+        session.objectDeleted(deleted);
+        assertEquals(List.of(), session.getFactIndex().lookup("ho"));
+        assertEquals(1, session.getFactIndex().size());
+    }
+
+    @Test
+    void testInsertDrools() {
+        var fact = new Object();
+        session.insertDrools(fact);
+        verify(kie).insert(fact);
+
+        session.insertAllDrools(List.of());
+        verify(kie, never()).execute(any(Command.class));
+
+        session.insertAllDrools(List.of(1, 2, 3));
+        verify(kie).execute(any(Command.class));
+    }
+
+    @Test
+    void testExecute() {
+        var ran = new ArrayList<String>();
+        session.execute(() -> ran.add("first"));
+        session.execute(() -> {
+            throw new IllegalStateException("expected exception");
+        });
+        session.execute(() -> ran.add("third"));
+
+        // submitted to the session once, for all the pending tasks
+        ArgumentCaptor<AtomicAction> captor = ArgumentCaptor.forClass(AtomicAction.class);
+        verify(kie).submit(captor.capture());
+        assertEquals(List.of(), ran);
+
+        // the failure does not prevent the other tasks from running
+        captor.getValue().execute(kie);
+        assertEquals(List.of("first", "third"), ran);
+
+        // submitted again for the next task
+        session.execute(() -> ran.add("fourth"));
+        verify(kie, times(2)).submit(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExecuteDrools() {
+        var feature = mock(PolicySessionFeatureApi.class);
+        OrderedServiceImpl<PolicySessionFeatureApi> impl = mock(OrderedServiceImpl.class);
+        when(impl.getList()).thenReturn(List.of(feature));
+
+        var ran = new ArrayList<String>();
+        DroolsRunnable task = () -> ran.add("task");
+
+        try (MockedStatic<PolicySessionFeatureApiConstants> constants =
+                        Mockito.mockStatic(PolicySessionFeatureApiConstants.class)) {
+            constants.when(PolicySessionFeatureApiConstants::getImpl).thenReturn(impl);
+
+            // handled by the feature, as its insert would be
+            when(feature.insertDrools(session, task)).thenReturn(true);
+            session.executeDrools(task);
+            verify(kie, never()).submit(any());
+
+            // otherwise, run on the session thread
+            when(feature.insertDrools(session, task)).thenReturn(false);
+            session.executeDrools(task);
+
+            ArgumentCaptor<AtomicAction> captor = ArgumentCaptor.forClass(AtomicAction.class);
+            verify(kie).submit(captor.capture());
+            captor.getValue().execute(kie);
+            assertEquals(List.of("task"), ran);
+            verify(kie, never()).insert(any());
+        }
     }
 
     @Test
@@ -0,0 +1,251 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.command.Command;
+import org.kie.api.runtime.KieSession;
+import org.onap.policy.drools.properties.DroolsPropertyConstants;
+
+class QueuedThreadModelTest {
+
+    private static final String MY_NAME = "my-name";
+    private static final String CONTAINER = "my-container";
+    private static final long WAIT_MS = 5000;
+
+    private PolicyContainer container;
+    private KieSession kie;
+    private PolicySession session;
+
+    /**
+     * Initialize test objects.
+     */
+    @BeforeEach
+    void setUp() {
+        container = mock(PolicyContainer.class);
+        kie = mock(KieSession.class);
+
+        when(container.getName()).thenReturn(CONTAINER);
+
+        var properties = new Properties();
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_SESSION_THREAD_MODEL, "Queued");
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_SESSION_QUEUE_CAPACITY, "2");
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_SESSION_QUEUE_BATCH_SIZE, "invalid");
+        when(container.getProperties()).thenReturn(properties);
+
+        session = new PolicySession(MY_NAME, container, kie);
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.stopThread();
+    }
+
+    @Test
+    void testSelect() {
+        session.startThread();
+
+        var model = assertInstanceOf(QueuedThreadModel.class, session.getThreadModel());
+        assertEquals(QueuedThreadModel.DEFAULT_BATCH_SIZE, model.getBatchSize());
+
+        verify(kie, timeout(WAIT_MS).atLeastOnce()).fireAllRules();
+        verify(kie, never()).fireUntilHalt();
+    }
+
+    @Test
+    void testInsert() throws InterruptedException {
+        // block the session thread within the first insert
+        var started = new Semaphore(0);
+        var proceed = new Semaphore(0);
+        doAnswer(args -> {
+            started.release();
+            proceed.acquire();
+            return null;
+        }).when(kie).execute(any(Command.class));
+
+        session.startThread();
+        var model = (QueuedThreadModel) session.getThreadModel();
+
+        session.insertDrools("first");
+        started.acquire();
+
+        // queued while the session thread is busy
+        session.insertAllDrools(List.of("second", "third"));
+        assertEquals(2, model.getQueueDepth());
+        verify(kie, never()).insert(any());
+
+        proceed.release(2);
+        verify(kie, timeout(WAIT_MS).times(2)).execute(any(Command.class));
+        verify(kie, timeout(WAIT_MS).atLeastOnce()).fireAllRules();
+
+        assertEquals(0, model.getQueueDepth());
+        assertEquals(2, model.getMaxQueueDepth());
+    }
+
+    @Test
+    void testInsert_NotRunning() {
+        var model = new QueuedThreadModel(session, 10, 10);
+
+        // not started
+        assertFalse(model.insert(List.of("an object")));
+
+        model.start();
+        assertTrue(model.insert(List.of("an object")));
+        verify(kie, timeout(WAIT_MS)).execute(any(Command.class));
+        model.stop();
+
+        assertFalse(model.insert(List.of("an object")));
+    }
+
+    @Test
+    void testInsert_Interrupted() {
+        // keep the session thread busy firing rules, until it is halted
+        var proceed = new Semaphore(0);
+        doAnswer(args -> {
+            proceed.acquire();
+            return 0;
+        }).when(kie).fireAllRules();
+        doAnswer(args -> {
+            proceed.release();
+            return null;
+        }).when(kie).halt();
+
+        var model = new QueuedThreadModel(session, 1, 10);
+        model.start();
+        verify(kie, timeout(WAIT_MS)).fireAllRules();
+
+        assertTrue(model.insert(List.of("queued")));
+        assertEquals(1, model.getQueueDepth());
+
+        // the objects that cannot be queued are inserted directly
+        Thread.currentThread().interrupt();
+        assertTrue(model.insert(List.of("second", "third")));
+        assertTrue(Thread.interrupted());
+        verify(kie).execute(any(Command.class));
+        assertEquals(1, model.getQueueDepth());
+
+        // no room to wake up the session thread
+        assertFalse(model.tasksPending());
+
+        model.stop();
+        assertEquals(0, model.getQueueDepth());
+    }
+
+    @Test
+    void testExecute() throws InterruptedException {
+        session.startThread();
+        verify(kie, timeout(WAIT_MS).atLeastOnce()).fireAllRules();
+
+        // runs on the session thread, without waiting for the poll to time out
+        var ran = new Semaphore(0);
+        session.execute(ran::release);
+        assertTrue(ran.tryAcquire(WAIT_MS, TimeUnit.MILLISECONDS));
+
+        // neither submitted to, nor inserted in, the session
+        verify(kie, never()).submit(any());
+        verify(kie, never()).execute(any(Command.class));
+    }
+
+    @Test
+    void testStop_InsertsRemaining() {
+        // keep the session thread busy firing rules, until it is halted
+        var proceed = new Semaphore(0);
+        doAnswer(args -> {
+            proceed.acquire();
+            return 0;
+        }).when(kie).fireAllRules();
+        doAnswer(args -> {
+            proceed.release();
+            return null;
+        }).when(kie).halt();
+
+        var model = new QueuedThreadModel(session, 10, 10);
+        model.start();
+        verify(kie, timeout(WAIT_MS)).fireAllRules();
+
+        assertTrue(model.insert(List.of("an object")));
+        assertEquals(1, model.getQueueDepth());
+        verify(kie, never()).execute(any(Command.class));
+
+        model.stop();
+
+        verify(kie).execute(any(Command.class));
+        assertEquals(0, model.getQueueDepth());
+    }
+
+    @Test
+    void testThreadInterrupted() throws InterruptedException {
+        // keep the session thread busy firing rules, then interrupt it
+        var proceed = new Semaphore(0);
+        doAnswer(args -> {
+            proceed.acquire();
+            Thread.currentThread().interrupt();
+            return 0;
+        }).when(kie).fireAllRules();
+
+        session.startThread();
+        var model = (QueuedThreadModel) session.getThreadModel();
+        verify(kie, timeout(WAIT_MS)).fireAllRules();
+
+        var ran = new Semaphore(0);
+        session.execute(ran::release);
+        assertTrue(model.insert(List.of("queued")));
+        assertEquals(2, model.getQueueDepth());
+
+        // the pending objects and tasks are not left behind by the exiting thread
+        proceed.release();
+        verify(kie, timeout(WAIT_MS)).execute(any(Command.class));
+        assertTrue(ran.tryAcquire(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(0, model.getQueueDepth());
+
+        // producers no longer wait for the session thread
+        assertFalse(model.insert(List.of("another")));
+        assertFalse(model.tasksPending());
+    }
+
+    @Test
+    void testUpdated() {
+        var model = new QueuedThreadModel(session, new Properties());
+        assertEquals(QueuedThreadModel.DEFAULT_BATCH_SIZE, model.getBatchSize());
+
+        when(container.getName()).thenReturn(CONTAINER + "-2");
+        model.updated();
+        assertEquals(0, model.getMaxQueueDepth());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.definition.rule.Rule;
+
+class RuleProfilerTest {
+    private static final String PACKAGE = "org.onap.rules";
+
+    private RuleProfiler profiler;
+    private Rule rule1;
+    private Rule rule2;
+
+    /**
+     * Initializes the profiler and the rules.
+     */
+    @BeforeEach
+    void setUp() {
+        profiler = new RuleProfiler();
+        rule1 = makeRule("rule-1");
+        rule2 = makeRule("rule-2");
+    }
+
+    @Test
+    void testMatches() {
+        profiler.matchCreated(rule1);
+        profiler.matchCreated(rule1);
+        profiler.matchCancelled(rule1);
+        profiler.matchCreated(rule2);
+
+        var stats = profiler.getStats();
+        assertEquals(List.of(PACKAGE + ".rule-1", PACKAGE + ".rule-2"), List.copyOf(stats.keySet()));
+
+        var stats1 = stats.get(PACKAGE + ".rule-1");
+        assertEquals(2, stats1.getMatchesCreated());
+        assertEquals(1, stats1.getMatchesCancelled());
+        assertEquals(0, stats1.getFired());
+        assertEquals(0, stats1.getAverageTimeMs());
+        assertEquals(0, stats1.getP99TimeMs());
+
+        assertEquals(1, stats.get(PACKAGE + ".rule-2").getMatchesCreated());
+    }
+
+    @Test
+    void testFired() {
+        for (var count = 0; count < 10; ++count) {
+            profiler.beforeFired();
+            profiler.afterFired(rule1);
+        }
+
+        var stats = profiler.getStats().get(PACKAGE + ".rule-1");
+        assertEquals(10, stats.getFired());
+        assertTrue(stats.getTotalTimeMs() >= stats.getMaxTimeMs());
+        assertTrue(stats.getMaxTimeMs() >= stats.getAverageTimeMs());
+
+        // percentiles are bucket upper bounds
+        assertTrue(stats.getP50TimeMs() > 0);
+        assertTrue(stats.getP50TimeMs() <= stats.getP95TimeMs());
+        assertTrue(stats.getP95TimeMs() <= stats.getP99TimeMs());
+        assertTrue(stats.getP99TimeMs() >= stats.getMaxTimeMs());
+    }
+
+    @Test
+    void testNewRuleDefinition() {
+        // the same rule, after the container is updated
+        var rule1b = makeRule("rule-1");
+
+        profiler.matchCreated(rule1);
+        profiler.matchCreated(rule1b);
+
+        var stats = profiler.getStats();
+        assertEquals(1, stats.size());
+        assertEquals(2, stats.get(PACKAGE + ".rule-1").getMatchesCreated());
+    }
+
+    @Test
+    void testReset() {
+        profiler.matchCreated(rule1);
+        profiler.reset();
+        assertTrue(profiler.getStats().isEmpty());
+    }
+
+    @Test
+    void testToString() {
+        profiler.matchCreated(rule1);
+        assertThat(profiler.toString()).contains("rules=1");
+        assertThat(profiler.getStats().get(PACKAGE + ".rule-1").toString()).contains("rule-1");
+    }
+
+    private Rule makeRule(String name) {
+        var rule = mock(Rule.class);
+        when(rule.getPackageName()).thenReturn(PACKAGE);
+        when(rule.getName()).thenReturn(name);
+        return rule;
+    }
+}
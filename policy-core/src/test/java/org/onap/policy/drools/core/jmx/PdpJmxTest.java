@@ -56,6 +56,9 @@ class PdpJmxTest {
         jmx.updateOccurred();
         assertEquals(2, jmx.getUpdates());
         assertEquals(0, jmx.getRulesFired());
+
+        jmx.updatesOccurred(3);
+        assertEquals(5, jmx.getUpdates());
     }
 
     @Test
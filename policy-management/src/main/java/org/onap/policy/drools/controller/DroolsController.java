@@ -21,13 +21,20 @@
 
 package org.onap.policy.drools.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import lombok.NonNull;
 import org.onap.policy.common.capabilities.Lockable;
 import org.onap.policy.common.capabilities.Startable;
 import org.onap.policy.common.message.bus.event.TopicSink;
 import org.onap.policy.drools.core.PolicyContainer;
+import org.onap.policy.drools.core.RuleProfiler.RuleStats;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoder;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoderConstants;
 import org.onap.policy.drools.protocol.coders.TopicCoderFilterConfiguration;
 
 /**
@@ -87,6 +94,43 @@ public interface DroolsController extends Startable, Lockable {
      */
     boolean offer(String topic, String event);
 
+    /**
+     * offers a raw UTF-8 encoded event to this controller for processing.  The default
+     * converts it into a string first.
+     *
+     * @param topic topic associated with the event
+     * @param event the UTF-8 encoded event
+     *
+     * @return true if the operation was successful
+     */
+    default boolean offer(String topic, byte[] event) {
+        return offer(topic, new String(event, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * decodes a raw event from a topic, without offering it for processing.
+     * The default decodes it with the global event protocol coder.
+     *
+     * @param topic topic associated with the event
+     * @param event the event
+     *
+     * @return the decoded event, or null if it is not for this controller or
+     *     cannot be decoded
+     */
+    default Object decode(String topic, String event) {
+        EventProtocolCoder coder = EventProtocolCoderConstants.getManager();
+        if (!coder.isDecodingSupported(getGroupId(), getArtifactId(), topic)) {
+            return null;
+        }
+
+        try {
+            Object anEvent = coder.decodeOrReject(getGroupId(), getArtifactId(), topic, event);
+            return (anEvent == EventProtocolCoderConstants.REJECTED ? null : anEvent);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
     /**
      * offers a T event to this controller for processing.
      *
@@ -96,12 +140,49 @@ public interface DroolsController extends Startable, Lockable {
      */
     <T> boolean offer(T event);
 
+    /**
+     * offers a batch of raw events from a topic to this controller for processing.
+     * The events are decoded in bulk and inserted with a single operation per session.
+     * The default offers them one at a time.
+     *
+     * @param topic topic associated with the events
+     * @param events the events
+     *
+     * @return true if the operation was successful
+     */
+    default boolean offerAll(String topic, List<String> events) {
+        var success = true;
+        for (String event : events) {
+            success = offer(topic, event) && success;
+        }
+        return success;
+    }
+
+    /**
+     * offers a batch of events to this controller for processing.  The events are
+     * inserted with a single operation per session.  The default offers them one
+     * at a time.
+     *
+     * @param events the events
+     *
+     * @return true if the operation was successful
+     */
+    default boolean offerAll(Collection<?> events) {
+        var success = true;
+        for (Object event : events) {
+            success = offer(event) && success;
+        }
+        return success;
+    }
+
     /**
      * delivers "event" to "sink".
      *
      * @param sink destination
      * @param event event
-     * @return true if successful, false if a failure has occurred.
+     * @return true if successful, false if a failure has occurred.  When the sink is
+     *         configured for asynchronous delivery, true once the event is accepted for
+     *         sending, see {@link #deliverAsync(TopicSink, Object)} for the actual outcome.
      * @throws IllegalArgumentException when invalid or insufficient properties are provided
      * @throws IllegalStateException when the engine is in a state where this operation is not
      *         permitted (i.e. locked or stopped).
@@ -110,6 +191,21 @@ public interface DroolsController extends Startable, Lockable {
      */
     boolean deliver(TopicSink sink, Object event);
 
+    /**
+     * delivers "event" to "sink", without waiting for it to be sent when the sink is
+     * configured for asynchronous delivery.
+     *
+     * @param sink destination
+     * @param event event
+     * @return the outcome of the delivery, completed once the event has been sent
+     * @throws IllegalArgumentException when invalid or insufficient properties are provided
+     * @throws IllegalStateException when the engine is in a state where this operation is not
+     *         permitted (i.e. locked or stopped).
+     */
+    default CompletableFuture<Boolean> deliverAsync(TopicSink sink, Object event) {
+        return CompletableFuture.completedFuture(deliver(sink, event));
+    }
+
     /**
      * Get recent source events.
      *
@@ -131,6 +227,17 @@ public interface DroolsController extends Startable, Lockable {
      */
     PolicyContainer getContainer();
 
+    /**
+     * Gets the hash of the classloader of the model in use, it changes
+     * when the model is updated.  The default is the hash of the classloader of the
+     * policy container.
+     *
+     * @return the model classloader hash
+     */
+    default int getModelClassLoaderHash() {
+        return getContainer().getClassLoader().hashCode();
+    }
+
     /**
      * Does it own the coder.
      *
@@ -184,6 +291,16 @@ public interface DroolsController extends Startable, Lockable {
      */
     long factCount(String sessionName);
 
+    /**
+     * gets the rule execution statistics of the sessions that are profiled.
+     * The default reports no profiled sessions.
+     *
+     * @return map of session name to the statistics of each rule
+     */
+    default Map<String, Map<String, RuleStats>> ruleStats() {
+        return Map.of();
+    }
+
     /**
      * gets all the facts of a given class for a given session.
      *
@@ -242,6 +359,15 @@ public interface DroolsController extends Startable, Lockable {
      */
     <T> boolean exists(@NonNull T fact);
 
+    /**
+     * Indexes the facts of a class by key in all sessions, so that {@link #exists(Object)}
+     * and {@link #delete(Object)} find them without scanning all the facts of the class.
+     * The default does nothing, leaving those lookups to scan the facts.
+     */
+    default <T> void indexFacts(@NonNull Class<T> clazz, @NonNull Function<? super T, ?> keyExtractor) {
+        // no index by default
+    }
+
 
     /**
      * halts and permanently releases all resources.
@@ -25,6 +25,7 @@ import static org.onap.policy.common.message.bus.properties.MessageBusProperties
 import static org.onap.policy.common.message.bus.properties.MessageBusProperties.PROPERTY_KAFKA_SOURCE_TOPICS;
 import static org.onap.policy.common.message.bus.properties.MessageBusProperties.PROPERTY_NOOP_SINK_TOPICS;
 import static org.onap.policy.common.message.bus.properties.MessageBusProperties.PROPERTY_NOOP_SOURCE_TOPICS;
+import static org.onap.policy.drools.system.PolicyEngineConstants.PROPERTY_TOPIC_EVENTS_CODEC_SUFFIX;
 import static org.onap.policy.drools.system.PolicyEngineConstants.PROPERTY_TOPIC_EVENTS_CUSTOM_MODEL_CODER_GSON_SUFFIX;
 import static org.onap.policy.drools.system.PolicyEngineConstants.PROPERTY_TOPIC_EVENTS_FILTER_SUFFIX;
 import static org.onap.policy.drools.system.PolicyEngineConstants.PROPERTY_TOPIC_EVENTS_SUFFIX;
@@ -169,6 +170,11 @@ class IndexedDroolsControllerFactory implements DroolsControllerFactory {
                 encoderConfigurations);
         }
 
+        if (controller.getContainer() != null) {
+            // the sessions are configured from the controller properties when they start
+            controller.getContainer().setProperties(properties);
+        }
+
         synchronized (this) {
             droolsControllers.put(controllerId, controller);
         }
@@ -256,8 +262,14 @@ class IndexedDroolsControllerFactory implements DroolsControllerFactory {
             List<PotentialCoderFilter> classes2Filters =
                 getFilterExpressions(properties, propertyTopicEntityPrefix, eventClasses);
 
-            topics2DecodedClasses2Filters
-                .add(new TopicCoderFilterConfiguration(firstTopic, classes2Filters, customGsonCoder));
+            var topicCoderFilters = new TopicCoderFilterConfiguration(firstTopic, classes2Filters, customGsonCoder);
+
+            // 5. the codec that binds the events, if other than the default one
+
+            topicCoderFilters.setCodec(properties.getProperty(propertyTopicEntityPrefix
+                + PROPERTY_TOPIC_EVENTS_CODEC_SUFFIX));
+
+            topics2DecodedClasses2Filters.add(topicCoderFilters);
         }
 
         return topics2DecodedClasses2Filters;
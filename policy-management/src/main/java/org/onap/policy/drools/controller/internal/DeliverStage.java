@@ -0,0 +1,346 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.controller.internal;
+
+import io.prometheus.metrics.core.datapoints.CounterDataPoint;
+import io.prometheus.metrics.core.metrics.Counter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import org.onap.policy.common.message.bus.event.TopicSink;
+import org.onap.policy.common.utils.resources.PrometheusUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers events to topic sinks from its own threads, so that the threads delivering
+ * them, typically running rules, do not wait for the events to be encoded and sent.
+ * The events delivered to a sink are sent in the order they were delivered, by at most
+ * one thread at a time, which sends all the events pending for that sink, a batch at
+ * a time, before releasing it.
+ *
+ * <p>As topic sinks only send one message at a time, the events of a batch are still
+ * encoded and sent one by one: a batch only bounds the events a thread takes from a sink
+ * at once, and the sends to different sinks proceed concurrently.
+ *
+ * <p>Note that the events are encoded after they are delivered, so they should not be
+ * modified once delivered.
+ */
+public class DeliverStage {
+    private static final Logger logger = LoggerFactory.getLogger(DeliverStage.class);
+
+    public static final int DEFAULT_CAPACITY = 10000;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    protected static final String CONTROLLER_LABEL = "controller";
+
+    protected static final Counter droppedCounter =
+            Counter.builder()
+                    .name(PrometheusUtils.PdpType.PDPD.getNamespace() + "_deliver_dropped")
+                    .labelNames(CONTROLLER_LABEL)
+                    .help("Number of events discarded by the deliver stage of a controller")
+                    .register();
+
+    /**
+     * Sends an event to a sink.
+     */
+    @FunctionalInterface
+    public interface Sender {
+        /**
+         * Encodes and sends an event to a sink.
+         *
+         * @param sink destination
+         * @param event event
+         * @return true if successful, false if a failure has occurred
+         */
+        boolean send(TopicSink sink, Object event);
+
+        /**
+         * Invoked, instead of {@link #send(TopicSink, Object)}, when an event is
+         * discarded without being sent.
+         *
+         * @param sink destination
+         * @param event event
+         */
+        default void discard(TopicSink sink, Object event) {
+            // do nothing
+        }
+    }
+
+    /**
+     * An event waiting to be sent.
+     */
+    private record Delivery(Object event, CompletableFuture<Boolean> outcome) {
+    }
+
+    /**
+     * Events waiting to be sent to a sink.
+     */
+    private class Lane implements Runnable {
+        private final TopicSink sink;
+        private final Queue<Delivery> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Lane(TopicSink sink) {
+            this.sink = sink;
+        }
+
+        private boolean add(Delivery delivery) {
+            if (depth.incrementAndGet() > capacity) {
+                depth.decrementAndGet();
+                return false;
+            }
+
+            pending.add(delivery);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // stopped in the meantime
+                    abort(e);
+                }
+            }
+            return true;
+        }
+
+        private void abort(RuntimeException cause) {
+            Delivery delivery;
+            while ((delivery = pending.poll()) != null) {
+                depth.decrementAndGet();
+                drop(sink, delivery.event());
+                delivery.outcome().completeExceptionally(cause);
+            }
+            scheduled.set(false);
+        }
+
+        @Override
+        public void run() {
+            List<Delivery> batch = new ArrayList<>(batchSize);
+            for (;;) {
+                Delivery delivery;
+                while (batch.size() < batchSize && (delivery = pending.poll()) != null) {
+                    batch.add(delivery);
+                }
+
+                if (!batch.isEmpty()) {
+                    depth.addAndGet(-batch.size());
+                    flush(batch);
+                    batch.clear();
+                    continue;
+                }
+
+                // releases the sink, unless events were added in the meantime
+                scheduled.set(false);
+                if (pending.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        private void flush(List<Delivery> batch) {
+            for (Delivery delivery : batch) {
+                try {
+                    delivery.outcome().complete(sender.send(sink, delivery.event()));
+                } catch (RuntimeException e) {
+                    logger.warn("{}: cannot deliver to {}", name, sink, e);
+                    delivery.outcome().completeExceptionally(e);
+                }
+            }
+
+            flushes.increment();
+        }
+    }
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final Set<String> topics;
+
+    @Getter
+    private final int capacity;
+
+    @Getter
+    private final int batchSize;
+
+    private final Sender sender;
+
+    private final Map<TopicSink, Lane> lanes = new ConcurrentHashMap<>();
+
+    private final LongAdder flushes = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final CounterDataPoint droppedMetric;
+
+    private final ExecutorService executor;
+
+    private volatile boolean running = true;
+
+    /**
+     * Constructor.
+     *
+     * @param name name of the controller
+     * @param topics topics of the sinks that are delivered asynchronously
+     * @param capacity maximum number of events waiting to be sent, per sink
+     * @param batchSize maximum number of events taken from a sink at a time, which are
+     *        then sent one by one
+     * @param sender encodes and sends an event
+     */
+    public DeliverStage(String name, Set<String> topics, int capacity, int batchSize, Sender sender) {
+        this.name = name;
+        this.topics = Set.copyOf(topics);
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.sender = sender;
+        this.droppedMetric = droppedCounter.labelValues(name);
+
+        var count = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "Deliver " + name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Indicates whether the events are delivered asynchronously to a sink.
+     *
+     * @param sink destination
+     * @return true if the sink is delivered by this stage
+     */
+    public boolean isAsync(TopicSink sink) {
+        return running && topics.contains(sink.getTopic());
+    }
+
+    /**
+     * Submits an event to be sent to a sink.
+     *
+     * @param sink destination
+     * @param event event
+     * @return the outcome of the delivery, completed once the event has been sent, or
+     *         with {@code false} if too many events are waiting to be sent to the sink,
+     *         in which case the event is discarded right away
+     * @throws IllegalStateException if the stage has been stopped
+     */
+    public CompletableFuture<Boolean> submit(TopicSink sink, Object event) {
+        if (!running) {
+            throw new IllegalStateException(name + " deliveries are stopped");
+        }
+
+        var outcome = new CompletableFuture<Boolean>();
+        if (!lanes.computeIfAbsent(sink, Lane::new).add(new Delivery(event, outcome))) {
+            logger.warn("{}: discarding event for {}, too many pending events", name, sink);
+            drop(sink, event);
+            outcome.complete(false);
+        }
+
+        return outcome;
+    }
+
+    private void drop(TopicSink sink, Object event) {
+        dropped.increment();
+        droppedMetric.inc();
+
+        try {
+            sender.discard(sink, event);
+        } catch (RuntimeException e) {
+            logger.warn("{}: cannot discard event for {}", name, sink, e);
+        }
+    }
+
+    /**
+     * Stops the stage, once the events that were already submitted have been sent.  The
+     * events that could not be sent within 10 seconds are discarded, their outcome being
+     * completed with an {@link IllegalStateException}.
+     */
+    public void stop() {
+        running = false;
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("{}: discarding pending events", name);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            logger.error("{}: interrupted while stopping the deliveries", name, e);
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        var cause = new IllegalStateException(name + " deliveries are stopped");
+        for (Lane lane : lanes.values()) {
+            lane.abort(cause);
+        }
+    }
+
+    /**
+     * Gets the number of events waiting to be sent to a sink.
+     *
+     * @param sink destination
+     * @return the number of pending events
+     */
+    public int getPending(TopicSink sink) {
+        var lane = lanes.get(sink);
+        return (lane != null ? lane.depth.get() : 0);
+    }
+
+    /**
+     * Gets the number of batches of events that have been sent, each event with its own
+     * send to its sink.
+     *
+     * @return the number of flushes
+     */
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    /**
+     * Gets the number of events discarded because too many were waiting to be sent, or
+     * because the stage was stopped before they were sent.
+     *
+     * @return the number of dropped events
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "DeliverStage [name=" + name + ", topics=" + topics + ", capacity=" + capacity
+            + ", batchSize=" + batchSize + "]";
+    }
+}
@@ -21,17 +21,27 @@
 
 package org.onap.policy.drools.controller.internal;
 
+import io.prometheus.metrics.core.metrics.CounterWithCallback;
+import io.prometheus.metrics.core.metrics.GaugeWithCallback;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.NonNull;
 import org.apache.commons.collections4.queue.CircularFifoQueue;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.drools.core.ClassObjectFilter;
 import org.kie.api.definition.KiePackage;
 import org.kie.api.definition.rule.Query;
@@ -41,15 +51,19 @@ import org.kie.api.runtime.rule.QueryResultsRow;
 import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
 import org.onap.policy.common.gson.annotation.GsonJsonProperty;
 import org.onap.policy.common.message.bus.event.TopicSink;
+import org.onap.policy.common.utils.resources.PrometheusUtils;
 import org.onap.policy.common.utils.services.FeatureApiUtils;
 import org.onap.policy.common.utils.services.OrderedServiceImpl;
 import org.onap.policy.drools.controller.DroolsController;
 import org.onap.policy.drools.controller.DroolsControllerConstants;
 import org.onap.policy.drools.core.PolicyContainer;
 import org.onap.policy.drools.core.PolicySession;
+import org.onap.policy.drools.core.RuleProfiler.RuleStats;
 import org.onap.policy.drools.core.jmx.PdpJmx;
 import org.onap.policy.drools.features.DroolsControllerFeatureApi;
 import org.onap.policy.drools.features.DroolsControllerFeatureApiConstants;
+import org.onap.policy.drools.features.FeatureHook;
+import org.onap.policy.drools.properties.DroolsPropertyConstants;
 import org.onap.policy.drools.protocol.coders.EventProtocolCoder;
 import org.onap.policy.drools.protocol.coders.EventProtocolCoderConstants;
 import org.onap.policy.drools.protocol.coders.EventProtocolParams;
@@ -75,6 +89,48 @@ public class MavenDroolsController implements DroolsController {
      */
     private static final Logger logger = LoggerFactory.getLogger(MavenDroolsController.class);
 
+    protected static final String GROUP_LABEL = "group";
+    protected static final String ARTIFACT_LABEL = "artifact";
+    protected static final String SESSION_LABEL = "session";
+    protected static final String CLASS_LABEL = "class";
+    protected static final String RULE_LABEL = "rule";
+
+    /**
+     * Number of facts in each session, by class.  The sessions keep count of their
+     * facts, so the gauge is computed on collection without scanning the facts.
+     */
+    protected static final GaugeWithCallback factsGauge =
+            GaugeWithCallback.builder()
+                    .name(PrometheusUtils.PdpType.PDPD.getNamespace() + "_session_facts")
+                    .labelNames(GROUP_LABEL, ARTIFACT_LABEL, SESSION_LABEL, CLASS_LABEL)
+                    .help("Number of facts in a drools session, by class")
+                    .callback(MavenDroolsController::collectFactCounts)
+                    .register();
+
+    /**
+     * Number of times each rule fired, in the sessions that are profiled.
+     */
+    protected static final CounterWithCallback rulesFiredCounter =
+            CounterWithCallback.builder()
+                    .name(PrometheusUtils.PdpType.PDPD.getNamespace() + "_rule_fired")
+                    .labelNames(GROUP_LABEL, ARTIFACT_LABEL, SESSION_LABEL, RULE_LABEL)
+                    .help("Number of times a rule fired, when the session is profiled")
+                    .callback(callback -> collectRuleStats(
+                        (stats, labels) -> callback.call(stats.getFired(), labels)))
+                    .register();
+
+    /**
+     * Time spent executing the consequence of each rule, in the sessions that are profiled.
+     */
+    protected static final CounterWithCallback rulesTimeCounter =
+            CounterWithCallback.builder()
+                    .name(PrometheusUtils.PdpType.PDPD.getNamespace() + "_rule_rhs_seconds")
+                    .labelNames(GROUP_LABEL, ARTIFACT_LABEL, SESSION_LABEL, RULE_LABEL)
+                    .help("Time spent executing the consequence of a rule, when the session is profiled")
+                    .callback(callback -> collectRuleStats(
+                        (stats, labels) -> callback.call(stats.getTotalTimeMs() / 1000D, labels)))
+                    .register();
+
     /**
      * Policy Container, the access object to the policy-core layer.
      */
@@ -124,6 +180,12 @@ public class MavenDroolsController implements DroolsController {
     @Getter
     protected int modelClassLoaderHash;
 
+    /**
+     * stage sending events to the sinks configured for asynchronous delivery, while started.
+     */
+    @GsonJsonIgnore
+    protected volatile DeliverStage deliverStage;
+
     /**
      * Expanded version of the constructor.
      *
@@ -290,13 +352,14 @@ public class MavenDroolsController implements DroolsController {
                             .eventClass(potentialCodedClass)
                             .protocolFilter(protocolFilter)
                             .customGsonCoder(customGsonCoder)
+                            .codec(coderConfig.getCodec())
                             .modelClassLoaderHash(this.policyContainer.getClassLoader().hashCode()).build());
                 } else {
                     getCoderManager().addEncoder(
                             EventProtocolParams.builder().groupId(this.getGroupId())
                                     .artifactId(this.getArtifactId()).topic(topic)
                                     .eventClass(potentialCodedClass).protocolFilter(protocolFilter)
-                                    .customGsonCoder(customGsonCoder)
+                                    .customGsonCoder(customGsonCoder).codec(coderConfig.getCodec())
                                     .modelClassLoaderHash(this.policyContainer.getClassLoader().hashCode()).build());
                 }
             }
@@ -401,6 +464,7 @@ public class MavenDroolsController implements DroolsController {
                 return true;
             }
             this.alive = true;
+            this.deliverStage = makeDeliverStage();
         }
 
         return this.policyContainer.start();
@@ -411,16 +475,61 @@ public class MavenDroolsController implements DroolsController {
 
         logger.info("STOP: {}", this);
 
+        DeliverStage stage;
         synchronized (this) {
             if (!this.alive) {
                 return true;
             }
             this.alive = false;
+            stage = this.deliverStage;
+            this.deliverStage = null;
+        }
+
+        if (stage != null) {
+            // sends the events already delivered
+            stage.stop();
         }
 
         return this.policyContainer.stop();
     }
 
+    /**
+     * Creates the stage delivering events asynchronously, if any sink is configured for it
+     * in the controller properties.
+     *
+     * @return the deliver stage, or {@code null} if all the events are sent by the
+     *         delivering threads
+     */
+    protected DeliverStage makeDeliverStage() {
+        Properties properties = this.policyContainer.getProperties();
+        if (properties == null) {
+            return null;
+        }
+
+        String topics = properties.getProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DELIVER_ASYNC);
+        if (StringUtils.isBlank(topics)) {
+            return null;
+        }
+
+        return new DeliverStage(this.getGroupId() + ":" + this.getArtifactId(),
+            Set.copyOf(List.of(topics.trim().split("\\s*,\\s*"))),
+            NumberUtils.toInt(properties.getProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DELIVER_CAPACITY),
+                            DeliverStage.DEFAULT_CAPACITY),
+            NumberUtils.toInt(properties.getProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DELIVER_BATCH_SIZE),
+                            DeliverStage.DEFAULT_BATCH_SIZE),
+            new DeliverStage.Sender() {
+                @Override
+                public boolean send(TopicSink sink, Object event) {
+                    return MavenDroolsController.this.send(sink, event);
+                }
+
+                @Override
+                public void discard(TopicSink sink, Object event) {
+                    afterDeliver(sink, event, null, false);
+                }
+            });
+    }
+
     @Override
     public void shutdown() {
         logger.info("{}: SHUTDOWN", this);
@@ -478,41 +587,98 @@ public class MavenDroolsController implements DroolsController {
     public boolean offer(String topic, String event) {
         logger.debug("{}: OFFER raw event from {}", this, topic);
 
-        if (this.locked || !this.alive || this.policyContainer.getPolicySessions().isEmpty()) {
+        Object anEvent = decode(topic, event);
+        if (anEvent == null) {
             return true;
         }
 
-        // 1. Now, check if this topic has a decoder:
+        return offer(anEvent);
 
-        if (!getCoderManager().isDecodingSupported(this.getGroupId(),
-                this.getArtifactId(),
-                topic)) {
+    }
 
-            logger.warn("{}: DECODING-UNSUPPORTED {}:{}:{}", this,              // NOSONAR
-                    topic, this.getGroupId(), this.getArtifactId());
-            return true;
+    @Override
+    public Object decode(String topic, String event) {
+        // 1. Now, check if this topic has a decoder:
+
+        if (!isDecodable(topic)) {
+            return null;
         }
 
         // 2. Decode
 
         Object anEvent;
         try {
-            anEvent = getCoderManager().decode(this.getGroupId(),
+            anEvent = getCoderManager().decodeOrReject(this.getGroupId(),
                     this.getArtifactId(),
                     topic,
                     event);
         } catch (UnsupportedOperationException uoe) {
             logger.debug("{}: DECODE FAILED: {} <- {} because of {}", this, topic,
                     event, uoe.getMessage(), uoe);
-            return true;
+            return null;
         } catch (Exception e) {
             logger.warn("{}: DECODE FAILED: {} <- {} because of {}", this, topic,
                     event, e.getMessage(), e);
+            return null;
+        }
+
+        if (anEvent == EventProtocolCoderConstants.REJECTED) {
+            // not for this controller, counted in the decoder statistics
+            return null;
+        }
+
+        return anEvent;
+    }
+
+    @Override
+    public boolean offer(String topic, byte[] event) {
+        logger.debug("{}: OFFER raw payload from {}", this, topic);
+
+        if (!isDecodable(topic)) {
+            return true;
+        }
+
+        Object anEvent;
+        try {
+            anEvent = getCoderManager().decodeOrReject(this.getGroupId(),
+                    this.getArtifactId(),
+                    topic,
+                    event);
+        } catch (UnsupportedOperationException uoe) {
+            logger.debug("{}: DECODE FAILED: {} <- {} bytes because of {}", this, topic,
+                    ArrayUtils.getLength(event), uoe.getMessage(), uoe);
+            return true;
+        } catch (Exception e) {
+            logger.warn("{}: DECODE FAILED: {} <- {} bytes because of {}", this, topic,
+                    ArrayUtils.getLength(event), e.getMessage(), e);
+            return true;
+        }
+
+        if (anEvent == EventProtocolCoderConstants.REJECTED) {
             return true;
         }
 
         return offer(anEvent);
+    }
+
+    /**
+     * Checks if raw events from a topic can be decoded and processed.
+     */
+    private boolean isDecodable(String topic) {
+        if (this.locked || !this.alive || !this.policyContainer.hasSessions()) {
+            return false;
+        }
+
+        if (!getCoderManager().isDecodingSupported(this.getGroupId(),
+                this.getArtifactId(),
+                topic)) {
+
+            logger.warn("{}: DECODING-UNSUPPORTED {}:{}:{}", this,              // NOSONAR
+                    topic, this.getGroupId(), this.getArtifactId());
+            return false;
+        }
 
+        return true;
     }
 
     /*
@@ -524,7 +690,7 @@ public class MavenDroolsController implements DroolsController {
     public <T> boolean offer(T event) {     // NOSONAR
         logger.debug("{}: OFFER event", this);
 
-        if (this.locked || !this.alive || this.policyContainer.getPolicySessions().isEmpty()) {
+        if (this.locked || !this.alive || !this.policyContainer.hasSessions()) {
             return true;
         }
 
@@ -536,7 +702,9 @@ public class MavenDroolsController implements DroolsController {
 
         // Broadcast
 
-        if (FeatureApiUtils.apply(getDroolsProviders().getList(),
+        List<DroolsControllerFeatureApi> beforeInsert =
+                        getDroolsProviders(DroolsControllerFeatureApiConstants.BEFORE_INSERT);
+        if (!beforeInsert.isEmpty() && FeatureApiUtils.apply(beforeInsert,
             feature -> feature.beforeInsert(this, event),
             (feature, ex) -> logger.error("{}: feature {} before-insert failure because of {}", this,
                             feature.getClass().getName(), ex.getMessage(), ex))) {
@@ -548,21 +716,136 @@ public class MavenDroolsController implements DroolsController {
             logger.warn("{} Failed to inject into PolicyContainer {}", this, this.getSessionNames());
         }
 
-        FeatureApiUtils.apply(getDroolsProviders().getList(),
-            feature -> feature.afterInsert(this, event, successInject),
-            (feature, ex) -> logger.error("{}: feature {} after-insert failure because of {}", this,
-                            feature.getClass().getName(), ex.getMessage(), ex));
+        List<DroolsControllerFeatureApi> afterInsert =
+                        getDroolsProviders(DroolsControllerFeatureApiConstants.AFTER_INSERT);
+        if (!afterInsert.isEmpty()) {
+            FeatureApiUtils.apply(afterInsert,
+                feature -> feature.afterInsert(this, event, successInject),
+                (feature, ex) -> logger.error("{}: feature {} after-insert failure because of {}", this,
+                                feature.getClass().getName(), ex.getMessage(), ex));
+        }
 
         return true;
 
     }
 
+    @Override
+    public boolean offerAll(String topic, List<String> events) {
+        logger.debug("{}: OFFER {} raw events from {}", this, events.size(), topic);
+
+        if (!isDecodable(topic)) {
+            return true;
+        }
+
+        List<Object> facts = new ArrayList<>(events.size());
+        for (String event : events) {
+            try {
+                var fact = getCoderManager().decodeOrReject(this.getGroupId(), this.getArtifactId(), topic, event);
+                if (fact != EventProtocolCoderConstants.REJECTED) {
+                    facts.add(fact);
+                }
+            } catch (UnsupportedOperationException uoe) {
+                logger.debug("{}: DECODE FAILED: {} <- {} because of {}", this, topic,
+                        event, uoe.getMessage(), uoe);
+            } catch (Exception e) {
+                logger.warn("{}: DECODE FAILED: {} <- {} because of {}", this, topic,
+                        event, e.getMessage(), e);
+            }
+        }
+
+        return offerAll(facts);
+    }
+
+    @Override
+    public boolean offerAll(Collection<?> events) {
+        logger.debug("{}: OFFER {} events", this, events.size());
+
+        if (events.isEmpty() || this.locked || !this.alive || !this.policyContainer.hasSessions()) {
+            return true;
+        }
+
+        synchronized (this.recentSourceEvents) {
+            this.recentSourceEvents.addAll(events);
+        }
+
+        PdpJmx.getInstance().updatesOccurred(events.size());
+
+        // Broadcast
+
+        List<Object> facts = new ArrayList<>(events);
+        List<DroolsControllerFeatureApi> beforeInsertAll =
+                        getDroolsProviders(DroolsControllerFeatureApiConstants.BEFORE_INSERT_ALL);
+        if (!beforeInsertAll.isEmpty() && FeatureApiUtils.apply(beforeInsertAll,
+            feature -> feature.beforeInsertAll(this, facts),
+            (feature, ex) -> logger.error("{}: feature {} before-insert-all failure because of {}", this,
+                            feature.getClass().getName(), ex.getMessage(), ex))) {
+            return true;
+        }
+
+        if (facts.isEmpty()) {
+            return true;
+        }
+
+        boolean successInject = this.policyContainer.insertBatch(facts);
+        if (!successInject) {
+            logger.warn("{} Failed to inject into PolicyContainer {}", this, this.getSessionNames());
+        }
+
+        List<DroolsControllerFeatureApi> afterInsertAll =
+                        getDroolsProviders(DroolsControllerFeatureApiConstants.AFTER_INSERT_ALL);
+        if (!afterInsertAll.isEmpty()) {
+            FeatureApiUtils.apply(afterInsertAll,
+                feature -> feature.afterInsertAll(this, facts, successInject),
+                (feature, ex) -> logger.error("{}: feature {} after-insert-all failure because of {}", this,
+                                feature.getClass().getName(), ex.getMessage(), ex));
+        }
+
+        return true;
+    }
+
     @Override
     public boolean deliver(TopicSink sink, Object event) {
 
         logger.info("{}DELIVER: {} FROM {} TO {}", this, event, this, sink);
 
-        for (DroolsControllerFeatureApi feature : getDroolsProviders().getList()) {
+        if (beforeDeliver(sink, event)) {
+            return true;
+        }
+
+        var stage = this.deliverStage;
+        if (stage != null && stage.isAsync(sink)) {
+            // the after-deliver hooks are invoked with the outcome, once sent or discarded
+            return stage.submit(sink, event).exceptionally(ex -> false).getNow(true);
+        }
+
+        return send(sink, event);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deliverAsync(TopicSink sink, Object event) {
+
+        logger.info("{}DELIVER-ASYNC: {} FROM {} TO {}", this, event, this, sink);
+
+        if (beforeDeliver(sink, event)) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        var stage = this.deliverStage;
+        if (stage != null && stage.isAsync(sink)) {
+            return stage.submit(sink, event);
+        }
+
+        return CompletableFuture.completedFuture(send(sink, event));
+    }
+
+    /**
+     * Invokes the before-deliver hooks, and checks that the event can be delivered.
+     *
+     * @return true if a feature has taken ownership of the delivery
+     */
+    private boolean beforeDeliver(TopicSink sink, Object event) {
+        for (DroolsControllerFeatureApi feature :
+                        getDroolsProviders(DroolsControllerFeatureApiConstants.BEFORE_DELIVER)) {
             try {
                 if (feature.beforeDeliver(this, sink, event)) {
                     return true;
@@ -589,6 +872,15 @@ public class MavenDroolsController implements DroolsController {
             throw new IllegalStateException(this +  " is stopped");
         }
 
+        return false;
+    }
+
+    /**
+     * Encodes and sends an event to a sink, then invokes the after-deliver hooks.
+     *
+     * @return true if successful, false if a failure has occurred
+     */
+    protected boolean send(TopicSink sink, Object event) {
         String json =
                 getCoderManager().encode(sink.getTopic(), event, this);
 
@@ -598,7 +890,19 @@ public class MavenDroolsController implements DroolsController {
 
         boolean success = sink.send(json);
 
-        for (DroolsControllerFeatureApi feature : getDroolsProviders().getList()) {
+        return afterDeliver(sink, event, json, success);
+    }
+
+    /**
+     * Invokes the after-deliver hooks.
+     *
+     * @param json encoded event, or {@code null} if the event was discarded before being
+     *        encoded
+     * @return true if a feature has taken ownership of the outcome, otherwise the outcome
+     */
+    private boolean afterDeliver(TopicSink sink, Object event, String json, boolean success) {
+        for (DroolsControllerFeatureApi feature :
+                        getDroolsProviders(DroolsControllerFeatureApiConstants.AFTER_DELIVER)) {
             try {
                 if (feature.afterDeliver(this, sink, event, json, success)) {
                     return true;
@@ -610,7 +914,6 @@ public class MavenDroolsController implements DroolsController {
         }
 
         return success;
-
     }
 
     @Override
@@ -727,31 +1030,100 @@ public class MavenDroolsController implements DroolsController {
         throw invalidSessNameEx(sessionName);
     }
 
+    /**
+     * provides the underlying core layer container sessions with name sessionName:
+     * the session itself, or all of its partitions when the session is partitioned.
+     *
+     * @param sessionName session name
+     * @return the attached Policy Sessions
+     * @throws IllegalArgumentException when an invalid session name is provided
+     * @throws IllegalStateException when the drools controller is in an invalid state
+     */
+    protected List<PolicySession> getSessions(String sessionName) {
+        if (sessionName == null || sessionName.isEmpty()) {
+            throw new IllegalArgumentException("A Session Name must be provided");
+        }
+
+        List<PolicySession> partitions = new ArrayList<>();
+        for (PolicySession session : this.getSessions()) {
+            if (sessionName.equals(session.getName()) || sessionName.equals(session.getFullName())) {
+                return List.of(session);
+            }
+
+            if (isPartitionOf(session, sessionName)) {
+                partitions.add(session);
+            }
+        }
+
+        if (partitions.isEmpty()) {
+            throw invalidSessNameEx(sessionName);
+        }
+
+        return partitions;
+    }
+
+    private static boolean isPartitionOf(PolicySession session, String sessionName) {
+        String prefix = sessionName + PolicyContainer.PARTITION_SEPARATOR;
+        return session.getName().startsWith(prefix) || session.getFullName().startsWith(prefix);
+    }
+
     private IllegalArgumentException invalidSessNameEx(String sessionName) {
         return new IllegalArgumentException("Invalid Session Name: " + sessionName);
     }
 
+    /**
+     * Reports the fact counts of the sessions of all the maven drools controllers.
+     */
+    protected static void collectFactCounts(GaugeWithCallback.Callback callback) {
+        for (DroolsController drools : DroolsControllerConstants.getFactory().inventory()) {
+            if (drools instanceof MavenDroolsController maven) {
+                maven.collectSessionFactCounts(callback);
+            }
+        }
+    }
+
+    private void collectSessionFactCounts(GaugeWithCallback.Callback callback) {
+        for (PolicySession session : getSessions()) {
+            session.getFactCounts().forEach((clazz, count) ->
+                callback.call(count, getGroupId(), getArtifactId(), session.getName(), clazz.getName()));
+        }
+    }
+
+    /**
+     * Reports the rule statistics of the profiled sessions of all the maven drools
+     * controllers, along with their group, artifact, session and rule labels.
+     */
+    protected static void collectRuleStats(BiConsumer<RuleStats, String[]> collector) {
+        for (DroolsController drools : DroolsControllerConstants.getFactory().inventory()) {
+            if (drools instanceof MavenDroolsController maven) {
+                maven.ruleStats().forEach((session, rules) -> rules.forEach((rule, stats) ->
+                    collector.accept(stats, new String[] {maven.getGroupId(), maven.getArtifactId(), session, rule})));
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Map<String, RuleStats>> ruleStats() {
+        Map<String, Map<String, RuleStats>> stats = new TreeMap<>();
+        for (PolicySession session : getSessions()) {
+            var profiler = session.getRuleProfiler();
+            if (profiler != null) {
+                stats.put(session.getName(), profiler.getStats());
+            }
+        }
+        return stats;
+    }
+
     @Override
     public Map<String, Integer> factClassNames(String sessionName) {
         validateSessionName(sessionName);
 
         Map<String, Integer> classNames = new HashMap<>();
 
-        var session = getSession(sessionName);
-        var kieSession = session.getKieSession();
-
-        Collection<FactHandle> facts = kieSession.getFactHandles();
-        for (FactHandle fact : facts) {
-            try {
-                String className = kieSession.getObject(fact).getClass().getName();
-                if (classNames.containsKey(className)) {
-                    classNames.put(className, classNames.get(className) + 1);
-                } else {
-                    classNames.put(className, 1);
-                }
-            } catch (Exception e) {
-                logger.warn(FACT_RETRIEVE_ERROR, fact, e);
-            }
+        // the sessions keep count of their facts by class, so the facts are not scanned
+        for (PolicySession session : getSessions(sessionName)) {
+            session.getFactCounts().forEach((clazz, count) ->
+                classNames.merge(clazz.getName(), count.intValue(), Integer::sum));
         }
 
         return classNames;
@@ -767,7 +1139,7 @@ public class MavenDroolsController implements DroolsController {
     public long factCount(String sessionName) {
         validateSessionName(sessionName);
 
-        return getSession(sessionName).getKieSession().getFactCount();
+        return getSessions(sessionName).stream().mapToLong(session -> session.getKieSession().getFactCount()).sum();
     }
 
     @Override
@@ -784,20 +1156,21 @@ public class MavenDroolsController implements DroolsController {
             throw new IllegalArgumentException("Class cannot be fetched in model's classloader: " + className);
         }
 
-        var session = getSession(sessionName);
-        var kieSession = session.getKieSession();
-
         List<Object> factObjects = new ArrayList<>();
 
-        Collection<FactHandle> factHandles = kieSession.getFactHandles(new ClassObjectFilter(factClass));
-        for (FactHandle factHandle : factHandles) {
-            try {
-                factObjects.add(kieSession.getObject(factHandle));
-                if (delete) {
-                    kieSession.delete(factHandle);
+        for (PolicySession session : getSessions(sessionName)) {
+            var kieSession = session.getKieSession();
+
+            Collection<FactHandle> factHandles = kieSession.getFactHandles(new ClassObjectFilter(factClass));
+            for (FactHandle factHandle : factHandles) {
+                try {
+                    factObjects.add(kieSession.getObject(factHandle));
+                    if (delete) {
+                        kieSession.delete(factHandle);
+                    }
+                } catch (Exception e) {
+                    logger.warn(FACT_RETRIEVE_ERROR, factHandle, e);
                 }
-            } catch (Exception e) {
-                logger.warn(FACT_RETRIEVE_ERROR, factHandle, e);
             }
         }
 
@@ -826,22 +1199,26 @@ public class MavenDroolsController implements DroolsController {
             throw new IllegalArgumentException("Invalid Queried Entity: " + queriedEntity);
         }
 
-        var session = getSession(sessionName);
-        var kieSession = session.getKieSession();
+        List<PolicySession> sessions = getSessions(sessionName);
 
-        validateQueryName(kieSession, queryName);
+        // the partitions of a session share the same rules
+        validateQueryName(sessions.get(0).getKieSession(), queryName);
 
         List<Object> factObjects = new ArrayList<>();
 
-        var queryResults = kieSession.getQueryResults(queryName, queryParams);
-        for (QueryResultsRow row : queryResults) {
-            try {
-                factObjects.add(row.get(queriedEntity));
-                if (delete) {
-                    kieSession.delete(row.getFactHandle(queriedEntity));
+        for (PolicySession session : sessions) {
+            var kieSession = session.getKieSession();
+
+            var queryResults = kieSession.getQueryResults(queryName, queryParams);
+            for (QueryResultsRow row : queryResults) {
+                try {
+                    factObjects.add(row.get(queriedEntity));
+                    if (delete) {
+                        kieSession.delete(row.getFactHandle(queriedEntity));
+                    }
+                } catch (Exception e) {
+                    logger.warn("Object cannot be retrieved from row: {}", row, e);
                 }
-            } catch (Exception e) {
-                logger.warn("Object cannot be retrieved from row: {}", row, e);
             }
         }
 
@@ -862,7 +1239,14 @@ public class MavenDroolsController implements DroolsController {
 
     @Override
     public <T> boolean delete(@NonNull String sessionName, @NonNull T objFact) {
-        var kieSession = getSession(sessionName).getKieSession();
+        // the fact may be in any partition, or in all of them if it was inserted into all partitions
+        return getSessions(sessionName).stream()
+            .map(session -> deleteFact(session, sessionName, objFact))
+            .reduce(false, Boolean::logicalOr);
+    }
+
+    private <T> boolean deleteFact(PolicySession session, String sessionName, T objFact) {
+        var kieSession = session.getKieSession();
 
         // try first to get the object to delete first by reference
 
@@ -873,12 +1257,11 @@ public class MavenDroolsController implements DroolsController {
             return true;
         }
 
-        // otherwise, try to the delete the fact associated with the object by scanning all
-        // facts from the same type and performing object equality.   The set of facts
-        // is restricted to those of the same type
+        // otherwise, try to the delete the fact associated with the object by scanning the
+        // facts with the same index key, or else all facts from the same type, and performing
+        // object equality.
 
-        Collection<FactHandle> factHandles = kieSession.getFactHandles(new ClassObjectFilter(objFact.getClass()));
-        for (FactHandle factHandle : factHandles) {
+        for (FactHandle factHandle : equalityCandidates(session, objFact)) {
             if (Objects.equals(objFact, kieSession.getObject(factHandle))) {
                 logger.info("Slow delete of {} of type {} from {}",
                         objFact, objFact.getClass().getName(), sessionName);
@@ -897,17 +1280,18 @@ public class MavenDroolsController implements DroolsController {
 
     @Override
     public <T> boolean delete(@NonNull String sessionName, @NonNull Class<T> fact) {
-        var session = getSession(sessionName);
-        var kieSession = session.getKieSession();
-
         var success = true;
-        Collection<FactHandle> factHandles = kieSession.getFactHandles(new ClassObjectFilter(fact));
-        for (FactHandle factHandle : factHandles) {
-            try {
-                kieSession.delete(factHandle);
-            } catch (Exception e) {
-                logger.warn(FACT_RETRIEVE_ERROR, factHandle, e);
-                success = false;
+        for (PolicySession session : getSessions(sessionName)) {
+            var kieSession = session.getKieSession();
+
+            Collection<FactHandle> factHandles = kieSession.getFactHandles(new ClassObjectFilter(fact));
+            for (FactHandle factHandle : factHandles) {
+                try {
+                    kieSession.delete(factHandle);
+                } catch (Exception e) {
+                    logger.warn(FACT_RETRIEVE_ERROR, factHandle, e);
+                    success = false;
+                }
             }
         }
         return success;
@@ -920,7 +1304,11 @@ public class MavenDroolsController implements DroolsController {
 
     @Override
     public <T> boolean exists(@NonNull String sessionName, @NonNull T objFact) {
-        var kieSession = getSession(sessionName).getKieSession();
+        return getSessions(sessionName).stream().anyMatch(session -> factExists(session, objFact));
+    }
+
+    private <T> boolean factExists(PolicySession session, T objFact) {
+        var kieSession = session.getKieSession();
         if (kieSession.getFactHandle(objFact) != null) {
             return true;
         }
@@ -928,8 +1316,7 @@ public class MavenDroolsController implements DroolsController {
         // try to find the object by equality comparison instead if it could not be
         // found by reference
 
-        Collection<FactHandle> factHandles = kieSession.getFactHandles(new ClassObjectFilter(objFact.getClass()));
-        for (FactHandle factHandle : factHandles) {
+        for (FactHandle factHandle : equalityCandidates(session, objFact)) {
             if (Objects.equals(objFact, kieSession.getObject(factHandle))) {
                 return true;
             }
@@ -938,11 +1325,29 @@ public class MavenDroolsController implements DroolsController {
         return false;
     }
 
+    /**
+     * Gets the facts that may be equal to an object: those with the same index key, if
+     * the object's class is indexed, otherwise all the facts of the object's class.
+     */
+    private Collection<FactHandle> equalityCandidates(PolicySession session, Object objFact) {
+        Collection<FactHandle> candidates = session.getFactIndex().lookup(objFact);
+        if (candidates != null) {
+            return candidates;
+        }
+
+        return session.getKieSession().getFactHandles(new ClassObjectFilter(objFact.getClass()));
+    }
+
     @Override
     public <T> boolean exists(@NonNull T fact) {
         return this.getSessionNames().stream().anyMatch(ss -> exists(ss, fact));
     }
 
+    @Override
+    public <T> void indexFacts(@NonNull Class<T> clazz, @NonNull Function<? super T, ?> keyExtractor) {
+        this.policyContainer.indexFacts(clazz, keyExtractor);
+    }
+
     @Override
     public Class<?> fetchModelClass(String className) {
         return ReflectionUtil.fetchClass(this.policyContainer.getClassLoader(), className);
@@ -996,6 +1401,10 @@ public class MavenDroolsController implements DroolsController {
         return DroolsControllerFeatureApiConstants.getProviders();
     }
 
+    private List<DroolsControllerFeatureApi> getDroolsProviders(FeatureHook<DroolsControllerFeatureApi> hook) {
+        return hook.getProviders(getDroolsProviders().getList());
+    }
+
     protected PolicyContainer makePolicyContainer(String groupId, String artifactId, String version) {
         return new PolicyContainer(groupId, artifactId, version);
     }
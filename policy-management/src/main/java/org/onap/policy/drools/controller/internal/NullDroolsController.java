@@ -22,16 +22,19 @@
 package org.onap.policy.drools.controller.internal;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import lombok.NonNull;
 import lombok.ToString;
 import org.onap.policy.common.message.bus.event.TopicSink;
 import org.onap.policy.drools.controller.DroolsController;
 import org.onap.policy.drools.controller.DroolsControllerConstants;
 import org.onap.policy.drools.core.PolicyContainer;
+import org.onap.policy.drools.core.RuleProfiler.RuleStats;
 import org.onap.policy.drools.protocol.coders.TopicCoderFilterConfiguration;
 
 /**
@@ -115,11 +118,31 @@ public class NullDroolsController implements DroolsController {
         return false;
     }
 
+    @Override
+    public boolean offer(String topic, byte[] event) {
+        return false;
+    }
+
+    @Override
+    public Object decode(String topic, String event) {
+        return null;
+    }
+
     @Override
     public <T> boolean offer(T event) {
         return false;
     }
 
+    @Override
+    public boolean offerAll(String topic, List<String> events) {
+        return false;
+    }
+
+    @Override
+    public boolean offerAll(Collection<?> events) {
+        return false;
+    }
+
     @Override
     public boolean deliver(TopicSink sink, Object event) {
         throw new IllegalStateException(makeInvokeMsg());
@@ -140,6 +163,11 @@ public class NullDroolsController implements DroolsController {
         return new String[0];
     }
 
+    @Override
+    public int getModelClassLoaderHash() {
+        return 0;
+    }
+
     @Override
     public boolean ownsCoder(Class<?> coderClass, int modelHash) {
         throw new IllegalStateException(makeInvokeMsg());
@@ -173,6 +201,11 @@ public class NullDroolsController implements DroolsController {
         return 0;
     }
 
+    @Override
+    public Map<String, Map<String, RuleStats>> ruleStats() {
+        return new HashMap<>();
+    }
+
     @Override
     public List<Object> facts(String sessionName, String className, boolean delete) {
         return new ArrayList<>();
@@ -220,6 +253,11 @@ public class NullDroolsController implements DroolsController {
         return false;
     }
 
+    @Override
+    public <T> void indexFacts(@NonNull Class<T> clazz, @NonNull Function<? super T, ?> keyExtractor) {
+        // do nothing
+    }
+
     private String makeInvokeMsg() {
         return this.getClass().getName() + " invoked";
     }
@@ -88,6 +88,36 @@ public interface DroolsControllerFeatureApi extends OrderedService {
         return false;
     }
 
+    /**
+     * intercepts before the Drools Controller gives the Policy Container a batch of
+     * facts to insert into its Policy Sessions.  Features may remove from the batch
+     * the facts they take ownership of.  By default, {@link #beforeInsert} is called
+     * for each fact, and the facts it intercepts are removed from the batch.
+     *
+     * @param facts the batch of facts, which can be modified
+     *
+     * @return true if this feature intercepts and takes ownership
+     *     of the whole batch preventing the invocation of
+     *     lower priority features.   False, otherwise.
+     */
+    default boolean beforeInsertAll(DroolsController controller, List<Object> facts) {
+        facts.removeIf(fact -> beforeInsert(controller, fact));
+        return false;
+    }
+
+    /**
+     * called after a batch of facts is injected into the Policy Container.
+     * By default, {@link #afterInsert} is called for each fact.
+     *
+     * @return true if this feature intercepts and takes ownership
+     *     of the operation preventing the invocation of
+     *     lower priority features.   False, otherwise.
+     */
+    default boolean afterInsertAll(DroolsController controller, List<Object> facts, boolean successInsert) {
+        facts.forEach(fact -> afterInsert(controller, fact, successInsert));
+        return false;
+    }
+
     /**
      * Intercept before the Drools Controller delivers (posts) an event.
      *
@@ -100,7 +130,8 @@ public interface DroolsControllerFeatureApi extends OrderedService {
     }
 
     /**
-     * Called after the Drools Controller delivers (posts) an event.
+     * Called after the Drools Controller delivers (posts) an event.  The json is
+     * {@code null} when the event was discarded before being encoded.
      *
      * @return True if this feature intercepts and takes ownership of the operation
      *         preventing the invocation of lower priority features. False, otherwise
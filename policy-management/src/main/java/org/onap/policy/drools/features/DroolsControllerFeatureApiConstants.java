@@ -32,6 +32,24 @@ public class DroolsControllerFeatureApiConstants {
     private static final OrderedServiceImpl<DroolsControllerFeatureApi> providers =
             new OrderedServiceImpl<>(DroolsControllerFeatureApi.class);
 
+    /*
+     * Hooks invoked for each event, with the providers implementing them.  The batch
+     * hooks invoke the per-fact hooks by default, so they are implemented by the
+     * providers implementing either of them.
+     */
+    public static final FeatureHook<DroolsControllerFeatureApi> BEFORE_INSERT =
+            new FeatureHook<>(DroolsControllerFeatureApi.class, "beforeInsert");
+    public static final FeatureHook<DroolsControllerFeatureApi> AFTER_INSERT =
+            new FeatureHook<>(DroolsControllerFeatureApi.class, "afterInsert");
+    public static final FeatureHook<DroolsControllerFeatureApi> BEFORE_INSERT_ALL =
+            new FeatureHook<>(DroolsControllerFeatureApi.class, "beforeInsertAll", "beforeInsert");
+    public static final FeatureHook<DroolsControllerFeatureApi> AFTER_INSERT_ALL =
+            new FeatureHook<>(DroolsControllerFeatureApi.class, "afterInsertAll", "afterInsert");
+    public static final FeatureHook<DroolsControllerFeatureApi> BEFORE_DELIVER =
+            new FeatureHook<>(DroolsControllerFeatureApi.class, "beforeDeliver");
+    public static final FeatureHook<DroolsControllerFeatureApi> AFTER_DELIVER =
+            new FeatureHook<>(DroolsControllerFeatureApi.class, "afterDeliver");
+
     private DroolsControllerFeatureApiConstants() {
         // do nothing
     }
@@ -0,0 +1,156 @@
+/*
+ * ============LICENSE_START=======================================================
+ * policy-management
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.features;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hook of a feature interface, that is, all the methods of the interface with a given
+ * name.  Most features implement a few hooks and inherit the default, no-op, version of
+ * the others, so the providers that implement a hook are selected once, when the
+ * features are loaded, rather than each time the hook is invoked.
+ *
+ * <p>When the default version of a hook delegates to other hooks, as a batch hook
+ * does to its per-item hook, a provider implementing any of them implements the hook.
+ *
+ * @param <T> feature interface
+ */
+public class FeatureHook<T> {
+    private static final Logger logger = LoggerFactory.getLogger(FeatureHook.class);
+
+    @Getter
+    private final Class<T> featureApi;
+
+    @Getter
+    private final String name;
+
+    private final List<Method> methods;
+
+    /**
+     * Providers that implement the hook, selected from a list of providers.
+     */
+    private record Selection<T>(List<T> providers, List<T> implementors) {
+    }
+
+    private volatile Selection<T> selection = new Selection<>(null, List.of());
+
+    /**
+     * Constructor.
+     *
+     * @param featureApi feature interface
+     * @param name name of the hook methods
+     * @param delegates names of the hook methods that the default version of the hook
+     *        invokes
+     * @throws IllegalArgumentException if the interface has no method with one of those
+     *         names
+     */
+    public FeatureHook(Class<T> featureApi, String name, String... delegates) {
+        this.featureApi = featureApi;
+        this.name = name;
+
+        List<Method> hookMethods = new ArrayList<>();
+        for (String methodName : concat(name, delegates)) {
+            var named = Arrays.stream(featureApi.getMethods())
+                            .filter(method -> method.getName().equals(methodName))
+                            .toList();
+
+            if (named.isEmpty()) {
+                throw new IllegalArgumentException(featureApi.getName() + " has no " + methodName + " hook");
+            }
+
+            hookMethods.addAll(named);
+        }
+
+        this.methods = List.copyOf(hookMethods);
+    }
+
+    private static List<String> concat(String name, String... delegates) {
+        List<String> names = new ArrayList<>(delegates.length + 1);
+        names.add(name);
+        names.addAll(Arrays.asList(delegates));
+        return names;
+    }
+
+    /**
+     * Gets the providers that implement the hook.
+     *
+     * @param providers all the providers of the feature interface, in order, as loaded
+     * @return the providers that implement the hook, in the same order
+     */
+    public List<T> getProviders(List<T> providers) {
+        var current = this.selection;
+        if (current.providers() != providers) {
+            // the providers have been (re)loaded
+            current = new Selection<>(providers, select(providers));
+            this.selection = current;
+        }
+
+        return current.implementors();
+    }
+
+    private List<T> select(List<T> providers) {
+        List<T> implementors = new ArrayList<>(providers.size());
+        for (T provider : providers) {
+            if (implementedBy(provider)) {
+                implementors.add(provider);
+            }
+        }
+
+        logger.debug("{}: implemented by {} of {} providers", this, implementors.size(), providers.size());
+        return List.copyOf(implementors);
+    }
+
+    /**
+     * Checks if a provider implements any of the hook methods, rather than inheriting
+     * their default version from the feature interface.
+     *
+     * @param provider feature provider
+     * @return true if the provider implements the hook
+     */
+    protected boolean implementedBy(T provider) {
+        for (Method method : methods) {
+            try {
+                var implementation = provider.getClass().getMethod(method.getName(), method.getParameterTypes());
+                if (implementation.getDeclaringClass() != featureApi) {
+                    return true;
+                }
+
+            } catch (NoSuchMethodException | SecurityException e) {
+                logger.warn("{}: cannot inspect {}, assuming it implements the hook", this,
+                                provider.getClass().getName(), e);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "FeatureHook [featureApi=" + featureApi.getSimpleName() + ", name=" + name + "]";
+    }
+}
@@ -32,6 +32,18 @@ public class PolicyControllerFeatureApiConstants {
     private static final OrderedServiceImpl<PolicyControllerFeatureApi> providers =
             new OrderedServiceImpl<>(PolicyControllerFeatureApi.class);
 
+    /*
+     * Hooks invoked for each event, with the providers implementing them.
+     */
+    public static final FeatureHook<PolicyControllerFeatureApi> BEFORE_OFFER =
+            new FeatureHook<>(PolicyControllerFeatureApi.class, "beforeOffer");
+    public static final FeatureHook<PolicyControllerFeatureApi> AFTER_OFFER =
+            new FeatureHook<>(PolicyControllerFeatureApi.class, "afterOffer");
+    public static final FeatureHook<PolicyControllerFeatureApi> BEFORE_DELIVER =
+            new FeatureHook<>(PolicyControllerFeatureApi.class, "beforeDeliver");
+    public static final FeatureHook<PolicyControllerFeatureApi> AFTER_DELIVER =
+            new FeatureHook<>(PolicyControllerFeatureApi.class, "afterDeliver");
+
     private PolicyControllerFeatureApiConstants() {
         // do nothing
     }
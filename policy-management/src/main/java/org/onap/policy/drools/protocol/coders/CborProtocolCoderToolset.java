@@ -0,0 +1,79 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Tools used for decoding CBOR encoded events using Jackson.  Events are filtered with the
+ * json filter rules of their topic on their parse tree, as CBOR carries the same data model as
+ * json.  As the sinks publish text, events can only be decoded, and only from their payload.
+ */
+class CborProtocolCoderToolset extends JacksonProtocolCoderToolset {
+
+    /**
+     * Toolset to decode CBOR events associated with a topic.
+     *
+     * @param eventProtocolParams parameter object for event encoder
+     * @param controllerId        controller id
+     */
+    public CborProtocolCoderToolset(EventProtocolParams eventProtocolParams, String controllerId) {
+        super(eventProtocolParams, controllerId, new ObjectMapper(new CBORFactory()));
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decode(String json) {
+        throw new UnsupportedOperationException("cbor events can only be decoded from their payload");
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decodeOrReject(String json) {
+        throw new UnsupportedOperationException("cbor events can only be decoded from their payload");
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public String encode(Object event) {
+        throw new UnsupportedOperationException("cbor events cannot be encoded");
+    }
+
+    /**
+     * The event signatures look for json text, so a CBOR payload may always be accepted.
+     */
+    @Override
+    protected boolean mayAcceptPayload(byte[] payload) {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "CborProtocolCoderToolset [toString()=" + super.toString() + "]";
+    }
+}
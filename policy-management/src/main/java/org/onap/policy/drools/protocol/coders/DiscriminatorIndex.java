@@ -0,0 +1,242 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoder.CoderFilters;
+
+/**
+ * Immutable index over the coder filters of a toolset, routing events by the value of a
+ * discriminator field when filter rules are simple equality tests on that field,
+ * for example <code>[?($.closedLoopEventStatus == 'ONSET')]</code>.  The filters that are not
+ * equality tests on the discriminator field are still evaluated in order, so the selected
+ * filter is the same one as the one that a linear scan would select.
+ */
+class DiscriminatorIndex {
+
+    /**
+     * Equality on a single field rule: [?($.a.b == 'value')], optionally prefixed by $,
+     * and using either $ or @ to refer to the event.
+     */
+    private static final Pattern EQUALITY_RULE = Pattern.compile(
+        "^\\$?\\[\\?\\(\\s*[$@]((?:\\.[A-Za-z_][\\w-]*)+)\\s*==\\s*(?:'([^'\\\\]*)'|\"([^\"\\\\]*)\")\\s*\\)\\]$");
+
+    /**
+     * Discriminator field value when the field is not present, or null.
+     */
+    private static final Object MISSING = new Object();
+
+    /**
+     * Discriminator field value when it cannot be used for routing.
+     */
+    private static final Object UNROUTABLE = new Object();
+
+    /**
+     * coder filters and their position in the toolset.
+     */
+    private record Entry(int position, CoderFilters coder) {
+    }
+
+    /**
+     * discriminator field as in a rule, ie. ".a.b".
+     */
+    @Getter
+    private final String field;
+
+    /**
+     * discriminator field path.
+     */
+    private final String[] fieldPath;
+
+    /**
+     * discriminator value to first coder filters in the toolset with that equality rule.
+     */
+    private final Map<String, Entry> byValue;
+
+    /**
+     * coder filters with rules that are not equality tests on the discriminator field.
+     */
+    private final List<Entry> others;
+
+    /**
+     * all coder filters in the toolset.
+     */
+    private final List<Entry> all;
+
+    private DiscriminatorIndex(String field, Map<String, Entry> byValue, List<Entry> others, List<Entry> all) {
+        this.field = field;
+        this.fieldPath = field.substring(1).split("\\.");
+        this.byValue = Collections.unmodifiableMap(byValue);
+        this.others = Collections.unmodifiableList(others);
+        this.all = Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Builds an index over the coder filters.
+     *
+     * @param coders coder filters in evaluation order
+     * @return the index, or null if there are not enough equality rules on the same field to
+     *         justify an index
+     */
+    static DiscriminatorIndex build(List<CoderFilters> coders) {
+        List<String[]> equalities = new ArrayList<>(coders.size());
+        Map<String, Integer> fieldCounts = new HashMap<>();
+
+        for (CoderFilters coder : coders) {
+            String[] equality = parseRule(coder);
+            equalities.add(equality);
+            if (equality != null) {
+                fieldCounts.merge(equality[0], 1, Integer::sum);
+            }
+        }
+
+        String field = null;
+        var fieldCount = 0;
+        for (Map.Entry<String, Integer> entry : fieldCounts.entrySet()) {
+            if (entry.getValue() > fieldCount) {
+                field = entry.getKey();
+                fieldCount = entry.getValue();
+            }
+        }
+
+        if (fieldCount < 2) {
+            return null;
+        }
+
+        Map<String, Entry> byValue = new HashMap<>();
+        List<Entry> others = new ArrayList<>();
+        List<Entry> all = new ArrayList<>(coders.size());
+        for (var position = 0; position < coders.size(); position++) {
+            var entry = new Entry(position, coders.get(position));
+            all.add(entry);
+
+            String[] equality = equalities.get(position);
+            if (equality != null && equality[0].equals(field)) {
+                // a later rule on the same value can never be selected
+                byValue.putIfAbsent(equality[1], entry);
+            } else {
+                others.add(entry);
+            }
+        }
+
+        return new DiscriminatorIndex(field, byValue, others, all);
+    }
+
+    /**
+     * Selects the first coder filters, in evaluation order, that accepts the event.
+     *
+     * @param document parsed event
+     * @param accepts evaluates the filter for non indexed coder filters
+     * @return the selected coder filters or null if none accepts the event
+     */
+    CoderFilters select(DocumentContext document, BiPredicate<CoderFilters, DocumentContext> accepts) {
+        var value = discriminator(document);
+        if (value == UNROUTABLE) {
+            return scan(this.all, Integer.MAX_VALUE, document, accepts);
+        }
+
+        Entry indexed = (value == MISSING) ? null : this.byValue.get(value);
+        var limit = (indexed == null) ? Integer.MAX_VALUE : indexed.position();
+
+        var selected = scan(this.others, limit, document, accepts);
+        if (selected != null) {
+            return selected;
+        }
+
+        return (indexed == null) ? null : indexed.coder();
+    }
+
+    private static CoderFilters scan(List<Entry> entries, int limit, DocumentContext document,
+                    BiPredicate<CoderFilters, DocumentContext> accepts) {
+        for (Entry entry : entries) {
+            if (entry.position() > limit) {
+                break;
+            }
+
+            if (accepts.test(entry.coder(), document)) {
+                return entry.coder();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the discriminator value.  Only string values are routed, as JsonPath equality
+     * may coerce other types.
+     */
+    private Object discriminator(DocumentContext document) {
+        JsonProvider provider = document.configuration().jsonProvider();
+        Object node = document.json();
+
+        for (String key : this.fieldPath) {
+            if (!provider.isMap(node)) {
+                return UNROUTABLE;
+            }
+
+            node = provider.getMapValue(node, key);
+            if (node == JsonProvider.UNDEFINED) {
+                return MISSING;
+            }
+        }
+
+        var value = provider.unwrap(node);
+        if (value == null) {
+            return MISSING;
+        }
+
+        return (value instanceof String) ? value : UNROUTABLE;
+    }
+
+    /**
+     * Parses an equality rule.
+     *
+     * @return field and value of the equality rule, or null if it is not one
+     */
+    static String[] parseRule(CoderFilters coder) {
+        var filter = coder.getFilter();
+        if (filter == null || filter.getRule() == null) {
+            return null;
+        }
+
+        var matcher = EQUALITY_RULE.matcher(filter.getRule().trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        var value = (matcher.group(2) != null) ? matcher.group(2) : matcher.group(3);
+        return new String[] {matcher.group(1), value};
+    }
+
+    @Override
+    public String toString() {
+        return "DiscriminatorIndex [field=" + field + ", values=" + byValue.keySet()
+            + ", others=" + others.size() + "]";
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import org.onap.policy.common.utils.services.OrderedService;
+
+/**
+ * Event Protocol Codec SPI.  Provides the toolsets that decode and encode the events of a topic,
+ * when selected with the "&lt;topic-prefix&gt;.events.codec" controller property.  Filtering is
+ * performed by the {@link ProtocolCoderToolset} base class, so the filter rules of a topic apply
+ * regardless of the codec in use.  Codecs of binary formats apply them to the json data model of
+ * their parse tree, as {@link JsonProtocolFilter#parse(com.fasterxml.jackson.databind.JsonNode)}
+ * does for the Jackson codecs, and do not prefilter the payload by its json text.
+ */
+public interface EventProtocolCodec extends OrderedService {
+
+    /**
+     * gets the codec name as used in the controller properties.
+     *
+     * @return codec name
+     */
+    String getCodec();
+
+    /**
+     * creates a toolset to decode and encode the events of a topic.
+     *
+     * @param eventProtocolParams parameters of the first event class for the topic
+     * @param controllerId controller id
+     * @return the toolset
+     */
+    ProtocolCoderToolset createToolset(EventProtocolParams eventProtocolParams, String controllerId);
+}
@@ -0,0 +1,52 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.onap.policy.common.utils.services.OrderedServiceImpl;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EventProtocolCodecConstants {
+
+    /**
+     * built-in codec, used when none is configured for a topic.
+     */
+    public static final String DEFAULT_CODEC = "gson";
+
+    /**
+     * codec decoding and encoding json events with Jackson.
+     */
+    public static final String JACKSON_CODEC = "jackson";
+
+    /**
+     * codec decoding CBOR events with Jackson.
+     */
+    public static final String CBOR_CODEC = "cbor";
+
+    /**
+     * Codec providers implementing the {@link EventProtocolCodec} interface.
+     */
+    @Getter
+    private static final OrderedServiceImpl<EventProtocolCodec> providers =
+            new OrderedServiceImpl<>(EventProtocolCodec.class);
+}
@@ -22,10 +22,15 @@
 
 package org.onap.policy.drools.protocol.coders;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.LongAdder;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
+import org.onap.policy.common.gson.annotation.GsonJsonProperty;
 import org.onap.policy.drools.controller.DroolsController;
 
 /**
@@ -53,6 +58,56 @@ public interface EventProtocolCoder {
          */
         protected int modelClassLoaderHash;
 
+        /**
+         * number of times the filter has been evaluated against an event.
+         */
+        @GsonJsonIgnore
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private final LongAdder evaluations = new LongAdder();
+
+        /**
+         * number of events that have been routed to this coder.
+         */
+        @GsonJsonIgnore
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private final LongAdder matches = new LongAdder();
+
+        /**
+         * Records that the filter has been evaluated against an event.
+         */
+        public void evaluated() {
+            this.evaluations.increment();
+        }
+
+        /**
+         * Records that an event has been routed to this coder, whether the
+         * filter has been evaluated or the event has been routed by an index.
+         */
+        public void matched() {
+            this.matches.increment();
+        }
+
+        @GsonJsonProperty("evaluated")
+        public long getEvaluated() {
+            return this.evaluations.sum();
+        }
+
+        @GsonJsonProperty("matched")
+        public long getMatched() {
+            return this.matches.sum();
+        }
+
+        /**
+         * Sets the filters to apply to the selection of the decodedClass.
+         *
+         * @param filter filters
+         */
+        public void setFilter(JsonProtocolFilter filter) {
+            this.filter = filter;
+        }
+
         @Override
         public String toString() {
             return "CoderFilters [factClass=" + factClass
@@ -234,6 +289,17 @@ public interface EventProtocolCoder {
      */
     List<DroolsController> getDroolsControllers(String topic, Object encodedClass);
 
+    /**
+     * gets the number of times encoders have been added or removed, so that the
+     * controllers resolved from them can be cached until they change.
+     * The default returns -1, meaning that the changes are not tracked.
+     *
+     * @return number of changes to the encoders, or -1 if they are not tracked
+     */
+    default long getEncoderChanges() {
+        return -1;
+    }
+
     /**
      * decode topic's stringified event (json) to corresponding Event Object.
      *
@@ -248,6 +314,64 @@ public interface EventProtocolCoder {
      */
     Object decode(String groupId, String artifactId, String topic, String json);
 
+    /**
+     * decode topic's UTF-8 encoded event (json) to corresponding Event Object,
+     * without converting it to a string first.  The default converts it into a string.
+     *
+     * @param groupId    of the controller
+     * @param artifactId of the controller
+     * @param topic      protocol
+     * @param payload    UTF-8 encoded event
+     * @return object
+     * @throws IllegalArgumentException      invalid arguments passed in
+     * @throws UnsupportedOperationException if the operation is not supported
+     * @throws IllegalStateException         if the system is in an illegal state
+     */
+    default Object decode(String groupId, String artifactId, String topic, byte[] payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("no payload provided");
+        }
+        return decode(groupId, artifactId, topic, new String(payload, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * decode topic's stringified event (json) to corresponding Event Object, unless no
+     * decoder accepts it.  Rejections are cheap: events are checked before being
+     * parsed when possible, and no exception is raised.  The default decodes it as
+     * {@code decode()} does, raising an exception when no decoder accepts it.
+     *
+     * @param groupId    of the controller
+     * @param artifactId of the controller
+     * @param topic      protocol
+     * @param json       event string
+     * @return object, or {@link EventProtocolCoderConstants#REJECTED} if no decoder accepts the event
+     * @throws IllegalArgumentException      invalid arguments passed in
+     * @throws UnsupportedOperationException if the operation is not supported
+     * @throws IllegalStateException         if the system is in an illegal state
+     */
+    default Object decodeOrReject(String groupId, String artifactId, String topic, String json) {
+        return decode(groupId, artifactId, topic, json);
+    }
+
+    /**
+     * decode topic's UTF-8 encoded event (json) to corresponding Event Object, unless no
+     * decoder accepts it.  Rejections are cheap: events are checked before being
+     * parsed when possible, and no exception is raised.  The default decodes it as
+     * {@code decode()} does, raising an exception when no decoder accepts it.
+     *
+     * @param groupId    of the controller
+     * @param artifactId of the controller
+     * @param topic      protocol
+     * @param payload    UTF-8 encoded event
+     * @return object, or {@link EventProtocolCoderConstants#REJECTED} if no decoder accepts the event
+     * @throws IllegalArgumentException      invalid arguments passed in
+     * @throws UnsupportedOperationException if the operation is not supported
+     * @throws IllegalStateException         if the system is in an illegal state
+     */
+    default Object decodeOrReject(String groupId, String artifactId, String topic, byte[] payload) {
+        return decode(groupId, artifactId, topic, payload);
+    }
+
     /**
      * encodes topic's stringified event (json) to corresponding Event Object.
      *
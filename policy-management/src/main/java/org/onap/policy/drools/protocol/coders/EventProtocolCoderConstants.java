@@ -33,4 +33,12 @@ public final class EventProtocolCoderConstants {
      */
     @Getter
     private static final EventProtocolCoder manager = new MultiplexorEventProtocolCoder();
+
+    /**
+     * returned instead of a decoded event when no decoder accepts the event.
+     */
+    public static final Object REJECTED = new Rejected();
+
+    private record Rejected() {
+    }
 }
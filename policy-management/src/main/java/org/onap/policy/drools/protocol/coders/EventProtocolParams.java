@@ -34,4 +34,5 @@ public class EventProtocolParams {
     private JsonProtocolFilter protocolFilter;
     private TopicCoderFilterConfiguration.CustomGsonCoder customGsonCoder;
     private int modelClassLoaderHash;
+    private String codec;
 }
@@ -0,0 +1,151 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoder.CoderFilters;
+
+/**
+ * Prefilter that rejects events without parsing them, when every coder filter of a toolset
+ * is an equality test on a field, for example <code>[?($.closedLoopEventStatus == 'ONSET')]</code>.
+ * An event that does not contain any of the tested values anywhere in its raw text cannot be
+ * accepted by any of the filters.  Events with escape sequences are never rejected, since
+ * a value could be escaped in them.
+ */
+class EventSignature {
+
+    /**
+     * values, as strings, that an accepted event must contain.
+     */
+    private final List<String> values;
+
+    /**
+     * values, as UTF-8 bytes, that an accepted event must contain.
+     */
+    private final List<byte[]> utf8Values;
+
+    private EventSignature(Set<String> values) {
+        this.values = List.copyOf(values);
+        this.utf8Values = new ArrayList<>(values.size());
+        for (String value : values) {
+            this.utf8Values.add(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Builds the signature of the coder filters.
+     *
+     * @param coders coder filters
+     * @return the signature, or null if an event may be accepted without containing any
+     *         specific value
+     */
+    static EventSignature build(List<CoderFilters> coders) {
+        if (coders.isEmpty()) {
+            return null;
+        }
+
+        Set<String> values = new LinkedHashSet<>();
+        for (CoderFilters coder : coders) {
+            String[] equality = DiscriminatorIndex.parseRule(coder);
+            if (equality == null || equality[1].isEmpty()) {
+                return null;
+            }
+            values.add(equality[1]);
+        }
+
+        return new EventSignature(values);
+    }
+
+    /**
+     * Checks if an event may be accepted.
+     *
+     * @param json event
+     * @return false if the event cannot be accepted by any of the coder filters
+     */
+    boolean mayMatch(String json) {
+        if (json == null || json.indexOf('\\') >= 0) {
+            return true;
+        }
+
+        for (String value : this.values) {
+            if (json.contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a UTF-8 encoded event may be accepted.
+     *
+     * @param payload UTF-8 encoded event
+     * @return false if the event cannot be accepted by any of the coder filters
+     */
+    boolean mayMatch(byte[] payload) {
+        if (payload == null || indexOf(payload, (byte) '\\') >= 0) {
+            return true;
+        }
+
+        for (byte[] value : this.utf8Values) {
+            if (contains(payload, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(byte[] payload, byte value) {
+        for (var index = 0; index < payload.length; index++) {
+            if (payload[index] == value) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean contains(byte[] payload, byte[] value) {
+        var last = payload.length - value.length;
+        for (var start = 0; start <= last; start++) {
+            if (payload[start] != value[0]) {
+                continue;
+            }
+
+            var offset = 1;
+            while (offset < value.length && payload[start + offset] == value[offset]) {
+                offset++;
+            }
+
+            if (offset == value.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "EventSignature [values=" + values + "]";
+    }
+}
@@ -22,12 +22,13 @@
 package org.onap.policy.drools.protocol.coders;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -54,15 +55,59 @@ abstract class GenericEventProtocolCoder {
     private static final Logger logger = LoggerFactory.getLogger(GenericEventProtocolCoder.class);
 
     /**
-     * Mapping topic:controller-id -> /<protocol-decoder-toolset/> where protocol-coder-toolset contains
-     * a gson-protocol-coder-toolset.
+     * Coders and reverse coders indexes.  It is an immutable snapshot that is replaced as a whole
+     * when coders are added or removed, so that lookups do not need to synchronize.
      */
-    protected final HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
+    protected volatile Registry registry = Registry.EMPTY;
 
     /**
-     * Mapping topic + classname -> Protocol Set.
+     * Number of times coders have been added or removed.
      */
-    protected final HashMap<String, List<ProtocolCoderToolset>> reverseCoders = new HashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * Key for the coders index: maven coordinates and topic.
+     */
+    protected record CoderKey(String groupId, String artifactId, String topic) {
+        @Override
+        public String toString() {
+            return groupId + ":" + artifactId + ":" + topic;
+        }
+    }
+
+    /**
+     * Key for the reverse coders index: topic and class name.
+     */
+    protected record ReverseKey(String topic, String eventClass) {
+        @Override
+        public String toString() {
+            return topic + ":" + eventClass;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the indexes.
+     *
+     * @param coders mapping group:artifact:topic -> /<protocol-decoder-toolset/> where protocol-coder-toolset
+     *        contains a gson-protocol-coder-toolset
+     * @param reverseCoders mapping topic + classname -> protocol sets
+     */
+    protected record Registry(Map<CoderKey, ProtocolCoderToolset> coders,
+                              Map<ReverseKey, List<ProtocolCoderToolset>> reverseCoders) {
+
+        static final Registry EMPTY = new Registry(Map.of(), Map.of());
+
+        /**
+         * Constructor, taking immutable copies of the indexes.
+         */
+        protected Registry {
+            coders = Map.copyOf(coders);
+
+            Map<ReverseKey, List<ProtocolCoderToolset>> reverse = new HashMap<>();
+            reverseCoders.forEach((key, toolsets) -> reverse.put(key, List.copyOf(toolsets)));
+            reverseCoders = Map.copyOf(reverse);
+        }
+    }
 
     /**
      * Index a new coder.
@@ -75,11 +120,15 @@ abstract class GenericEventProtocolCoder {
 
         validateStringParameter(eventProtocolParams.getEventClass(), "Invalid Event Class");
 
-        String key = this.codersKey(eventProtocolParams.getGroupId(), eventProtocolParams.getArtifactId(),
+        CoderKey key = this.codersKey(eventProtocolParams.getGroupId(), eventProtocolParams.getArtifactId(),
             eventProtocolParams.getTopic());
-        String reverseKey = this.reverseCodersKey(eventProtocolParams.getTopic(), eventProtocolParams.getEventClass());
+        ReverseKey reverseKey =
+            this.reverseCodersKey(eventProtocolParams.getTopic(), eventProtocolParams.getEventClass());
 
         synchronized (this) {
+            Map<CoderKey, ProtocolCoderToolset> coders = new HashMap<>(registry.coders());
+            Map<ReverseKey, List<ProtocolCoderToolset>> reverseCoders = new HashMap<>(registry.reverseCoders());
+
             if (coders.containsKey(key)) {
                 ProtocolCoderToolset toolset = coders.get(key);
 
@@ -94,47 +143,72 @@ abstract class GenericEventProtocolCoder {
                     logger.info("{}: adding new reverse coders (multiple classes case) for {}:{}: {}",
                         this, reverseKey, key, toolset);
 
-                    List<ProtocolCoderToolset> reverseMappings = new ArrayList<>();
-                    reverseMappings.add(toolset);
-                    reverseCoders.put(reverseKey, reverseMappings);
+                    reverseCoders.put(reverseKey, List.of(toolset));
+                    this.registry = new Registry(coders, reverseCoders);
                 }
+
+                changes.incrementAndGet();
                 return;
             }
 
-            var coderTools = new GsonProtocolCoderToolset(eventProtocolParams, key);
+            var coderTools = newToolset(eventProtocolParams, key.toString());
 
             logger.info("{}: adding coders for new {}: {}", this, key, coderTools);
 
             coders.put(key, coderTools);
 
-            addReverseCoder(coderTools, key, reverseKey);
+            addReverseCoder(reverseCoders, coderTools, reverseKey);
+
+            this.registry = new Registry(coders, reverseCoders);
+            changes.incrementAndGet();
+        }
+    }
+
+    /**
+     * creates a toolset with the codec selected for the topic.
+     */
+    private ProtocolCoderToolset newToolset(EventProtocolParams eventProtocolParams, String controllerId) {
+        var codec = eventProtocolParams.getCodec();
+        if (StringUtils.isBlank(codec) || EventProtocolCodecConstants.DEFAULT_CODEC.equals(codec)) {
+            return new GsonProtocolCoderToolset(eventProtocolParams, controllerId);
+        }
+
+        for (EventProtocolCodec provider : EventProtocolCodecConstants.getProviders().getList()) {
+            if (codec.equals(provider.getCodec())) {
+                return provider.createToolset(eventProtocolParams, controllerId);
+            }
         }
+
+        logger.warn("{}: codec {} is not available for {}, using {}", this, codec, controllerId,
+            EventProtocolCodecConstants.DEFAULT_CODEC);
+        return new GsonProtocolCoderToolset(eventProtocolParams, controllerId);
     }
 
-    private void addReverseCoder(GsonProtocolCoderToolset coderTools, String key, String reverseKey) {
+    private void addReverseCoder(Map<ReverseKey, List<ProtocolCoderToolset>> reverseCoders,
+                    ProtocolCoderToolset coderTools, ReverseKey reverseKey) {
         if (reverseCoders.containsKey(reverseKey)) {
             // There is another controller (different group id/artifact id/topic)
             // that shares the class and the topic.
 
-            List<ProtocolCoderToolset> toolsets = reverseCoders.get(reverseKey);
+            List<ProtocolCoderToolset> toolsets = new ArrayList<>(reverseCoders.get(reverseKey));
             var present = false;
             for (ProtocolCoderToolset parserSet : toolsets) {
                 // just double check
-                present = parserSet.getControllerId().equals(key);
+                present = parserSet.getControllerId().equals(coderTools.getControllerId());
                 if (present) {
                     /* anomaly */
                     logger.error("{}: unexpected toolset reverse mapping found for {}:{}: {}",
-                        this, reverseKey, key, parserSet);
+                        this, reverseKey, coderTools.getControllerId(), parserSet);
                 }
             }
 
             if (!present) {
                 logger.info("{}: adding coder set for {}: {} ", this, reverseKey, coderTools);
                 toolsets.add(coderTools);
+                reverseCoders.put(reverseKey, toolsets);
             }
         } else {
-            List<ProtocolCoderToolset> toolsets = new ArrayList<>();
-            toolsets.add(coderTools);
+            List<ProtocolCoderToolset> toolsets = List.of(coderTools);
 
             logger.info("{}: adding toolset for reverse key {}: {}", this, reverseKey, toolsets);
             reverseCoders.put(reverseKey, toolsets);
@@ -149,8 +223,8 @@ abstract class GenericEventProtocolCoder {
      * @param topic      topic
      * @return index key
      */
-    protected String codersKey(String groupId, String artifactId, String topic) {
-        return groupId + ":" + artifactId + ":" + topic;
+    protected CoderKey codersKey(String groupId, String artifactId, String topic) {
+        return new CoderKey(groupId, artifactId, topic);
     }
 
     /**
@@ -160,8 +234,8 @@ abstract class GenericEventProtocolCoder {
      * @param eventClass coded class
      * @return reverse index key
      */
-    protected String reverseCodersKey(String topic, String eventClass) {
-        return topic + ":" + eventClass;
+    protected ReverseKey reverseCodersKey(String topic, String eventClass) {
+        return new ReverseKey(topic, eventClass);
     }
 
     /**
@@ -176,33 +250,52 @@ abstract class GenericEventProtocolCoder {
 
         validateKeyParameters(groupId, artifactId, topic);
 
-        String key = this.codersKey(groupId, artifactId, topic);
+        CoderKey key = this.codersKey(groupId, artifactId, topic);
 
         synchronized (this) {
-            if (coders.containsKey(key)) {
-                ProtocolCoderToolset coderToolset = coders.remove(key);
+            if (!registry.coders().containsKey(key)) {
+                return;
+            }
 
-                logger.info("{}: removed toolset for {}: {}", this, key, coderToolset);
+            Map<CoderKey, ProtocolCoderToolset> coders = new HashMap<>(registry.coders());
+            Map<ReverseKey, List<ProtocolCoderToolset>> reverseCoders = new HashMap<>(registry.reverseCoders());
 
-                for (CoderFilters codeFilter : coderToolset.getCoders()) {
-                    String className = codeFilter.getFactClass();
-                    String reverseKey = this.reverseCodersKey(topic, className);
-                    removeReverseCoder(key, reverseKey);
-                }
+            ProtocolCoderToolset coderToolset = coders.remove(key);
+
+            logger.info("{}: removed toolset for {}: {}", this, key, coderToolset);
+
+            for (CoderFilters codeFilter : coderToolset.getCoders()) {
+                String className = codeFilter.getFactClass();
+                ReverseKey reverseKey = this.reverseCodersKey(topic, className);
+                removeReverseCoder(reverseCoders, key.toString(), reverseKey);
             }
+
+            this.registry = new Registry(coders, reverseCoders);
+            changes.incrementAndGet();
         }
     }
 
-    private void removeReverseCoder(String key, String reverseKey) {
-        if (!this.reverseCoders.containsKey(reverseKey)) {
+    /**
+     * Gets the number of times coders have been added or removed, so that lookups derived
+     * from the coders can be cached until they change.
+     *
+     * @return number of changes
+     */
+    long getChanges() {
+        return changes.get();
+    }
+
+    private void removeReverseCoder(Map<ReverseKey, List<ProtocolCoderToolset>> reverseCoders,
+                    String controllerId, ReverseKey reverseKey) {
+        if (!reverseCoders.containsKey(reverseKey)) {
             return;
         }
 
-        List<ProtocolCoderToolset> toolsets = this.reverseCoders.getOrDefault(reverseKey, Collections.emptyList());
+        List<ProtocolCoderToolset> toolsets = new ArrayList<>(reverseCoders.get(reverseKey));
 
         if (toolsets.isEmpty()) {
             logger.info("{}: removing reverse mapping for {}: ", this, reverseKey);
-            this.reverseCoders.remove(reverseKey);
+            reverseCoders.remove(reverseKey);
             return;
         }
 
@@ -210,11 +303,25 @@ abstract class GenericEventProtocolCoder {
 
         while (toolsetsIter.hasNext()) {
             ProtocolCoderToolset toolset = toolsetsIter.next();
-            if (toolset.getControllerId().equals(key)) {
+            if (toolset.getControllerId().equals(controllerId)) {
                 logger.info("{}: removed coder from toolset for {} from reverse mapping", this, reverseKey);
                 toolsetsIter.remove();
             }
         }
+
+        reverseCoders.put(reverseKey, toolsets);
+    }
+
+    /**
+     * gets the toolset for the maven coordinates and topic.
+     *
+     * @return the toolset or null if coding is not supported
+     */
+    private ProtocolCoderToolset lookup(String groupId, String artifactId, String topic) {
+
+        validateKeyParameters(groupId, artifactId, topic);
+
+        return registry.coders().get(this.codersKey(groupId, artifactId, topic));
     }
 
     /**
@@ -227,13 +334,7 @@ abstract class GenericEventProtocolCoder {
      */
     public boolean isCodingSupported(String groupId, String artifactId, String topic) {
 
-        validateKeyParameters(groupId, artifactId, topic);
-
-        String key = this.codersKey(groupId, artifactId, topic);
-
-        synchronized (this) {
-            return coders.containsKey(key);
-        }
+        return lookup(groupId, artifactId, topic) != null;
     }
 
     /**
@@ -249,13 +350,12 @@ abstract class GenericEventProtocolCoder {
      */
     public Object decode(String groupId, String artifactId, String topic, String json) {
 
-        if (!isCodingSupported(groupId, artifactId, topic)) {
+        ProtocolCoderToolset coderTools = lookup(groupId, artifactId, topic);
+        if (coderTools == null) {
             throw new IllegalArgumentException(
                 UNSUPPORTED_EX_MSG + codersKey(groupId, artifactId, topic) + " for encoding");
         }
 
-        String key = this.codersKey(groupId, artifactId, topic);
-        ProtocolCoderToolset coderTools = coders.get(key);
         try {
             Object event = coderTools.decode(json);
             if (event != null) {
@@ -268,6 +368,88 @@ abstract class GenericEventProtocolCoder {
         throw new UnsupportedOperationException("Cannot decode with gson");
     }
 
+    /**
+     * decode a UTF-8 encoded json payload into an Object.
+     *
+     * @param groupId    group id
+     * @param artifactId artifact id
+     * @param topic      topic
+     * @param payload    UTF-8 encoded json
+     * @return the decoded object
+     * @throws IllegalArgumentException        if invalid argument is provided
+     * @throws PolicyDroolsPdpRuntimeException if the operation cannot be performed
+     */
+    public Object decode(String groupId, String artifactId, String topic, byte[] payload) {
+
+        ProtocolCoderToolset coderTools = lookup(groupId, artifactId, topic);
+        if (coderTools == null) {
+            throw new IllegalArgumentException(
+                UNSUPPORTED_EX_MSG + codersKey(groupId, artifactId, topic) + " for encoding");
+        }
+
+        try {
+            Object event = coderTools.decode(payload);
+            if (event != null) {
+                return event;
+            }
+        } catch (Exception e) {
+            logger.debug("{}, cannot decode payload from {}", this, topic, e);
+        }
+
+        throw new UnsupportedOperationException("Cannot decode with gson");
+    }
+
+    /**
+     * decode a json string into an Object, unless no decoder accepts it.
+     *
+     * @param groupId    group id
+     * @param artifactId artifact id
+     * @param topic      topic
+     * @param json       json string to convert to object
+     * @return the decoded object or {@link EventProtocolCoderConstants#REJECTED}
+     * @throws IllegalArgumentException        if invalid argument is provided
+     * @throws UnsupportedOperationException   if the operation cannot be performed
+     */
+    public Object decodeOrReject(String groupId, String artifactId, String topic, String json) {
+        return this.decodeOrReject(groupId, artifactId, topic, coderTools -> coderTools.decodeOrReject(json));
+    }
+
+    /**
+     * decode a UTF-8 encoded json payload into an Object, unless no decoder accepts it.
+     *
+     * @param groupId    group id
+     * @param artifactId artifact id
+     * @param topic      topic
+     * @param payload    UTF-8 encoded json
+     * @return the decoded object or {@link EventProtocolCoderConstants#REJECTED}
+     * @throws IllegalArgumentException        if invalid argument is provided
+     * @throws UnsupportedOperationException   if the operation cannot be performed
+     */
+    public Object decodeOrReject(String groupId, String artifactId, String topic, byte[] payload) {
+        return this.decodeOrReject(groupId, artifactId, topic, coderTools -> coderTools.decodeOrReject(payload));
+    }
+
+    private Object decodeOrReject(String groupId, String artifactId, String topic,
+                    Function<ProtocolCoderToolset, Object> decoder) {
+
+        ProtocolCoderToolset coderTools = lookup(groupId, artifactId, topic);
+        if (coderTools == null) {
+            throw new IllegalArgumentException(
+                UNSUPPORTED_EX_MSG + codersKey(groupId, artifactId, topic) + " for encoding");
+        }
+
+        try {
+            Object event = decoder.apply(coderTools);
+            if (event != null) {
+                return event;
+            }
+        } catch (Exception e) {
+            logger.debug("{}, cannot decode event from {}", this, topic, e);
+        }
+
+        throw new UnsupportedOperationException("Cannot decode with gson");
+    }
+
     /**
      * encode an object into a json string.
      *
@@ -281,15 +463,15 @@ abstract class GenericEventProtocolCoder {
      */
     public String encode(String groupId, String artifactId, String topic, Object event) {
 
-        if (!isCodingSupported(groupId, artifactId, topic)) {
+        ProtocolCoderToolset coderTools = lookup(groupId, artifactId, topic);
+        if (coderTools == null) {
             throw new IllegalArgumentException(UNSUPPORTED_EX_MSG + codersKey(groupId, artifactId, topic));
         }
 
         validateObjectParameter(event, "Event cannot be null or empty");
 
         // reuse the decoder set, since there must be affinity in the model
-        String key = this.codersKey(groupId, artifactId, topic);
-        return this.encodeInternal(key, event);
+        return this.encodeInternal(coderTools, event);
     }
 
     /**
@@ -307,15 +489,15 @@ abstract class GenericEventProtocolCoder {
 
         validateStringParameter(topic, INVALID_TOPIC_MSG);
 
-        String reverseKey = this.reverseCodersKey(topic, event.getClass().getName());
-        if (!this.reverseCoders.containsKey(reverseKey)) {
+        var snapshot = this.registry;
+        List<ProtocolCoderToolset> toolsets =
+            snapshot.reverseCoders().get(this.reverseCodersKey(topic, event.getClass().getName()));
+        if (toolsets == null) {
             throw new IllegalArgumentException("no reverse coder has been found");
         }
 
-        List<ProtocolCoderToolset> toolsets = this.reverseCoders.get(reverseKey);
-
-        String key = codersKey(toolsets.get(0).getGroupId(), toolsets.get(0).getArtifactId(), topic);
-        return this.encodeInternal(key, event);
+        CoderKey key = codersKey(toolsets.get(0).getGroupId(), toolsets.get(0).getArtifactId(), topic);
+        return this.encodeInternal(snapshot.coders().get(key), event);
     }
 
     /**
@@ -333,24 +515,24 @@ abstract class GenericEventProtocolCoder {
 
         validateStringParameter(topic, INVALID_TOPIC_MSG);
 
-        String key = codersKey(droolsController.getGroupId(), droolsController.getArtifactId(), topic);
-        return this.encodeInternal(key, encodedClass);
+        CoderKey key = codersKey(droolsController.getGroupId(), droolsController.getArtifactId(), topic);
+        return this.encodeInternal(registry.coders().get(key), encodedClass);
     }
 
     /**
      * encode an object into a json string.
      *
-     * @param key   identifier
+     * @param coderTools toolset, possibly null
      * @param event object to convert to string
      * @return the json string
      * @throws IllegalArgumentException      if invalid argument is provided
      * @throws UnsupportedOperationException if the operation cannot be performed
      */
-    protected String encodeInternal(String key, Object event) {
+    protected String encodeInternal(ProtocolCoderToolset coderTools, Object event) {
 
+        var key = (coderTools != null) ? coderTools.getControllerId() : null;
         logger.debug("{}: encode for {}: {}", this, key, event);
 
-        ProtocolCoderToolset coderTools = coders.get(key);
         try {
             String json = coderTools.encode(event);
             if (!StringUtils.isBlank(json)) {
@@ -376,14 +558,13 @@ abstract class GenericEventProtocolCoder {
 
         List<DroolsController> droolsControllers = new ArrayList<>();
 
-        String reverseKey = this.reverseCodersKey(topic, encodedClass.getClass().getName());
-        if (!this.reverseCoders.containsKey(reverseKey)) {
+        ReverseKey reverseKey = this.reverseCodersKey(topic, encodedClass.getClass().getName());
+        List<ProtocolCoderToolset> toolsets = this.registry.reverseCoders().get(reverseKey);
+        if (toolsets == null) {
             logger.warn("{}: no reverse mapping for {}", this, reverseKey);
             return droolsControllers;
         }
 
-        List<ProtocolCoderToolset> toolsets = this.reverseCoders.getOrDefault(reverseKey, Collections.emptyList());
-
         // There must be multiple toolsets associated with <topic,classname> reverseKey
         // case 2 different controllers use the same models and register the same encoder for
         // the same topic.  This is assumed not to occur often but for the purpose of encoding
@@ -430,13 +611,7 @@ abstract class GenericEventProtocolCoder {
      */
     public List<CoderFilters> getFilters(String groupId, String artifactId, String topic) {
 
-        if (!isCodingSupported(groupId, artifactId, topic)) {
-            throw new IllegalArgumentException(UNSUPPORTED_EX_MSG + codersKey(groupId, artifactId, topic));
-        }
-
-        String key = this.codersKey(groupId, artifactId, topic);
-        ProtocolCoderToolset coderTools = coders.get(key);
-        return coderTools.getCoders();
+        return getCoders(groupId, artifactId, topic).getCoders();
     }
 
     /**
@@ -452,13 +627,9 @@ abstract class GenericEventProtocolCoder {
         validateStringParameter(groupId, INVALID_GROUP_ID_MSG);
         validateStringParameter(artifactId, INVALID_ARTIFACT_ID_MSG);
 
-        String key = this.codersKey(groupId, artifactId, "");
-
         List<CoderFilters> codersFilters = new ArrayList<>();
-        for (Map.Entry<String, ProtocolCoderToolset> entry : coders.entrySet()) {
-            if (entry.getKey().startsWith(key)) {
-                codersFilters.addAll(entry.getValue().getCoders());
-            }
+        for (ProtocolCoderToolset toolset : getCoders(groupId, artifactId)) {
+            codersFilters.addAll(toolset.getCoders());
         }
 
         return codersFilters;
@@ -477,14 +648,10 @@ abstract class GenericEventProtocolCoder {
     public CoderFilters getFilters(
         String groupId, String artifactId, String topic, String classname) {
 
-        if (!isCodingSupported(groupId, artifactId, topic)) {
-            throw new IllegalArgumentException(UNSUPPORTED_EX_MSG + codersKey(groupId, artifactId, topic));
-        }
+        ProtocolCoderToolset coderTools = getCoders(groupId, artifactId, topic);
 
         validateStringParameter(classname, "classname must be provided");
 
-        String key = this.codersKey(groupId, artifactId, topic);
-        ProtocolCoderToolset coderTools = coders.get(key);
         return coderTools.getCoder(classname);
     }
 
@@ -500,12 +667,12 @@ abstract class GenericEventProtocolCoder {
     public ProtocolCoderToolset getCoders(
         String groupId, String artifactId, String topic) {
 
-        if (!isCodingSupported(groupId, artifactId, topic)) {
+        ProtocolCoderToolset coderTools = lookup(groupId, artifactId, topic);
+        if (coderTools == null) {
             throw new IllegalArgumentException(UNSUPPORTED_EX_MSG + codersKey(groupId, artifactId, topic));
         }
 
-        String key = this.codersKey(groupId, artifactId, topic);
-        return coders.get(key);
+        return coderTools;
     }
 
     /**
@@ -522,11 +689,9 @@ abstract class GenericEventProtocolCoder {
 
         validateStringParameter(artifactId, INVALID_ARTIFACT_ID_MSG);
 
-        String key = this.codersKey(groupId, artifactId, "");
-
         List<ProtocolCoderToolset> coderToolset = new ArrayList<>();
-        for (Map.Entry<String, ProtocolCoderToolset> entry : coders.entrySet()) {
-            if (entry.getKey().startsWith(key)) {
+        for (Map.Entry<CoderKey, ProtocolCoderToolset> entry : registry.coders().entrySet()) {
+            if (entry.getKey().groupId().equals(groupId) && entry.getKey().artifactId().equals(artifactId)) {
                 coderToolset.add(entry.getValue());
             }
         }
@@ -547,8 +712,8 @@ abstract class GenericEventProtocolCoder {
 
         validateStringParameter(codedClass, MISSING_CLASS);
 
-        String key = this.reverseCodersKey(topic, codedClass);
-        List<ProtocolCoderToolset> toolsets = this.reverseCoders.getOrDefault(key, Collections.emptyList());
+        ReverseKey key = this.reverseCodersKey(topic, codedClass);
+        List<ProtocolCoderToolset> toolsets = this.registry.reverseCoders().getOrDefault(key, List.of());
 
         List<CoderFilters> coderFilters = new ArrayList<>();
         for (ProtocolCoderToolset toolset : toolsets) {
@@ -623,8 +788,9 @@ abstract class GenericEventProtocolCoder {
      */
     @Override
     public String toString() {
+        var snapshot = this.registry;
         return "GenericEventProtocolCoder "
-            + "[coders=" + coders.keySet() + ", "
-            + "reverseCoders=" + reverseCoders.keySet() + "]";
+            + "[coders=" + snapshot.coders().keySet() + ", "
+            + "reverseCoders=" + snapshot.reverseCoders().keySet() + "]";
     }
 }
@@ -26,16 +26,34 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapterFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
 import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
+import org.onap.policy.drools.controller.DroolsController;
 import org.onap.policy.drools.controller.DroolsControllerConstants;
 import org.onap.policy.drools.protocol.coders.EventProtocolCoder.CoderFilters;
+import org.onap.policy.drools.protocol.coders.ProtocolCoderStats.Outcome;
+import org.onap.policy.drools.protocol.coders.TopicCoderFilterConfiguration.CustomCoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -94,20 +112,40 @@ class GsonProtocolCoderToolset extends ProtocolCoderToolset {
     }
 
     /**
-     * decoder.
+     * Model bindings, resolved on demand.
      */
     @GsonJsonIgnore
-    protected final Gson decoder = new GsonBuilder().disableHtmlEscaping()
-        .registerTypeAdapter(ZonedDateTime.class, new GsonUtcAdapter())
-        .registerTypeAdapter(Instant.class, new GsonInstantAdapter()).create();
+    private volatile ModelBindings bindings;
 
     /**
-     * encoder.
+     * Maximum number of model classloaders whose type adapters are kept.
+     */
+    private static final int MAX_MODEL_ADAPTERS = 4;
+
+    /**
+     * Decoder and encoder registering the type adapter factories of a model classloader.
+     */
+    private record ModelAdapters(ClassLoader loader, Gson decoder, Gson encoder) {
+    }
+
+    /**
+     * Type adapters of the model classloaders, the most recently added last.  It is
+     * immutable and replaced as a whole when a classloader is added.
+     */
+    @GsonJsonIgnore
+    private volatile List<ModelAdapters> modelAdapters = List.of();
+
+    /**
+     * decoder, without model type adapters.
+     */
+    @GsonJsonIgnore
+    protected volatile Gson decoder = newGson(List.of());
+
+    /**
+     * encoder, without model type adapters.
      */
     @GsonJsonIgnore
-    protected final Gson encoder = new GsonBuilder().disableHtmlEscaping()
-        .registerTypeAdapter(ZonedDateTime.class, new GsonUtcAdapter())
-        .registerTypeAdapter(Instant.class, new GsonInstantAdapter()).create();
+    protected volatile Gson encoder = newGson(List.of());
 
     /**
      * Toolset to encode/decode tools associated with a topic.
@@ -119,6 +157,94 @@ class GsonProtocolCoderToolset extends ProtocolCoderToolset {
         super(eventProtocolParams, controllerId);
     }
 
+    private static Gson newGson(List<TypeAdapterFactory> factories) {
+        var builder = new GsonBuilder().disableHtmlEscaping()
+            .registerTypeAdapter(ZonedDateTime.class, new GsonUtcAdapter())
+            .registerTypeAdapter(Instant.class, new GsonInstantAdapter());
+        factories.forEach(builder::registerTypeAdapterFactory);
+        return builder.create();
+    }
+
+    /**
+     * Gets the decoder for the classes of a model classloader.
+     *
+     * @param loader classloader of a model class
+     * @return the decoder registering the model type adapters, if any
+     */
+    private Gson decoderFor(ClassLoader loader) {
+        var adapters = this.getModelAdapters(loader);
+        return (adapters != null ? adapters.decoder() : this.getDecoder());
+    }
+
+    /**
+     * Gets the encoder for the classes of a model classloader.
+     *
+     * @param loader classloader of a model class
+     * @return the encoder registering the model type adapters, if any
+     */
+    private Gson encoderFor(ClassLoader loader) {
+        var adapters = this.getModelAdapters(loader);
+        return (adapters != null ? adapters.encoder() : this.getEncoder());
+    }
+
+    /**
+     * Gets a decoder and an encoder registering the type adapter factories that a model
+     * provides as {@link TypeAdapterFactory} services, so its classes are not bound
+     * reflectively.  No factories are generated here: a model jar has to provide them,
+     * written by hand or generated by a tool of its own build.  They are built once per
+     * model classloader.
+     *
+     * @param loader classloader of a model class
+     * @return the model adapters, or null if the classloader is not a model classloader
+     */
+    private ModelAdapters getModelAdapters(ClassLoader loader) {
+        if (loader == null || loader == GsonProtocolCoderToolset.class.getClassLoader()) {
+            return null;
+        }
+
+        for (ModelAdapters adapters : this.modelAdapters) {
+            if (adapters.loader() == loader) {
+                return adapters;
+            }
+        }
+
+        return this.addModelAdapters(loader);
+    }
+
+    private synchronized ModelAdapters addModelAdapters(ClassLoader loader) {
+        List<ModelAdapters> current = this.modelAdapters;
+        for (ModelAdapters adapters : current) {
+            if (adapters.loader() == loader) {
+                return adapters;
+            }
+        }
+
+        List<TypeAdapterFactory> factories;
+        try {
+            // only the factories of the model itself, not those visible from its parents
+            factories = ServiceLoader.load(TypeAdapterFactory.class, loader).stream()
+                .filter(provider -> provider.type().getClassLoader() == loader)
+                .map(ServiceLoader.Provider::get)
+                .toList();
+        } catch (final ServiceConfigurationError e) {
+            logger.warn("{}: cannot load model type adapters because of {}", this, e.getMessage(), e);
+            factories = List.of();
+        }
+
+        logger.info("{}: model type adapters {}", this, factories);
+        var adapters = (factories.isEmpty() ? new ModelAdapters(loader, this.decoder, this.encoder)
+                        : new ModelAdapters(loader, newGson(factories), newGson(factories)));
+
+        List<ModelAdapters> updated = new ArrayList<>(current);
+        updated.add(adapters);
+        if (updated.size() > MAX_MODEL_ADAPTERS) {
+            updated.remove(0);
+        }
+        this.modelAdapters = List.copyOf(updated);
+
+        return adapters;
+    }
+
     /**
      * gets the Gson decoder.
      *
@@ -144,23 +270,134 @@ class GsonProtocolCoderToolset extends ProtocolCoderToolset {
      */
     @Override
     public Object decode(String json) {
+        return accepted(this.decodeString(json, false));
+    }
 
-        final var droolsController =
-            DroolsControllerConstants.getFactory().get(this.groupId, this.artifactId, "");
-        if (droolsController == null) {
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decode(byte[] payload) {
+        return accepted(this.decodePayload(payload, false));
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decodeOrReject(String json) {
+        return this.decodeString(json, true);
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decodeOrReject(byte[] payload) {
+        return this.decodePayload(payload, true);
+    }
+
+    private static Object accepted(Object event) {
+        if (event == EventProtocolCoderConstants.REJECTED) {
+            throw new UnsupportedOperationException("no decoder to process event");
+        }
+        return event;
+    }
+
+    private Object decodeString(String json, boolean prefilter) {
+
+        final var start = System.nanoTime();
+        if (prefilter && !this.mayAccept(json)) {
+            this.record(Outcome.REJECTED, start);
+            return EventProtocolCoderConstants.REJECTED;
+        }
+
+        final var current = this.getBindings();
+        if (current == null) {
             logger.warn("{}: no drools-controller to process {}", this, json);
             throw new IllegalStateException("no drools-controller to process event");
         }
 
-        final CoderFilters decoderFilter = this.filter(json);
+        // parse once: the same tree is used for filtering and binding
+
+        final JsonElement tree;
+        try {
+            tree = JsonParser.parseString(json);
+        } catch (final Exception e) {
+            this.record(Outcome.UNDECODABLE, start);
+            logger.debug("{}: cannot parse {}", this, json);
+            throw new UnsupportedOperationException("cannot parse event", e);
+        }
+
+        return this.decode(current, tree, () -> json, start);
+    }
+
+    private Object decodePayload(byte[] payload, boolean prefilter) {
+
+        final var start = System.nanoTime();
+        if (prefilter && !this.mayAccept(payload)) {
+            this.record(Outcome.REJECTED, start);
+            return EventProtocolCoderConstants.REJECTED;
+        }
+
+        final var current = this.getBindings();
+        if (current == null) {
+            logger.warn("{}: no drools-controller to process event", this);
+            throw new IllegalStateException("no drools-controller to process event");
+        }
+
+        // parse directly from the bytes, the json string is only materialized if a custom
+        // coder cannot bind from the tree
+
+        final JsonElement tree;
+        try (var reader = new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8)) {
+            tree = JsonParser.parseReader(reader);
+        } catch (final Exception e) {
+            this.record(Outcome.UNDECODABLE, start);
+            logger.debug("{}: cannot parse event payload", this);
+            throw new UnsupportedOperationException("cannot parse event", e);
+        }
+
+        return this.decode(current, tree, () -> new String(payload, StandardCharsets.UTF_8), start);
+    }
+
+    /**
+     * Filters and binds a parsed event.
+     *
+     * @param current model bindings
+     * @param tree parsed event
+     * @param json provides the event as a string, for custom coders that only bind from one
+     * @param start when decoding started
+     * @return the decoded object, or {@link EventProtocolCoderConstants#REJECTED} if no
+     *         coder filters accept it
+     */
+    private Object decode(ModelBindings current, JsonElement tree, Supplier<String> json, long start) {
+
+        final CoderFilters decoderFilter = this.filter(tree);
         if (decoderFilter == null) {
-            logger.debug("{}: no decoder to process {}", this, json);
-            throw new UnsupportedOperationException("no decoder to process event");
+            this.record(Outcome.REJECTED, start);
+            return EventProtocolCoderConstants.REJECTED;
+        }
+
+        try {
+            final var event = this.bind(current, decoderFilter, tree, json);
+            this.record(Outcome.DECODED, start);
+            return event;
+        } catch (final RuntimeException e) {
+            this.record(Outcome.UNDECODABLE, start);
+            throw e;
         }
+    }
+
+    /**
+     * Binds a parsed event to the model class of the coder filters that accepted it.
+     */
+    private Object bind(ModelBindings current, CoderFilters decoderFilter, JsonElement tree,
+                    Supplier<String> json) {
 
         Class<?> decoderClass;
         try {
-            decoderClass = droolsController.fetchModelClass(decoderFilter.getFactClass());
+            decoderClass = this.fetchModelClass(current, decoderFilter.getFactClass());
             if (decoderClass == null) {
                 logger.warn(CANNOT_FETCH_CLASS, this, decoderFilter.getFactClass());
                 throw new IllegalStateException(
@@ -174,13 +411,11 @@ class GsonProtocolCoderToolset extends ProtocolCoderToolset {
 
         if (this.customCoder != null) {
             try {
-                final var gsonClassContainer =
-                    droolsController.fetchModelClass(this.customCoder.getClassContainer());
-                final var gsonField = gsonClassContainer.getField(this.customCoder.staticCoderField);
-                final var gsonObject = gsonField.get(null);
-                final var fromJsonMethod = gsonObject.getClass().getDeclaredMethod("fromJson",
-                    String.class, Class.class);
-                return fromJsonMethod.invoke(gsonObject, json, decoderClass);
+                final var custom = this.getCustomBindings(current);
+                if (custom.fromJsonTree != null) {
+                    return invoke(custom.fromJsonTree, tree, decoderClass);
+                }
+                return invoke(custom.fromJson, json.get(), decoderClass);
             } catch (final Exception e) {
                 logger.warn(CANNOT_FETCH_CLASS, this, decoderFilter.getFactClass());
                 throw new UnsupportedOperationException("cannot decode with customCoder: "
@@ -189,9 +424,9 @@ class GsonProtocolCoderToolset extends ProtocolCoderToolset {
             }
         } else {
             try {
-                return this.getDecoder().fromJson(json, decoderClass);
+                return this.decoderFor(decoderClass.getClassLoader()).fromJson(tree, decoderClass);
             } catch (final Exception e) {
-                logger.warn("{} cannot decode {} into {}", this, json, decoderClass.getName());
+                logger.warn("{} cannot decode {} into {}", this, tree, decoderClass.getName());
                 throw new UnsupportedOperationException(
                     "cannot decode into " + decoderFilter.getFactClass(), e);
             }
@@ -204,23 +439,33 @@ class GsonProtocolCoderToolset extends ProtocolCoderToolset {
     @Override
     public String encode(Object event) {
 
+        final var start = System.nanoTime();
+        try {
+            final var json = this.encodeEvent(event);
+            this.record(Outcome.ENCODED, start);
+            return json;
+        } catch (final RuntimeException e) {
+            this.record(Outcome.UNENCODABLE, start);
+            throw e;
+        }
+    }
+
+    private String encodeEvent(Object event) {
+
         if (this.customCoder != null) {
             try {
-                final var droolsController =
-                    DroolsControllerConstants.getFactory().get(this.groupId, this.artifactId, null);
-                final Class<?> gsonClassContainer =
-                    droolsController.fetchModelClass(this.customCoder.getClassContainer());
-                final var gsonField = gsonClassContainer.getField(this.customCoder.staticCoderField);
-                final var gsonObject = gsonField.get(null);
-                final var toJsonMethod = gsonObject.getClass().getDeclaredMethod("toJson", Object.class);
-                return (String) toJsonMethod.invoke(gsonObject, event);
+                final var current = this.getBindings();
+                if (current == null) {
+                    throw new IllegalStateException("no drools-controller to process event");
+                }
+                return (String) invoke(this.getCustomBindings(current).toJson, event);
             } catch (final Exception e) {
                 logger.warn("{} cannot custom-encode {}", this, event);
                 throw new UnsupportedOperationException("event cannot be custom encoded", e);
             }
         } else {
             try {
-                return this.getEncoder().toJson(event);
+                return this.encoderFor(event.getClass().getClassLoader()).toJson(event);
             } catch (final Exception e) {
                 logger.warn("{} cannot encode {}", this, event);
                 throw new UnsupportedOperationException("event cannot be encoded", e);
@@ -228,6 +473,176 @@ class GsonProtocolCoderToolset extends ProtocolCoderToolset {
         }
     }
 
+    /**
+     * Gets the model bindings, resolving the drools controller again if its model
+     * classloader has changed since they were created.
+     *
+     * @return the model bindings or null if there is no drools controller
+     */
+    private ModelBindings getBindings() {
+        var current = this.bindings;
+        if (current != null
+                && current.modelClassLoaderHash == current.droolsController.getModelClassLoaderHash()) {
+            return current;
+        }
+
+        final var droolsController =
+            DroolsControllerConstants.getFactory().get(this.groupId, this.artifactId, "");
+        if (droolsController == null) {
+            return null;
+        }
+
+        current = new ModelBindings(droolsController);
+        logger.debug("{}: new model bindings for {}", this, droolsController);
+        this.bindings = current;
+        return current;
+    }
+
+    /**
+     * Fetches a model class, from the bindings if already resolved.
+     */
+    private Class<?> fetchModelClass(ModelBindings current, String className) {
+        var modelClass = current.modelClasses.get(className);
+        if (modelClass != null) {
+            return modelClass;
+        }
+
+        modelClass = current.droolsController.fetchModelClass(className);
+        if (modelClass != null) {
+            this.bindings = current.withModelClass(className, modelClass);
+        }
+        return modelClass;
+    }
+
+    @Override
+    protected Class<?> getModelClass(String className) {
+        var current = this.getBindings();
+        if (current == null) {
+            return null;
+        }
+
+        try {
+            return this.fetchModelClass(current, className);
+        } catch (final RuntimeException e) {
+            logger.debug(CANNOT_FETCH_CLASS, this, className, e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the custom coder method handles, resolving them if the custom coder has changed.
+     */
+    private CustomBindings getCustomBindings(ModelBindings current) throws ReflectiveOperationException {
+        var custom = current.custom;
+        if (custom != null && custom.customCoder == this.customCoder) {
+            return custom;
+        }
+
+        custom = new CustomBindings(current.droolsController, this.customCoder);
+        this.bindings = current.withCustom(custom);
+        return custom;
+    }
+
+    private static Object invoke(MethodHandle handle, Object arg) throws InvocationTargetException {
+        try {
+            return handle.invoke(arg);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable e) {   // NOSONAR the handle may throw any exception
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Object arg1, Object arg2) throws InvocationTargetException {
+        try {
+            return handle.invoke(arg1, arg2);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable e) {   // NOSONAR the handle may throw any exception
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Drools controller, model classes, and custom coder handles, resolved once and reused
+     * for every event until the model classloader changes.
+     */
+    private static final class ModelBindings {
+        private final DroolsController droolsController;
+        private final int modelClassLoaderHash;
+        private final Map<String, Class<?>> modelClasses;
+        private final CustomBindings custom;
+
+        private ModelBindings(DroolsController droolsController) {
+            this(droolsController, droolsController.getModelClassLoaderHash(), Map.of(), null);
+        }
+
+        private ModelBindings(DroolsController droolsController, int modelClassLoaderHash,
+                              Map<String, Class<?>> modelClasses, CustomBindings custom) {
+            this.droolsController = droolsController;
+            this.modelClassLoaderHash = modelClassLoaderHash;
+            this.modelClasses = modelClasses;
+            this.custom = custom;
+        }
+
+        private ModelBindings withModelClass(String className, Class<?> modelClass) {
+            Map<String, Class<?>> classes = new HashMap<>(this.modelClasses);
+            classes.put(className, modelClass);
+            return new ModelBindings(droolsController, modelClassLoaderHash, Map.copyOf(classes), custom);
+        }
+
+        private ModelBindings withCustom(CustomBindings customBindings) {
+            return new ModelBindings(droolsController, modelClassLoaderHash, modelClasses, customBindings);
+        }
+    }
+
+    /**
+     * Method handles to the custom coder static object.
+     */
+    private static final class CustomBindings {
+        private final CustomCoder customCoder;
+
+        /* fromJson(JsonElement, Class), null if not supported by the custom coder */
+        private final MethodHandle fromJsonTree;
+
+        /* fromJson(String, Class) */
+        private final MethodHandle fromJson;
+
+        /* toJson(Object) */
+        private final MethodHandle toJson;
+
+        private CustomBindings(DroolsController droolsController, CustomCoder customCoder)
+            throws ReflectiveOperationException {
+
+            this.customCoder = customCoder;
+
+            final var gsonClassContainer = droolsController.fetchModelClass(customCoder.getClassContainer());
+            final var gsonField = gsonClassContainer.getField(customCoder.getStaticCoderField());
+            final var gsonObject = gsonField.get(null);
+            final var gsonClass = gsonObject.getClass();
+            final var lookup = MethodHandles.publicLookup();
+
+            this.fromJsonTree = find(lookup, gsonObject, "fromJson", JsonElement.class, Class.class);
+            this.fromJson = find(lookup, gsonObject, "fromJson", String.class, Class.class);
+            this.toJson = find(lookup, gsonObject, "toJson", Object.class);
+
+            if (this.fromJson == null || this.toJson == null) {
+                throw new NoSuchMethodException("custom coder " + gsonClass.getName() + " is not a gson coder");
+            }
+        }
+
+        private static MethodHandle find(MethodHandles.Lookup lookup, Object gsonObject, String name,
+                                         Class<?>... parameterTypes) throws IllegalAccessException {
+            try {
+                final var method = gsonObject.getClass().getDeclaredMethod(name, parameterTypes);
+                return lookup.unreflect(method).bindTo(gsonObject);
+            } catch (final NoSuchMethodException e) {
+                logger.trace("custom coder {} does not support {}", gsonObject.getClass().getName(), name, e);
+                return null;
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return "GsonProtocolCoderToolset [toString()=" + super.toString() + "]";
@@ -0,0 +1,62 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Codec decoding json events with Jackson, selected with the "jackson" codec.  Topics with a custom
+ * Gson coder are decoded with the built-in Gson codec instead.
+ */
+public class JacksonEventProtocolCodec implements EventProtocolCodec {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(JacksonEventProtocolCodec.class);
+
+    @Override
+    public int getSequenceNumber() {
+        return 1;
+    }
+
+    @Override
+    public String getCodec() {
+        return EventProtocolCodecConstants.JACKSON_CODEC;
+    }
+
+    @Override
+    public ProtocolCoderToolset createToolset(EventProtocolParams eventProtocolParams, String controllerId) {
+        if (eventProtocolParams.getCustomGsonCoder() != null) {
+            logger.warn("{}: custom coder for {} is not supported, using {}", this, controllerId,
+                EventProtocolCodecConstants.DEFAULT_CODEC);
+            return new GsonProtocolCoderToolset(eventProtocolParams, controllerId);
+        }
+
+        return new JacksonProtocolCoderToolset(eventProtocolParams, controllerId);
+    }
+
+    @Override
+    public String toString() {
+        return "JacksonEventProtocolCodec []";
+    }
+}
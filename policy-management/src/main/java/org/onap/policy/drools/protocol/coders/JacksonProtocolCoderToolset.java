@@ -0,0 +1,476 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.gson.annotations.SerializedName;
+import com.jayway.jsonpath.DocumentContext;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
+import org.onap.policy.drools.controller.DroolsController;
+import org.onap.policy.drools.controller.DroolsControllerConstants;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoder.CoderFilters;
+import org.onap.policy.drools.protocol.coders.ProtocolCoderStats.Outcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tools used for encoding/decoding using Jackson.  Events are read with a streaming parser:
+ * an event that no coder filter has to evaluate is bound straight from its payload, otherwise
+ * it is parsed once into a tree that is used both for filtering and for binding.  The readers
+ * of the model classes are resolved once per class.
+ *
+ * <p>Models are bound as Gson binds them: from their fields, honoring the
+ * {@link SerializedName} annotations, ignoring unknown properties, and with the same date
+ * formats.  Unlike Gson, Jackson instantiates models with their no-argument constructor, so
+ * the models must provide one.  Custom Gson coders are not supported.
+ */
+class JacksonProtocolCoderToolset extends ProtocolCoderToolset {
+    private static final String CANNOT_FETCH_CLASS = "{}: cannot fetch application class {}";
+    private static final String FETCH_CLASS_EX_MSG = "cannot fetch application class ";
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(JacksonProtocolCoderToolset.class);
+
+    /**
+     * Jackson mapper, configured to bind models as Gson does.
+     */
+    @GsonJsonIgnore
+    protected final ObjectMapper mapper;
+
+    /**
+     * Model readers, resolved on demand.
+     */
+    @GsonJsonIgnore
+    private volatile ModelReaders readers;
+
+    /**
+     * Toolset to encode/decode json events associated with a topic.
+     *
+     * @param eventProtocolParams parameter object for event encoder
+     * @param controllerId        controller id
+     */
+    public JacksonProtocolCoderToolset(EventProtocolParams eventProtocolParams, String controllerId) {
+        this(eventProtocolParams, controllerId, new ObjectMapper());
+    }
+
+    /**
+     * Toolset to encode/decode the events associated with a topic in the data format of a
+     * mapper.
+     *
+     * @param eventProtocolParams parameter object for event encoder
+     * @param controllerId        controller id
+     * @param mapper              mapper, whose factory determines the data format
+     */
+    protected JacksonProtocolCoderToolset(EventProtocolParams eventProtocolParams, String controllerId,
+                    ObjectMapper mapper) {
+        super(eventProtocolParams, controllerId);
+        this.mapper = configure(mapper);
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        var module = new SimpleModule()
+            .addSerializer(ZonedDateTime.class, new UtcSerializer())
+            .addDeserializer(ZonedDateTime.class, new UtcDeserializer())
+            .addSerializer(Instant.class, new InstantSerializer())
+            .addDeserializer(Instant.class, new InstantDeserializer());
+
+        return mapper.setVisibility(PropertyAccessor.ALL, Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, Visibility.ANY)
+            .setAnnotationIntrospector(new GsonNames())
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .registerModule(module);
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decode(String json) {
+        return accepted(this.decodeEvent(new Payload(json, null), false));
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decode(byte[] payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("no payload provided");
+        }
+        return accepted(this.decodeEvent(new Payload(null, payload), false));
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decodeOrReject(String json) {
+        return this.decodeEvent(new Payload(json, null), true);
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decodeOrReject(byte[] payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("no payload provided");
+        }
+        return this.decodeEvent(new Payload(null, payload), true);
+    }
+
+    private static Object accepted(Object event) {
+        if (event == EventProtocolCoderConstants.REJECTED) {
+            throw new UnsupportedOperationException("no decoder to process event");
+        }
+        return event;
+    }
+
+    private Object decodeEvent(Payload payload, boolean prefilter) {
+
+        final var start = System.nanoTime();
+        if (prefilter && !payload.mayBeAccepted(this)) {
+            this.record(Outcome.REJECTED, start);
+            return EventProtocolCoderConstants.REJECTED;
+        }
+
+        if (this.customCoder != null) {
+            throw new UnsupportedOperationException("custom coders are not supported by the jackson codec");
+        }
+
+        final var current = this.getReaders();
+        if (current == null) {
+            logger.warn("{}: no drools-controller to process event", this);
+            throw new IllegalStateException("no drools-controller to process event");
+        }
+
+        // the event is only parsed into a tree if a filter has to evaluate it
+        final var parsed = new ParsedEvent(payload);
+        final CoderFilters decoderFilter = this.filter(payload, parsed::document);
+        if (parsed.failure != null) {
+            this.record(Outcome.UNDECODABLE, start);
+            logger.debug("{}: cannot parse event", this);
+            throw new UnsupportedOperationException("cannot parse event", parsed.failure);
+        }
+
+        if (decoderFilter == null) {
+            this.record(Outcome.REJECTED, start);
+            return EventProtocolCoderConstants.REJECTED;
+        }
+
+        try {
+            final var event = this.bind(current, decoderFilter, payload, parsed.tree);
+            this.record(Outcome.DECODED, start);
+            return event;
+        } catch (final RuntimeException e) {
+            this.record(Outcome.UNDECODABLE, start);
+            throw e;
+        }
+    }
+
+    /**
+     * Binds an event to the model class of the coder filters that accepted it, from its
+     * parse tree if it was parsed for filtering, otherwise from its payload.
+     */
+    private Object bind(ModelReaders current, CoderFilters decoderFilter, Payload payload, JsonNode tree) {
+
+        ObjectReader reader;
+        try {
+            reader = this.fetchReader(current, decoderFilter.getFactClass());
+            if (reader == null) {
+                logger.warn(CANNOT_FETCH_CLASS, this, decoderFilter.getFactClass());
+                throw new IllegalStateException(FETCH_CLASS_EX_MSG + decoderFilter.getFactClass());
+            }
+        } catch (final Exception e) {
+            logger.warn(CANNOT_FETCH_CLASS, this, decoderFilter.getFactClass());
+            throw new UnsupportedOperationException(FETCH_CLASS_EX_MSG + decoderFilter.getFactClass(), e);
+        }
+
+        try {
+            return (tree != null ? reader.readValue(tree) : payload.readValue(reader));
+        } catch (final IOException | RuntimeException e) {
+            logger.warn("{} cannot decode into {}", this, decoderFilter.getFactClass());
+            throw new UnsupportedOperationException("cannot decode into " + decoderFilter.getFactClass(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public String encode(Object event) {
+
+        final var start = System.nanoTime();
+        try {
+            if (this.customCoder != null) {
+                throw new UnsupportedOperationException("custom coders are not supported by the jackson codec");
+            }
+
+            final var json = this.mapper.writeValueAsString(event);
+            this.record(Outcome.ENCODED, start);
+            return json;
+        } catch (final IOException | RuntimeException e) {
+            this.record(Outcome.UNENCODABLE, start);
+            logger.warn("{} cannot encode {}", this, event);
+            throw new UnsupportedOperationException("event cannot be encoded", e);
+        }
+    }
+
+    /**
+     * Gets the model readers, resolving the drools controller again if its model
+     * classloader has changed since they were created.
+     *
+     * @return the model readers or null if there is no drools controller
+     */
+    private ModelReaders getReaders() {
+        var current = this.readers;
+        if (current != null
+                && current.modelClassLoaderHash() == current.droolsController().getModelClassLoaderHash()) {
+            return current;
+        }
+
+        final var droolsController =
+            DroolsControllerConstants.getFactory().get(this.groupId, this.artifactId, "");
+        if (droolsController == null) {
+            return null;
+        }
+
+        current = new ModelReaders(droolsController, droolsController.getModelClassLoaderHash(),
+                        new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        logger.debug("{}: new model readers for {}", this, droolsController);
+        this.readers = current;
+        return current;
+    }
+
+    /**
+     * Fetches the reader of a model class, from the model readers if already resolved.
+     */
+    private ObjectReader fetchReader(ModelReaders current, String className) {
+        var reader = current.readers().get(className);
+        if (reader != null) {
+            return reader;
+        }
+
+        var modelClass = this.fetchModelClass(current, className);
+        if (modelClass == null) {
+            return null;
+        }
+
+        reader = this.mapper.readerFor(modelClass);
+        current.readers().put(className, reader);
+        return reader;
+    }
+
+    private Class<?> fetchModelClass(ModelReaders current, String className) {
+        var modelClass = current.modelClasses().get(className);
+        if (modelClass != null) {
+            return modelClass;
+        }
+
+        modelClass = current.droolsController().fetchModelClass(className);
+        if (modelClass != null) {
+            current.modelClasses().put(className, modelClass);
+        }
+        return modelClass;
+    }
+
+    @Override
+    protected Class<?> getModelClass(String className) {
+        var current = this.getReaders();
+        if (current == null) {
+            return null;
+        }
+
+        try {
+            return this.fetchModelClass(current, className);
+        } catch (final RuntimeException e) {
+            logger.debug(CANNOT_FETCH_CLASS, this, className, e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks, without parsing it, if an event may be accepted by any of the coder filters.
+     *
+     * @param payload event payload
+     * @return false if the event cannot be accepted
+     */
+    protected boolean mayAcceptPayload(byte[] payload) {
+        return this.mayAccept(payload);
+    }
+
+    /**
+     * Drools controller, model classes and their readers, resolved once and reused for
+     * every event until the model classloader changes.
+     */
+    private record ModelReaders(DroolsController droolsController, int modelClassLoaderHash,
+                    Map<String, Class<?>> modelClasses, Map<String, ObjectReader> readers) {
+    }
+
+    /**
+     * An event, either as a string or as bytes.
+     */
+    private record Payload(String json, byte[] bytes) {
+
+        boolean mayBeAccepted(JacksonProtocolCoderToolset toolset) {
+            return (json != null ? toolset.mayAccept(json) : toolset.mayAcceptPayload(bytes));
+        }
+
+        JsonNode readTree(ObjectMapper mapper) throws IOException {
+            return (json != null ? mapper.readTree(json) : mapper.readTree(bytes));
+        }
+
+        Object readValue(ObjectReader reader) throws IOException {
+            return (json != null ? reader.readValue(json) : reader.readValue(bytes));
+        }
+
+        @Override
+        public String toString() {
+            return (json != null ? json : "payload of " + bytes.length + " bytes");
+        }
+    }
+
+    /**
+     * Parse tree of an event, parsed on demand at most once.
+     */
+    private class ParsedEvent {
+        private final Payload payload;
+        private JsonNode tree;
+        private Exception failure;
+
+        private ParsedEvent(Payload payload) {
+            this.payload = payload;
+        }
+
+        private DocumentContext document() {
+            if (tree == null && failure == null) {
+                try {
+                    tree = payload.readTree(mapper);
+                } catch (final IOException | RuntimeException e) {
+                    failure = e;
+                }
+            }
+
+            if (failure != null) {
+                throw new IllegalArgumentException("cannot parse event", failure);
+            }
+            return JsonProtocolFilter.parse(tree);
+        }
+    }
+
+    /**
+     * Names the properties as their Gson {@link SerializedName} annotations do.
+     */
+    private static class GsonNames extends JacksonAnnotationIntrospector {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public PropertyName findNameForSerialization(Annotated annotated) {
+            var name = annotated.getAnnotation(SerializedName.class);
+            return (name != null ? PropertyName.construct(name.value()) : super.findNameForSerialization(annotated));
+        }
+
+        @Override
+        public PropertyName findNameForDeserialization(Annotated annotated) {
+            var name = annotated.getAnnotation(SerializedName.class);
+            return (name != null ? PropertyName.construct(name.value())
+                            : super.findNameForDeserialization(annotated));
+        }
+    }
+
+    /**
+     * Serializer for ZonedDateTime, in the format used by the Gson toolset.
+     */
+    private static class UtcSerializer extends JsonSerializer<ZonedDateTime> {
+        @Override
+        public void serialize(ZonedDateTime value, JsonGenerator generator, SerializerProvider provider)
+                        throws IOException {
+            generator.writeString(value.format(GsonProtocolCoderToolset.format));
+        }
+    }
+
+    /**
+     * Deserializer for ZonedDateTime, in the format used by the Gson toolset.
+     */
+    private static class UtcDeserializer extends JsonDeserializer<ZonedDateTime> {
+        @Override
+        public ZonedDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            try {
+                return ZonedDateTime.parse(parser.getValueAsString(), GsonProtocolCoderToolset.format);
+            } catch (final RuntimeException e) {
+                logger.info("UtcDeserializer: cannot parse {} because of {}", parser.getText(), e.getMessage(), e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Serializer for Instant, as milliseconds since the epoch, as the Gson toolset does.
+     */
+    private static class InstantSerializer extends JsonSerializer<Instant> {
+        @Override
+        public void serialize(Instant value, JsonGenerator generator, SerializerProvider provider)
+                        throws IOException {
+            generator.writeNumber(value.toEpochMilli());
+        }
+    }
+
+    /**
+     * Deserializer for Instant, from milliseconds since the epoch, as the Gson toolset does.
+     */
+    private static class InstantDeserializer extends JsonDeserializer<Instant> {
+        @Override
+        public Instant deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return Instant.ofEpochMilli(parser.getValueAsLong());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JacksonProtocolCoderToolset [toString()=" + super.toString() + "]";
+    }
+}
@@ -20,13 +20,22 @@
 
 package org.onap.policy.drools.protocol.coders;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.gson.JsonElement;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.GsonJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.GsonMappingProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,9 +49,32 @@ public class JsonProtocolFilter {
     /** Logger. */
     private static final Logger logger = LoggerFactory.getLogger(JsonProtocolFilter.class);
 
+    /** JsonPath configuration shared by all filters. */
+    private static final Configuration CONFIGURATION =
+            Configuration.defaultConfiguration().addOptions(Option.ALWAYS_RETURN_LIST);
+
+    /** JsonPath configuration for documents already parsed into a Gson tree. */
+    private static final Configuration GSON_CONFIGURATION = Configuration.builder()
+            .jsonProvider(new GsonJsonProvider())
+            .mappingProvider(new GsonMappingProvider())
+            .options(Option.ALWAYS_RETURN_LIST)
+            .build();
+
+    /** JsonPath configuration for documents already parsed into a Jackson tree. */
+    private static final Configuration JACKSON_CONFIGURATION = Configuration.builder()
+            .jsonProvider(new JacksonJsonNodeJsonProvider())
+            .mappingProvider(new JacksonMappingProvider())
+            .options(Option.ALWAYS_RETURN_LIST)
+            .build();
+
     /** A rule based on a JsonPath expression that is used for filtering. */
     private String rule;
 
+    /** Compiled version of the rule. */
+    @GsonJsonIgnore
+    @Getter(AccessLevel.NONE)
+    private transient volatile CompiledRule compiled;
+
     /**
      * Default constructor (for serialization only).
      */
@@ -72,6 +104,7 @@ public class JsonProtocolFilter {
             ruleExpression = MATCH_ANY;
         }
         this.rule = ruleExpression;
+        this.compiled = new CompiledRule(ruleExpression, compile(ruleExpression));
     }
 
     /**
@@ -80,12 +113,46 @@ public class JsonProtocolFilter {
      * @return true if a match is found or the rule uses the match any policy, false otherwise
      */
     public boolean accept(String json) {
-        if (MATCH_ANY.equals(this.rule)) {
+        if (matchesAny()) {
             return true;
         }
         return !filter(json).isEmpty();
     }
 
+    /**
+     * Accepts an already parsed JSON document if there is a match on the filter expression.
+     *
+     * @param document parsed JSON document, see {@link #parse(String)}, {@link #parse(JsonElement)}
+     *        and {@link #parse(JsonNode)}
+     * @return true if a match is found or the rule uses the match any policy, false otherwise
+     */
+    public boolean accept(DocumentContext document) {
+        if (matchesAny()) {
+            return true;
+        }
+
+        var compiledPath = getPath();
+        if (compiledPath == null) {
+            // invalid rule, reported when it was compiled
+            return false;
+        }
+
+        Object matches = null;
+        try {
+            matches = document.read(compiledPath);
+        } catch (Exception e) {
+            logger.error("JsonPath couldn't read {} because of {}", this.rule, e.getMessage(), e);
+        }
+
+        if (matches == null || document.configuration().jsonProvider().length(matches) == 0) {
+            // not being accepted is the common case when several filters share a topic
+            logger.debug("Could not find any matches for rule {}", this.rule);
+            return false;
+        }
+
+        return true;
+    }
+
     /**
      * Finds a field based on a path or a subset of the JSON if using an expression.
      *
@@ -93,7 +160,103 @@ public class JsonProtocolFilter {
      * @return a list of strings that match the expression
      */
     public List<String> filter(String json) {
-        return filter(json, this.rule);
+        return filter(parse(json));
+    }
+
+    /**
+     * Finds a field based on a path or a subset of an already parsed JSON document.
+     *
+     * @param document parsed JSON document, see {@link #parse(String)}, {@link #parse(JsonElement)}
+     *        and {@link #parse(JsonNode)}
+     * @return a list of strings that match the expression
+     */
+    public List<String> filter(DocumentContext document) {
+        return read(document, this.rule, getPath());
+    }
+
+    /**
+     * Checks if this filter accepts anything, and therefore evaluation can be skipped.
+     *
+     * @return true if the rule is the match any rule
+     */
+    boolean matchesAny() {
+        return MATCH_ANY.equals(this.rule);
+    }
+
+    /**
+     * Gets the compiled rule, compiling it if necessary, as it would be the case
+     * when the rule was set through deserialization.
+     *
+     * @return the compiled rule or null if it cannot be compiled
+     */
+    private JsonPath getPath() {
+        var current = this.compiled;
+        var expression = this.rule;
+        if (current == null || !Objects.equals(current.rule(), expression)) {
+            current = new CompiledRule(expression, compile(expression));
+            this.compiled = current;
+        }
+        return current.path();
+    }
+
+    /**
+     * Compiles a JsonPath expression.
+     *
+     * @param expression the JsonPath expression
+     * @return the compiled expression or null if it is invalid
+     */
+    private static JsonPath compile(String expression) {
+        try {
+            return JsonPath.compile(expression);
+        } catch (Exception e) {
+            logger.warn("JsonPath couldn't compile {} because of {}", expression, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Parses a JSON string into a document that can be shared across the evaluation of several filters.
+     *
+     * @param json the JSON string to be parsed
+     * @return the parsed document
+     */
+    public static DocumentContext parse(String json) {
+        if (json == null || json.isEmpty()) {
+            throw new IllegalArgumentException("a json string must be provided");
+        }
+
+        return JsonPath.using(CONFIGURATION).parse(json);
+    }
+
+    /**
+     * Wraps a Gson parse tree into a document that can be shared across the evaluation of several
+     * filters, so the same tree can later be bound to a class without parsing the JSON again.
+     *
+     * @param tree the Gson parse tree
+     * @return the document backed by the parse tree
+     */
+    public static DocumentContext parse(JsonElement tree) {
+        if (tree == null) {
+            throw new IllegalArgumentException("a json tree must be provided");
+        }
+
+        return JsonPath.using(GSON_CONFIGURATION).parse(tree);
+    }
+
+    /**
+     * Wraps a Jackson parse tree into a document that can be shared across the evaluation of
+     * several filters.  The tree may have been parsed from a binary format, such as CBOR, so
+     * the same rules filter the events of a topic whatever their encoding.
+     *
+     * @param tree the Jackson parse tree
+     * @return the document backed by the parse tree
+     */
+    public static DocumentContext parse(JsonNode tree) {
+        if (tree == null) {
+            throw new IllegalArgumentException("a json tree must be provided");
+        }
+
+        return JsonPath.using(JACKSON_CONFIGURATION).parse(tree);
     }
 
     /**
@@ -113,18 +276,50 @@ public class JsonProtocolFilter {
             throw new IllegalArgumentException("an expression must be provided");
         }
 
-        Configuration conf = Configuration.defaultConfiguration().addOptions(Option.ALWAYS_RETURN_LIST);
-        DocumentContext document = JsonPath.using(conf).parse(json);
+        return read(parse(json), expression, compile(expression));
+    }
+
+    private record CompiledRule(String rule, JsonPath path) {
+    }
+
+    /**
+     * Converts the matches read from a document into a list, as the matches read from a
+     * document backed by a Gson parse tree are a Gson array.
+     *
+     * @param document document from which the matches were read
+     * @param matches matches
+     * @return the list of matches
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> toList(DocumentContext document, Object matches) {
+        if (matches instanceof List) {
+            return (List<String>) matches;
+        }
+
+        var provider = document.configuration().jsonProvider();
+        List<String> list = new ArrayList<>(provider.length(matches));
+        for (Object match : provider.toIterable(matches)) {
+            var value = provider.unwrap(match);
+            list.add(value instanceof String text ? text : String.valueOf(match));
+        }
+        return list;
+    }
+
+    private static List<String> read(DocumentContext document, String expression, JsonPath path) {
+        if (path == null) {
+            // invalid expression, reported when it was compiled
+            return new ArrayList<>();
+        }
 
         List<String> matches = new ArrayList<>();
         try {
-            matches = document.read(expression);
+            matches = toList(document, document.read(path));
         } catch (Exception e) {
             logger.error("JsonPath couldn't read {} because of {}", expression, e.getMessage(), e);
         }
 
         if (matches.isEmpty()) {
-            logger.warn("Could not find any matches for rule {} in json {}", expression, json);
+            logger.debug("Could not find any matches for rule {}", expression);
         }
 
         return matches;
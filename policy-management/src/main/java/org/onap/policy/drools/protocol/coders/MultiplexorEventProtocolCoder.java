@@ -23,6 +23,7 @@ package org.onap.policy.drools.protocol.coders;
 
 import java.util.List;
 import lombok.ToString;
+import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
 import org.onap.policy.drools.controller.DroolsController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -130,6 +131,31 @@ class MultiplexorEventProtocolCoder implements EventProtocolCoder {
         return this.decoders.decode(groupId, artifactId, topic, json);
     }
 
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decode(String groupId, String artifactId, String topic, byte[] payload) {
+        logger.debug("{}: decode {}:{}:{} payload", this, groupId, artifactId, topic);
+        return this.decoders.decode(groupId, artifactId, topic, payload);
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decodeOrReject(String groupId, String artifactId, String topic, String json) {
+        return this.decoders.decodeOrReject(groupId, artifactId, topic, json);
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Object decodeOrReject(String groupId, String artifactId, String topic, byte[] payload) {
+        return this.decoders.decodeOrReject(groupId, artifactId, topic, payload);
+    }
+
     /**
      * {@inheritDoc}.
      */
@@ -250,4 +276,13 @@ class MultiplexorEventProtocolCoder implements EventProtocolCoder {
     public List<DroolsController> getDroolsControllers(String topic, Object encodedClass) {
         return this.encoders.getDroolsControllers(topic, encodedClass);
     }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @GsonJsonIgnore
+    @Override
+    public long getEncoderChanges() {
+        return this.encoders.getChanges();
+    }
 }
@@ -0,0 +1,251 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import io.prometheus.metrics.core.datapoints.CounterDataPoint;
+import io.prometheus.metrics.core.datapoints.DistributionDataPoint;
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.core.metrics.Histogram;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.LongAdder;
+import org.apache.commons.lang3.StringUtils;
+import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
+import org.onap.policy.common.gson.annotation.GsonJsonProperty;
+import org.onap.policy.common.utils.resources.PrometheusUtils;
+
+/**
+ * Decoding and encoding statistics of a protocol coder toolset, that is, of a
+ * group:artifact:topic.  They are kept locally, for the REST API, and in Prometheus.
+ */
+public class ProtocolCoderStats {
+
+    protected static final String GROUP_LABEL = "group";
+    protected static final String ARTIFACT_LABEL = "artifact";
+    protected static final String TOPIC_LABEL = "topic";
+    protected static final String OUTCOME_LABEL = "outcome";
+
+    private static final String METRIC_PREFIX = PrometheusUtils.PdpType.PDPD.getNamespace() + "_coder_";
+
+    /**
+     * Coding latencies are in the microseconds to milliseconds range.
+     */
+    private static final double[] LATENCY_BUCKETS =
+        {0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.1};
+
+    protected static final Histogram decodeLatencySecsHistogram =
+            Histogram.builder()
+                    .name(METRIC_PREFIX + "decode_latency_seconds")
+                    .labelNames(GROUP_LABEL, ARTIFACT_LABEL, TOPIC_LABEL)
+                    .help("Latency of the decoding of events, including filtering")
+                    .classicOnly()
+                    .classicUpperBounds(LATENCY_BUCKETS)
+                    .register();
+
+    protected static final Histogram encodeLatencySecsHistogram =
+            Histogram.builder()
+                    .name(METRIC_PREFIX + "encode_latency_seconds")
+                    .labelNames(GROUP_LABEL, ARTIFACT_LABEL, TOPIC_LABEL)
+                    .help("Latency of the encoding of events")
+                    .classicOnly()
+                    .classicUpperBounds(LATENCY_BUCKETS)
+                    .register();
+
+    protected static final Counter eventsCounter =
+            Counter.builder()
+                    .name(METRIC_PREFIX + "events")
+                    .labelNames(GROUP_LABEL, ARTIFACT_LABEL, TOPIC_LABEL, OUTCOME_LABEL)
+                    .help("Number of events decoded or encoded, by outcome")
+                    .register();
+
+    /**
+     * Outcome of a decoding or encoding operation.
+     */
+    public enum Outcome {
+        /**
+         * decoded into a model object.
+         */
+        DECODED(true),
+
+        /**
+         * not accepted by any coder filters.
+         */
+        REJECTED(true),
+
+        /**
+         * accepted, but could not be parsed or bound to a model object.
+         */
+        UNDECODABLE(true),
+
+        /**
+         * encoded from a model object.
+         */
+        ENCODED(false),
+
+        /**
+         * could not be encoded.
+         */
+        UNENCODABLE(false);
+
+        private final boolean decoding;
+
+        Outcome(boolean decoding) {
+            this.decoding = decoding;
+        }
+
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Per outcome counters, local and in Prometheus.
+     */
+    private record Counters(LongAdder count, CounterDataPoint metric) {
+    }
+
+    @GsonJsonIgnore
+    private final Map<Outcome, Counters> counters = new EnumMap<>(Outcome.class);
+
+    @GsonJsonIgnore
+    private final LongAdder decodeNanos = new LongAdder();
+
+    @GsonJsonIgnore
+    private final LongAdder encodeNanos = new LongAdder();
+
+    @GsonJsonIgnore
+    private final DistributionDataPoint decodeLatency;
+
+    @GsonJsonIgnore
+    private final DistributionDataPoint encodeLatency;
+
+    /**
+     * Constructor.
+     *
+     * @param groupId group id
+     * @param artifactId artifact id
+     * @param topic topic
+     */
+    public ProtocolCoderStats(String groupId, String artifactId, String topic) {
+        var group = StringUtils.defaultString(groupId);
+        var artifact = StringUtils.defaultString(artifactId);
+        var topicName = StringUtils.defaultString(topic);
+
+        // the data points are resolved once, so recording does not look up labels
+
+        for (Outcome outcome : Outcome.values()) {
+            this.counters.put(outcome, new Counters(new LongAdder(),
+                eventsCounter.labelValues(group, artifact, topicName, outcome.label())));
+        }
+
+        this.decodeLatency = decodeLatencySecsHistogram.labelValues(group, artifact, topicName);
+        this.encodeLatency = encodeLatencySecsHistogram.labelValues(group, artifact, topicName);
+    }
+
+    /**
+     * Records the outcome of a decoding or encoding operation.
+     *
+     * @param outcome outcome
+     * @param startNanos {@link System#nanoTime()} when the operation started
+     */
+    public void record(Outcome outcome, long startNanos) {
+        var elapsed = System.nanoTime() - startNanos;
+
+        var counter = this.counters.get(outcome);
+        counter.count().increment();
+        counter.metric().inc();
+
+        if (outcome.decoding) {
+            this.decodeNanos.add(elapsed);
+            this.decodeLatency.observe(elapsed / 1e9);
+        } else {
+            this.encodeNanos.add(elapsed);
+            this.encodeLatency.observe(elapsed / 1e9);
+        }
+    }
+
+    /**
+     * gets the number of operations with a given outcome.
+     *
+     * @param outcome outcome
+     * @return number of operations
+     */
+    public long getCount(Outcome outcome) {
+        return this.counters.get(outcome).count().sum();
+    }
+
+    @GsonJsonProperty("decoded")
+    public long getDecoded() {
+        return getCount(Outcome.DECODED);
+    }
+
+    @GsonJsonProperty("rejected")
+    public long getRejected() {
+        return getCount(Outcome.REJECTED);
+    }
+
+    @GsonJsonProperty("undecodable")
+    public long getUndecodable() {
+        return getCount(Outcome.UNDECODABLE);
+    }
+
+    @GsonJsonProperty("encoded")
+    public long getEncoded() {
+        return getCount(Outcome.ENCODED);
+    }
+
+    @GsonJsonProperty("unencodable")
+    public long getUnencodable() {
+        return getCount(Outcome.UNENCODABLE);
+    }
+
+    /**
+     * gets the average decoding latency, of all outcomes.
+     *
+     * @return average latency in microseconds
+     */
+    @GsonJsonProperty("averageDecodeMicros")
+    public double getAverageDecodeMicros() {
+        return average(this.decodeNanos, getDecoded() + getRejected() + getUndecodable());
+    }
+
+    /**
+     * gets the average encoding latency, of all outcomes.
+     *
+     * @return average latency in microseconds
+     */
+    @GsonJsonProperty("averageEncodeMicros")
+    public double getAverageEncodeMicros() {
+        return average(this.encodeNanos, getEncoded() + getUnencodable());
+    }
+
+    private static double average(LongAdder nanos, long count) {
+        return (count == 0) ? 0.0 : nanos.sum() / 1000.0 / count;
+    }
+
+    @Override
+    public String toString() {
+        return "ProtocolCoderStats [decoded=" + getDecoded() + ", rejected=" + getRejected()
+            + ", undecodable=" + getUndecodable() + ", encoded=" + getEncoded()
+            + ", unencodable=" + getUnencodable() + "]";
+    }
+}
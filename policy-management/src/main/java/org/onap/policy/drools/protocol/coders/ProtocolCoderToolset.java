@@ -22,13 +22,21 @@
 
 package org.onap.policy.drools.protocol.coders;
 
+import com.google.gson.JsonElement;
+import com.jayway.jsonpath.DocumentContext;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
+import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
 import org.onap.policy.drools.protocol.coders.EventProtocolCoder.CoderFilters;
+import org.onap.policy.drools.protocol.coders.ProtocolCoderStats.Outcome;
 import org.onap.policy.drools.protocol.coders.TopicCoderFilterConfiguration.CustomCoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +83,58 @@ public abstract class ProtocolCoderToolset {
     @Setter
     protected CustomCoder customCoder;
 
+    /**
+     * decoding and encoding statistics.
+     */
+    protected final ProtocolCoderStats stats;
+
+    /**
+     * Discriminator index and event signature over the coders, built on demand.
+     */
+    @GsonJsonIgnore
+    @Getter(AccessLevel.NONE)
+    private volatile IndexState indexState;
+
+    /**
+     * Discriminator index and event signature, both possibly null, and the coders, with
+     * their filters and rules, they were built from.
+     */
+    private record IndexState(DiscriminatorIndex index, EventSignature signature, List<Stamp> stamps) {
+
+        /**
+         * Checks if the index was built from the current coders, filters and rules.
+         *
+         * @param coders current coders
+         * @return true if none of them has changed since the index was built
+         */
+        boolean isCurrent(List<CoderFilters> coders) {
+            var iter = stamps.iterator();
+            for (CoderFilters coder : coders) {
+                if (!iter.hasNext() || !iter.next().isCurrent(coder)) {
+                    return false;
+                }
+            }
+            return !iter.hasNext();
+        }
+    }
+
+    /**
+     * A coder, with the filter and rule it had when an index was built.
+     */
+    private record Stamp(CoderFilters coder, JsonProtocolFilter filter, String rule) {
+
+        static Stamp of(CoderFilters coder) {
+            var filter = coder.getFilter();
+            return new Stamp(coder, filter, (filter != null ? filter.getRule() : null));
+        }
+
+        boolean isCurrent(CoderFilters current) {
+            var currentFilter = current.getFilter();
+            return coder == current && filter == currentFilter
+                && (currentFilter == null || Objects.equals(rule, currentFilter.getRule()));
+        }
+    }
+
     /**
      * Constructor.
      *
@@ -97,6 +157,7 @@ public abstract class ProtocolCoderToolset {
                 eventProtocolParams.getProtocolFilter(),
                 eventProtocolParams.getModelClassLoaderHash()));
         this.customCoder = eventProtocolParams.getCustomGsonCoder();
+        this.stats = new ProtocolCoderStats(this.groupId, this.artifactId, this.topic);
     }
 
     /**
@@ -177,27 +238,84 @@ public abstract class ProtocolCoderToolset {
      * @throws IllegalArgumentException invalid input
      */
     protected CoderFilters filter(String json) {
+        return filter(json, () -> JsonProtocolFilter.parse(json));
+    }
 
+    /**
+     * performs filtering on an already parsed json tree.
+     *
+     * @param tree json parse tree
+     * @return the decoder that passes the filter, otherwise null
+     * @throws UnsupportedOperationException can't filter
+     * @throws IllegalArgumentException invalid input
+     */
+    protected CoderFilters filter(JsonElement tree) {
+        return filter(tree, () -> JsonProtocolFilter.parse(tree));
+    }
+
+    /**
+     * performs filtering on an event, parsing it only if any filter needs to evaluate it,
+     * so that codecs can bind an event that no filter had to look at straight from its
+     * payload.
+     *
+     * @param event event, as logged when a filter fails
+     * @param parser parses the event into a document
+     * @return the decoder that passes the filter, otherwise null
+     * @throws UnsupportedOperationException can't filter
+     * @throws IllegalArgumentException invalid input
+     */
+    protected CoderFilters filter(Object event, Supplier<DocumentContext> parser) {
 
         // 1. Get list of decoding classes for this controller Id and topic
         // 2. If there are no classes, return error
         // 3. Otherwise, from the available classes for decoding, pick the first one that
         // passes the filters
 
-        // Don't parse if it is not necessary
+        // Don't parse if it is not necessary, and when it is, parse only once
+        // for all the candidate filters
 
         if (this.coders.isEmpty()) {
             throw new IllegalStateException("No coders available");
         }
 
+        var selected = select(event, parser);
+        if (selected != null) {
+            selected.matched();
+        }
+        return selected;
+    }
+
+    private CoderFilters select(Object event, Supplier<DocumentContext> parser) {
+        var index = getIndex();
+        if (index != null) {
+            try {
+                var document = parser.get();
+                return index.select(document, (decoder, doc) -> accepts(decoder, doc, event));
+            } catch (final Exception e) {
+                logger.info("{}: unexpected failure routing {} because of {}", this, event,
+                        e.getMessage(), e);
+                // fall back to a linear scan
+            }
+        }
+
+        DocumentContext document = null;
         for (final CoderFilters decoder : this.coders) {
             try {
-                boolean accepted = decoder.getFilter().accept(json);
-                if (accepted) {
+                var filter = decoder.getFilter();
+                decoder.evaluated();
+                if (filter.matchesAny()) {
+                    return decoder;
+                }
+
+                if (document == null) {
+                    document = parser.get();
+                }
+
+                if (filter.accept(document)) {
                     return decoder;
                 }
             } catch (final Exception e) {
-                logger.info("{}: unexpected failure accepting {} because of {}", this, json,
+                logger.info("{}: unexpected failure accepting {} because of {}", this, event,
                         e.getMessage(), e);
                 // continue
             }
@@ -206,6 +324,141 @@ public abstract class ProtocolCoderToolset {
         return null;
     }
 
+    private boolean accepts(CoderFilters decoder, DocumentContext document, Object event) {
+        try {
+            decoder.evaluated();
+            return decoder.getFilter().accept(document);
+        } catch (final Exception e) {
+            logger.info("{}: unexpected failure accepting {} because of {}", this, event,
+                    e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * gets the discriminator index, (re)building it when the coders or their rules
+     * have changed.
+     *
+     * @return the index or null if the coders are not suitable for indexing
+     */
+    DiscriminatorIndex getIndex() {
+        return getIndexState().index();
+    }
+
+    private IndexState getIndexState() {
+        var state = this.indexState;
+        if (state == null || !state.isCurrent(this.coders)) {
+            // the stamps are taken first, so that a rule changed meanwhile triggers a rebuild
+            List<CoderFilters> snapshot = new ArrayList<>(this.coders);
+            List<Stamp> stamps = snapshot.stream().map(Stamp::of).toList();
+            state = new IndexState(DiscriminatorIndex.build(snapshot), EventSignature.build(snapshot), stamps);
+            logger.debug("{}: discriminator index rebuilt: {}, {}", this, state.index(), state.signature());
+            this.indexState = state;
+        }
+        return state;
+    }
+
+    /**
+     * Checks, without parsing it, if an event may be accepted by any of the coder filters.
+     *
+     * @param json json string
+     * @return false if the event cannot be accepted
+     */
+    protected boolean mayAccept(String json) {
+        var signature = getIndexState().signature();
+        return signature == null || signature.mayMatch(json);
+    }
+
+    /**
+     * Checks, without parsing it, if a UTF-8 encoded event may be accepted by any of the
+     * coder filters.
+     *
+     * @param payload UTF-8 encoded json
+     * @return false if the event cannot be accepted
+     */
+    protected boolean mayAccept(byte[] payload) {
+        var signature = getIndexState().signature();
+        return signature == null || signature.mayMatch(payload);
+    }
+
+    /**
+     * Checks if this toolset decodes the events of its topic as another toolset does, that
+     * is, with the same coder filters, and into the same model classes.  If so, an event
+     * decoded by one of them may be shared with the other one.
+     *
+     * @param other other toolset
+     * @return true if both toolsets decode an event into the same kind of object
+     */
+    public boolean decodesLike(ProtocolCoderToolset other) {
+        if (other == this) {
+            return true;
+        }
+
+        // custom coders are bound to the model of each controller
+        if (other == null || other.getClass() != this.getClass() || !this.topic.equals(other.topic)
+                || this.customCoder != null || other.customCoder != null) {
+            return false;
+        }
+
+        List<CoderFilters> mine = new ArrayList<>(this.coders);
+        List<CoderFilters> theirs = new ArrayList<>(other.coders);
+        if (mine.size() != theirs.size()) {
+            return false;
+        }
+
+        for (var index = 0; index < mine.size(); ++index) {
+            CoderFilters coder = mine.get(index);
+            CoderFilters otherCoder = theirs.get(index);
+            if (!coder.getFactClass().equals(otherCoder.getFactClass())
+                    || !StringUtils.equals(ruleOf(coder), ruleOf(otherCoder))) {
+                return false;
+            }
+
+            // the same class, therefore, from the same classloader
+            Class<?> modelClass = this.getModelClass(coder.getFactClass());
+            if (modelClass == null || modelClass != other.getModelClass(otherCoder.getFactClass())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static String ruleOf(CoderFilters coder) {
+        return (coder.getFilter() != null ? coder.getFilter().getRule() : null);
+    }
+
+    /**
+     * Gets the model class that events are decoded into.  Toolsets that cannot tell
+     * are never considered to decode events as other toolsets do.
+     *
+     * @param className class name
+     * @return the model class, or null if it cannot be determined
+     */
+    protected Class<?> getModelClass(String className) {
+        return null;
+    }
+
+    /**
+     * Records the outcome of a decoding or encoding operation in the statistics.
+     *
+     * @param outcome outcome
+     * @param startNanos {@link System#nanoTime()} when the operation started
+     */
+    protected void record(Outcome outcome, long startNanos) {
+        this.stats.record(outcome, startNanos);
+    }
+
+    /**
+     * Records, as decoded by this toolset, an event that another toolset which
+     * {@link #decodesLike(ProtocolCoderToolset) decodes alike} has decoded and shared.
+     *
+     * @param startNanos {@link System#nanoTime()} when the event was offered
+     */
+    public void recordShared(long startNanos) {
+        this.record(Outcome.DECODED, startNanos);
+    }
+
     /**
      * Decode json into a POJO object.
      *
@@ -217,6 +470,63 @@ public abstract class ProtocolCoderToolset {
      */
     public abstract Object decode(String json);
 
+    /**
+     * Decode UTF-8 encoded json into a POJO object.  This implementation converts the
+     * payload into a string first; implementations that can decode it without an
+     * intermediate string should override it.
+     *
+     * @param payload UTF-8 encoded json
+     *
+     * @return a POJO object for the json payload
+     * @throws IllegalArgumentException if an invalid parameter has been received
+     * @throws UnsupportedOperationException if parsing into POJO is not possible
+     */
+    public Object decode(byte[] payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("no payload provided");
+        }
+        return this.decode(new String(payload, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode json into a POJO object, unless no coder filters accept it.  Implementations
+     * that can detect rejections after parsing without raising an exception should override it.
+     *
+     * @param json json string
+     *
+     * @return a POJO object for the json string, or {@link EventProtocolCoderConstants#REJECTED}
+     * @throws IllegalArgumentException if an invalid parameter has been received
+     * @throws UnsupportedOperationException if parsing into POJO is not possible
+     */
+    public Object decodeOrReject(String json) {
+        final var start = System.nanoTime();
+        if (!this.mayAccept(json)) {
+            this.record(Outcome.REJECTED, start);
+            return EventProtocolCoderConstants.REJECTED;
+        }
+        return this.decode(json);
+    }
+
+    /**
+     * Decode UTF-8 encoded json into a POJO object, unless no coder filters accept it.
+     * Implementations that can detect rejections after parsing without raising an
+     * exception should override it.
+     *
+     * @param payload UTF-8 encoded json
+     *
+     * @return a POJO object for the json payload, or {@link EventProtocolCoderConstants#REJECTED}
+     * @throws IllegalArgumentException if an invalid parameter has been received
+     * @throws UnsupportedOperationException if parsing into POJO is not possible
+     */
+    public Object decodeOrReject(byte[] payload) {
+        final var start = System.nanoTime();
+        if (!this.mayAccept(payload)) {
+            this.record(Outcome.REJECTED, start);
+            return EventProtocolCoderConstants.REJECTED;
+        }
+        return this.decode(payload);
+    }
+
     /**
      * Encodes a POJO object into a JSON String.
      *
@@ -131,6 +131,10 @@ public class TopicCoderFilterConfiguration {
     @Setter
     protected CustomGsonCoder customGsonCoder;
 
+    /* codec for the topic events, null for the default gson one */
+    @Setter
+    protected String codec;
+
     /**
      * Constructor.
      *
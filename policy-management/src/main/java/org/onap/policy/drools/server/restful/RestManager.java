@@ -75,6 +75,7 @@ import org.onap.policy.common.message.bus.event.TopicSink;
 import org.onap.policy.common.message.bus.event.TopicSource;
 import org.onap.policy.common.utils.logging.LoggerUtils;
 import org.onap.policy.drools.controller.DroolsController;
+import org.onap.policy.drools.core.PolicyContainer;
 import org.onap.policy.drools.protocol.coders.EventProtocolCoderConstants;
 import org.onap.policy.drools.protocol.coders.JsonProtocolFilter;
 import org.onap.policy.drools.protocol.configuration.ControllerConfiguration;
@@ -730,6 +731,26 @@ public class RestManager implements SwaggerApi, DefaultApi, FeaturesApi, InputsA
         });
     }
 
+    /**
+     * GET.
+     *
+     * @return response object
+     */
+    @Override
+    @GET
+    @Path("engine/controllers/{controller}/drools/rules/stats")
+    public Response droolsRuleStats(@PathParam("controller") String controllerName) {
+
+        return catchArgStateGenericEx(() -> {
+            var drools = this.getDroolsController(controllerName);
+            return drools.ruleStats();
+
+        }, e -> {
+            logger.debug(FETCH_DROOLS_FAILED, this, controllerName, e.getMessage(), e);
+            return controllerName;
+        });
+    }
+
     /**
      * GET.
      *
@@ -1639,6 +1660,9 @@ public class RestManager implements SwaggerApi, DefaultApi, FeaturesApi, InputsA
                 return errorResponse(NOT_ACCEPTABLE, "logger level:" + NOT_ACCEPTABLE_MSG);
             }
             newLevel = LoggerUtils.setLevel(loggerName, loggerLevel);
+
+            // sessions only listen to the drools events they need, which depends on the log level
+            PolicyContainer.updateSessionListeners();
         } catch (Exception e) {
             logger.warn("{}: logging framework unavailable for {} / {}", this, loggerName, loggerLevel, e);
             return Response.status(INTERNAL_SERVER_ERROR).build();
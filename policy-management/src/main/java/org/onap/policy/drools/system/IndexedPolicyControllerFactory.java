@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
 import org.onap.policy.drools.controller.DroolsController;
 import org.onap.policy.drools.features.PolicyControllerFeatureApi;
@@ -53,6 +54,11 @@ class IndexedPolicyControllerFactory implements PolicyControllerFactory {
     private final Map<String, PolicyController> coordinates2Controller =
             new HashMap<>();
 
+    /**
+     * Number of changes to the indexes.
+     */
+    private final AtomicLong changes = new AtomicLong();
+
     /**
      * produces key for indexing controller names.
      *
@@ -82,6 +88,7 @@ class IndexedPolicyControllerFactory implements PolicyControllerFactory {
                                    controller.getDrools().getArtifactId());
 
         this.policyControllers.put(name, controller);
+        this.changes.incrementAndGet();
 
 
         if (controller.getDrools().isBrained()) {
@@ -137,6 +144,7 @@ class IndexedPolicyControllerFactory implements PolicyControllerFactory {
         }
 
         if (!controller.updateDrools(droolsConfig)) {
+            this.changes.incrementAndGet();
             logger.warn("Cannot update drools configuration: {} on {}", droolsConfig, this);
             throw new IllegalArgumentException("Cannot update drools configuration Drools Configuration");
         }
@@ -147,6 +155,8 @@ class IndexedPolicyControllerFactory implements PolicyControllerFactory {
         if (controller.getDrools().isBrained()) {
             this.coordinates2Controller.put(coordinates, controller);
         }
+
+        this.changes.incrementAndGet();
     }
 
     /**
@@ -191,6 +201,7 @@ class IndexedPolicyControllerFactory implements PolicyControllerFactory {
         synchronized (this) {
             this.policyControllers.clear();
             this.coordinates2Controller.clear();
+            this.changes.incrementAndGet();
         }
     }
 
@@ -215,6 +226,7 @@ class IndexedPolicyControllerFactory implements PolicyControllerFactory {
             String coordinates = toKey(tempController.getDrools().getGroupId(),
                     tempController.getDrools().getArtifactId());
             this.coordinates2Controller.remove(coordinates);
+            this.changes.incrementAndGet();
         }
     }
 
@@ -260,6 +272,7 @@ class IndexedPolicyControllerFactory implements PolicyControllerFactory {
         synchronized (this) {
             this.policyControllers.clear();
             this.coordinates2Controller.clear();
+            this.changes.incrementAndGet();
         }
     }
 
@@ -333,6 +346,15 @@ class IndexedPolicyControllerFactory implements PolicyControllerFactory {
         return new ArrayList<>(this.policyControllers.values());
     }
 
+    /**
+     * {@inheritDoc}.
+     */
+    @GsonJsonIgnore
+    @Override
+    public long getInventoryChanges() {
+        return this.changes.get();
+    }
+
     /**
      * {@inheritDoc}.
      */
@@ -0,0 +1,70 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.system;
+
+/**
+ * Statistics of the queue of raw events received by a policy controller from its
+ * topic sources.
+ */
+public interface IngressQueueStats {
+
+    /**
+     * Get the name of the controller.
+     */
+    String getName();
+
+    /**
+     * Get the maximum number of queued events.
+     */
+    int getCapacity();
+
+    /**
+     * Get the number of events waiting in the queue.
+     */
+    int getDepth();
+
+    /**
+     * Get the highest number of events seen waiting in the queue.
+     */
+    int getMaxDepth();
+
+    /**
+     * Get the number of events dropped, because the queue was full, or because the
+     * controller stopped while they were waiting to be queued.
+     */
+    long getDropped();
+
+    /**
+     * Get the number of times the controller stopped taking events because the queue
+     * was full.
+     */
+    long getPauses();
+
+    /**
+     * Indicates whether the controller is not taking events until the queue drains.
+     */
+    boolean isPaused();
+
+    /**
+     * Get the average time spent by events in the queue, in microseconds.
+     */
+    double getAverageWaitMicros();
+}
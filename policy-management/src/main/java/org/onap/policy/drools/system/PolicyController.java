@@ -21,6 +21,7 @@
 
 package org.onap.policy.drools.system;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
 import org.onap.policy.common.capabilities.Lockable;
@@ -84,6 +85,35 @@ public interface PolicyController extends Startable, Lockable {
      */
     <T> boolean offer(T event);
 
+    /**
+     * Offer a batch of raw events received from a topic, such as the records returned
+     * by a single poll.  The default hands them to the Drools Controller.
+     *
+     * @param commType communication infrastructure
+     * @param topic topic
+     * @param events raw events
+     *
+     * @return true if successful, false otherwise
+     */
+    default boolean offerAll(CommInfrastructure commType, String topic, List<String> events) {
+        return getDrools().offerAll(topic, events);
+    }
+
+    /**
+     * Offer a batch of events.  The default offers them one at a time.
+     *
+     * @param events events
+     *
+     * @return true if successful, false otherwise
+     */
+    default boolean offerAll(Collection<?> events) {
+        var success = true;
+        for (Object event : events) {
+            success = offer(event) && success;
+        }
+        return success;
+    }
+
     /**
      * Attempts delivering of a String over communication infrastructure "busType".
      *
@@ -91,7 +121,9 @@ public interface PolicyController extends Startable, Lockable {
      * @param topic topic
      * @param event Communication infrastructure identifier
      *
-     * @return true if successful, false if a failure has occurred.
+     * @return true if successful, false if a failure has occurred.  When the sink is
+     *         delivered asynchronously, true once the event is accepted for sending, the
+     *         after-deliver hooks being invoked with the actual outcome once it is sent.
      * @throws IllegalArgumentException when invalid or insufficient properties are provided
      * @throws IllegalStateException when the engine is in a state where this operation is not
      *         permitted (i.e. locked or stopped).
@@ -107,4 +139,14 @@ public interface PolicyController extends Startable, Lockable {
      */
     void halt();
 
+    /**
+     * Get the statistics of the queue of raw events received from the topic sources.
+     *
+     * @return the ingress queue statistics, or {@code null} if events are offered to
+     *         the drools layer from the topic source threads
+     */
+    default IngressQueueStats getIngressStats() {
+        return null;
+    }
+
 }
@@ -166,4 +166,15 @@ public interface PolicyControllerFactory {
      * @return a list of Policy Controllers
      */
     List<PolicyController> inventory();
+
+    /**
+     * returns the number of times Policy Controllers have been added, patched or removed,
+     * so that lookups derived from the inventory can be cached until it changes.
+     * The default returns -1, meaning that the changes are not tracked.
+     *
+     * @return number of changes to the inventory, or -1 if they are not tracked
+     */
+    default long getInventoryChanges() {
+        return -1;
+    }
 }
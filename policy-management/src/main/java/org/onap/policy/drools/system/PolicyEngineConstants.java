@@ -48,6 +48,7 @@ public final class PolicyEngineConstants {
      */
     public static final String PROPERTY_TOPIC_EVENTS_SUFFIX = ".events";
     public static final String PROPERTY_TOPIC_EVENTS_CUSTOM_MODEL_CODER_GSON_SUFFIX = ".events.custom.gson";
+    public static final String PROPERTY_TOPIC_EVENTS_CODEC_SUFFIX = ".events.codec";
     public static final String PROPERTY_TOPIC_EVENTS_FILTER_SUFFIX = ".filter";
 
     /**
@@ -89,6 +89,7 @@ import org.onap.policy.drools.protocol.configuration.ControllerConfiguration;
 import org.onap.policy.drools.protocol.configuration.PdpdConfiguration;
 import org.onap.policy.drools.server.restful.RestManager;
 import org.onap.policy.drools.stats.PolicyStatsManager;
+import org.onap.policy.drools.system.internal.DeliveryRoutes;
 import org.onap.policy.drools.system.internal.SimpleLockManager;
 import org.onap.policy.drools.utils.PropertyUtil;
 import org.onap.policy.drools.utils.logging.MdcTransaction;
@@ -175,6 +176,12 @@ public class PolicyEngineManager implements PolicyEngine {
 
     private final DomainMaker domainMaker = new DomainMaker();
 
+    /**
+     * Controllers and buses through which events are delivered, per topic.
+     */
+    private final DeliveryRoutes deliveryRoutes =
+        new DeliveryRoutes(this::getProtocolCoder, this::getControllerFactory, this::getTopicEndpointManager);
+
     @Getter
     private final PolicyStatsManager stats = new PolicyStatsManager();
 
@@ -409,6 +416,8 @@ public class PolicyEngineManager implements PolicyEngine {
             logger.error("{}: add-sinks failed", this, e);
         }
 
+        this.deliveryRoutes.clear();
+
         try {
             this.httpServers = getServletFactory().build(properties);
         } catch (final IllegalArgumentException e) {
@@ -877,6 +886,7 @@ public class PolicyEngineManager implements PolicyEngine {
         /* Shutdown managed resources */
         getControllerFactory().shutdown();
         getTopicEndpointManager().shutdown();
+        this.deliveryRoutes.clear();
         getServletFactory().destroy();
         getHttpClientFactory().destroy();
 
@@ -1184,12 +1194,7 @@ public class PolicyEngineManager implements PolicyEngine {
             throw new IllegalStateException(ENGINE_LOCKED_MSG);
         }
 
-        final List<TopicSink> topicSinks = getTopicEndpointManager().getTopicSinks(topic);
-        if (topicSinks == null || topicSinks.size() != 1) {
-            throw new IllegalStateException("Cannot ensure correct delivery on topic " + topic + ": " + topicSinks);
-        }
-
-        return this.deliver(topicSinks.get(0).getTopicCommInfrastructure(), topic, event);
+        return this.deliver(deliveryRoutes.getBusType(topic), topic, event);
     }
 
     @Override
@@ -1255,14 +1260,13 @@ public class PolicyEngineManager implements PolicyEngine {
          * additional processing
          */
         try {
-            var droolsController = getProtocolCoder().getDroolsController(topic, event);
-            final PolicyController controller = getControllerFactory().get(droolsController);
+            final PolicyController controller = deliveryRoutes.getController(topic, event);
             if (controller != null) {
                 return controller.deliver(busType, topic, event);
             }
         } catch (final Exception e) {
-            logger.warn("{}: cannot find policy-controller to deliver {} over {}:{} because of {}", this, event,
-                    busType, topic, e.getMessage(), e);
+            logger.warn("{}: cannot deliver {} over {}:{} through its policy-controller because of {}", this,
+                    event, busType, topic, e.getMessage(), e);
 
             /* continue (try without routing through the controller) */
         }
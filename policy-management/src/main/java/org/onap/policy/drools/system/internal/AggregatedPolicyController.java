@@ -23,13 +23,18 @@ package org.onap.policy.drools.system.internal;
 
 import com.google.re2j.Pattern;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
 import org.onap.policy.common.message.bus.event.Topic;
 import org.onap.policy.common.message.bus.event.TopicEndpoint;
@@ -41,12 +46,15 @@ import org.onap.policy.common.utils.services.FeatureApiUtils;
 import org.onap.policy.drools.controller.DroolsController;
 import org.onap.policy.drools.controller.DroolsControllerConstants;
 import org.onap.policy.drools.controller.DroolsControllerFactory;
+import org.onap.policy.drools.core.PartitionKeyExtractor;
+import org.onap.policy.drools.features.FeatureHook;
 import org.onap.policy.drools.features.PolicyControllerFeatureApi;
 import org.onap.policy.drools.features.PolicyControllerFeatureApiConstants;
 import org.onap.policy.drools.persistence.SystemPersistence;
 import org.onap.policy.drools.persistence.SystemPersistenceConstants;
 import org.onap.policy.drools.properties.DroolsPropertyConstants;
 import org.onap.policy.drools.protocol.configuration.DroolsConfiguration;
+import org.onap.policy.drools.system.IngressQueueStats;
 import org.onap.policy.drools.system.PolicyController;
 import org.onap.policy.drools.utils.PropertyUtil;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
@@ -126,6 +134,25 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
      */
     private final List<ToscaConceptIdentifier> policyTypes;
 
+    /**
+     * Queue of the raw events received from the topic sources, if configured.
+     */
+    @GsonJsonIgnore
+    private final IngressQueue ingressQueue;
+
+    /**
+     * Stage decoding the raw events with a pool of workers, if configured.
+     */
+    @GsonJsonIgnore
+    private final DecodeStage decodeStage;
+
+    /**
+     * Immutable model classes whose objects are decoded once for all the controllers that
+     * decode them alike.
+     */
+    @GsonJsonIgnore
+    private final Set<String> sharedClasses;
+
     /**
      * Constructor version mainly used for bootstrapping at initialization time a policy engine
      * controller.
@@ -158,6 +185,9 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
         this.properties = PropertyUtil.getInterpolatedProperties(properties);
 
         this.policyTypes = getPolicyTypesFromProperties();
+        this.ingressQueue = makeIngressQueue();
+        this.decodeStage = makeDecodeStage();
+        this.sharedClasses = makeSharedClasses();
     }
 
     @Override
@@ -196,6 +226,71 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
         return policyTypeIds;
     }
 
+    /**
+     * Creates the ingress queue, if a capacity is configured.
+     *
+     * @return the ingress queue, or {@code null} if events are offered from the topic
+     *         source threads
+     */
+    protected IngressQueue makeIngressQueue() {
+        int capacity = NumberUtils.toInt(
+                        properties.getProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_INGRESS_CAPACITY), 0);
+        if (capacity <= 0) {
+            return null;
+        }
+
+        String policyName = properties.getProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_INGRESS_POLICY);
+        IngressQueue.OverflowPolicy policy = IngressQueue.OverflowPolicy.fromString(policyName);
+        if (policy == null) {
+            if (policyName != null) {
+                logger.warn("{}: invalid ingress policy {}, using {}", this, policyName,
+                                IngressQueue.OverflowPolicy.BLOCK);
+            }
+            policy = IngressQueue.OverflowPolicy.BLOCK;
+        }
+
+        return new IngressQueue(name, capacity, policy, this::offerTopicEvent);
+    }
+
+    /**
+     * Creates the decoding stage, if a number of workers is configured.
+     *
+     * @return the decoding stage, or {@code null} if events are decoded by the thread
+     *         offering them
+     */
+    protected DecodeStage makeDecodeStage() {
+        int workers = NumberUtils.toInt(
+                        properties.getProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DECODE_WORKERS), 0);
+        if (workers <= 0) {
+            return null;
+        }
+
+        // events are released in order per key, or in the order they were received
+        PartitionKeyExtractor keyExtractor = null;
+        String keys = properties.getProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DECODE_KEY);
+        if (!StringUtils.isBlank(keys)) {
+            keyExtractor = new PartitionKeyExtractor(List.of(COMMA_SPACE_PAT.split(keys.trim())));
+        }
+
+        return new DecodeStage(name, workers, keyExtractor,
+            (topic, event) -> this.droolsController.get().decode(topic, event), this::offerDecoded);
+    }
+
+    /**
+     * Makes the set of model classes, declared immutable, whose decoded objects may be
+     * shared with other controllers.
+     *
+     * @return the shared model classes, empty if no decoded objects are shared
+     */
+    protected Set<String> makeSharedClasses() {
+        String classes = properties.getProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DECODE_SHARED);
+        if (StringUtils.isBlank(classes)) {
+            return Set.of();
+        }
+
+        return Set.copyOf(List.of(COMMA_SPACE_PAT.split(classes.trim())));
+    }
+
     /**
      * initialize drools layer.
      *
@@ -320,6 +415,14 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
 
         final boolean success = this.droolsController.get().start();
 
+        if (decodeStage != null) {
+            decodeStage.start();
+        }
+
+        if (ingressQueue != null) {
+            ingressQueue.start();
+        }
+
         // register for events
 
         for (TopicSource source : topicSources) {
@@ -362,8 +465,6 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
             if (!this.alive) {
                 return true;
             }
-
-            this.alive = false;
         }
 
         // 1. Stop registration
@@ -372,6 +473,23 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
             source.unregister(this);
         }
 
+        // the queued events are offered while the controller is still alive
+        if (ingressQueue != null) {
+            ingressQueue.stop();
+        }
+
+        synchronized (this) {
+            if (!this.alive) {
+                return true;
+            }
+
+            this.alive = false;
+        }
+
+        if (decodeStage != null) {
+            decodeStage.stop();
+        }
+
         boolean success = this.droolsController.get().stop();
 
         FeatureApiUtils.apply(getProviders(),
@@ -441,19 +559,77 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
             return;
         }
 
-        if (FeatureApiUtils.apply(getProviders(),
+        if (ingressQueue != null && ingressQueue.isAlive()) {
+            // offered from the ingress thread, unless the overflow policy drops it
+            ingressQueue.enqueue(commType, topic, event);
+            return;
+        }
+
+        offerTopicEvent(commType, topic, event);
+    }
+
+    /**
+     * Offers a raw event to the drools layer, with the feature hooks.
+     *
+     * @param commType communication infrastructure type
+     * @param topic topic
+     * @param event raw event
+     */
+    protected void offerTopicEvent(Topic.CommInfrastructure commType, String topic, String event) {
+        if (skipOffer()) {
+            return;
+        }
+
+        List<PolicyControllerFeatureApi> beforeOffer = getProviders(PolicyControllerFeatureApiConstants.BEFORE_OFFER);
+        if (!beforeOffer.isEmpty() && FeatureApiUtils.apply(beforeOffer,
             feature -> feature.beforeOffer(this, commType, topic, event),
             (feature, ex) -> logger.error(BEFORE_OFFER_FAILURE, this,
                             feature.getClass().getName(), ex.getMessage(), ex))) {
             return;
         }
 
-        boolean success = this.droolsController.get().offer(topic, event);
+        if (decodeStage != null && decodeStage.submit(commType, topic, event)) {
+            // offered once decoded, by offerDecoded()
+            return;
+        }
 
-        FeatureApiUtils.apply(getProviders(),
-            feature -> feature.afterOffer(this, commType, topic, event, success),
-            (feature, ex) -> logger.error(AFTER_OFFER_FAILURE, this,
-                            feature.getClass().getName(), ex.getMessage(), ex));
+        boolean success;
+        if (!sharedClasses.isEmpty()) {
+            // decoded once for the controllers offered this event that decode it alike
+            DroolsController controller = this.droolsController.get();
+            Object fact = getSharedDecoder().decode(controller, topic, event, sharedClasses);
+            success = (fact == null || controller.offer(fact));
+        } else {
+            success = this.droolsController.get().offer(topic, event);
+        }
+
+        List<PolicyControllerFeatureApi> afterOffer = getProviders(PolicyControllerFeatureApiConstants.AFTER_OFFER);
+        if (!afterOffer.isEmpty()) {
+            FeatureApiUtils.apply(afterOffer,
+                feature -> feature.afterOffer(this, commType, topic, event, success),
+                (feature, ex) -> logger.error(AFTER_OFFER_FAILURE, this,
+                                feature.getClass().getName(), ex.getMessage(), ex));
+        }
+    }
+
+    /**
+     * Offers an event decoded by the decoding stage to the drools layer.
+     *
+     * @param commType communication infrastructure type
+     * @param topic topic
+     * @param event raw event
+     * @param fact decoded event, or {@code null} if it was not decoded
+     */
+    protected void offerDecoded(Topic.CommInfrastructure commType, String topic, String event, Object fact) {
+        boolean success = (fact == null || this.droolsController.get().offer(fact));
+
+        List<PolicyControllerFeatureApi> afterOffer = getProviders(PolicyControllerFeatureApiConstants.AFTER_OFFER);
+        if (!afterOffer.isEmpty()) {
+            FeatureApiUtils.apply(afterOffer,
+                feature -> feature.afterOffer(this, commType, topic, event, success),
+                (feature, ex) -> logger.error(AFTER_OFFER_FAILURE, this,
+                                feature.getClass().getName(), ex.getMessage(), ex));
+        }
     }
 
     @Override
@@ -464,7 +640,8 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
             return true;
         }
 
-        if (FeatureApiUtils.apply(getProviders(),
+        List<PolicyControllerFeatureApi> beforeOffer = getProviders(PolicyControllerFeatureApiConstants.BEFORE_OFFER);
+        if (!beforeOffer.isEmpty() && FeatureApiUtils.apply(beforeOffer,
             feature -> feature.beforeOffer(this, event),
             (feature, ex) -> logger.error(BEFORE_OFFER_FAILURE, this,
                             feature.getClass().getName(), ex.getMessage(), ex))) {
@@ -473,10 +650,88 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
 
         boolean success = this.droolsController.get().offer(event);
 
-        FeatureApiUtils.apply(getProviders(),
-            feature -> feature.afterOffer(this, event, success),
-            (feature, ex) -> logger.error(AFTER_OFFER_FAILURE, this,
-                            feature.getClass().getName(), ex.getMessage(), ex));
+        List<PolicyControllerFeatureApi> afterOffer = getProviders(PolicyControllerFeatureApiConstants.AFTER_OFFER);
+        if (!afterOffer.isEmpty()) {
+            FeatureApiUtils.apply(afterOffer,
+                feature -> feature.afterOffer(this, event, success),
+                (feature, ex) -> logger.error(AFTER_OFFER_FAILURE, this,
+                                feature.getClass().getName(), ex.getMessage(), ex));
+        }
+
+        return success;
+    }
+
+    @Override
+    public boolean offerAll(Topic.CommInfrastructure commType, String topic, List<String> events) {
+        logger.debug("{}: {} raw events offered from {}:{}", this, events.size(), commType, topic);
+
+        if (skipOffer()) {
+            return true;
+        }
+
+        List<PolicyControllerFeatureApi> beforeOffer = getProviders(PolicyControllerFeatureApiConstants.BEFORE_OFFER);
+        List<String> offered = events;
+        if (!beforeOffer.isEmpty()) {
+            offered = new ArrayList<>(events.size());
+            for (String event : events) {
+                if (!FeatureApiUtils.apply(beforeOffer,
+                    feature -> feature.beforeOffer(this, commType, topic, event),
+                    (feature, ex) -> logger.error(BEFORE_OFFER_FAILURE, this,
+                                    feature.getClass().getName(), ex.getMessage(), ex))) {
+                    offered.add(event);
+                }
+            }
+        }
+
+        boolean success = offered.isEmpty() || this.droolsController.get().offerAll(topic, offered);
+
+        List<PolicyControllerFeatureApi> afterOffer = getProviders(PolicyControllerFeatureApiConstants.AFTER_OFFER);
+        if (!afterOffer.isEmpty()) {
+            for (String event : offered) {
+                FeatureApiUtils.apply(afterOffer,
+                    feature -> feature.afterOffer(this, commType, topic, event, success),
+                    (feature, ex) -> logger.error(AFTER_OFFER_FAILURE, this,
+                                    feature.getClass().getName(), ex.getMessage(), ex));
+            }
+        }
+
+        return success;
+    }
+
+    @Override
+    public boolean offerAll(Collection<?> events) {
+        logger.debug("{}: {} events offered", this, events.size());
+
+        if (skipOffer()) {
+            return true;
+        }
+
+        List<PolicyControllerFeatureApi> beforeOffer = getProviders(PolicyControllerFeatureApiConstants.BEFORE_OFFER);
+        Collection<?> offered = events;
+        if (!beforeOffer.isEmpty()) {
+            List<Object> accepted = new ArrayList<>(events.size());
+            for (Object event : events) {
+                if (!FeatureApiUtils.apply(beforeOffer,
+                    feature -> feature.beforeOffer(this, event),
+                    (feature, ex) -> logger.error(BEFORE_OFFER_FAILURE, this,
+                                    feature.getClass().getName(), ex.getMessage(), ex))) {
+                    accepted.add(event);
+                }
+            }
+            offered = accepted;
+        }
+
+        boolean success = offered.isEmpty() || this.droolsController.get().offerAll(offered);
+
+        List<PolicyControllerFeatureApi> afterOffer = getProviders(PolicyControllerFeatureApiConstants.AFTER_OFFER);
+        if (!afterOffer.isEmpty()) {
+            for (Object event : offered) {
+                FeatureApiUtils.apply(afterOffer,
+                    feature -> feature.afterOffer(this, event, success),
+                    (feature, ex) -> logger.error(AFTER_OFFER_FAILURE, this,
+                                    feature.getClass().getName(), ex.getMessage(), ex));
+            }
+        }
 
         return success;
     }
@@ -493,7 +748,9 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
 
         logger.debug("{}: deliver event to {}:{}: {}", this, commType, topic, event);
 
-        if (FeatureApiUtils.apply(getProviders(),
+        List<PolicyControllerFeatureApi> beforeDeliver =
+                        getProviders(PolicyControllerFeatureApiConstants.BEFORE_DELIVER);
+        if (!beforeDeliver.isEmpty() && FeatureApiUtils.apply(beforeDeliver,
             feature -> feature.beforeDeliver(this, commType, topic, event),
             (feature, ex) -> logger.error("{}: feature {} before-deliver failure because of {}", this,
                             feature.getClass().getName(), ex.getMessage(), ex))) {
@@ -522,14 +779,22 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
             throw new IllegalArgumentException("Unsupported topic " + topic + " for delivery");
         }
 
-        boolean success = this.droolsController.get().deliver(this.topic2Sinks.get(topic), event);
+        CompletableFuture<Boolean> outcome =
+                        this.droolsController.get().deliverAsync(this.topic2Sinks.get(topic), event)
+                            .exceptionally(ex -> false);
 
-        FeatureApiUtils.apply(getProviders(),
-            feature -> feature.afterDeliver(this, commType, topic, event, success),
-            (feature, ex) -> logger.error("{}: feature {} after-deliver failure because of {}", this,
-                            feature.getClass().getName(), ex.getMessage(), ex));
+        List<PolicyControllerFeatureApi> afterDeliver =
+                        getProviders(PolicyControllerFeatureApiConstants.AFTER_DELIVER);
+        if (!afterDeliver.isEmpty()) {
+            // invoked with the actual outcome, once the event has been sent or discarded
+            outcome.thenAccept(success -> FeatureApiUtils.apply(afterDeliver,
+                feature -> feature.afterDeliver(this, commType, topic, event, success),
+                (feature, ex) -> logger.error("{}: feature {} after-deliver failure because of {}", this,
+                                feature.getClass().getName(), ex.getMessage(), ex)));
+        }
 
-        return success;
+        // not known yet when the event is sent asynchronously
+        return outcome.getNow(true);
     }
 
     /**
@@ -618,6 +883,25 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
         return this.properties;
     }
 
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    @GsonJsonIgnore
+    public IngressQueueStats getIngressStats() {
+        return this.ingressQueue;
+    }
+
+    /**
+     * Get the queue of raw events received from the topic sources.
+     *
+     * @return the ingress queue, or {@code null} if not configured
+     */
+    @GsonJsonIgnore
+    protected IngressQueue getIngressQueue() {
+        return this.ingressQueue;
+    }
+
     // the following methods may be overridden by junit tests
 
     protected SystemPersistence getPersistenceManager() {
@@ -635,5 +919,13 @@ public class AggregatedPolicyController implements PolicyController, TopicListen
     protected List<PolicyControllerFeatureApi> getProviders() {
         return PolicyControllerFeatureApiConstants.getProviders().getList();
     }
+
+    private List<PolicyControllerFeatureApi> getProviders(FeatureHook<PolicyControllerFeatureApi> hook) {
+        return hook.getProviders(getProviders());
+    }
+
+    protected SharedDecoder getSharedDecoder() {
+        return SharedDecoder.getInstance();
+    }
 }
 
@@ -0,0 +1,412 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.system.internal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.Getter;
+import org.onap.policy.common.message.bus.event.Topic.CommInfrastructure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes the raw events received by a policy controller with a pool of workers, and
+ * releases the decoded events in the order they were received.  When a key extractor
+ * is configured, the decoded events are released in order per key, and events with
+ * different keys are processed concurrently.  Otherwise, they are processed one at a
+ * time, in the order they were received.
+ *
+ * <p>An event is released once it and all the events received before it are decoded,
+ * as the key of an event is only known after it is decoded.  The number of events
+ * waiting to be decoded is bounded: when all the workers are busy and their queue is
+ * full, the thread submitting an event decodes it itself.  The number of decoded events
+ * waiting for their lane is bounded too: when a lane is full, the workers wait for room
+ * in it, which in turn holds back the threads submitting events.
+ */
+public class DecodeStage {
+    private static final Logger logger = LoggerFactory.getLogger(DecodeStage.class);
+
+    /**
+     * Number of events that may wait to be decoded, per worker.
+     */
+    public static final int QUEUE_PER_WORKER = 64;
+
+    /**
+     * Number of decoded events that may wait to be processed, per lane.
+     */
+    public static final int QUEUE_PER_LANE = 256;
+
+    /**
+     * Maximum time a worker waits for room in a lane before checking if it has stopped.
+     */
+    public static final long LANE_POLL_MILLIS = 100;
+
+    /**
+     * Decodes a raw event.
+     */
+    @FunctionalInterface
+    public interface Decoder {
+        /**
+         * Decodes a raw event.
+         *
+         * @param topic topic
+         * @param event raw event
+         * @return the decoded event, or {@code null} if it is not decoded
+         */
+        Object decode(String topic, String event);
+    }
+
+    /**
+     * Processes the events released by the stage.
+     */
+    @FunctionalInterface
+    public interface Releaser {
+        /**
+         * Processes an event.
+         *
+         * @param commType communication infrastructure type
+         * @param topic topic
+         * @param event raw event
+         * @param fact decoded event, or {@code null} if it was not decoded
+         */
+        void release(CommInfrastructure commType, String topic, String event, Object fact);
+    }
+
+    /**
+     * An event, from the time it is received until it is released.
+     */
+    private static class Slot {
+        private final CommInfrastructure commType;
+        private final String topic;
+        private final String event;
+
+        // set by the worker, read once 'done' is seen
+        private Object fact;
+        private volatile boolean done = false;
+
+        private Slot(CommInfrastructure commType, String topic, String event) {
+            this.commType = commType;
+            this.topic = topic;
+            this.event = event;
+        }
+    }
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final int workers;
+
+    private final Decoder decoder;
+    private final Releaser releaser;
+
+    // extracts the key of a decoded event, or 'null' to keep the global order
+    private final Function<Object, Object> keyExtractor;
+
+    // events not yet released, in the order they were received
+    private final Deque<Slot> pending = new ArrayDeque<>();
+
+    // held while events are dispatched to their lanes, which may wait for room,
+    // so that they are dispatched in order without blocking 'pending'
+    private final Object dispatchLock = new Object();
+
+    private ExecutorService decoders;
+
+    // each one processes the events of a subset of the keys, one at a time
+    private ExecutorService[] lanes;
+
+    // decoded events discarded because their lane had stopped
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile boolean running = false;
+
+    /**
+     * Constructor.
+     *
+     * @param name name of the controller
+     * @param workers number of decoding threads
+     * @param keyExtractor extracts the key of a decoded event, or {@code null} to
+     *        process all the events in the order they were received
+     * @param decoder decodes the raw events
+     * @param releaser processes the decoded events
+     */
+    public DecodeStage(String name, int workers, Function<Object, Object> keyExtractor, Decoder decoder,
+                    Releaser releaser) {
+        this.name = name;
+        this.workers = Math.max(1, workers);
+        this.keyExtractor = keyExtractor;
+        this.decoder = decoder;
+        this.releaser = releaser;
+    }
+
+    /**
+     * Starts the decoding and releasing threads.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        decoders = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(workers * QUEUE_PER_WORKER), threadFactory("Decoder " + name),
+                        this::decodeInCaller);
+
+        lanes = new ExecutorService[keyExtractor != null ? workers : 1];
+        var laneFactory = threadFactory("Release " + name);
+        for (var index = 0; index < lanes.length; ++index) {
+            lanes[index] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(getLaneCapacity()), laneFactory, this::waitForLane);
+        }
+
+        running = true;
+    }
+
+    /**
+     * Stops the decoding and releasing threads, after they finish with the events that
+     * were already submitted.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+
+        // the workers release what they decode, so they must finish before the lanes
+        shutdown(decoders);
+        for (ExecutorService lane : lanes) {
+            shutdown(lane);
+        }
+
+        synchronized (pending) {
+            if (!pending.isEmpty()) {
+                logger.warn("{}: discarding {} events that were not decoded", name, pending.size());
+                pending.clear();
+            }
+        }
+    }
+
+    private void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            logger.error("{}: interrupted while stopping the decoding threads", name, e);
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of decoded events that may wait to be processed, per lane.
+     *
+     * @return the capacity of each lane
+     */
+    protected int getLaneCapacity() {
+        return QUEUE_PER_LANE;
+    }
+
+    /**
+     * Decodes an event in the thread submitting it, when all the workers are busy and their
+     * queue is full.  The event is rejected if the workers have stopped, rather than being
+     * silently discarded, so that its slot does not hold back the events submitted after it.
+     *
+     * @param task decodes the event
+     * @param executor the workers
+     */
+    private void decodeInCaller(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException(name + ": decoders stopped");
+        }
+
+        task.run();
+    }
+
+    /**
+     * Waits for room in a full lane, so that the lane keeps the events in order.  The
+     * event is rejected if the lane stops meanwhile.
+     *
+     * @param task processes the event
+     * @param lane the lane
+     */
+    private void waitForLane(Runnable task, ThreadPoolExecutor lane) {
+        try {
+            while (!lane.isShutdown()) {
+                if (lane.getQueue().offer(task, LANE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!lane.isShutdown() || !lane.getQueue().remove(task)) {
+                        return;
+                    }
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        throw new RejectedExecutionException(name + ": release lane stopped");
+    }
+
+    /**
+     * Indicates whether the stage is running.
+     *
+     * @return {@code true} if events are accepted, {@code false} otherwise
+     */
+    public boolean isAlive() {
+        return running;
+    }
+
+    /**
+     * Gets the number of events that have been received, but not yet released.
+     *
+     * @return the number of events being decoded, or waiting for earlier events
+     */
+    public int getPending() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Gets the number of decoded events discarded because their lane had stopped.
+     *
+     * @return the number of rejected events
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Submits an event for decoding.
+     *
+     * @param commType communication infrastructure type
+     * @param topic topic
+     * @param event raw event
+     * @return {@code true} if the event was submitted, {@code false} if the stage is
+     *         not running, or stopped in the meantime
+     */
+    public boolean submit(CommInfrastructure commType, String topic, String event) {
+        if (!running) {
+            return false;
+        }
+
+        var slot = new Slot(commType, topic, event);
+        synchronized (pending) {
+            pending.addLast(slot);
+        }
+
+        try {
+            decoders.execute(() -> decode(slot));
+        } catch (RuntimeException e) {
+            // stopped in the meantime: the events after it must not wait for it
+            logger.warn("{}: cannot decode event from {}:{}", name, commType, topic, e);
+            synchronized (pending) {
+                pending.remove(slot);
+            }
+            release();
+            return false;
+        }
+
+        return true;
+    }
+
+    private void decode(Slot slot) {
+        try {
+            slot.fact = decoder.decode(slot.topic, slot.event);
+        } catch (RuntimeException e) {
+            logger.warn("{}: cannot decode event from {}:{}", name, slot.commType, slot.topic, e);
+        }
+
+        slot.done = true;
+        release();
+    }
+
+    /**
+     * Releases the decoded events at the head of the pending list, to their lanes.
+     */
+    private void release() {
+        synchronized (dispatchLock) {
+            Slot slot;
+            while ((slot = nextDone()) != null) {
+                dispatch(slot);
+            }
+        }
+    }
+
+    private Slot nextDone() {
+        synchronized (pending) {
+            Slot slot = pending.peekFirst();
+            if (slot == null || !slot.done) {
+                return null;
+            }
+
+            return pending.removeFirst();
+        }
+    }
+
+    private void dispatch(Slot slot) {
+        var index = 0;
+        if (lanes.length > 1 && slot.fact != null) {
+            Object key = keyExtractor.apply(slot.fact);
+            if (key != null) {
+                index = Math.floorMod(key.hashCode(), lanes.length);
+            }
+        }
+
+        try {
+            lanes[index].execute(() -> {
+                try {
+                    releaser.release(slot.commType, slot.topic, slot.event, slot.fact);
+                } catch (RuntimeException e) {
+                    logger.error("{}: cannot process event from {}:{}", name, slot.commType, slot.topic, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            rejected.increment();
+            logger.warn("{}: discarding event from {}:{}", name, slot.commType, slot.topic, e);
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        var count = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "DecodeStage [name=" + name + ", workers=" + workers + ", keyExtractor=" + keyExtractor
+            + ", pending=" + getPending() + ", rejected=" + getRejected() + "]";
+    }
+}
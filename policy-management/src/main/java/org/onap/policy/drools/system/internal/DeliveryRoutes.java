@@ -0,0 +1,189 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.system.internal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.onap.policy.common.message.bus.event.Topic.CommInfrastructure;
+import org.onap.policy.common.message.bus.event.TopicEndpoint;
+import org.onap.policy.common.message.bus.event.TopicSink;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoder;
+import org.onap.policy.drools.system.PolicyController;
+import org.onap.policy.drools.system.PolicyControllerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes of the events delivered through the engine: the policy controller that
+ * delivers the events of a class over a topic, and the bus of a topic.  Finding the
+ * controller walks the encoders of all the controllers, so the routes are cached until
+ * encoders are added or removed, or controllers are added, patched or removed.  Routes
+ * are not cached if either of those changes is not tracked.
+ *
+ * <p>Routes are keyed by the class of the events, rather than its name, so that classes
+ * with the same name from different class loaders, as is the case when the model of a
+ * controller is upgraded, are routed separately.
+ */
+public class DeliveryRoutes {
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryRoutes.class);
+
+    /**
+     * Key of a route: topic and class of the events.
+     */
+    private record RouteKey(String topic, Class<?> eventClass) {
+    }
+
+    /**
+     * Route to a controller, which is null if the events cannot be delivered through a
+     * controller.
+     */
+    private record Route(PolicyController controller) {
+    }
+
+    /**
+     * Routes found since the encoders and the controllers last changed.
+     */
+    private record Snapshot(long encoderChanges, long inventoryChanges, Map<RouteKey, Route> routes,
+                    Map<String, CommInfrastructure> busTypes) {
+
+        Snapshot(long encoderChanges, long inventoryChanges) {
+            this(encoderChanges, inventoryChanges, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private final Supplier<EventProtocolCoder> coderManager;
+
+    private final Supplier<PolicyControllerFactory> controllerFactory;
+
+    private final Supplier<TopicEndpoint> topicEndpoint;
+
+    private volatile Snapshot snapshot = new Snapshot(-1, -1);
+
+    /**
+     * Constructor.
+     *
+     * @param coderManager manager of the encoders of all the controllers
+     * @param controllerFactory factory of the policy controllers
+     * @param topicEndpoint manager of the topic sinks
+     */
+    public DeliveryRoutes(Supplier<EventProtocolCoder> coderManager,
+                    Supplier<PolicyControllerFactory> controllerFactory, Supplier<TopicEndpoint> topicEndpoint) {
+        this.coderManager = coderManager;
+        this.controllerFactory = controllerFactory;
+        this.topicEndpoint = topicEndpoint;
+    }
+
+    /**
+     * Gets the policy controller that delivers an event over a topic, that is, the
+     * controller owning the encoder of the event for that topic.
+     *
+     * @param topic topic
+     * @param event event
+     * @return the policy controller, or {@code null} if there is none
+     */
+    public PolicyController getController(String topic, Object event) {
+        var current = getSnapshot();
+        var key = new RouteKey(topic, event.getClass());
+
+        var route = current.routes().get(key);
+        if (route == null) {
+            route = new Route(findController(topic, event));
+            current.routes().putIfAbsent(key, route);
+        }
+
+        return route.controller();
+    }
+
+    private PolicyController findController(String topic, Object event) {
+        try {
+            var droolsController = coderManager.get().getDroolsController(topic, event);
+            return controllerFactory.get().get(droolsController);
+
+        } catch (final RuntimeException e) {
+            logger.warn("{}: cannot find policy-controller to deliver {} over {} because of {}", this,
+                            event.getClass().getName(), topic, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the bus of a topic.
+     *
+     * @param topic topic
+     * @return the bus of the only sink of the topic
+     * @throws IllegalStateException if the topic does not have a single sink
+     */
+    public CommInfrastructure getBusType(String topic) {
+        var current = getSnapshot();
+
+        var busType = current.busTypes().get(topic);
+        if (busType == null) {
+            final List<TopicSink> topicSinks = topicEndpoint.get().getTopicSinks(topic);
+            if (topicSinks == null || topicSinks.size() != 1) {
+                throw new IllegalStateException("Cannot ensure correct delivery on topic " + topic + ": "
+                                + topicSinks);
+            }
+
+            busType = topicSinks.get(0).getTopicCommInfrastructure();
+            current.busTypes().putIfAbsent(topic, busType);
+        }
+
+        return busType;
+    }
+
+    /**
+     * Discards the routes, as when topic sinks are added or removed.
+     */
+    public void clear() {
+        snapshot = new Snapshot(-1, -1);
+    }
+
+    /**
+     * Gets the routes, discarding them if the encoders or the controllers have changed
+     * since they were found.  The changes are counted before the routes are looked up,
+     * so that a change made while a route is being found discards it.  If the changes
+     * are not tracked, the routes are found anew each time.
+     */
+    private Snapshot getSnapshot() {
+        var encoderChanges = coderManager.get().getEncoderChanges();
+        var inventoryChanges = controllerFactory.get().getInventoryChanges();
+        if (encoderChanges < 0 || inventoryChanges < 0) {
+            return new Snapshot(encoderChanges, inventoryChanges);
+        }
+
+        var current = snapshot;
+        if (current.encoderChanges() != encoderChanges || current.inventoryChanges() != inventoryChanges) {
+            current = new Snapshot(encoderChanges, inventoryChanges);
+            snapshot = current;
+        }
+
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        var current = snapshot;
+        return "DeliveryRoutes [routes=" + current.routes().size() + ", busTypes=" + current.busTypes().size()
+            + "]";
+    }
+}
@@ -98,7 +98,8 @@ public abstract class FeatureLockImpl extends LockImpl {
 
     /**
      * Notifies the session of a change in the lock state. If a session is attached, then
-     * it simply injects the notifier into the session. Otherwise, it executes it via a
+     * it runs the notifier on the session thread, via the session's task queue, unless a
+     * session feature handles it, as it would its insert. Otherwise, it executes it via a
      * background thread.
      *
      * @param notifier function to invoke the callback
@@ -106,7 +107,7 @@ public abstract class FeatureLockImpl extends LockImpl {
     private void doNotify(DroolsRunnable notifier) {
         PolicySession sess = getSession();
         if (sess != null) {
-            sess.insertDrools(notifier);
+            sess.executeDrools(notifier);
 
         } else {
             getThreadPool().execute(notifier);
@@ -0,0 +1,488 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.system.internal;
+
+import io.prometheus.metrics.core.datapoints.CounterDataPoint;
+import io.prometheus.metrics.core.datapoints.DistributionDataPoint;
+import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.core.metrics.GaugeWithCallback;
+import io.prometheus.metrics.core.metrics.Histogram;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import org.onap.policy.common.gson.annotation.GsonJsonIgnore;
+import org.onap.policy.common.gson.annotation.GsonJsonProperty;
+import org.onap.policy.common.message.bus.event.Topic.CommInfrastructure;
+import org.onap.policy.common.utils.resources.PrometheusUtils;
+import org.onap.policy.drools.system.IngressQueueStats;
+import org.onap.policy.drools.system.PolicyController;
+import org.onap.policy.drools.system.PolicyControllerConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue of the raw events received by a policy controller from its topic
+ * sources.  The topic source threads only enqueue the events, and a controller thread
+ * offers them to the drools layer, so the work pending in a controller is capped.
+ * When the queue is full, the {@link OverflowPolicy} decides what happens to the
+ * topic source thread and to the event.
+ */
+public class IngressQueue implements IngressQueueStats {
+    private static final Logger logger = LoggerFactory.getLogger(IngressQueue.class);
+
+    protected static final String CONTROLLER_LABEL = "controller";
+
+    private static final String METRIC_PREFIX = PrometheusUtils.PdpType.PDPD.getNamespace() + "_ingress_";
+
+    /**
+     * Wait times are in the sub-millisecond to seconds range.
+     */
+    private static final double[] WAIT_BUCKETS =
+        {0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1.0, 5.0, 10.0};
+
+    protected static final GaugeWithCallback depthGauge =
+            GaugeWithCallback.builder()
+                    .name(METRIC_PREFIX + "queue_depth")
+                    .labelNames(CONTROLLER_LABEL)
+                    .help("Number of events waiting in the ingress queue of a controller")
+                    .callback(IngressQueue::collectDepths)
+                    .register();
+
+    protected static final Histogram waitSecsHistogram =
+            Histogram.builder()
+                    .name(METRIC_PREFIX + "wait_seconds")
+                    .labelNames(CONTROLLER_LABEL)
+                    .help("Time spent by events in the ingress queue of a controller")
+                    .classicOnly()
+                    .classicUpperBounds(WAIT_BUCKETS)
+                    .register();
+
+    protected static final Counter droppedCounter =
+            Counter.builder()
+                    .name(METRIC_PREFIX + "dropped")
+                    .labelNames(CONTROLLER_LABEL)
+                    .help("Number of events dropped by the ingress queue of a controller")
+                    .register();
+
+    /**
+     * Maximum time the controller thread waits for events before checking if it
+     * should stop.
+     */
+    public static final long POLL_MILLIS = 100;
+
+    /**
+     * What happens when an event arrives and the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * the topic source thread waits until there is room in the queue.
+         */
+        BLOCK,
+
+        /**
+         * the oldest queued event is dropped to make room for the new one.
+         */
+        DROP_OLDEST,
+
+        /**
+         * the new event is dropped.
+         */
+        DROP_NEWEST,
+
+        /**
+         * the controller stops taking events until the queue is half empty: its listener
+         * holds back the topic source threads meanwhile, and no event is dropped.  Unlike
+         * {@link #BLOCK}, the topic sources are released in bulk once the queue has
+         * drained, rather than one event at a time.
+         */
+        PAUSE;
+
+        /**
+         * Gets the policy from its name, as in a property value.
+         *
+         * @param value name, such as "drop-oldest", case-insensitive
+         * @return the policy, or {@code null} if the value does not name any
+         */
+        public static OverflowPolicy fromString(String value) {
+            if (value == null) {
+                return null;
+            }
+
+            try {
+                return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Processes the events taken from the queue.
+     */
+    @FunctionalInterface
+    public interface EventHandler {
+        /**
+         * Handles an event.
+         *
+         * @param commType communication infrastructure type
+         * @param topic topic
+         * @param event raw event
+         */
+        void handle(CommInfrastructure commType, String topic, String event);
+    }
+
+    private record Entry(CommInfrastructure commType, String topic, String event, long enqueueNanos) {
+    }
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final int capacity;
+
+    @Getter
+    private final OverflowPolicy policy;
+
+    @GsonJsonIgnore
+    private final BlockingQueue<Entry> queue;
+
+    @GsonJsonIgnore
+    private final EventHandler handler;
+
+    // highest queue depth seen by the topic source threads
+    @GsonJsonIgnore
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    @GsonJsonIgnore
+    private final LongAdder dropped = new LongAdder();
+
+    @GsonJsonIgnore
+    private final LongAdder pauses = new LongAdder();
+
+    @GsonJsonIgnore
+    private final LongAdder dequeued = new LongAdder();
+
+    @GsonJsonIgnore
+    private final LongAdder waitNanos = new LongAdder();
+
+    @GsonJsonIgnore
+    private final AtomicBoolean paused = new AtomicBoolean(false);
+
+    // the topic source threads wait on it while paused
+    @GsonJsonIgnore
+    private final Object pauseLock = new Object();
+
+    @GsonJsonIgnore
+    private final CounterDataPoint droppedMetric;
+
+    @GsonJsonIgnore
+    private final DistributionDataPoint waitMetric;
+
+    // controls whether the thread loops or terminates, and events are queued
+    private volatile boolean running = false;
+
+    // the controller thread, while running
+    @GsonJsonIgnore
+    private Thread thread;
+
+    /**
+     * Constructor.
+     *
+     * @param name name of the controller
+     * @param capacity maximum number of queued events
+     * @param policy what happens when the queue is full
+     * @param handler processes the events taken from the queue
+     */
+    public IngressQueue(String name, int capacity, OverflowPolicy policy, EventHandler handler) {
+        this.name = name;
+        this.capacity = Math.max(1, capacity);
+        this.policy = (policy != null ? policy : OverflowPolicy.BLOCK);
+        this.queue = new ArrayBlockingQueue<>(this.capacity);
+        this.handler = handler;
+
+        // the data points are resolved once, so recording does not look up labels
+        this.droppedMetric = droppedCounter.labelValues(name);
+        this.waitMetric = waitSecsHistogram.labelValues(name);
+    }
+
+    /**
+     * Starts the controller thread.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this::run, "Ingress " + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the controller thread.  Events that are still queued are handled by the
+     * calling thread before returning, so the events accepted by the queue are not lost.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        try {
+            // wait up to 10 seconds for the thread to stop
+            thread.join(10000);
+        } catch (InterruptedException e) {
+            logger.error("{}: interrupted while stopping the ingress thread", name, e);
+            Thread.currentThread().interrupt();
+        }
+
+        thread = null;
+
+        // the topic source threads waiting for the queue to drain give up
+        resume();
+
+        List<Entry> remaining = new ArrayList<>(queue.size());
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.info("{}: handling {} queued events before stopping", name, remaining.size());
+            remaining.forEach(this::handle);
+        }
+    }
+
+    /**
+     * Indicates whether the controller thread is running.
+     *
+     * @return {@code true} if events are queued, {@code false} otherwise
+     */
+    public boolean isAlive() {
+        return running;
+    }
+
+    /**
+     * Queues an event, applying the overflow policy if the queue is full.
+     *
+     * @param commType communication infrastructure type
+     * @param topic topic
+     * @param event raw event
+     * @return {@code true} if the event was queued, {@code false} if it was dropped
+     *         or the queue is not running
+     */
+    public boolean enqueue(CommInfrastructure commType, String topic, String event) {
+        if (!running) {
+            return false;
+        }
+
+        var entry = new Entry(commType, topic, event, System.nanoTime());
+        if (paused.get()) {
+            // not taking events until the queue drains
+            if (!awaitResume(entry)) {
+                return false;
+            }
+        } else if (!queue.offer(entry) && !overflow(entry)) {
+            return false;
+        }
+
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+        return true;
+    }
+
+    private boolean overflow(Entry entry) {
+        switch (policy) {
+            case DROP_NEWEST:
+                drop();
+                return false;
+
+            case DROP_OLDEST:
+                do {
+                    if (queue.poll() != null) {
+                        drop();
+                    }
+                } while (!queue.offer(entry));
+                return true;
+
+            case PAUSE:
+                if (paused.compareAndSet(false, true)) {
+                    logger.warn("{}: ingress queue full, pausing", name);
+                    pauses.increment();
+                }
+                return awaitResume(entry);
+
+            default:
+                return put(entry);
+        }
+    }
+
+    private boolean put(Entry entry) {
+        try {
+            while (!queue.offer(entry, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    drop();
+                    return false;
+                }
+            }
+            return true;
+
+        } catch (InterruptedException e) {
+            logger.warn("{}: interrupted while queuing an event", name, e);
+            Thread.currentThread().interrupt();
+            drop();
+            return false;
+        }
+    }
+
+    /**
+     * Holds back the topic source thread until the queue has drained, then queues an
+     * event.  The event is dropped if the queue stops meanwhile.
+     *
+     * @param entry event to be queued
+     * @return {@code true} if the event was queued, {@code false} if it was dropped
+     */
+    private boolean awaitResume(Entry entry) {
+        synchronized (pauseLock) {
+            try {
+                while (paused.get()) {
+                    pauseLock.wait(POLL_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                logger.warn("{}: interrupted while paused", name, e);
+                Thread.currentThread().interrupt();
+                drop();
+                return false;
+            }
+        }
+
+        if (!running) {
+            drop();
+            return false;
+        }
+
+        return put(entry);
+    }
+
+    private void drop() {
+        dropped.increment();
+        droppedMetric.inc();
+    }
+
+    private void resume() {
+        if (paused.compareAndSet(true, false)) {
+            logger.info("{}: ingress queue drained, resuming", name);
+            synchronized (pauseLock) {
+                pauseLock.notifyAll();
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            Entry entry;
+            try {
+                entry = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                logger.warn("{}: ingress thread interrupted", name, e);
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (paused.get() && queue.size() <= capacity / 2) {
+                resume();
+            }
+
+            if (entry != null) {
+                handle(entry);
+            }
+        }
+    }
+
+    private void handle(Entry entry) {
+        var wait = System.nanoTime() - entry.enqueueNanos();
+        dequeued.increment();
+        waitNanos.add(wait);
+        waitMetric.observe(wait / 1e9);
+
+        try {
+            handler.handle(entry.commType(), entry.topic(), entry.event());
+        } catch (RuntimeException e) {
+            logger.error("{}: cannot handle event from {}:{}", name, entry.commType(), entry.topic(), e);
+        }
+    }
+
+    @Override
+    @GsonJsonProperty("depth")
+    public int getDepth() {
+        return queue.size();
+    }
+
+    @Override
+    @GsonJsonProperty("maxDepth")
+    public int getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    @Override
+    @GsonJsonProperty("dropped")
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    @GsonJsonProperty("pauses")
+    public long getPauses() {
+        return pauses.sum();
+    }
+
+    @Override
+    @GsonJsonProperty("paused")
+    public boolean isPaused() {
+        return paused.get();
+    }
+
+    @Override
+    @GsonJsonProperty("averageWaitMicros")
+    public double getAverageWaitMicros() {
+        long count = dequeued.sum();
+        return (count == 0) ? 0.0 : waitNanos.sum() / 1000.0 / count;
+    }
+
+    protected static void collectDepths(GaugeWithCallback.Callback callback) {
+        for (PolicyController controller : PolicyControllerConstants.getFactory().inventory()) {
+            var ingress = controller.getIngressStats();
+            if (ingress != null) {
+                callback.call(ingress.getDepth(), ingress.getName());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IngressQueue [name=" + name + ", capacity=" + capacity + ", policy=" + policy
+            + ", depth=" + getDepth() + ", maxDepth=" + getMaxDepth() + ", dropped=" + getDropped()
+            + ", pauses=" + getPauses() + "]";
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.system.internal;
+
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import org.onap.policy.drools.controller.DroolsController;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoder;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoderConstants;
+import org.onap.policy.drools.protocol.coders.ProtocolCoderToolset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes an event once for all the policy controllers that consume it from the same
+ * topic, when their decoders turn it into the same kind of object.
+ *
+ * <p>A topic source hands the same event to each of its listeners in turn, from its own
+ * thread.  The last event decoded on a thread is therefore remembered, along with the
+ * decoders that were used, and the next controller offered that very event on that
+ * thread reuses the decoded object if its own decoders decode events like the
+ * remembered ones.  The decoded object is then shared by the controllers, so only objects
+ * of the model classes that both controllers declare immutable are shared, see
+ * {@link org.onap.policy.drools.properties.DroolsPropertyConstants#PROPERTY_CONTROLLER_DECODE_SHARED}.
+ *
+ * <p>The remembered event, decoders and decoded object are only weakly referenced, so
+ * they are not kept alive by the topic source threads once the events are dispatched.
+ */
+public class SharedDecoder {
+    private static final Logger logger = LoggerFactory.getLogger(SharedDecoder.class);
+
+    /**
+     * Decoder shared by all the policy controllers.
+     */
+    @Getter
+    private static final SharedDecoder instance = new SharedDecoder(EventProtocolCoderConstants.getManager());
+
+    /**
+     * Last event decoded on a thread.
+     */
+    private static final class Decoded {
+        private final WeakReference<String> event;
+        private final WeakReference<ProtocolCoderToolset> toolset;
+        private final WeakReference<Object> fact;
+
+        private Decoded(String event, ProtocolCoderToolset toolset, Object fact) {
+            this.event = new WeakReference<>(event);
+            this.toolset = new WeakReference<>(toolset);
+            this.fact = new WeakReference<>(fact);
+        }
+    }
+
+    private final EventProtocolCoder coderManager;
+
+    private final ThreadLocal<Decoded> last = new ThreadLocal<>();
+
+    private final LongAdder reused = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param coderManager manager of the decoders of all the controllers
+     */
+    protected SharedDecoder(EventProtocolCoder coderManager) {
+        this.coderManager = coderManager;
+    }
+
+    /**
+     * Decodes an event for a controller, or reuses the object decoded for the previous
+     * controller that the event was offered to.
+     *
+     * @param controller drools controller
+     * @param topic topic
+     * @param event raw event
+     * @param sharedClasses model classes, declared immutable by the controller, whose
+     *        objects may be shared with other controllers
+     * @return the decoded event, or {@code null} if it is not decoded
+     */
+    public Object decode(DroolsController controller, String topic, String event, Set<String> sharedClasses) {
+        var start = System.nanoTime();
+        ProtocolCoderToolset toolset = getToolset(controller, topic);
+
+        Object fact = (toolset != null ? reuse(toolset, event) : null);
+        if (fact != null && sharedClasses.contains(fact.getClass().getName())) {
+            reused.increment();
+            toolset.recordShared(start);
+            return fact;
+        }
+
+        fact = controller.decode(topic, event);
+        if (toolset != null && fact != null && sharedClasses.contains(fact.getClass().getName())) {
+            last.set(new Decoded(event, toolset, fact));
+        } else {
+            last.remove();
+        }
+
+        return fact;
+    }
+
+    /**
+     * Gets the object decoded from the very same event, as opposed to an equal one that
+     * was received again, by other decoders that decode it alike.
+     *
+     * @param toolset decoders of the controller
+     * @param event raw event
+     * @return the decoded object, or {@code null} if it cannot be reused
+     */
+    private Object reuse(ProtocolCoderToolset toolset, String event) {
+        var previous = last.get();
+        if (previous == null || previous.event.get() != event) {
+            return null;
+        }
+
+        var previousToolset = previous.toolset.get();
+        if (previousToolset == null || previousToolset == toolset || !toolset.decodesLike(previousToolset)) {
+            return null;
+        }
+
+        return previous.fact.get();
+    }
+
+    private ProtocolCoderToolset getToolset(DroolsController controller, String topic) {
+        try {
+            if (!coderManager.isDecodingSupported(controller.getGroupId(), controller.getArtifactId(), topic)) {
+                return null;
+            }
+
+            return coderManager.getDecoders(controller.getGroupId(), controller.getArtifactId(), topic);
+
+        } catch (IllegalArgumentException e) {
+            logger.debug("{}: no decoders for {} on {}", this, controller, topic, e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the number of times that a decoded event has been reused.
+     *
+     * @return the number of decodings saved
+     */
+    public long getReused() {
+        return reused.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "SharedDecoder [reused=" + getReused() + "]";
+    }
+}
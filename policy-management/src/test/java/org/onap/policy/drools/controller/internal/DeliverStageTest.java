@@ -0,0 +1,227 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.controller.internal;
+
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.common.message.bus.event.TopicSink;
+
+class DeliverStageTest {
+    private static final String NAME = "my-controller";
+    private static final String TOPIC = "my-topic";
+    private static final long WAIT_MS = 5000;
+
+    // events equal to this are only sent when permitted
+    private static final String SLOW = "slow";
+
+    // events equal to this are only sent when permitted, even if interrupted
+    private static final String STUCK = "stuck";
+
+    private TopicSink sink;
+    private TopicSink sink2;
+    private Semaphore sending;
+    private Semaphore sendPermit;
+    private BlockingQueue<String> sent;
+    private BlockingQueue<String> discarded;
+    private DeliverStage stage;
+
+    /**
+     * Initializes the sinks, and the stage sending to them.
+     */
+    @BeforeEach
+    void setUp() {
+        sink = mock(TopicSink.class);
+        when(sink.getTopic()).thenReturn(TOPIC);
+
+        sink2 = mock(TopicSink.class);
+        when(sink2.getTopic()).thenReturn("other-topic");
+
+        sending = new Semaphore(0);
+        sendPermit = new Semaphore(0);
+        sent = new LinkedBlockingQueue<>();
+        discarded = new LinkedBlockingQueue<>();
+
+        stage = new DeliverStage(NAME, Set.of(TOPIC), 3, 2, new DeliverStage.Sender() {
+            @Override
+            public boolean send(TopicSink target, Object event) {
+                if (SLOW.equals(event)) {
+                    sending.release();
+                    acquire(sendPermit);
+                }
+                if (STUCK.equals(event)) {
+                    sending.release();
+                    sendPermit.acquireUninterruptibly();
+                }
+                if ("!".equals(event)) {
+                    throw new IllegalArgumentException("expected exception");
+                }
+                sent.add(event.toString());
+                return target == sink;
+            }
+
+            @Override
+            public void discard(TopicSink target, Object event) {
+                discarded.add(event.toString());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        sendPermit.release(100);
+        stage.stop();
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testIsAsync() {
+        assertEquals(NAME, stage.getName());
+        assertTrue(stage.isAsync(sink));
+        assertFalse(stage.isAsync(sink2));
+
+        stage.stop();
+        assertFalse(stage.isAsync(sink));
+        assertThatIllegalStateException().isThrownBy(() -> stage.submit(sink, "an event"));
+    }
+
+    /**
+     * Submits an event that keeps the sink busy until permitted.
+     */
+    private CompletableFuture<Boolean> submitSlow() throws InterruptedException {
+        var outcome = stage.submit(sink, SLOW);
+        assertTrue(sending.tryAcquire(WAIT_MS, TimeUnit.MILLISECONDS));
+        return outcome;
+    }
+
+    @Test
+    void testSubmit() throws Exception {
+        var slow = submitSlow();
+        var second = stage.submit(sink, "second");
+        var third = stage.submit(sink, "third");
+        assertEquals(2, stage.getPending(sink));
+
+        // the sink is busy, but not the other ones
+        assertFalse(stage.submit(sink2, "other").get(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals("other", sent.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertFalse(second.isDone());
+
+        // sent in order
+        sendPermit.release();
+        assertTrue(slow.get(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(third.get(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(second.isDone());
+        assertEquals(List.of(SLOW, "second", "third"),
+            List.of(sent.poll(WAIT_MS, TimeUnit.MILLISECONDS), sent.poll(WAIT_MS, TimeUnit.MILLISECONDS),
+                sent.poll(WAIT_MS, TimeUnit.MILLISECONDS)));
+
+        assertEquals(0, stage.getPending(sink));
+
+        // the two events waiting for the slow one are sent together
+        stage.stop();
+        assertEquals(3, stage.getFlushes());
+    }
+
+    @Test
+    void testSubmitFull() throws Exception {
+        submitSlow();
+        stage.submit(sink, "second");
+        stage.submit(sink, "third");
+        var fourth = stage.submit(sink, "fourth");
+
+        // discarded, rather than waiting
+        var fifth = stage.submit(sink, "fifth");
+        assertTrue(fifth.isDone());
+        assertFalse(fifth.get());
+        assertEquals(1, stage.getDropped());
+        assertEquals(List.of("fifth"), List.copyOf(discarded));
+
+        sendPermit.release();
+        assertTrue(fourth.get(WAIT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testSubmitException() {
+        var outcome = stage.submit(sink, "!");
+        assertThatThrownBy(() -> outcome.get(WAIT_MS, TimeUnit.MILLISECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testStop() throws Exception {
+        var slow = submitSlow();
+        var second = stage.submit(sink, "second");
+
+        // sent before stopping
+        sendPermit.release();
+        stage.stop();
+        assertTrue(slow.isDone());
+        assertTrue(second.get(WAIT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testStop_Interrupted() throws Exception {
+        var stuck = stage.submit(sink, STUCK);
+        assertTrue(sending.tryAcquire(WAIT_MS, TimeUnit.MILLISECONDS));
+        var second = stage.submit(sink, "second");
+
+        // not sent, but no longer pending
+        Thread.currentThread().interrupt();
+        stage.stop();
+        assertTrue(Thread.interrupted());
+
+        assertThatThrownBy(() -> second.get(WAIT_MS, TimeUnit.MILLISECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertEquals(0, stage.getPending(sink));
+        assertEquals(1, stage.getDropped());
+        assertEquals(List.of("second"), List.copyOf(discarded));
+
+        // the event being sent is not affected
+        sendPermit.release();
+        assertTrue(stuck.get(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(List.of(STUCK), List.copyOf(sent));
+    }
+}
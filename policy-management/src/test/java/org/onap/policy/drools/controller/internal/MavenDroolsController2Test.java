@@ -27,21 +27,31 @@ import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.prometheus.metrics.core.metrics.GaugeWithCallback;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -49,6 +59,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.kie.api.KieBase;
 import org.kie.api.definition.KiePackage;
 import org.kie.api.definition.rule.Query;
+import org.kie.api.definition.rule.Rule;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.rule.FactHandle;
@@ -56,14 +67,21 @@ import org.kie.api.runtime.rule.QueryResults;
 import org.kie.api.runtime.rule.QueryResultsRow;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.onap.policy.common.message.bus.event.TopicSink;
 import org.onap.policy.common.utils.services.OrderedServiceImpl;
+import org.onap.policy.drools.controller.DroolsController;
+import org.onap.policy.drools.controller.DroolsControllerConstants;
+import org.onap.policy.drools.controller.DroolsControllerFactory;
+import org.onap.policy.drools.core.FactIndex;
 import org.onap.policy.drools.core.PolicyContainer;
 import org.onap.policy.drools.core.PolicySession;
+import org.onap.policy.drools.core.RuleProfiler;
 import org.onap.policy.drools.features.DroolsControllerFeatureApi;
 import org.onap.policy.drools.features.DroolsControllerFeatureApiConstants;
+import org.onap.policy.drools.properties.DroolsPropertyConstants;
 import org.onap.policy.drools.protocol.coders.EventProtocolCoder;
 import org.onap.policy.drools.protocol.coders.EventProtocolCoderConstants;
 import org.onap.policy.drools.protocol.coders.EventProtocolParams;
@@ -94,6 +112,7 @@ class MavenDroolsController2Test {
     private static final String VERSION2 = "my-versionB";
 
     private static final String TOPIC = "my-topic";
+    private static final long WAIT_MS = 5000;
     private static final String TOPIC2 = "my-topic";
 
     private static final ClassLoader CLASS_LOADER = MavenDroolsController2Test.class.getClassLoader();
@@ -200,7 +219,7 @@ class MavenDroolsController2Test {
         lenient().when(droolsProviders.getList()).thenReturn(List.of(prov1, prov2));
 
         lenient().when(coderMgr.isDecodingSupported(GROUP, ARTIFACT, TOPIC)).thenReturn(true);
-        lenient().when(coderMgr.decode(GROUP, ARTIFACT, TOPIC, EVENT_TEXT)).thenReturn(EVENT);
+        lenient().when(coderMgr.decodeOrReject(GROUP, ARTIFACT, TOPIC, EVENT_TEXT)).thenReturn(EVENT);
 
         lenient().when(kieSess.getFactCount()).thenReturn(FACT_COUNT);
         lenient().when(kieSess.getFactHandles()).thenReturn(List.of(fact1, fact2, factex, fact3));
@@ -240,8 +259,14 @@ class MavenDroolsController2Test {
         lenient().when(sess1.getFullName()).thenReturn(FULL_SESSION1);
         lenient().when(sess2.getFullName()).thenReturn(FULL_SESSION2);
 
+        lenient().when(sess1.getFactIndex()).thenReturn(new FactIndex());
+        lenient().when(sess2.getFactIndex()).thenReturn(new FactIndex());
+
+        lenient().when(sess1.getFactCounts()).thenReturn(Map.of(Integer.class, 2L, String.class, 1L));
+
         lenient().when(container.getClassLoader()).thenReturn(CLASS_LOADER);
         lenient().when(container.getPolicySessions()).thenReturn(List.of(sess1, sess2));
+        lenient().when(container.hasSessions()).thenReturn(true);
         lenient().when(container.insertAll(EVENT)).thenReturn(true);
 
         lenient().when(decoder1.getTopic()).thenReturn(TOPIC);
@@ -648,7 +673,7 @@ class MavenDroolsController2Test {
 
     @Test
     void testOfferStringString_DecodeUnsupported() {
-        when(coderMgr.decode(GROUP, ARTIFACT, TOPIC, EVENT_TEXT))
+        when(coderMgr.decodeOrReject(GROUP, ARTIFACT, TOPIC, EVENT_TEXT))
             .thenThrow(new UnsupportedOperationException(EXPECTED_EXCEPTION));
 
         drools.start();
@@ -657,9 +682,24 @@ class MavenDroolsController2Test {
         verify(container, never()).insertAll(EVENT);
     }
 
+    @Test
+    void testOfferStringString_Rejected() {
+        var rejected = EventProtocolCoderConstants.REJECTED;
+        when(coderMgr.decodeOrReject(GROUP, ARTIFACT, TOPIC, EVENT_TEXT)).thenReturn(rejected);
+        var payload = EVENT_TEXT.getBytes(StandardCharsets.UTF_8);
+        when(coderMgr.decodeOrReject(GROUP, ARTIFACT, TOPIC, payload)).thenReturn(rejected);
+
+        drools.start();
+        assertTrue(drools.offer(TOPIC, EVENT_TEXT));
+        assertTrue(drools.offer(TOPIC, payload));
+
+        verify(container, never()).insertAll(any());
+        assertEquals(0, drools.getRecentSourceEvents().length);
+    }
+
     @Test
     void testOfferStringString_DecodeEx() {
-        when(coderMgr.decode(GROUP, ARTIFACT, TOPIC, EVENT_TEXT)).thenThrow(RUNTIME_EX);
+        when(coderMgr.decodeOrReject(GROUP, ARTIFACT, TOPIC, EVENT_TEXT)).thenThrow(RUNTIME_EX);
 
         drools.start();
         assertTrue(drools.offer(TOPIC, EVENT_TEXT));
@@ -682,11 +722,41 @@ class MavenDroolsController2Test {
         drools.start();
 
         // no sessions
-        when(container.getPolicySessions()).thenReturn(Collections.emptyList());
+        when(container.hasSessions()).thenReturn(false);
         assertTrue(drools.offer(TOPIC, EVENT_TEXT));
         assertEquals(0, drools.getRecentSourceEvents().length);
     }
 
+    @Test
+    void testOfferStringBytes() {
+        var payload = EVENT_TEXT.getBytes(StandardCharsets.UTF_8);
+        when(coderMgr.decodeOrReject(GROUP, ARTIFACT, TOPIC, payload)).thenReturn(EVENT);
+
+        drools.start();
+        assertTrue(drools.offer(TOPIC, payload));
+
+        verify(container).insertAll(EVENT);
+    }
+
+    @Test
+    void testOfferStringBytes_DecodeFailure() {
+        var payload = EVENT_TEXT.getBytes(StandardCharsets.UTF_8);
+        when(coderMgr.decodeOrReject(GROUP, ARTIFACT, TOPIC, payload))
+            .thenThrow(new UnsupportedOperationException(EXPECTED_EXCEPTION))
+            .thenThrow(RUNTIME_EX);
+
+        drools.start();
+        assertTrue(drools.offer(TOPIC, payload));
+        assertTrue(drools.offer(TOPIC, payload));
+
+        // not decodable
+        when(coderMgr.isDecodingSupported(GROUP, ARTIFACT, TOPIC)).thenReturn(false);
+        assertTrue(drools.offer(TOPIC, payload));
+
+        verify(coderMgr, times(2)).decodeOrReject(GROUP, ARTIFACT, TOPIC, payload);
+        verify(container, never()).insertAll(EVENT);
+    }
+
     @Test
     void testOfferT() {
         drools.start();
@@ -789,11 +859,76 @@ class MavenDroolsController2Test {
         drools.start();
 
         // no sessions
-        when(container.getPolicySessions()).thenReturn(Collections.emptyList());
+        when(container.hasSessions()).thenReturn(false);
         assertTrue(drools.offer(EVENT));
         assertEquals(0, drools.getRecentSourceEvents().length);
     }
 
+    @Test
+    void testOfferAll() {
+        var events = List.of(EVENT, EVENT_TEXT);
+        when(container.insertBatch(events)).thenReturn(true);
+
+        drools.start();
+        assertTrue(drools.offerAll(events));
+        assertEquals(2, drools.getRecentSourceEvents().length);
+        verify(container).insertBatch(events);
+        verify(container, never()).insertAll(any());
+
+        verify(prov1).beforeInsertAll(drools, events);
+        verify(prov2).beforeInsertAll(drools, events);
+
+        verify(prov1).afterInsertAll(drools, events, true);
+        verify(prov2).afterInsertAll(drools, events, true);
+    }
+
+    @Test
+    void testOfferAll_BeforeInsertIntercept() {
+        when(prov1.beforeInsertAll(any(), any())).thenCallRealMethod();
+        when(prov1.beforeInsert(drools, EVENT)).thenReturn(true);
+
+        drools.start();
+        assertTrue(drools.offerAll(List.of(EVENT, EVENT_TEXT)));
+        verify(container).insertBatch(List.of(EVENT_TEXT));
+
+        // the whole batch is intercepted
+        when(prov1.beforeInsert(drools, EVENT_TEXT)).thenReturn(true);
+        assertTrue(drools.offerAll(List.of(EVENT, EVENT_TEXT)));
+        verify(container, times(1)).insertBatch(any());
+        verify(prov1, times(1)).afterInsertAll(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void testOfferAll_Ignored() {
+        drools.start();
+        assertTrue(drools.offerAll(List.of()));
+
+        drools.lock();
+        assertTrue(drools.offerAll(List.of(EVENT)));
+        drools.unlock();
+
+        assertEquals(0, drools.getRecentSourceEvents().length);
+        verify(container, never()).insertBatch(any());
+    }
+
+    @Test
+    void testOfferAllStrings() {
+        var rejected = EventProtocolCoderConstants.REJECTED;
+        when(coderMgr.decodeOrReject(GROUP, ARTIFACT, TOPIC, "rejected")).thenReturn(rejected);
+        when(coderMgr.decodeOrReject(GROUP, ARTIFACT, TOPIC, "unsupported"))
+            .thenThrow(new UnsupportedOperationException(EXPECTED_EXCEPTION));
+        when(coderMgr.decodeOrReject(GROUP, ARTIFACT, TOPIC, "failed")).thenThrow(RUNTIME_EX);
+
+        drools.start();
+        assertTrue(drools.offerAll(TOPIC, List.of(EVENT_TEXT, "rejected", "unsupported", "failed")));
+        verify(container).insertBatch(List.of(EVENT));
+
+        // not decodable
+        when(coderMgr.isDecodingSupported(GROUP, ARTIFACT, TOPIC)).thenReturn(false);
+        assertTrue(drools.offerAll(TOPIC, List.of(EVENT_TEXT)));
+        verify(container, times(1)).insertBatch(any());
+    }
+
     @Test
     void testDeliver() {
         drools.start();
@@ -884,6 +1019,80 @@ class MavenDroolsController2Test {
         verify(prov2).afterDeliver(drools, sink, EVENT, EVENT_TEXT, true);
     }
 
+    @Test
+    void testDeliver_Async() throws Exception {
+        var properties = new Properties();
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DELIVER_ASYNC, "other-topic, " + TOPIC);
+        when(container.getProperties()).thenReturn(properties);
+
+        drools.start();
+        assertNotNull(drools.deliverStage);
+
+        // sent by another thread
+        assertTrue(drools.deliver(sink, EVENT));
+        verify(sink, timeout(WAIT_MS)).send(EVENT_TEXT);
+        verify(prov1, timeout(WAIT_MS)).afterDeliver(drools, sink, EVENT, EVENT_TEXT, true);
+        verify(prov2, timeout(WAIT_MS)).afterDeliver(drools, sink, EVENT, EVENT_TEXT, true);
+
+        // with the outcome
+        assertTrue(drools.deliverAsync(sink, EVENT).get(WAIT_MS, TimeUnit.MILLISECONDS));
+        verify(sink, times(2)).send(EVENT_TEXT);
+
+        drools.stop();
+        assertNull(drools.deliverStage);
+        assertThatIllegalStateException().isThrownBy(() -> drools.deliverAsync(sink, EVENT))
+            .withMessageContaining("stopped");
+    }
+
+    @Test
+    void testDeliver_AsyncDropped() throws Exception {
+        var properties = new Properties();
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DELIVER_ASYNC, TOPIC);
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DELIVER_CAPACITY, "1");
+        when(container.getProperties()).thenReturn(properties);
+
+        // keeps the sink busy until permitted
+        var sending = new Semaphore(0);
+        var sendPermit = new Semaphore(0);
+        when(sink.send(EVENT_TEXT)).thenAnswer(args -> {
+            sending.release();
+            sendPermit.acquire();
+            return true;
+        });
+
+        drools.start();
+        assertTrue(drools.deliver(sink, EVENT));
+        assertTrue(sending.tryAcquire(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(drools.deliver(sink, EVENT));
+
+        // discarded, without being encoded
+        assertFalse(drools.deliver(sink, EVENT));
+        assertEquals(1, drools.deliverStage.getDropped());
+        verify(prov1).afterDeliver(drools, sink, EVENT, null, false);
+        verify(prov2).afterDeliver(drools, sink, EVENT, null, false);
+
+        sendPermit.release(2);
+        verify(prov1, timeout(WAIT_MS).times(2)).afterDeliver(drools, sink, EVENT, EVENT_TEXT, true);
+        drools.stop();
+    }
+
+    @Test
+    void testDeliverAsync_NotConfigured() {
+        drools.start();
+        assertNull(drools.deliverStage);
+
+        // sent by this thread
+        var outcome = drools.deliverAsync(sink, EVENT);
+        assertTrue(outcome.isDone());
+        assertTrue(outcome.join());
+        verify(sink).send(EVENT_TEXT);
+
+        // intercepted
+        when(prov1.beforeDeliver(drools, sink, EVENT)).thenReturn(true);
+        assertTrue(drools.deliverAsync(sink, EVENT).join());
+        verify(sink, times(1)).send(EVENT_TEXT);
+    }
+
     @Test
     void testGetXxx() {
         assertEquals(VERSION, drools.getVersion());
@@ -963,6 +1172,28 @@ class MavenDroolsController2Test {
             .withMessageContaining("Invalid Session Name");
     }
 
+    @Test
+    void testGetSessions_Partitions() {
+        when(sess1.getName()).thenReturn("shard#0");
+        when(sess2.getName()).thenReturn("shard#1");
+        when(sess2.getFullName()).thenReturn("container:shard#1");
+        when(kieSess2.getFactCount()).thenReturn(1L);
+
+        assertEquals(List.of(sess1, sess2), drools.getSessions("shard"));
+        assertEquals(List.of(sess2), drools.getSessions("shard#1"));
+        assertEquals(List.of(sess2), drools.getSessions("container:shard"));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> drools.getSessions("shard#"))
+            .withMessageContaining("Invalid Session Name");
+
+        when(sess2.getFactCounts()).thenReturn(Map.of(Integer.class, 3L));
+
+        // the facts of all partitions are aggregated
+        assertEquals(FACT_COUNT + 1, drools.factCount("shard"));
+        assertEquals(1, drools.factCount("shard#1"));
+        assertEquals(Map.of(Integer.class.getName(), 5, String.class.getName(), 1), drools.factClassNames("shard"));
+    }
+
     @Test
     void testFactClassNames() {
         // copy to a sorted map so the order remains unchanged
@@ -974,6 +1205,25 @@ class MavenDroolsController2Test {
 
         assertThatIllegalArgumentException().isThrownBy(() -> drools.factClassNames(""))
             .withMessageContaining("Invalid Session Name");
+
+        // the facts are not scanned
+        verify(kieSess, never()).getFactHandles();
+    }
+
+    @Test
+    void testCollectFactCounts() {
+        var factory = mock(DroolsControllerFactory.class);
+        when(factory.inventory()).thenReturn(List.of(drools, mock(DroolsController.class)));
+
+        var callback = mock(GaugeWithCallback.Callback.class);
+
+        try (MockedStatic<DroolsControllerConstants> constants = mockStatic(DroolsControllerConstants.class)) {
+            constants.when(DroolsControllerConstants::getFactory).thenReturn(factory);
+            MavenDroolsController.collectFactCounts(callback);
+        }
+
+        verify(callback).call(2.0, GROUP, ARTIFACT, SESSION1, Integer.class.getName());
+        verify(callback).call(1.0, GROUP, ARTIFACT, SESSION1, String.class.getName());
     }
 
     @Test
@@ -987,6 +1237,24 @@ class MavenDroolsController2Test {
             .withMessageContaining("Invalid Session Name");
     }
 
+    @Test
+    void testRuleStats() {
+        // no sessions are profiled
+        assertTrue(drools.ruleStats().isEmpty());
+
+        var rule = mock(Rule.class);
+        when(rule.getPackageName()).thenReturn("org.onap.rules");
+        when(rule.getName()).thenReturn("my-rule");
+
+        var profiler = new RuleProfiler();
+        profiler.matchCreated(rule);
+        when(sess1.getRuleProfiler()).thenReturn(profiler);
+
+        var stats = drools.ruleStats();
+        assertEquals(List.of(SESSION1), List.copyOf(stats.keySet()));
+        assertEquals(1, stats.get(SESSION1).get("org.onap.rules.my-rule").getMatchesCreated());
+    }
+
     @Test
     void testFactsStringStringBoolean() {
         assertEquals("[1000, 1001]", drools.facts(SESSION1, Integer.class.getName(), false).toString());
@@ -1097,6 +1365,28 @@ class MavenDroolsController2Test {
         verify(kieSess, times(2)).delete(fact3);
     }
 
+    @Test
+    void testDeleteStringT_Indexed() {
+        var index = new FactIndex();
+        index.register(Integer.class, value -> value);
+        index.add(FACT3_OBJECT, fact3);
+        when(sess1.getFactIndex()).thenReturn(index);
+
+        // not found by reference
+        when(kieSess.getFactHandle(FACT3_OBJECT)).thenReturn(null);
+
+        assertTrue(drools.exists(SESSION1, FACT3_OBJECT));
+        assertTrue(drools.delete(SESSION1, FACT3_OBJECT));
+        verify(kieSess).delete(fact3);
+
+        // no fact with the key
+        assertFalse(drools.exists(SESSION1, FACT1_OBJECT));
+        assertFalse(drools.delete(SESSION1, FACT1_OBJECT));
+
+        // the facts of the class were never scanned
+        verify(kieSess, never()).getFactHandles(any());
+    }
+
     @Test
     void testDeleteT() {
         assertTrue(drools.delete(FACT3_OBJECT));
@@ -1130,6 +1420,14 @@ class MavenDroolsController2Test {
         verify(kieSess).delete(fact3);
     }
 
+    @Test
+    void testIndexFacts() {
+        Function<Integer, Object> extractor = value -> value;
+        drools.indexFacts(Integer.class, extractor);
+
+        verify(container).indexFacts(Integer.class, extractor);
+    }
+
     @Test
     void testFetchModelClass() {
         assertSame(Long.class, drools.fetchModelClass(Long.class.getName()));
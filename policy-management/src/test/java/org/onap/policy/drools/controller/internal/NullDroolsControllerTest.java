@@ -30,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.onap.policy.common.utils.gson.GsonTestUtils;
 import org.onap.policy.drools.controller.DroolsController;
@@ -95,8 +96,12 @@ class NullDroolsControllerTest {
 
     @Test
     void offer() {
-        assertFalse(controller.offer(null, null));
+        assertFalse(controller.offer(null, (String) null));
+        assertFalse(controller.offer(null, new byte[0]));
         assertFalse(controller.offer(null));
+        assertFalse(controller.offerAll(null, List.of()));
+        assertFalse(controller.offerAll(List.of()));
+        assertNull(controller.decode(null, null));
     }
 
     @Test
@@ -199,4 +204,17 @@ class NullDroolsControllerTest {
         assertFalse(controller.delete(new Object()));
         assertFalse(controller.delete(Object.class));
     }
+
+    @Test
+    void testRuleStats() {
+        assertTrue(controller.ruleStats().isEmpty());
+    }
+
+    @Test
+    void testIndexFacts() {
+        assertThatCode(() -> controller.indexFacts(String.class, String::length)).doesNotThrowAnyException();
+
+        assertThatThrownBy(() -> controller.indexFacts(null, String::length)).hasMessageContaining(NULL_EXCEPTION);
+        assertThatThrownBy(() -> controller.indexFacts(String.class, null)).hasMessageContaining(NULL_EXCEPTION);
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * ============LICENSE_START=======================================================
+ * policy-management
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.features;
+
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.drools.controller.DroolsController;
+import org.onap.policy.drools.features.DroolsControllerFeatureApiTest.TestDroolsControllerFeatureApi;
+import org.onap.policy.drools.features.PolicyControllerFeatureApiTest.TestPolicyControllerFeatureApi;
+import org.onap.policy.drools.system.PolicyController;
+
+class FeatureHookTest {
+
+    /**
+     * Implements one of the before-offer hooks.
+     */
+    static class OfferFeature extends TestPolicyControllerFeatureApi {
+        @Override
+        public <T> boolean beforeOffer(PolicyController controller, T event) {
+            return true;
+        }
+    }
+
+    /**
+     * Implements only the per-fact before-insert hook.
+     */
+    static class InsertFeature extends TestDroolsControllerFeatureApi {
+        @Override
+        public boolean beforeInsert(DroolsController controller, Object fact) {
+            return true;
+        }
+    }
+
+    @Test
+    void testConstructor() {
+        var hook = new FeatureHook<>(PolicyControllerFeatureApi.class, "beforeOffer");
+        assertSame(PolicyControllerFeatureApi.class, hook.getFeatureApi());
+        assertEquals("beforeOffer", hook.getName());
+        assertTrue(hook.toString().startsWith("FeatureHook ["));
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new FeatureHook<>(PolicyControllerFeatureApi.class, "unknown"))
+            .withMessageContaining("unknown");
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new FeatureHook<>(PolicyControllerFeatureApi.class, "beforeOffer", "unknown"))
+            .withMessageContaining("unknown");
+    }
+
+    @Test
+    void testGetProviders() {
+        var noop = new TestPolicyControllerFeatureApi();
+        var offer = new OfferFeature();
+        var mocked = mock(PolicyControllerFeatureApi.class);
+        List<PolicyControllerFeatureApi> providers = List.of(noop, offer, mocked);
+
+        var beforeOffer = new FeatureHook<>(PolicyControllerFeatureApi.class, "beforeOffer");
+        assertEquals(List.of(offer, mocked), beforeOffer.getProviders(providers));
+
+        // selected once per list of providers
+        assertSame(beforeOffer.getProviders(providers), beforeOffer.getProviders(providers));
+
+        var afterOffer = new FeatureHook<>(PolicyControllerFeatureApi.class, "afterOffer");
+        assertEquals(List.of(mocked), afterOffer.getProviders(providers));
+
+        // reloaded providers
+        assertTrue(afterOffer.getProviders(List.of(noop, offer)).isEmpty());
+    }
+
+    @Test
+    void testGetProviders_Delegates() {
+        var noop = new TestDroolsControllerFeatureApi();
+        var insert = new InsertFeature();
+        List<DroolsControllerFeatureApi> providers = List.of(noop, insert);
+
+        // the default batch hook invokes the per-fact hook
+        assertEquals(List.of(insert), DroolsControllerFeatureApiConstants.BEFORE_INSERT_ALL.getProviders(providers));
+        assertEquals(List.of(insert), DroolsControllerFeatureApiConstants.BEFORE_INSERT.getProviders(providers));
+        assertTrue(DroolsControllerFeatureApiConstants.AFTER_INSERT_ALL.getProviders(providers).isEmpty());
+
+        var hook = new FeatureHook<>(DroolsControllerFeatureApi.class, "beforeInsertAll");
+        assertTrue(hook.getProviders(providers).isEmpty());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.google.gson.JsonParser;
+import com.jayway.jsonpath.DocumentContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoder.CoderFilters;
+
+class DiscriminatorIndexTest {
+
+    private final CoderFilters onset = coder("Onset", "[?($.closedLoopEventStatus == 'ONSET')]");
+    private final CoderFilters abated = coder("Abated", "$[?(@.closedLoopEventStatus == \"ABATED\")]");
+    private final CoderFilters other = coder("Other", "[?($.closedLoopEventStatus =~ /^AB.*/)]");
+    private final CoderFilters any = coder("Any", null);
+
+    private final List<String> evaluated = new ArrayList<>();
+
+    @Test
+    void testBuild() {
+        assertNull(DiscriminatorIndex.build(List.of(onset, other, any)));
+
+        var index = DiscriminatorIndex.build(List.of(onset, abated, other));
+        assertNotNull(index);
+        assertEquals(".closedLoopEventStatus", index.getField());
+        assertThat(index.toString()).contains("ONSET", "ABATED", "others=1");
+    }
+
+    @Test
+    void testSelectIndexed() {
+        var index = DiscriminatorIndex.build(List.of(onset, abated, any));
+
+        assertSame(onset, select(index, "{\"closedLoopEventStatus\":\"ONSET\"}"));
+        assertThat(evaluated).isEmpty();
+
+        assertSame(abated, select(index, "{\"closedLoopEventStatus\":\"ABATED\"}"));
+        assertThat(evaluated).isEmpty();
+
+        // no indexed match, the remaining filters are evaluated
+        assertSame(any, select(index, "{\"closedLoopEventStatus\":\"UNKNOWN\"}"));
+        assertSame(any, select(index, "{\"other\":\"ONSET\"}"));
+        assertEquals(List.of("Any", "Any"), evaluated);
+    }
+
+    @Test
+    void testSelectPreservesOrder() {
+        var index = DiscriminatorIndex.build(List.of(onset, other, abated));
+
+        // "other" precedes "abated" and also accepts the event
+        assertSame(other, select(index, "{\"closedLoopEventStatus\":\"ABATED\"}"));
+
+        // "other" follows "onset", so it is not evaluated
+        evaluated.clear();
+        assertSame(onset, select(index, "{\"closedLoopEventStatus\":\"ONSET\"}"));
+        assertThat(evaluated).isEmpty();
+
+        assertNull(select(index, "{\"closedLoopEventStatus\":\"NONE\"}"));
+    }
+
+    @Test
+    void testSelectUnroutable() {
+        var index = DiscriminatorIndex.build(List.of(onset, abated, other));
+
+        // non-string discriminators are evaluated through all the filters
+        assertNull(select(index, "{\"closedLoopEventStatus\":1}"));
+        assertEquals(List.of("Onset", "Abated", "Other"), evaluated);
+
+        evaluated.clear();
+        assertNull(select(index, "[{\"closedLoopEventStatus\":\"NONE\"}]"));
+        assertEquals(3, evaluated.size());
+    }
+
+    @Test
+    void testSelectTree() {
+        var index = DiscriminatorIndex.build(List.of(onset, abated));
+        var document = JsonProtocolFilter.parse(JsonParser.parseString("{\"closedLoopEventStatus\":\"ABATED\"}"));
+        assertSame(abated, index.select(document, this::accepts));
+    }
+
+    @Test
+    void testNestedField() {
+        var first = coder("First", "[?($.event.type == 'a')]");
+        var second = coder("Second", "[?($.event.type == 'b')]");
+        var index = DiscriminatorIndex.build(List.of(first, second));
+
+        assertSame(second, select(index, "{\"event\":{\"type\":\"b\"}}"));
+        assertNull(select(index, "{\"event\":{}}"));
+        assertNull(select(index, "{\"event\":{\"type\":null}}"));
+        assertThat(evaluated).isEmpty();
+    }
+
+    private CoderFilters select(DiscriminatorIndex index, String json) {
+        return index.select(JsonProtocolFilter.parse(json), this::accepts);
+    }
+
+    private boolean accepts(CoderFilters coder, DocumentContext document) {
+        evaluated.add(coder.getFactClass());
+        return coder.getFilter().accept(document);
+    }
+
+    private static CoderFilters coder(String factClass, String rule) {
+        return new CoderFilters(factClass, new JsonProtocolFilter(rule), 1);
+    }
+}
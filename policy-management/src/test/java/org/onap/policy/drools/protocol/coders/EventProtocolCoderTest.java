@@ -23,6 +23,7 @@
 package org.onap.policy.drools.protocol.coders;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.onap.policy.common.message.bus.properties.MessageBusProperties.PROPERTY_NOOP_SINK_TOPICS;
 
@@ -102,7 +103,9 @@ class EventProtocolCoderTest {
             .protocolFilter(new JsonProtocolFilter()).customGsonCoder(null)
             .modelClassLoaderHash(DroolsConfiguration.class.getName().hashCode()).build();
 
+        var changes = EventProtocolCoderConstants.getManager().getEncoderChanges();
         EventProtocolCoderConstants.getManager().addEncoder(encoder);
+        assertTrue(EventProtocolCoderConstants.getManager().getEncoderChanges() > changes);
 
         final String json = EventProtocolCoderConstants.getManager().encode(NOOP_TOPIC,
             new DroolsConfiguration(ENCODER_ARTIFACT, ENCODER_GROUP, ENCODER_VERSION));
@@ -112,7 +115,12 @@ class EventProtocolCoderTest {
 
         // check if adding same encoder doesn't throw any exceptions as expected
         assertDoesNotThrow(() -> EventProtocolCoderConstants.getManager().addEncoder(encoder));
+        changes = EventProtocolCoderConstants.getManager().getEncoderChanges();
         EventProtocolCoderConstants.getManager().removeEncoders(ENCODER_GROUP, ENCODER_ARTIFACT, NOOP_TOPIC);
+        assertTrue(EventProtocolCoderConstants.getManager().getEncoderChanges() > changes);
+
+        changes = EventProtocolCoderConstants.getManager().getEncoderChanges();
         EventProtocolCoderConstants.getManager().removeEncoders("NotExistentGroup", ENCODER_ARTIFACT, NOOP_TOPIC);
+        assertEquals(changes, EventProtocolCoderConstants.getManager().getEncoderChanges());
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoder.CoderFilters;
+
+class EventSignatureTest {
+
+    private final CoderFilters onset = coder("Onset", "[?($.closedLoopEventStatus == 'ONSET')]");
+    private final CoderFilters abated = coder("Abated", "$[?(@.event.type == \"ABATED\")]");
+    private final CoderFilters other = coder("Other", "[?($.closedLoopEventStatus =~ /^AB.*/)]");
+    private final CoderFilters any = coder("Any", null);
+
+    @Test
+    void testBuild() {
+        assertNull(EventSignature.build(List.of()));
+        assertNull(EventSignature.build(List.of(onset, other)));
+        assertNull(EventSignature.build(List.of(onset, any)));
+        assertNull(EventSignature.build(List.of(coder("Empty", "[?($.a == '')]"))));
+
+        var signature = EventSignature.build(List.of(onset, abated));
+        assertNotNull(signature);
+        assertThat(signature.toString()).contains("ONSET", "ABATED");
+    }
+
+    @Test
+    void testMayMatch() {
+        var signature = EventSignature.build(List.of(onset, abated));
+
+        assertTrue(signature.mayMatch("{\"closedLoopEventStatus\":\"ONSET\"}"));
+        assertTrue(signature.mayMatch("{\"event\":{\"type\":\"ABATED\"}}"));
+        assertFalse(signature.mayMatch("{\"closedLoopEventStatus\":\"OTHER\"}"));
+        assertFalse(signature.mayMatch("{\"closedLoopEventStatus\":\"ONSE"));
+
+        // the values could be escaped
+        assertTrue(signature.mayMatch("{\"closedLoopEventStatus\":\"\\u004fNSET\"}"));
+        assertTrue(signature.mayMatch((String) null));
+    }
+
+    @Test
+    void testMayMatchBytes() {
+        var signature = EventSignature.build(List.of(onset, coder("Accented", "[?($.first == 'v\u00e9')]")));
+
+        assertTrue(signature.mayMatch(bytes("{\"closedLoopEventStatus\":\"ONSET\"}")));
+        assertTrue(signature.mayMatch(bytes("{\"first\":\"v\u00e9\"}")));
+        assertFalse(signature.mayMatch(bytes("{\"first\":\"ve\"}")));
+        assertFalse(signature.mayMatch(bytes("ONSE")));
+        assertFalse(signature.mayMatch(new byte[0]));
+
+        assertTrue(signature.mayMatch(bytes("{\"first\":\"v\\u00e9\"}")));
+        assertTrue(signature.mayMatch((byte[]) null));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static CoderFilters coder(String factClass, String rule) {
+        return new CoderFilters(factClass, new JsonProtocolFilter(rule), 1);
+    }
+}
@@ -24,17 +24,19 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -42,6 +44,9 @@ import org.onap.policy.drools.controller.DroolsController;
 import org.onap.policy.drools.controller.DroolsControllerConstants;
 import org.onap.policy.drools.controller.DroolsControllerFactory;
 import org.onap.policy.drools.controller.internal.NullDroolsController;
+import org.onap.policy.drools.protocol.coders.GenericEventProtocolCoder.CoderKey;
+import org.onap.policy.drools.protocol.coders.GenericEventProtocolCoder.Registry;
+import org.onap.policy.drools.protocol.coders.GenericEventProtocolCoder.ReverseKey;
 import org.springframework.test.util.ReflectionTestUtils;
 
 class GenericProtocolCoderTest {
@@ -52,35 +57,71 @@ class GenericProtocolCoderTest {
     private static final String GROUP_ID = "groupId";
     private static final String ARTIFACT_ID = "artifactId";
     private static final String TOPIC = "topic";
-    private static final String VALID_KEY = GROUP_ID + ":" + ARTIFACT_ID + ":" + TOPIC;
-    private static final String INVALID_KEY = "anotherKey";
+    private static final CoderKey VALID_KEY = new CoderKey(GROUP_ID, ARTIFACT_ID, TOPIC);
+    private static final ReverseKey INVALID_KEY = new ReverseKey("another", "key");
 
     @Test
     void testAdd_ReverseCoder() {
         var params = new EventProtocolParams(GROUP_ID, ARTIFACT_ID, TOPIC, "java.lang.Object",
-            mock(JsonProtocolFilter.class), mock(TopicCoderFilterConfiguration.CustomGsonCoder.class), 1);
+            mock(JsonProtocolFilter.class), mock(TopicCoderFilterConfiguration.CustomGsonCoder.class), 1, null);
 
-        var myKey = "group:artifact:topic";
+        var myKey = new CoderKey("group", "artifact", TOPIC);
 
         var mockEncoder = mock(EventProtocolEncoder.class);
         // set the key to be returned when checking the hash maps
         when(mockEncoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(myKey);
-        when(mockEncoder.reverseCodersKey(GROUP_ID, "java.lang.Object")).thenReturn(myKey);
+        when(mockEncoder.reverseCodersKey(TOPIC, "java.lang.Object")).thenCallRealMethod();
         doCallRealMethod().when(mockEncoder).add(params);
 
 
         // create the hash maps for coders/reverseCoders
         var toolset = mock(ProtocolCoderToolset.class);
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
-        coders.put(myKey, toolset);
-        ReflectionTestUtils.setField(mockEncoder, "coders", coders);
-        HashMap<String, List<ProtocolCoderToolset>> reverseCoders = new HashMap<>();
-        reverseCoders.put("group:javaClass", new ArrayList<>(List.of(toolset)));
-        ReflectionTestUtils.setField(mockEncoder, "reverseCoders", reverseCoders);
+        var registry = new Registry(Map.of(myKey, toolset),
+            Map.of(new ReverseKey("group", "javaClass"), List.of(toolset)));
+        ReflectionTestUtils.setField(mockEncoder, "registry", registry);
 
         assertDoesNotThrow(() -> mockEncoder.add(params));
-        assertEquals(2, mockEncoder.reverseCoders.size());
-        assertEquals(1, mockEncoder.coders.size());
+        assertEquals(2, mockEncoder.registry.reverseCoders().size());
+        assertEquals(1, mockEncoder.registry.coders().size());
+
+        // previous snapshots are never modified
+        assertEquals(1, registry.reverseCoders().size());
+        assertThatThrownBy(() -> mockEncoder.registry.coders().clear())
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void testAdd_Remove() {
+        var params = new EventProtocolParams(GROUP_ID, ARTIFACT_ID, TOPIC, "java.lang.Object",
+            new JsonProtocolFilter(), null, 1, null);
+
+        var before = encoder.registry;
+        encoder.add(params);
+
+        assertTrue(encoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC));
+        assertEquals(1, encoder.getCoders(GROUP_ID, ARTIFACT_ID).size());
+        assertEquals(1, encoder.getReverseFilters(TOPIC, "java.lang.Object").size());
+        assertTrue(before.coders().isEmpty());
+
+        encoder.remove(GROUP_ID, ARTIFACT_ID, TOPIC);
+        assertFalse(encoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC));
+        assertTrue(encoder.getReverseFilters(TOPIC, "java.lang.Object").isEmpty());
+    }
+
+    @Test
+    void testAdd_Codec() {
+        var params = EventProtocolParams.builder().groupId(GROUP_ID).artifactId(ARTIFACT_ID).topic(TOPIC)
+            .eventClass("java.lang.Object").protocolFilter(new JsonProtocolFilter()).codec(TestCodec.NAME).build();
+
+        decoder.add(params);
+        assertInstanceOf(TestCodec.Toolset.class, decoder.getCoders(GROUP_ID, ARTIFACT_ID, TOPIC));
+
+        // unavailable codecs fall back to the default one
+        var unavailable = EventProtocolParams.builder().groupId(GROUP_ID).artifactId(ARTIFACT_ID).topic(TOPIC)
+            .eventClass("java.lang.Object").protocolFilter(new JsonProtocolFilter()).codec("unavailable").build();
+
+        encoder.add(unavailable);
+        assertEquals(GsonProtocolCoderToolset.class, encoder.getCoders(GROUP_ID, ARTIFACT_ID, TOPIC).getClass());
     }
 
     @Test
@@ -152,14 +193,13 @@ class GenericProtocolCoderTest {
     @Test
     void testDecode_Exceptions() {
         var mockDecoder = mock(EventProtocolDecoder.class);
-        when(mockDecoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC))
-            .thenReturn(false);
-        when(mockDecoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, null))
+        setRegistry(mockDecoder, Map.of(), Map.of());
+        when(mockDecoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, (String) null))
             .thenCallRealMethod();
         when(mockDecoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC))
             .thenCallRealMethod();
 
-        assertThatThrownBy(() -> mockDecoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, null))
+        assertThatThrownBy(() -> mockDecoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, (String) null))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Unsupported: groupId:artifactId:topic for encoding");
     }
@@ -168,19 +208,15 @@ class GenericProtocolCoderTest {
     void testDecode_ExceptionCantDecode() {
         var mockDecoder = mock(EventProtocolDecoder.class);
 
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
         var params = mock(EventProtocolParams.class);
-        coders.put("groupId:artifactId:topic", new GsonProtocolCoderToolset(params, "controllerId"));
-        ReflectionTestUtils.setField(mockDecoder, "coders", coders);
+        setRegistry(mockDecoder, Map.of(VALID_KEY, new GsonProtocolCoderToolset(params, "controllerId")), Map.of());
 
-        when(mockDecoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC))
-            .thenReturn(true);
-        when(mockDecoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, null))
+        when(mockDecoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, (String) null))
             .thenCallRealMethod();
         when(mockDecoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC))
             .thenCallRealMethod();
 
-        assertThatThrownBy(() -> mockDecoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, null))
+        assertThatThrownBy(() -> mockDecoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, (String) null))
             .isInstanceOf(UnsupportedOperationException.class)
             .hasMessageContaining("Cannot decode with gson");
     }
@@ -188,19 +224,16 @@ class GenericProtocolCoderTest {
     @Test
     void testDecode_Decode() {
         var mockDecoder = mock(EventProtocolDecoder.class);
-        var myKey = "groupId:artifactId:topic";
+        var myKey = new CoderKey("group", "artifact", TOPIC);
         var json = "{\"json\":\"true\"}";
 
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
         var mockToolset = mock(ProtocolCoderToolset.class);
         when(mockToolset.decode(json))
             .thenReturn(new Object()) // success case
             .thenReturn(null); // failure case
 
-        coders.put(myKey, mockToolset);
-        ReflectionTestUtils.setField(mockDecoder, "coders", coders);
+        setRegistry(mockDecoder, Map.of(myKey, mockToolset), Map.of());
 
-        when(mockDecoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(true);
         when(mockDecoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(myKey);
         when(mockDecoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, json))
             .thenCallRealMethod();
@@ -212,12 +245,59 @@ class GenericProtocolCoderTest {
             .hasMessageContaining("Cannot decode with gson");
     }
 
+    @Test
+    void testDecode_Bytes() {
+        var payload = "{\"json\":\"true\"}".getBytes(StandardCharsets.UTF_8);
+
+        var mockToolset = mock(ProtocolCoderToolset.class);
+        when(mockToolset.decode(payload))
+            .thenReturn(new Object()) // success case
+            .thenReturn(null); // failure case
+
+        setRegistry(decoder, Map.of(VALID_KEY, mockToolset), Map.of());
+
+        assertNotNull(decoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, payload));
+
+        assertThatThrownBy(() -> decoder.decode(GROUP_ID, ARTIFACT_ID, TOPIC, payload))
+            .isInstanceOf(UnsupportedOperationException.class)
+            .hasMessageContaining("Cannot decode with gson");
+
+        assertThatThrownBy(() -> decoder.decode(GROUP_ID, ARTIFACT_ID, "other", payload))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unsupported: groupId:artifactId:other for encoding");
+    }
+
+    @Test
+    void testDecodeOrReject() {
+        var json = "{\"json\":\"true\"}";
+        var payload = json.getBytes(StandardCharsets.UTF_8);
+
+        var mockToolset = mock(ProtocolCoderToolset.class);
+        when(mockToolset.decodeOrReject(json))
+            .thenReturn(EventProtocolCoderConstants.REJECTED)
+            .thenThrow(new UnsupportedOperationException("cannot parse event"));
+        when(mockToolset.decodeOrReject(payload)).thenReturn(EventProtocolCoderConstants.REJECTED);
+
+        setRegistry(decoder, Map.of(VALID_KEY, mockToolset), Map.of());
+
+        assertSame(EventProtocolCoderConstants.REJECTED, decoder.decodeOrReject(GROUP_ID, ARTIFACT_ID, TOPIC, json));
+        assertSame(EventProtocolCoderConstants.REJECTED,
+            decoder.decodeOrReject(GROUP_ID, ARTIFACT_ID, TOPIC, payload));
+
+        assertThatThrownBy(() -> decoder.decodeOrReject(GROUP_ID, ARTIFACT_ID, TOPIC, json))
+            .isInstanceOf(UnsupportedOperationException.class)
+            .hasMessageContaining("Cannot decode with gson");
+
+        assertThatThrownBy(() -> decoder.decodeOrReject(GROUP_ID, ARTIFACT_ID, "other", json))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unsupported: groupId:artifactId:other for encoding");
+    }
+
     @Test
     void testEncode_WithGroupArtifactTopicAndEvent() {
         var mockEncoder = mock(EventProtocolEncoder.class);
         var event = new Object();
-        when(mockEncoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC))
-            .thenReturn(false);
+        setRegistry(mockEncoder, Map.of(), Map.of());
         when(mockEncoder.encode(GROUP_ID, ARTIFACT_ID, TOPIC, event))
             .thenCallRealMethod();
         when(mockEncoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC))
@@ -228,10 +308,7 @@ class GenericProtocolCoderTest {
             .hasMessageContaining("Unsupported: groupId:artifactId:topic");
 
         // test with event null
-        when(mockEncoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC))
-            .thenReturn(true);
-        when(mockEncoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC))
-            .thenCallRealMethod();
+        setRegistry(mockEncoder, Map.of(VALID_KEY, mock(ProtocolCoderToolset.class)), Map.of());
         when(mockEncoder.encode(GROUP_ID, ARTIFACT_ID, TOPIC, null))
             .thenCallRealMethod();
 
@@ -244,20 +321,17 @@ class GenericProtocolCoderTest {
     void testEncode_WithGroupArtifactTopicAndEvent_ReturnJson() {
         var mockEncoder = mock(EventProtocolEncoder.class);
         var event = new Object();
-        var myKey = "group:artifact:topic";
+        var myKey = new CoderKey("group", "artifact", TOPIC);
+
+        var mockToolset = mock(ProtocolCoderToolset.class);
+        when(mockToolset.encode(event)).thenReturn("{\"json\":\"true\"}");
 
         // test with event null
-        when(mockEncoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(true);
         when(mockEncoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(myKey);
         when(mockEncoder.encode(GROUP_ID, ARTIFACT_ID, TOPIC, event)).thenCallRealMethod();
-        when(mockEncoder.encodeInternal(myKey, event)).thenCallRealMethod();
+        when(mockEncoder.encodeInternal(mockToolset, event)).thenCallRealMethod();
 
-        var mockToolset = mock(ProtocolCoderToolset.class);
-        when(mockToolset.encode(event)).thenReturn("{\"json\":\"true\"}");
-
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
-        coders.put(myKey, mockToolset);
-        ReflectionTestUtils.setField(mockEncoder, "coders", coders);
+        setRegistry(mockEncoder, Map.of(myKey, mockToolset), Map.of());
 
         var result = mockEncoder.encode(GROUP_ID, ARTIFACT_ID, TOPIC, event);
         assertNotNull(result);
@@ -314,14 +388,13 @@ class GenericProtocolCoderTest {
         var mockCoderTools = mock(ProtocolCoderToolset.class);
         when(mockCoderTools.encode(encodedClass)).thenReturn(null);
 
+        var myKey = new CoderKey("my", "key", TOPIC);
         var mockEncoder = mock(EventProtocolEncoder.class);
-        when(mockEncoder.codersKey(anyString(), anyString(), anyString())).thenReturn("myKey");
-        when(mockEncoder.encodeInternal("myKey", encodedClass)).thenCallRealMethod();
+        when(mockEncoder.codersKey(anyString(), anyString(), anyString())).thenReturn(myKey);
+        when(mockEncoder.encodeInternal(mockCoderTools, encodedClass)).thenCallRealMethod();
         when(mockEncoder.encode(TOPIC, encodedClass, droolsController)).thenCallRealMethod();
 
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
-        coders.put("myKey", mockCoderTools);
-        ReflectionTestUtils.setField(mockEncoder, "coders", coders);
+        setRegistry(mockEncoder, Map.of(myKey, mockCoderTools), Map.of());
 
         assertThatThrownBy(() -> mockEncoder.encode(TOPIC, encodedClass, droolsController))
             .isInstanceOf(UnsupportedOperationException.class)
@@ -340,11 +413,9 @@ class GenericProtocolCoderTest {
         var mockDecoder = mock(EventProtocolDecoder.class);
         when(mockDecoder.droolsCreators(TOPIC, encodedClass)).thenCallRealMethod();
         when(mockDecoder.reverseCodersKey(TOPIC, encodedClass.getClass().getName()))
-            .thenReturn("topic:java.lang.Object");
+            .thenCallRealMethod();
 
-        HashMap<String, List<ProtocolCoderToolset>> reverseCoders = new HashMap<>();
-        reverseCoders.put("topic:java.lang.Object", List.of());
-        ReflectionTestUtils.setField(mockDecoder, "reverseCoders", reverseCoders);
+        setRegistry(mockDecoder, Map.of(), Map.of(new ReverseKey(TOPIC, "java.lang.Object"), List.of()));
 
         assertThatThrownBy(() -> mockDecoder.droolsCreators(TOPIC, encodedClass))
             .isInstanceOf(IllegalStateException.class)
@@ -356,8 +427,9 @@ class GenericProtocolCoderTest {
         var encodedClass = new Object();
         var mockDecoder = mock(EventProtocolDecoder.class);
         when(mockDecoder.droolsCreators(TOPIC, encodedClass)).thenCallRealMethod();
+        var myKey = new ReverseKey("group", "artifact");
         when(mockDecoder.reverseCodersKey(TOPIC, encodedClass.getClass().getName()))
-            .thenReturn("group:artifact:topic");
+            .thenReturn(myKey);
 
         var toolset = mock(ProtocolCoderToolset.class);
         when(toolset.getGroupId()).thenReturn(GROUP_ID);
@@ -368,11 +440,7 @@ class GenericProtocolCoderTest {
         when(mockCoders.getModelClassLoaderHash()).thenReturn(1);
         when(toolset.getCoders()).thenReturn(List.of(mockCoders));
 
-        HashMap<String, List<ProtocolCoderToolset>> reverseCoders = new HashMap<>();
-        var toolsetList = new ArrayList<ProtocolCoderToolset>();
-        toolsetList.add(toolset);
-        reverseCoders.put("group:artifact:topic", toolsetList);
-        ReflectionTestUtils.setField(mockDecoder, "reverseCoders", reverseCoders);
+        setRegistry(mockDecoder, Map.of(), Map.of(myKey, List.of(toolset)));
 
         var mockDroolsController = mock(DroolsController.class);
         when(mockDroolsController.ownsCoder(encodedClass.getClass(), 1)).thenReturn(true);
@@ -394,15 +462,13 @@ class GenericProtocolCoderTest {
             .hasMessageContaining("Unsupported: groupId:artifactId:topic");
 
         var mockEncoder = mock(EventProtocolEncoder.class);
-        when(mockEncoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(true);
         when((mockEncoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC))).thenCallRealMethod();
+        when(mockEncoder.getCoders(GROUP_ID, ARTIFACT_ID, TOPIC)).thenCallRealMethod();
         when(mockEncoder.getFilters(GROUP_ID, ARTIFACT_ID, TOPIC)).thenCallRealMethod();
 
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
         var mockCoderTools = mock(ProtocolCoderToolset.class);
         when(mockCoderTools.getCoders()).thenReturn(List.of());
-        coders.put(VALID_KEY, mockCoderTools);
-        ReflectionTestUtils.setField(mockEncoder, "coders", coders);
+        setRegistry(mockEncoder, Map.of(VALID_KEY, mockCoderTools), Map.of());
 
         assertTrue(mockEncoder.getFilters(GROUP_ID, ARTIFACT_ID, TOPIC).isEmpty());
     }
@@ -430,7 +496,7 @@ class GenericProtocolCoderTest {
     @Test
     void testGetFilters_WithGroupArtifactTopicAndClassNameNull() {
         var mockEncoder = mock(EventProtocolEncoder.class);
-        when(mockEncoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(true);
+        when(mockEncoder.getCoders(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(mock(ProtocolCoderToolset.class));
         when(mockEncoder.getFilters(GROUP_ID, ARTIFACT_ID, TOPIC, ""))
             .thenCallRealMethod();
 
@@ -442,16 +508,14 @@ class GenericProtocolCoderTest {
     @Test
     void testGetFilters_WithGroupArtifactTopicAndClassName_ReturnValue() {
         var mockEncoder = mock(EventProtocolEncoder.class);
-        when(mockEncoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(true);
+        when(mockEncoder.getCoders(GROUP_ID, ARTIFACT_ID, TOPIC)).thenCallRealMethod();
         when(mockEncoder.getFilters(GROUP_ID, ARTIFACT_ID, TOPIC, "className"))
             .thenCallRealMethod();
         when((mockEncoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC))).thenCallRealMethod();
 
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
         var mockCoderTools = mock(ProtocolCoderToolset.class);
         when(mockCoderTools.getCoder("className")).thenReturn(null);
-        coders.put(VALID_KEY, mockCoderTools);
-        ReflectionTestUtils.setField(mockEncoder, "coders", coders);
+        setRegistry(mockEncoder, Map.of(VALID_KEY, mockCoderTools), Map.of());
 
         assertNull(mockEncoder.getFilters(GROUP_ID, ARTIFACT_ID, TOPIC, "className"));
     }
@@ -459,13 +523,13 @@ class GenericProtocolCoderTest {
     @Test
     void testGetCoders_ReturnObject() {
         var mockEncoder = mock(EventProtocolEncoder.class);
-        when(mockEncoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(true);
+        var mockCoderTools = mock(ProtocolCoderToolset.class);
+        when(mockEncoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC)).thenCallRealMethod();
         when(mockEncoder.getCoders(GROUP_ID, ARTIFACT_ID, TOPIC))
             .thenCallRealMethod();
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
-        ReflectionTestUtils.setField(mockEncoder, "coders", coders);
+        setRegistry(mockEncoder, Map.of(VALID_KEY, mockCoderTools), Map.of());
 
-        assertNull(mockEncoder.getCoders(GROUP_ID, ARTIFACT_ID, TOPIC));
+        assertSame(mockCoderTools, mockEncoder.getCoders(GROUP_ID, ARTIFACT_ID, TOPIC));
     }
 
     @Test
@@ -482,11 +546,8 @@ class GenericProtocolCoderTest {
 
         // mock a successful return
         var mockEncoder = mock(EventProtocolEncoder.class);
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
         var params = mock(EventProtocolParams.class);
-        coders.put(VALID_KEY, new GsonProtocolCoderToolset(params, "controllerId"));
-        ReflectionTestUtils.setField(mockEncoder, "coders", coders);
-        when(mockEncoder.codersKey(GROUP_ID, ARTIFACT_ID, "")).thenCallRealMethod();
+        setRegistry(mockEncoder, Map.of(VALID_KEY, new GsonProtocolCoderToolset(params, "controllerId")), Map.of());
         when(mockEncoder.getCoders(GROUP_ID, ARTIFACT_ID)).thenCallRealMethod();
 
         var resultList = mockEncoder.getCoders(GROUP_ID, ARTIFACT_ID);
@@ -515,13 +576,11 @@ class GenericProtocolCoderTest {
         var mockDecoder = mock(EventProtocolDecoder.class);
 
         // mock a successful return
-        HashMap<String, List<ProtocolCoderToolset>> reverseCoders = new HashMap<>();
         var params = mock(EventProtocolParams.class);
         var toolset = new GsonProtocolCoderToolset(params, "controllerId");
-        reverseCoders.put("topic:codedClass", List.of(toolset));
-        ReflectionTestUtils.setField(mockDecoder, "reverseCoders", reverseCoders);
+        setRegistry(mockDecoder, Map.of(), Map.of(new ReverseKey(TOPIC, "codedClass"), List.of(toolset)));
 
-        when(mockDecoder.reverseCodersKey(TOPIC, "codedClass")).thenReturn("topic:codedClass");
+        when(mockDecoder.reverseCodersKey(TOPIC, "codedClass")).thenCallRealMethod();
         when(mockDecoder.getReverseFilters(TOPIC, "codedClass")).thenCallRealMethod();
 
         var resultList = mockDecoder.getReverseFilters(TOPIC, "codedClass");
@@ -612,40 +671,65 @@ class GenericProtocolCoderTest {
         var mockCoders = new EventProtocolCoder.CoderFilters("className", mock(JsonProtocolFilter.class), 1);
         when(toolset.getCoders()).thenReturn(List.of(mockCoders));
 
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
-        coders.put(VALID_KEY, toolset);
-        ReflectionTestUtils.setField(mockDecoder, "coders", coders);
-        HashMap<String, List<ProtocolCoderToolset>> reverseCoders = new HashMap<>();
-        reverseCoders.put(VALID_KEY, new ArrayList<>(List.of(toolset)));
-        ReflectionTestUtils.setField(mockDecoder, "reverseCoders", reverseCoders);
+        var reverseKey = new ReverseKey(TOPIC, "otherClass");
+        setRegistry(mockDecoder, Map.of(VALID_KEY, toolset), Map.of(reverseKey, List.of(toolset)));
 
         assertDoesNotThrow(() -> mockDecoder.remove(GROUP_ID, ARTIFACT_ID, TOPIC));
-        assertEquals(1, mockDecoder.reverseCoders.size());
-        assertTrue(mockDecoder.coders.isEmpty());
+        assertEquals(1, mockDecoder.registry.reverseCoders().size());
+        assertTrue(mockDecoder.registry.coders().isEmpty());
     }
 
     @Test
     void testRemove2() {
-        var myKey = "group:artifact:topic";
+        var myKey = new CoderKey("group", "artifact", TOPIC);
+        var myReverseKey = new ReverseKey(TOPIC, "className");
         var mockDecoder = mock(EventProtocolDecoder.class);
         doCallRealMethod().when(mockDecoder).remove(GROUP_ID, ARTIFACT_ID, TOPIC);
         when(mockDecoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC)).thenReturn(myKey);
-        when(mockDecoder.reverseCodersKey(TOPIC, "className")).thenReturn(myKey);
+        when(mockDecoder.reverseCodersKey(TOPIC, "className")).thenReturn(myReverseKey);
 
         var toolset = mock(ProtocolCoderToolset.class);
         var mockCoders = new EventProtocolCoder.CoderFilters("className", mock(JsonProtocolFilter.class), 1);
         when(toolset.getCoders()).thenReturn(List.of(mockCoders));
 
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
-        coders.put(myKey, toolset);
-        ReflectionTestUtils.setField(mockDecoder, "coders", coders);
-        HashMap<String, List<ProtocolCoderToolset>> reverseCoders = new HashMap<>();
-        reverseCoders.put(myKey, new ArrayList<>());
-        ReflectionTestUtils.setField(mockDecoder, "reverseCoders", reverseCoders);
+        setRegistry(mockDecoder, Map.of(myKey, toolset), Map.of(myReverseKey, List.of()));
 
         assertDoesNotThrow(() -> mockDecoder.remove(GROUP_ID, ARTIFACT_ID, TOPIC));
-        assertTrue(mockDecoder.reverseCoders.isEmpty());
-        assertTrue(mockDecoder.coders.isEmpty());
+        assertTrue(mockDecoder.registry.reverseCoders().isEmpty());
+        assertTrue(mockDecoder.registry.coders().isEmpty());
+    }
+
+    /**
+     * Codec registered as a service in the test resources.
+     */
+    public static class TestCodec implements EventProtocolCodec {
+        private static final String NAME = "test";
+
+        @Override
+        public int getSequenceNumber() {
+            return 0;
+        }
+
+        @Override
+        public String getCodec() {
+            return NAME;
+        }
+
+        @Override
+        public ProtocolCoderToolset createToolset(EventProtocolParams eventProtocolParams, String controllerId) {
+            return new Toolset(eventProtocolParams, controllerId);
+        }
+
+        private static class Toolset extends GsonProtocolCoderToolset {
+            Toolset(EventProtocolParams eventProtocolParams, String controllerId) {
+                super(eventProtocolParams, controllerId);
+            }
+        }
+    }
+
+    private static void setRegistry(GenericEventProtocolCoder coder, Map<CoderKey, ProtocolCoderToolset> coders,
+                    Map<ReverseKey, List<ProtocolCoderToolset>> reverseCoders) {
+        ReflectionTestUtils.setField(coder, "registry", new Registry(coders, reverseCoders));
     }
 
 }
\ No newline at end of file
@@ -23,11 +23,19 @@ package org.onap.policy.drools.protocol.coders;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.gson.Gson;
@@ -36,10 +44,22 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
@@ -59,7 +79,7 @@ class GsonProtocolCoderToolsetTest {
 
         var decoderClass = ProtocolCoderToolsetTest.ThreeStrings.class;
         var mockGson = mock(Gson.class);
-        when(mockGson.fromJson("json", decoderClass)).thenThrow(new JsonSyntaxException("error"));
+        when(mockGson.fromJson(any(JsonElement.class), eq(decoderClass))).thenThrow(new JsonSyntaxException("error"));
         when(mockGsonToolset.getDecoder()).thenReturn(mockGson);
 
         var mockCustomCoder = mock(TopicCoderFilterConfiguration.CustomCoder.class);
@@ -68,7 +88,7 @@ class GsonProtocolCoderToolsetTest {
 
         var mockFilter = mock(EventProtocolCoder.CoderFilters.class);
         when(mockFilter.getFactClass()).thenReturn("someClassName");
-        when(mockGsonToolset.filter("json")).thenReturn(mockFilter);
+        when(mockGsonToolset.filter(any(JsonElement.class))).thenReturn(mockFilter);
 
         var droolsController = mock(NullDroolsController.class);
         when(droolsController.fetchModelClass("someClassName"))
@@ -112,6 +132,278 @@ class GsonProtocolCoderToolsetTest {
         }
     }
 
+    @Test
+    void decodeResolvesOnce() {
+        var decoderClass = ProtocolCoderToolsetTest.ThreeStrings.class;
+        var toolset = new GsonProtocolCoderToolset(EventProtocolParams.builder().topic("topic")
+            .groupId("group").artifactId("artifact").eventClass(decoderClass.getName())
+            .protocolFilter(new JsonProtocolFilter()).modelClassLoaderHash(1).build(), "controller");
+
+        var droolsController = mock(NullDroolsController.class);
+        when(droolsController.getModelClassLoaderHash()).thenReturn(1);
+        when(droolsController.fetchModelClass(decoderClass.getName()))
+            .thenAnswer((Answer<Class<?>>) invocation -> decoderClass);
+
+        var mockFactory = mock(DroolsControllerFactory.class);
+        when(mockFactory.get("group", "artifact", "")).thenReturn(droolsController);
+
+        try (MockedStatic<DroolsControllerConstants> factory = Mockito.mockStatic(DroolsControllerConstants.class)) {
+            factory.when(DroolsControllerConstants::getFactory).thenReturn(mockFactory);
+
+            var json = "{\"first\":\"v1\",\"second\":\"v2\",\"third\":\"v3\"}";
+            assertEquals("v1", ((ProtocolCoderToolsetTest.ThreeStrings) toolset.decode(json)).getFirst());
+            assertEquals("v2", ((ProtocolCoderToolsetTest.ThreeStrings) toolset.decode(json)).getSecond());
+
+            verify(mockFactory, times(1)).get("group", "artifact", "");
+            verify(droolsController, times(1)).fetchModelClass(decoderClass.getName());
+
+            // model update
+            when(droolsController.getModelClassLoaderHash()).thenReturn(2);
+            assertEquals("v3", ((ProtocolCoderToolsetTest.ThreeStrings) toolset.decode(json)).getThird());
+
+            verify(mockFactory, times(2)).get("group", "artifact", "");
+            verify(droolsController, times(2)).fetchModelClass(decoderClass.getName());
+        }
+    }
+
+    @Test
+    void decodesLike() {
+        var decoderClass = ProtocolCoderToolsetTest.ThreeStrings.class;
+        var toolset1 = makeToolset("artifact1", decoderClass.getName(), "[?($.first == 'v1')]");
+        var toolset2 = makeToolset("artifact2", decoderClass.getName(), "[?($.first == 'v1')]");
+        var toolset3 = makeToolset("artifact3", decoderClass.getName(), "[?($.first == 'v2')]");
+        var toolset4 = makeToolset("artifact4", decoderClass.getName(), "[?($.first == 'v1')]");
+
+        var mockFactory = mock(DroolsControllerFactory.class);
+        for (var artifact : new String[] {"artifact1", "artifact2", "artifact3"}) {
+            var droolsController = mock(NullDroolsController.class);
+            when(droolsController.fetchModelClass(decoderClass.getName()))
+                .thenAnswer((Answer<Class<?>>) invocation -> decoderClass);
+            when(mockFactory.get("group", artifact, "")).thenReturn(droolsController);
+        }
+
+        // another model class with the same name
+        var otherController = mock(NullDroolsController.class);
+        when(otherController.fetchModelClass(decoderClass.getName())).thenAnswer(
+            (Answer<Class<?>>) invocation -> ProtocolCoderToolsetTest.class);
+        when(mockFactory.get("group", "artifact4", "")).thenReturn(otherController);
+
+        try (MockedStatic<DroolsControllerConstants> factory = Mockito.mockStatic(DroolsControllerConstants.class)) {
+            factory.when(DroolsControllerConstants::getFactory).thenReturn(mockFactory);
+
+            assertTrue(toolset1.decodesLike(toolset1));
+            assertTrue(toolset1.decodesLike(toolset2));
+            assertTrue(toolset2.decodesLike(toolset1));
+            assertFalse(toolset1.decodesLike(null));
+
+            // different filters
+            assertFalse(toolset1.decodesLike(toolset3));
+
+            // different model classes
+            assertFalse(toolset1.decodesLike(toolset4));
+
+            // different coders
+            toolset2.addCoder(String.class.getName(), new JsonProtocolFilter(), 1);
+            assertFalse(toolset1.decodesLike(toolset2));
+        }
+    }
+
+    private GsonProtocolCoderToolset makeToolset(String artifactId, String eventClass, String rule) {
+        return new GsonProtocolCoderToolset(EventProtocolParams.builder().topic("topic")
+            .groupId("group").artifactId(artifactId).eventClass(eventClass)
+            .protocolFilter(new JsonProtocolFilter(rule)).modelClassLoaderHash(1).build(), "controller");
+    }
+
+    @Test
+    void decodeBytes() {
+        var decoderClass = ProtocolCoderToolsetTest.ThreeStrings.class;
+        var toolset = new GsonProtocolCoderToolset(EventProtocolParams.builder().topic("topic")
+            .groupId("group").artifactId("artifact").eventClass(decoderClass.getName())
+            .protocolFilter(new JsonProtocolFilter("[?($.first == 'v\u00e9')]")).modelClassLoaderHash(1).build(),
+            "controller");
+
+        var droolsController = mock(NullDroolsController.class);
+        when(droolsController.getModelClassLoaderHash()).thenReturn(1);
+        when(droolsController.fetchModelClass(decoderClass.getName()))
+            .thenAnswer((Answer<Class<?>>) invocation -> decoderClass);
+
+        var mockFactory = mock(DroolsControllerFactory.class);
+        when(mockFactory.get("group", "artifact", "")).thenReturn(droolsController);
+
+        try (MockedStatic<DroolsControllerConstants> factory = Mockito.mockStatic(DroolsControllerConstants.class)) {
+            factory.when(DroolsControllerConstants::getFactory).thenReturn(mockFactory);
+
+            var json = "{\"first\":\"v\u00e9\",\"second\":\"v2\",\"third\":\"v3\"}";
+            var event = (ProtocolCoderToolsetTest.ThreeStrings) toolset.decode(json.getBytes(StandardCharsets.UTF_8));
+            assertEquals("v\u00e9", event.getFirst());
+            assertEquals("v3", event.getThird());
+
+            var filtered = "{\"first\":\"v1\"}".getBytes(StandardCharsets.UTF_8);
+            assertThatThrownBy(() -> toolset.decode(filtered))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessageContaining("no decoder to process event");
+
+            var invalid = "{\"first\":".getBytes(StandardCharsets.UTF_8);
+            assertThatThrownBy(() -> toolset.decode(invalid))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessageContaining("cannot parse event");
+
+            var stats = toolset.getStats();
+            assertEquals(1, stats.getDecoded());
+            assertEquals(1, stats.getRejected());
+            assertEquals(1, stats.getUndecodable());
+
+            var coder = toolset.getCoders().get(0);
+            assertEquals(2, coder.getEvaluated());
+            assertEquals(1, coder.getMatched());
+        }
+    }
+
+    @Test
+    void decodeOrReject() {
+        var decoderClass = ProtocolCoderToolsetTest.ThreeStrings.class;
+        var toolset = new GsonProtocolCoderToolset(EventProtocolParams.builder().topic("topic")
+            .groupId("group").artifactId("artifact").eventClass(decoderClass.getName())
+            .protocolFilter(new JsonProtocolFilter("[?($.first == 'v1')]")).modelClassLoaderHash(1).build(),
+            "controller");
+
+        var droolsController = mock(NullDroolsController.class);
+        when(droolsController.getModelClassLoaderHash()).thenReturn(1);
+        when(droolsController.fetchModelClass(decoderClass.getName()))
+            .thenAnswer((Answer<Class<?>>) invocation -> decoderClass);
+
+        var mockFactory = mock(DroolsControllerFactory.class);
+        when(mockFactory.get("group", "artifact", "")).thenReturn(droolsController);
+
+        try (MockedStatic<DroolsControllerConstants> factory = Mockito.mockStatic(DroolsControllerConstants.class)) {
+            factory.when(DroolsControllerConstants::getFactory).thenReturn(mockFactory);
+
+            var json = "{\"first\":\"v1\",\"second\":\"v2\"}";
+            assertEquals("v2", ((ProtocolCoderToolsetTest.ThreeStrings) toolset.decodeOrReject(json)).getSecond());
+
+            // rejected before parsing, as the value is not in the event
+            assertSame(EventProtocolCoderConstants.REJECTED, toolset.decodeOrReject("{\"first\":"));
+            assertSame(EventProtocolCoderConstants.REJECTED,
+                toolset.decodeOrReject("{\"first\":\"v2\"}".getBytes(StandardCharsets.UTF_8)));
+
+            // rejected after parsing
+            assertSame(EventProtocolCoderConstants.REJECTED, toolset.decodeOrReject("{\"second\":\"v1\"}"));
+            assertThatThrownBy(() -> toolset.decode("{\"second\":\"v1\"}"))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessageContaining("no decoder to process event");
+
+            assertEquals(1, toolset.getStats().getDecoded());
+            assertEquals(4, toolset.getStats().getRejected());
+            assertEquals(3, toolset.getCoders().get(0).getEvaluated());
+        }
+    }
+
+    @Test
+    void modelAdapters(@TempDir Path dir) throws IOException {
+        var services = Files.createDirectories(dir.resolve("META-INF/services"));
+        Files.writeString(services.resolve(TypeAdapterFactory.class.getName()), GeneratedAdapterFactory.class.getName());
+
+        var toolset = new GsonProtocolCoderToolset(EventProtocolParams.builder().topic("topic")
+            .groupId("group").artifactId("artifact").eventClass(ProtocolCoderToolsetTest.ThreeStrings.class.getName())
+            .protocolFilter(new JsonProtocolFilter()).modelClassLoaderHash(1).build(), "controller");
+
+        var event = new ProtocolCoderToolsetTest.ThreeStrings("v1", "v2", "v3");
+        assertEquals("{\"first\":\"v1\",\"second\":\"v2\",\"third\":\"v3\"}", toolset.encode(event));
+        assertEquals(1, toolset.getStats().getEncoded());
+
+        var url = dir.toUri().toURL();
+        try (var parentLoader = new URLClassLoader(new URL[] {url}, getClass().getClassLoader());
+                var loader = new ModelClassLoader(url); var loader2 = new ModelClassLoader(url)) {
+
+            // factories defined by a parent of the model classloader are not used
+            assertEquals("{\"first\":\"v1\",\"second\":\"v2\",\"third\":\"v3\"}",
+                encoderFor(toolset, parentLoader).toJson(event));
+
+            Gson encoder = encoderFor(toolset, loader);
+            Gson decoder = ReflectionTestUtils.invokeMethod(toolset, "decoderFor", loader);
+            assertEquals("\"generated\"", encoder.toJson(event));
+            assertEquals("v", decoder.fromJson("\"v\"", ProtocolCoderToolsetTest.ThreeStrings.class).getThird());
+
+            // built once per model classloader, even when alternating between them
+            Gson encoder2 = encoderFor(toolset, loader2);
+            assertEquals("\"generated\"", encoder2.toJson(event));
+            assertSame(encoder, encoderFor(toolset, loader));
+            assertSame(encoder2, encoderFor(toolset, loader2));
+
+            // the toolset encoder does not use them
+            assertEquals("{\"first\":\"v1\",\"second\":\"v2\",\"third\":\"v3\"}",
+                toolset.getEncoder().toJson(event));
+        }
+    }
+
+    @Test
+    void decodeWithModelAdapters(@TempDir Path dir) throws Exception {
+        var services = Files.createDirectories(dir.resolve("META-INF/services"));
+        Files.writeString(services.resolve(TypeAdapterFactory.class.getName()), GeneratedAdapterFactory.class.getName());
+
+        var toolset = new GsonProtocolCoderToolset(EventProtocolParams.builder().topic("topic")
+            .groupId("group").artifactId("artifact").eventClass(GeneratedModel.class.getName())
+            .protocolFilter(new JsonProtocolFilter()).modelClassLoaderHash(1).build(), "controller");
+
+        try (var loader = new ModelClassLoader(dir.toUri().toURL())) {
+            // the model jar provides both its classes and their type adapter factory
+            Class<?> modelClass = loader.loadClass(GeneratedModel.class.getName());
+            assertNotSame(GeneratedModel.class, modelClass);
+
+            var droolsController = mock(NullDroolsController.class);
+            when(droolsController.getModelClassLoaderHash()).thenReturn(1);
+            when(droolsController.fetchModelClass(GeneratedModel.class.getName()))
+                .thenAnswer((Answer<Class<?>>) invocation -> modelClass);
+
+            var mockFactory = mock(DroolsControllerFactory.class);
+            when(mockFactory.get("group", "artifact", "")).thenReturn(droolsController);
+
+            try (MockedStatic<DroolsControllerConstants> factory =
+                            Mockito.mockStatic(DroolsControllerConstants.class)) {
+                factory.when(DroolsControllerConstants::getFactory).thenReturn(mockFactory);
+
+                var event = toolset.decode("\"v1\"");
+                assertSame(modelClass, event.getClass());
+                assertEquals("\"generated:v1\"", toolset.encode(event));
+            }
+        }
+    }
+
+    private Gson encoderFor(GsonProtocolCoderToolset toolset, ClassLoader loader) {
+        return ReflectionTestUtils.invokeMethod(toolset, "encoderFor", loader);
+    }
+
+    /**
+     * Model classloader, defining its own copy of the generated type adapter factory, and
+     * of the model class it adapts.
+     */
+    private static class ModelClassLoader extends URLClassLoader {
+        ModelClassLoader(URL url) {
+            super(new URL[] {url}, GsonProtocolCoderToolsetTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(GeneratedAdapterFactory.class.getName())
+                    && !name.equals(GeneratedModel.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                var loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    try (var input = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        var bytes = input.readAllBytes();
+                        loaded = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException | RuntimeException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return loaded;
+            }
+        }
+    }
+
     @Test
     void encode() {
         var event = new Object();
@@ -150,6 +442,58 @@ class GsonProtocolCoderToolsetTest {
         }
     }
 
+    /**
+     * Stands for a type adapter factory generated for the model classes.
+     */
+    public static class GeneratedAdapterFactory implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() == GeneratedModel.class) {
+                return (TypeAdapter<T>) new TypeAdapter<GeneratedModel>() {
+                    @Override
+                    public void write(JsonWriter out, GeneratedModel value) throws IOException {
+                        out.value("generated:" + value.value);
+                    }
+
+                    @Override
+                    public GeneratedModel read(JsonReader in) throws IOException {
+                        return new GeneratedModel(in.nextString());
+                    }
+                };
+            }
+
+            if (type.getRawType() != ProtocolCoderToolsetTest.ThreeStrings.class) {
+                return null;
+            }
+
+            return (TypeAdapter<T>) new TypeAdapter<ProtocolCoderToolsetTest.ThreeStrings>() {
+                @Override
+                public void write(JsonWriter out, ProtocolCoderToolsetTest.ThreeStrings value) throws IOException {
+                    out.value("generated");
+                }
+
+                @Override
+                public ProtocolCoderToolsetTest.ThreeStrings read(JsonReader in) throws IOException {
+                    var value = in.nextString();
+                    return new ProtocolCoderToolsetTest.ThreeStrings(value, value, value);
+                }
+            };
+        }
+    }
+
+    /**
+     * Model class adapted by the generated type adapter factory.
+     */
+    public static class GeneratedModel {
+        // public, as the copy of the factory is not a nestmate of the copy of the model
+        public final String value;
+
+        public GeneratedModel(String value) {
+            this.value = value;
+        }
+    }
+
     @Test
     void test_GsonInstantAdapter() {
         var instantAdapter = new GsonProtocolCoderToolset.GsonInstantAdapter();
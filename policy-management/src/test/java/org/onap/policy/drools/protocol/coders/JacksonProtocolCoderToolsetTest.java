@@ -0,0 +1,220 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.gson.annotations.SerializedName;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.onap.policy.drools.controller.DroolsControllerConstants;
+import org.onap.policy.drools.controller.DroolsControllerFactory;
+import org.onap.policy.drools.controller.internal.NullDroolsController;
+import org.onap.policy.drools.protocol.coders.TopicCoderFilterConfiguration.CustomGsonCoder;
+
+class JacksonProtocolCoderToolsetTest {
+    private static final String EVENT = "{\"first\":\"v1\",\"second-name\":\"v2\",\"unknown\":\"x\"}";
+
+    private NullDroolsController droolsController;
+    private DroolsControllerFactory mockFactory;
+    private MockedStatic<DroolsControllerConstants> factory;
+
+    /**
+     * Provides the drools controller that the toolsets fetch the model classes from.
+     */
+    @BeforeEach
+    void setUp() {
+        droolsController = mock(NullDroolsController.class);
+        when(droolsController.getModelClassLoaderHash()).thenReturn(1);
+        when(droolsController.fetchModelClass(Event.class.getName()))
+            .thenAnswer((Answer<Class<?>>) invocation -> Event.class);
+
+        mockFactory = mock(DroolsControllerFactory.class);
+        when(mockFactory.get("group", "artifact", "")).thenReturn(droolsController);
+
+        factory = Mockito.mockStatic(DroolsControllerConstants.class);
+        factory.when(DroolsControllerConstants::getFactory).thenReturn(mockFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.close();
+    }
+
+    @Test
+    void decodeResolvesOnce() {
+        var toolset = new JacksonProtocolCoderToolset(params("[?($.first == 'v1')]", null), "controller");
+
+        var event = (Event) toolset.decode(EVENT);
+        assertEquals("v1", event.getFirst());
+        assertEquals("v2", event.getSecond());
+
+        event = (Event) toolset.decode(EVENT.getBytes(StandardCharsets.UTF_8));
+        assertEquals("v2", event.getSecond());
+
+        verify(mockFactory, times(1)).get("group", "artifact", "");
+        verify(droolsController, times(1)).fetchModelClass(Event.class.getName());
+
+        // model update
+        when(droolsController.getModelClassLoaderHash()).thenReturn(2);
+        assertEquals("v1", ((Event) toolset.decode(EVENT)).getFirst());
+
+        verify(mockFactory, times(2)).get("group", "artifact", "");
+        verify(droolsController, times(2)).fetchModelClass(Event.class.getName());
+    }
+
+    @Test
+    void decodeRejected() {
+        var toolset = new JacksonProtocolCoderToolset(params("[?($.first == 'v2')]", null), "controller");
+
+        assertThatThrownBy(() -> toolset.decode(EVENT)).isInstanceOf(UnsupportedOperationException.class)
+            .hasMessage("no decoder to process event");
+        assertSame(EventProtocolCoderConstants.REJECTED, toolset.decodeOrReject(EVENT));
+        assertSame(EventProtocolCoderConstants.REJECTED,
+            toolset.decodeOrReject(EVENT.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void decodeUnparseable() {
+        // parsed to be filtered
+        var filtered = new JacksonProtocolCoderToolset(params("[?($.first == 'v1')]", null), "controller");
+        assertThatThrownBy(() -> filtered.decode("{\"first\":")).isInstanceOf(UnsupportedOperationException.class)
+            .hasMessage("cannot parse event");
+
+        // bound without a filter
+        var unfiltered = new JacksonProtocolCoderToolset(params(null, null), "controller");
+        assertThatThrownBy(() -> unfiltered.decode("{\"first\":"))
+            .isInstanceOf(UnsupportedOperationException.class)
+            .hasMessage("cannot decode into " + Event.class.getName());
+        assertEquals("v1", ((Event) unfiltered.decode(EVENT)).getFirst());
+    }
+
+    @Test
+    void encode() {
+        var toolset = new JacksonProtocolCoderToolset(params(null, null), "controller");
+
+        var event = new Event();
+        event.first = "v1";
+        event.second = "v2";
+        event.instant = Instant.ofEpochMilli(1000L);
+        event.dateTime = ZonedDateTime.parse("2026-10-16 10:20:30.123456+00:00", GsonProtocolCoderToolset.format);
+
+        var json = toolset.encode(event);
+        assertEquals("{\"first\":\"v1\",\"second-name\":\"v2\",\"instant\":1000,"
+            + "\"dateTime\":\"2026-10-16 10:20:30.123456+00:00\"}", json);
+
+        // the Gson toolset decodes it alike
+        var decoded = (Event) toolset.decode(json);
+        assertEquals(event.instant, decoded.getInstant());
+        assertEquals(event.dateTime, decoded.getDateTime());
+        assertEquals(json, new GsonProtocolCoderToolset(params(null, null), "controller").encode(decoded));
+    }
+
+    @Test
+    void customCoder() {
+        var custom = new CustomGsonCoder("org.onap.Coder,gson");
+        var params = params(null, custom);
+
+        assertInstanceOf(GsonProtocolCoderToolset.class,
+            new JacksonEventProtocolCodec().createToolset(params, "controller"));
+        assertInstanceOf(GsonProtocolCoderToolset.class,
+            new CborEventProtocolCodec().createToolset(params, "controller"));
+
+        var toolset = new JacksonProtocolCoderToolset(params, "controller");
+        assertThatThrownBy(() -> toolset.decode(EVENT)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> toolset.encode(new Event())).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void codecs() {
+        var codecs = EventProtocolCodecConstants.getProviders().getList().stream()
+            .map(EventProtocolCodec::getCodec).toList();
+        assertTrue(codecs.contains(EventProtocolCodecConstants.JACKSON_CODEC));
+        assertTrue(codecs.contains(EventProtocolCodecConstants.CBOR_CODEC));
+
+        assertInstanceOf(JacksonProtocolCoderToolset.class,
+            new JacksonEventProtocolCodec().createToolset(params(null, null), "controller"));
+        assertInstanceOf(CborProtocolCoderToolset.class,
+            new CborEventProtocolCodec().createToolset(params(null, null), "controller"));
+    }
+
+    @Test
+    void decodeCbor() throws Exception {
+        var toolset = new CborProtocolCoderToolset(params("[?($.first == 'v1')]", null), "controller");
+
+        var cbor = new ObjectMapper(new CBORFactory());
+        var payload = cbor.writeValueAsBytes(Map.of("first", "v1", "second-name", "v2"));
+
+        var event = (Event) toolset.decode(payload);
+        assertEquals("v1", event.getFirst());
+        assertEquals("v2", event.getSecond());
+
+        // filtered on the CBOR data model
+        var other = cbor.writeValueAsBytes(Map.of("first", "v2"));
+        assertSame(EventProtocolCoderConstants.REJECTED, toolset.decodeOrReject(other));
+
+        assertThatThrownBy(() -> toolset.decode(EVENT)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> toolset.decodeOrReject(EVENT)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> toolset.encode(event)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static EventProtocolParams params(String rule, CustomGsonCoder custom) {
+        return EventProtocolParams.builder().topic("topic").groupId("group").artifactId("artifact")
+            .eventClass(Event.class.getName())
+            .protocolFilter(rule != null ? new JsonProtocolFilter(rule) : new JsonProtocolFilter())
+            .customGsonCoder(custom).modelClassLoaderHash(1).build();
+    }
+
+    /**
+     * Model with a no-argument constructor, as Jackson requires.
+     */
+    @Getter
+    @NoArgsConstructor
+    public static class Event {
+        private String first;
+
+        @SerializedName("second-name")
+        private String second;
+
+        private Instant instant;
+        private ZonedDateTime dateTime;
+    }
+}
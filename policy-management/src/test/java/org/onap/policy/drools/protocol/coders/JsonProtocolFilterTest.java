@@ -26,6 +26,10 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class JsonProtocolFilterTest {
@@ -99,6 +103,77 @@ class JsonProtocolFilterTest {
                 .accept(JSON));
     }
 
+    /**
+     * Tests accepting an already parsed document with several filters.
+     */
+    @Test
+    void acceptDocumentTest() {
+        var document = JsonProtocolFilter.parse(JSON);
+        assertTrue(new JsonProtocolFilter(null).accept(document));
+        assertTrue(new JsonProtocolFilter("[?($.entity == 'controller')]").accept(document));
+        assertFalse(new JsonProtocolFilter("[?($.entity == 'pdp')]").accept(document));
+        assertEquals("controller", new JsonProtocolFilter("$.entity").filter(document).get(0));
+    }
+
+    /**
+     * Tests accepting a document backed by a Gson parse tree.
+     */
+    @Test
+    void acceptTreeTest() {
+        var document = JsonProtocolFilter.parse(JsonParser.parseString(JSON));
+        assertTrue(new JsonProtocolFilter(null).accept(document));
+        assertTrue(new JsonProtocolFilter("[?($.entity == 'controller')]").accept(document));
+        assertTrue(new JsonProtocolFilter(
+                        "$.controllers[?(@.drools.version =~ /\\d\\.\\d\\.\\d/ && @.operation == 'update')]")
+                                        .accept(document));
+        assertFalse(new JsonProtocolFilter("[?($.entity == 'pdp')]").accept(document));
+        assertThrows(IllegalArgumentException.class, () -> JsonProtocolFilter.parse((JsonElement) null));
+    }
+
+    /**
+     * Tests finding field matches in a document backed by a Gson parse tree.
+     */
+    @Test
+    void filterTreeTest() {
+        var document = JsonProtocolFilter.parse(JsonParser.parseString(JSON));
+        assertEquals(List.of("controller"), new JsonProtocolFilter("$.entity").filter(document));
+        assertEquals(List.of("test-controller"), new JsonProtocolFilter("$.controllers[*].name").filter(document));
+        assertEquals(List.of("{\"groupId\":\"org.onap.policy.drools.test\",\"artifactId\":\"test\","
+                        + "\"version\":\"0.0.1\"}"),
+                        new JsonProtocolFilter("$.controllers[0].drools").filter(document));
+        assertTrue(new JsonProtocolFilter("$.test").filter(document).isEmpty());
+    }
+
+    /**
+     * Tests that an invalid rule does not match and does not raise an exception.
+     */
+    @Test
+    void acceptInvalidRuleTest() {
+        var filter = new JsonProtocolFilter("[?($ =~ /.*/");
+        assertEquals("[?($ =~ /.*/", filter.getRule());
+        assertFalse(filter.accept(JSON));
+        assertFalse(filter.accept(JsonProtocolFilter.parse(JsonParser.parseString(JSON))));
+        assertTrue(filter.filter(JSON).isEmpty());
+        assertTrue(JsonProtocolFilter.filter(JSON, "[?($ =~ /.*/").isEmpty());
+    }
+
+    /**
+     * Tests that a filter with the rule set through deserialization is compiled on demand.
+     */
+    @Test
+    void acceptDeserializedTest() {
+        var filter = new Gson().fromJson("{\"rule\":\"[?($.entity == 'controller')]\"}", JsonProtocolFilter.class);
+        assertTrue(filter.accept(JSON));
+    }
+
+    /**
+     * Tests that an exception is thrown if a null JSON string is parsed.
+     */
+    @Test
+    void parseNullJsonTest() {
+        assertThrows(IllegalArgumentException.class, () -> JsonProtocolFilter.parse((String) null));
+    }
+
     /**
      * Tests finding field matches for a filter rule corresponding to a topic.
      */
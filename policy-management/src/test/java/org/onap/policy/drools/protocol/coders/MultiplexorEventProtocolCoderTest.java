@@ -32,13 +32,15 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Map;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.onap.policy.drools.controller.DroolsController;
+import org.onap.policy.drools.protocol.coders.GenericEventProtocolCoder.CoderKey;
+import org.onap.policy.drools.protocol.coders.GenericEventProtocolCoder.Registry;
 import org.springframework.test.util.ReflectionTestUtils;
 
 class MultiplexorEventProtocolCoderTest {
@@ -99,9 +101,8 @@ class MultiplexorEventProtocolCoderTest {
 
     @Test
     void isDecodingSupported() {
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
-        coders.put("otherGroup:artifact:topic", mock(ProtocolCoderToolset.class));
-        ReflectionTestUtils.setField(decoder, "coders", coders);
+        var coders = Map.of(new CoderKey("otherGroup", "artifact", TOPIC), mock(ProtocolCoderToolset.class));
+        ReflectionTestUtils.setField(decoder, "registry", new Registry(coders, Map.of()));
         when(decoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC)).thenCallRealMethod();
         when(decoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC))
             .thenReturn(true)
@@ -112,9 +113,8 @@ class MultiplexorEventProtocolCoderTest {
 
     @Test
     void isEncodingSupported() {
-        HashMap<String, ProtocolCoderToolset> coders = new HashMap<>();
-        coders.put("otherGroup:artifact:topic", mock(ProtocolCoderToolset.class));
-        ReflectionTestUtils.setField(encoder, "coders", coders);
+        var coders = Map.of(new CoderKey("otherGroup", "artifact", TOPIC), mock(ProtocolCoderToolset.class));
+        ReflectionTestUtils.setField(encoder, "registry", new Registry(coders, Map.of()));
         when(encoder.codersKey(GROUP_ID, ARTIFACT_ID, TOPIC)).thenCallRealMethod();
         when(encoder.isCodingSupported(GROUP_ID, ARTIFACT_ID, TOPIC))
             .thenReturn(true)
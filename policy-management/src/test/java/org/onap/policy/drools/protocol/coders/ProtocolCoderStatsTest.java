@@ -0,0 +1,62 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.protocol.coders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.onap.policy.drools.protocol.coders.ProtocolCoderStats.Outcome;
+
+class ProtocolCoderStatsTest {
+
+    private static final String GROUP = "org.onap.policy.drools.test";
+    private static final String ARTIFACT = "stats";
+    private static final String TOPIC = "stats-topic";
+
+    @Test
+    void testRecord() {
+        var stats = new ProtocolCoderStats(GROUP, ARTIFACT, TOPIC);
+
+        var start = System.nanoTime();
+        stats.record(Outcome.DECODED, start);
+        stats.record(Outcome.DECODED, start);
+        stats.record(Outcome.REJECTED, start);
+        stats.record(Outcome.UNDECODABLE, start);
+        stats.record(Outcome.ENCODED, start);
+
+        assertEquals(2, stats.getDecoded());
+        assertEquals(1, stats.getRejected());
+        assertEquals(1, stats.getUndecodable());
+        assertEquals(1, stats.getEncoded());
+        assertEquals(0, stats.getUnencodable());
+        assertTrue(stats.getAverageDecodeMicros() >= 0.0);
+        assertTrue(stats.getAverageEncodeMicros() >= 0.0);
+        assertThat(stats.toString()).contains("decoded=2", "rejected=1");
+
+        assertEquals(2.0, ProtocolCoderStats.eventsCounter
+            .labelValues(GROUP, ARTIFACT, TOPIC, Outcome.DECODED.label()).get());
+        assertEquals(4, ProtocolCoderStats.decodeLatencySecsHistogram.collect().getDataPoints().stream()
+            .filter(point -> TOPIC.equals(point.getLabels().get(ProtocolCoderStats.TOPIC_LABEL)))
+            .findFirst().orElseThrow().getCount());
+    }
+}
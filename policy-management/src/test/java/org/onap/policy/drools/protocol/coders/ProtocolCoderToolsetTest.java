@@ -26,6 +26,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -41,6 +42,7 @@ import static org.onap.policy.drools.system.PolicyEngineConstants.PROPERTY_TOPIC
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Properties;
@@ -164,6 +166,66 @@ public class ProtocolCoderToolsetTest {
 
     }
 
+    @Test
+    void testDecodePayload() {
+        // a toolset that only decodes strings
+        var toolset = new ProtocolCoderToolset(EventProtocolParams.builder().topic(JUNIT_PROTOCOL_CODER_TOPIC)
+            .groupId(releaseId.getGroupId()).artifactId(releaseId.getArtifactId())
+            .eventClass(String.class.getName()).protocolFilter(new JsonProtocolFilter())
+            .customGsonCoder(null).modelClassLoaderHash(12345678).build(), CONTROLLER_ID) {
+
+            @Override
+            public Object decode(String json) {
+                return "decoded " + json;
+            }
+
+            @Override
+            public String encode(Object event) {
+                return event.toString();
+            }
+        };
+
+        assertEquals("decoded {\"text\":\"h\u00e9llo\"}",
+            toolset.decode("{\"text\":\"h\u00e9llo\"}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class, () -> toolset.decode((byte[]) null));
+
+        // events decoded by another toolset count as decoded
+        toolset.recordShared(System.nanoTime());
+        assertEquals(1, toolset.getStats().getDecoded());
+    }
+
+    @Test
+    void testIndexRebuilt() {
+        var onset = new JsonProtocolFilter("[?($.first == 'ONSET')]");
+        var toolset = new GsonProtocolCoderToolset(EventProtocolParams.builder().topic(JUNIT_PROTOCOL_CODER_TOPIC)
+            .groupId(releaseId.getGroupId()).artifactId(releaseId.getArtifactId())
+            .eventClass(ThreeStrings.class.getName()).protocolFilter(onset)
+            .customGsonCoder(null).modelClassLoaderHash(12345678).build(), CONTROLLER_ID);
+        toolset.addCoder(String.class.getName(), new JsonProtocolFilter("[?($.first == 'ABATED')]"), 12345678);
+
+        var index = toolset.getIndex();
+        assertNotNull(index);
+        assertSame(index, toolset.getIndex());
+
+        // filters of other toolsets do not affect the index
+        new JsonProtocolFilter("[?($.first == 'OTHER')]").setRule("[?($.second == 'OTHER')]");
+        assertSame(index, toolset.getIndex());
+
+        // rebuilt when its own rules change
+        onset.setRule("[?($.first == 'NEW')]");
+        var index2 = toolset.getIndex();
+        assertNotSame(index, index2);
+        assertThat(index2.toString()).contains("NEW");
+
+        // rebuilt when its coders change
+        toolset.addCoder(Integer.class.getName(), new JsonProtocolFilter("[?($.first == 'OTHER')]"), 12345678);
+        assertNotSame(index2, toolset.getIndex());
+        index2 = toolset.getIndex();
+
+        toolset.getCoder(String.class.getName()).setFilter(new JsonProtocolFilter("[?($.second =~ /.*/)]"));
+        assertNotSame(index2, toolset.getIndex());
+    }
+
     /**
      * Test the Gson toolset.
      *
@@ -493,6 +493,18 @@ class RestManagerTest {
          * /engine/controllers/controllerName/drools/facts/session/query/queriedEntity
          *
          */
+        httpGet = new HttpGet(HOST_URL + "/engine/controllers/" + FOO_CONTROLLER + "/drools/rules/stats");
+        response = client.execute(httpGet);
+        logger.info("{} response code: {}", httpGet.getRequestLine(), response.getStatusLine().getStatusCode());
+        assertEquals(200, response.getStatusLine().getStatusCode());
+        httpGet.releaseConnection();
+
+        httpGet = new HttpGet(HOST_URL + "/engine/controllers/nonexistantcontroller/drools/rules/stats");
+        response = client.execute(httpGet);
+        logger.info("{} response code: {}", httpGet.getRequestLine(), response.getStatusLine().getStatusCode());
+        assertEquals(404, response.getStatusLine().getStatusCode());
+        httpGet.releaseConnection();
+
         httpGet = new HttpGet(HOST_URL + "/engine/controllers/" + FOO_CONTROLLER + "/drools/facts");
         response = client.execute(httpGet);
         logger.info("{} response code: {}", httpGet.getRequestLine(), response.getStatusLine().getStatusCode());
@@ -386,6 +386,28 @@ class PolicyControllerFactoryTest {
         assertEquals(Arrays.asList(controller, controller2), lst);
     }
 
+    @Test
+    void testGetInventoryChanges() {
+        assertEquals(0, ipc.getInventoryChanges());
+
+        ipc.build(MY_NAME, properties);
+        assertEquals(1, ipc.getInventoryChanges());
+
+        // re-build - not changed
+        ipc.build(MY_NAME, properties);
+        assertEquals(1, ipc.getInventoryChanges());
+
+        ipc.patch(controller, config);
+        assertEquals(2, ipc.getInventoryChanges());
+
+        ipc.destroy(controller);
+        assertEquals(3, ipc.getInventoryChanges());
+
+        // unknown controller - not changed
+        ipc.destroy(controller);
+        assertEquals(3, ipc.getInventoryChanges());
+    }
+
     @Test
     void testGetFeatures() {
         assertEquals(Arrays.asList(FEATURE1, FEATURE2), ipc.getFeatures());
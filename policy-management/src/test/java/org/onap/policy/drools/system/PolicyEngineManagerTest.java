@@ -1600,6 +1600,35 @@ class PolicyEngineManagerTest {
         verify(sink1).send(MESSAGE);
     }
 
+    @Test
+    void testDeliver_Routes() throws Exception {
+        mgr.configure(properties);
+        mgr.start();
+
+        DroolsController drools = mock(DroolsController.class);
+        when(coder.getDroolsController(MY_TOPIC, MY_EVENT)).thenReturn(drools);
+        when(controllerFactory.get(drools)).thenReturn(controller);
+        when(controller.deliver(CommInfrastructure.NOOP, MY_TOPIC, MY_EVENT)).thenReturn(true);
+
+        assertTrue(mgr.deliver(MY_TOPIC, MY_EVENT));
+        assertTrue(mgr.deliver(MY_TOPIC, MY_EVENT));
+        verify(controller, times(2)).deliver(CommInfrastructure.NOOP, MY_TOPIC, MY_EVENT);
+
+        // routed once
+        verify(endpoint).getTopicSinks(MY_TOPIC);
+        verify(coder).getDroolsController(MY_TOPIC, MY_EVENT);
+        verify(controllerFactory).get(drools);
+
+        // routed again once the controllers change
+        when(controllerFactory.getInventoryChanges()).thenReturn(1L);
+        when(controllerFactory.get(drools)).thenReturn(null);
+
+        assertTrue(mgr.deliver(MY_TOPIC, MY_EVENT));
+        verify(controller, times(2)).deliver(CommInfrastructure.NOOP, MY_TOPIC, MY_EVENT);
+        verify(coder).encode(MY_TOPIC, MY_EVENT);
+        verify(sink1).send(MESSAGE);
+    }
+
     @Test
     void testDeliverCommInfrastructureStringString() {
         mgr.configure(properties);
@@ -27,11 +27,16 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -39,6 +44,8 @@ import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
@@ -52,6 +59,7 @@ import org.onap.policy.drools.controller.DroolsController;
 import org.onap.policy.drools.controller.DroolsControllerFactory;
 import org.onap.policy.drools.features.PolicyControllerFeatureApi;
 import org.onap.policy.drools.persistence.SystemPersistence;
+import org.onap.policy.drools.properties.DroolsPropertyConstants;
 import org.onap.policy.drools.protocol.configuration.DroolsConfiguration;
 import org.onap.policy.drools.system.GsonMgmtTestBuilder;
 
@@ -64,8 +72,10 @@ class AggregatedPolicyControllerTest {
     private static final String SOURCE_TOPIC2 = "source-b";
 
     private static final String EXPECTED = "expected exception";
+    private static final long WAIT_MS = 5000;
 
     private static final String MY_EVENT = "my-event";
+    private static final String MY_EVENT2 = "my-event-2";
 
     private static final String ARTIFACT1 = "artifact-a";
     private static final String GROUP1 = "group-a";
@@ -121,8 +131,9 @@ class AggregatedPolicyControllerTest {
         drools = mock(DroolsController.class);
         when(drools.start()).thenReturn(true);
         when(drools.stop()).thenReturn(true);
-        when(drools.offer(any(), any())).thenReturn(true);
+        when(drools.offer(any(), anyString())).thenReturn(true);
         when(drools.deliver(any(), any())).thenReturn(true);
+        when(drools.deliverAsync(any(), any())).thenCallRealMethod();
         when(drools.lock()).thenReturn(true);
         when(drools.unlock()).thenReturn(true);
         when(drools.getArtifactId()).thenReturn(ARTIFACT1);
@@ -525,6 +536,93 @@ class AggregatedPolicyControllerTest {
             prov -> verify(prov).afterOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT, true));
     }
 
+    @Test
+    void testOnTopicEvent_Ingress() {
+        assertNull(apc.getIngressQueue());
+        assertNull(apc.getIngressStats());
+
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_INGRESS_CAPACITY, "10");
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_INGRESS_POLICY, "pause");
+        apc = new AggregatedPolicyControllerImpl(AGG_NAME, properties);
+
+        var ingress = apc.getIngressQueue();
+        assertNotNull(ingress);
+        assertEquals(10, ingress.getCapacity());
+        assertEquals(IngressQueue.OverflowPolicy.PAUSE, ingress.getPolicy());
+        assertSame(ingress, apc.getIngressStats());
+
+        apc.start();
+        assertTrue(ingress.isAlive());
+
+        // offered from the ingress thread
+        apc.onTopicEvent(CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT);
+        verify(drools, timeout(WAIT_MS)).offer(SOURCE_TOPIC1, MY_EVENT);
+        verify(prov1, timeout(WAIT_MS)).afterOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT, true);
+
+        apc.stop();
+        assertFalse(ingress.isAlive());
+
+        // invalid policy
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_INGRESS_POLICY, "invalid");
+        apc = new AggregatedPolicyControllerImpl(AGG_NAME, properties);
+        assertEquals(IngressQueue.OverflowPolicy.BLOCK, apc.getIngressQueue().getPolicy());
+    }
+
+    @Test
+    void testOnTopicEvent_Decode() {
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DECODE_WORKERS, "2");
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DECODE_KEY, "requestId, name");
+        apc = new AggregatedPolicyControllerImpl(AGG_NAME, properties);
+
+        var fact = new Object();
+        when(drools.decode(SOURCE_TOPIC1, MY_EVENT)).thenReturn(fact);
+        when(drools.offer(fact)).thenReturn(true);
+
+        apc.start();
+
+        // decoded by the workers, then offered
+        apc.onTopicEvent(CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT);
+        verify(drools, timeout(WAIT_MS)).offer(fact);
+        verify(prov1, timeout(WAIT_MS)).afterOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT, true);
+        verify(drools, never()).offer(SOURCE_TOPIC1, MY_EVENT);
+
+        // not decoded
+        apc.onTopicEvent(CommInfrastructure.NOOP, SOURCE_TOPIC2, MY_EVENT2);
+        verify(prov1, timeout(WAIT_MS)).afterOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC2, MY_EVENT2, true);
+
+        apc.stop();
+        assertThatCode(() -> apc.stop()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testOnTopicEvent_Shared() {
+        properties.setProperty(DroolsPropertyConstants.PROPERTY_CONTROLLER_DECODE_SHARED, "java.lang.Object");
+
+        var sharedDecoder = mock(SharedDecoder.class);
+        apc = new AggregatedPolicyControllerImpl(AGG_NAME, properties) {
+            @Override
+            protected SharedDecoder getSharedDecoder() {
+                return sharedDecoder;
+            }
+        };
+
+        var fact = new Object();
+        when(sharedDecoder.decode(drools, SOURCE_TOPIC1, MY_EVENT, Set.of("java.lang.Object"))).thenReturn(fact);
+        when(drools.offer(fact)).thenReturn(true);
+
+        apc.start();
+
+        // decoded by the shared decoder, then offered
+        apc.onTopicEvent(CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT);
+        verify(drools).offer(fact);
+        verify(prov1).afterOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT, true);
+        verify(drools, never()).offer(SOURCE_TOPIC1, MY_EVENT);
+
+        // not decoded
+        apc.onTopicEvent(CommInfrastructure.NOOP, SOURCE_TOPIC2, MY_EVENT2);
+        verify(prov1).afterOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC2, MY_EVENT2, true);
+    }
+
     @Test
     void testOnTopicEvent_Locked() {
         // start it
@@ -557,6 +655,55 @@ class AggregatedPolicyControllerTest {
         verify(prov1, never()).afterOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT, true);
     }
 
+    @Test
+    void testOfferAll() {
+        final var events = List.of(MY_EVENT, MY_EVENT2);
+
+        // not started
+        assertTrue(apc.offerAll(CommInfrastructure.NOOP, SOURCE_TOPIC1, events));
+        verify(drools, never()).offerAll(anyString(), any());
+
+        // first provider intercepts the second event
+        when(prov1.beforeOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT2)).thenReturn(true);
+        when(drools.offerAll(SOURCE_TOPIC1, List.of(MY_EVENT))).thenReturn(true);
+
+        apc.start();
+        assertTrue(apc.offerAll(CommInfrastructure.NOOP, SOURCE_TOPIC1, events));
+
+        verify(prov2).beforeOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT);
+        verify(prov2, never()).beforeOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT2);
+        verify(drools).offerAll(SOURCE_TOPIC1, List.of(MY_EVENT));
+        verify(prov1).afterOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT, true);
+        verify(prov1, never()).afterOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT2, true);
+
+        // everything intercepted
+        when(prov1.beforeOffer(apc, CommInfrastructure.NOOP, SOURCE_TOPIC1, MY_EVENT)).thenReturn(true);
+        assertTrue(apc.offerAll(CommInfrastructure.NOOP, SOURCE_TOPIC1, events));
+        verify(drools).offerAll(anyString(), any());
+    }
+
+    @Test
+    void testOfferAllObjects() {
+        final var facts = List.of(MY_EVENT, MY_EVENT2);
+
+        when(prov1.beforeOffer(apc, MY_EVENT2)).thenReturn(true);
+        when(drools.offerAll(List.of(MY_EVENT))).thenReturn(true);
+
+        apc.start();
+        assertTrue(apc.offerAll(facts));
+
+        verify(prov2).beforeOffer(apc, MY_EVENT);
+        verify(prov2, never()).beforeOffer(apc, MY_EVENT2);
+        verify(drools).offerAll(List.of(MY_EVENT));
+        verify(prov1).afterOffer(apc, MY_EVENT, true);
+        verify(prov2).afterOffer(apc, MY_EVENT, true);
+
+        // locked
+        apc.lock();
+        assertTrue(apc.offerAll(facts));
+        verify(drools).offerAll(any());
+    }
+
     @Test
     void testDeliver_testInitSinks() {
         // arrange for first provider to throw exceptions
@@ -602,6 +749,23 @@ class AggregatedPolicyControllerTest {
             prov -> verify(prov).afterDeliver(apc, CommInfrastructure.NOOP, SINK_TOPIC1, MY_EVENT, true));
     }
 
+    @Test
+    void testDeliver_Async() {
+        var outcome = new CompletableFuture<Boolean>();
+        when(drools.deliverAsync(sink1, MY_EVENT)).thenReturn(outcome);
+
+        apc.start();
+        assertTrue(apc.deliver(CommInfrastructure.NOOP, SINK_TOPIC1, MY_EVENT));
+
+        // not sent yet
+        verify(prov1, never()).afterDeliver(any(), any(), any(), any(), anyBoolean());
+
+        // invoked with the actual outcome
+        outcome.complete(false);
+        verify(prov1).afterDeliver(apc, CommInfrastructure.NOOP, SINK_TOPIC1, MY_EVENT, false);
+        verify(prov2).afterDeliver(apc, CommInfrastructure.NOOP, SINK_TOPIC1, MY_EVENT, false);
+    }
+
     @Test
     void testDeliver_NullTopic() {
         assertThrows(IllegalArgumentException.class, () -> validateDeliverFailure(null, MY_EVENT));
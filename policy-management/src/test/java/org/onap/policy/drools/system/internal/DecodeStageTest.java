@@ -0,0 +1,218 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.system.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.common.message.bus.event.Topic.CommInfrastructure;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class DecodeStageTest {
+    private static final String NAME = "my-controller";
+    private static final String TOPIC = "my-topic";
+    private static final CommInfrastructure COMM = CommInfrastructure.NOOP;
+    private static final long WAIT_MS = 5000;
+
+    // events starting with this are only decoded, or released, when permitted
+    private static final String SLOW = "a";
+
+    private Semaphore decodePermit;
+    private Semaphore releasePermit;
+    private BlockingQueue<String> released;
+    private DecodeStage stage;
+
+    /**
+     * Initializes the synchronization objects.
+     */
+    @BeforeEach
+    void setUp() {
+        decodePermit = new Semaphore(0);
+        releasePermit = new Semaphore(0);
+        released = new LinkedBlockingQueue<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        decodePermit.release(100);
+        releasePermit.release(100);
+        if (stage != null) {
+            stage.stop();
+        }
+    }
+
+    private DecodeStage makeStage(boolean keyed, boolean blockRelease) {
+        return makeStage(keyed, blockRelease, DecodeStage.QUEUE_PER_LANE);
+    }
+
+    private DecodeStage makeStage(boolean keyed, boolean blockRelease, int laneCapacity) {
+        return new DecodeStage(NAME, 2, keyed ? fact -> fact.toString().substring(0, 1) : null,
+            (topic, event) -> {
+                if (event.startsWith("!")) {
+                    throw new IllegalArgumentException("expected exception");
+                }
+                if (!blockRelease && event.startsWith(SLOW)) {
+                    acquire(decodePermit);
+                }
+                return event.toUpperCase();
+            },
+            (commType, topic, event, fact) -> {
+                if (blockRelease && event.startsWith(SLOW)) {
+                    acquire(releasePermit);
+                }
+                released.add(event + "=" + fact);
+            }) {
+            @Override
+            protected int getLaneCapacity() {
+                return laneCapacity;
+            }
+        };
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testNotRunning() {
+        stage = makeStage(false, false);
+        assertEquals(2, stage.getWorkers());
+        assertFalse(stage.isAlive());
+        assertFalse(stage.submit(COMM, TOPIC, "b1"));
+    }
+
+    @Test
+    void testReceivedOrder() throws InterruptedException {
+        stage = makeStage(false, false);
+        stage.start();
+        assertTrue(stage.isAlive());
+
+        // the first event is slow to decode, the others wait for it
+        assertTrue(stage.submit(COMM, TOPIC, "a1"));
+        assertTrue(stage.submit(COMM, TOPIC, "b1"));
+        assertTrue(stage.submit(COMM, TOPIC, "b2"));
+
+        assertNull(released.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(3, stage.getPending());
+
+        decodePermit.release();
+        assertEquals("a1=A1", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals("b1=B1", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals("b2=B2", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(0, stage.getPending());
+    }
+
+    @Test
+    void testKeyOrder() throws InterruptedException {
+        stage = makeStage(true, true);
+        stage.start();
+
+        // "a" and "b" keys are processed by different threads
+        assertTrue(stage.submit(COMM, TOPIC, "a1"));
+        assertTrue(stage.submit(COMM, TOPIC, "b1"));
+        assertTrue(stage.submit(COMM, TOPIC, "a2"));
+        assertTrue(stage.submit(COMM, TOPIC, "b2"));
+
+        // the "b" events are not held up by the slow "a" event
+        assertEquals("b1=B1", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals("b2=B2", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+
+        // the "a" events keep their order
+        releasePermit.release(2);
+        assertEquals("a1=A1", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals("a2=A2", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testDecodeFailure() throws InterruptedException {
+        stage = makeStage(true, false);
+        stage.start();
+
+        // released without a fact
+        assertTrue(stage.submit(COMM, TOPIC, "!b1"));
+        assertEquals("!b1=null", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testLaneFull() throws InterruptedException {
+        stage = makeStage(false, true, 1);
+        stage.start();
+
+        // the lane is busy with the first event, and has room for one more
+        assertTrue(stage.submit(COMM, TOPIC, "a1"));
+        assertTrue(stage.submit(COMM, TOPIC, "b1"));
+
+        // the worker waits for room in the lane, instead of queuing without bound
+        assertTrue(stage.submit(COMM, TOPIC, "b2"));
+        assertNull(released.poll(200, TimeUnit.MILLISECONDS));
+
+        releasePermit.release();
+        assertEquals("a1=A1", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals("b1=B1", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals("b2=B2", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(0, stage.getRejected());
+    }
+
+    @Test
+    void testStop() throws InterruptedException {
+        stage = makeStage(false, false);
+        stage.start();
+        assertTrue(stage.submit(COMM, TOPIC, "b1"));
+
+        // submitted events are released before stopping
+        stage.stop();
+        assertFalse(stage.isAlive());
+        assertEquals("b1=B1", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertFalse(stage.submit(COMM, TOPIC, "b2"));
+    }
+
+    @Test
+    void testStopWhileSubmitting() throws InterruptedException {
+        stage = makeStage(false, false);
+        stage.start();
+
+        // the workers stop while an event is being submitted
+        ((ExecutorService) ReflectionTestUtils.getField(stage, "decoders")).shutdown();
+        assertFalse(stage.submit(COMM, TOPIC, "b1"));
+        assertEquals(0, stage.getPending());
+
+        // the events submitted after a restart are not held back
+        stage.stop();
+        stage.start();
+        assertTrue(stage.submit(COMM, TOPIC, "b2"));
+        assertEquals("b2=B2", released.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertNull(released.poll());
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.system.internal;
+
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.common.message.bus.event.Topic.CommInfrastructure;
+import org.onap.policy.common.message.bus.event.TopicEndpoint;
+import org.onap.policy.common.message.bus.event.TopicSink;
+import org.onap.policy.drools.controller.DroolsController;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoder;
+import org.onap.policy.drools.system.PolicyController;
+import org.onap.policy.drools.system.PolicyControllerFactory;
+
+class DeliveryRoutesTest {
+    private static final String TOPIC = "my-topic";
+    private static final String TOPIC2 = "my-topic-b";
+    private static final String EVENT = "an event";
+    private static final Integer EVENT2 = 100;
+
+    private EventProtocolCoder coderManager;
+    private PolicyControllerFactory controllerFactory;
+    private TopicEndpoint topicEndpoint;
+    private DroolsController drools;
+    private DroolsController drools2;
+    private PolicyController controller;
+    private PolicyController controller2;
+    private TopicSink sink;
+    private DeliveryRoutes routes;
+
+    /**
+     * Initializes the mocks: strings are delivered through the first controller, and
+     * integers through the second.
+     */
+    @BeforeEach
+    void setUp() {
+        coderManager = mock(EventProtocolCoder.class);
+        controllerFactory = mock(PolicyControllerFactory.class);
+        topicEndpoint = mock(TopicEndpoint.class);
+        drools = mock(DroolsController.class);
+        drools2 = mock(DroolsController.class);
+        controller = mock(PolicyController.class);
+        controller2 = mock(PolicyController.class);
+
+        when(coderManager.getDroolsController(TOPIC, EVENT)).thenReturn(drools);
+        when(coderManager.getDroolsController(TOPIC, EVENT2)).thenReturn(drools2);
+        when(controllerFactory.get(drools)).thenReturn(controller);
+        when(controllerFactory.get(drools2)).thenReturn(controller2);
+
+        sink = mock(TopicSink.class);
+        when(sink.getTopicCommInfrastructure()).thenReturn(CommInfrastructure.NOOP);
+        when(topicEndpoint.getTopicSinks(TOPIC)).thenReturn(List.of(sink));
+
+        routes = new DeliveryRoutes(() -> coderManager, () -> controllerFactory, () -> topicEndpoint);
+    }
+
+    @Test
+    void testGetController() {
+        assertSame(controller, routes.getController(TOPIC, EVENT));
+        assertSame(controller2, routes.getController(TOPIC, EVENT2));
+
+        // found once per topic and class
+        assertSame(controller, routes.getController(TOPIC, new String(EVENT)));
+        verify(coderManager).getDroolsController(TOPIC, EVENT);
+        verify(coderManager).getDroolsController(TOPIC, EVENT2);
+
+        // another topic
+        assertNull(routes.getController(TOPIC2, EVENT));
+        assertNull(routes.getController(TOPIC2, EVENT));
+        verify(coderManager).getDroolsController(TOPIC2, EVENT);
+
+        assertTrue(routes.toString().startsWith("DeliveryRoutes ["));
+    }
+
+    @Test
+    void testGetController_Exception() {
+        when(coderManager.getDroolsController(TOPIC, EVENT)).thenThrow(new IllegalArgumentException("expected"));
+
+        assertNull(routes.getController(TOPIC, EVENT));
+        assertNull(routes.getController(TOPIC, EVENT));
+        verify(coderManager).getDroolsController(TOPIC, EVENT);
+    }
+
+    @Test
+    void testGetController_EncodersChanged() {
+        assertSame(controller, routes.getController(TOPIC, EVENT));
+
+        when(coderManager.getEncoderChanges()).thenReturn(1L);
+        when(coderManager.getDroolsController(TOPIC, EVENT)).thenReturn(drools2);
+
+        assertSame(controller2, routes.getController(TOPIC, EVENT));
+        assertSame(controller2, routes.getController(TOPIC, EVENT));
+        verify(coderManager, times(2)).getDroolsController(TOPIC, EVENT);
+    }
+
+    @Test
+    void testGetController_ControllersChanged() {
+        assertSame(controller, routes.getController(TOPIC, EVENT));
+
+        when(controllerFactory.getInventoryChanges()).thenReturn(1L);
+        when(controllerFactory.get(drools)).thenReturn(null);
+
+        assertNull(routes.getController(TOPIC, EVENT));
+        verify(controllerFactory, times(2)).get(drools);
+    }
+
+    @Test
+    void testGetController_ChangesNotTracked() {
+        when(coderManager.getEncoderChanges()).thenCallRealMethod();
+
+        assertSame(controller, routes.getController(TOPIC, EVENT));
+        assertSame(controller, routes.getController(TOPIC, EVENT));
+        verify(coderManager, times(2)).getDroolsController(TOPIC, EVENT);
+
+        when(coderManager.getEncoderChanges()).thenReturn(1L);
+        when(controllerFactory.getInventoryChanges()).thenCallRealMethod();
+
+        assertSame(controller, routes.getController(TOPIC, EVENT));
+        verify(coderManager, times(3)).getDroolsController(TOPIC, EVENT);
+    }
+
+    @Test
+    void testGetBusType() {
+        assertEquals(CommInfrastructure.NOOP, routes.getBusType(TOPIC));
+        assertEquals(CommInfrastructure.NOOP, routes.getBusType(TOPIC));
+        verify(topicEndpoint).getTopicSinks(TOPIC);
+
+        // discarded when the controllers change
+        when(controllerFactory.getInventoryChanges()).thenReturn(1L);
+        assertEquals(CommInfrastructure.NOOP, routes.getBusType(TOPIC));
+        verify(topicEndpoint, times(2)).getTopicSinks(TOPIC);
+
+        // discarded when cleared
+        routes.clear();
+        assertEquals(CommInfrastructure.NOOP, routes.getBusType(TOPIC));
+        verify(topicEndpoint, times(3)).getTopicSinks(TOPIC);
+    }
+
+    @Test
+    void testGetBusType_NotSingleSink() {
+        // not cached
+        assertThatIllegalStateException().isThrownBy(() -> routes.getBusType(TOPIC2));
+        assertThatIllegalStateException().isThrownBy(() -> routes.getBusType(TOPIC2));
+        verify(topicEndpoint, times(2)).getTopicSinks(TOPIC2);
+
+        when(topicEndpoint.getTopicSinks(TOPIC2)).thenReturn(List.of(sink, sink));
+        assertThatIllegalStateException().isThrownBy(() -> routes.getBusType(TOPIC2))
+            .withMessageContaining(TOPIC2);
+
+        when(topicEndpoint.getTopicSinks(TOPIC2)).thenReturn(List.of(sink));
+        assertEquals(CommInfrastructure.NOOP, routes.getBusType(TOPIC2));
+    }
+}
@@ -203,11 +203,10 @@ class FeatureLockImplTest {
 
         verify(exsvc, never()).execute(any());
 
-        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
-        verify(session).insertDrools(captor.capture());
+        ArgumentCaptor<DroolsRunnable> captor = ArgumentCaptor.forClass(DroolsRunnable.class);
+        verify(session).executeDrools(captor.capture());
 
-        DroolsRunnable runner = (DroolsRunnable) captor.getValue();
-        runner.run();
+        captor.getValue().run();
 
         verify(callback).lockAvailable(any());
         verify(callback, never()).lockUnavailable(any());
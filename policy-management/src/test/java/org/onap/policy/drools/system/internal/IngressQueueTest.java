@@ -0,0 +1,191 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.system.internal;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.common.message.bus.event.Topic.CommInfrastructure;
+import org.onap.policy.drools.system.internal.IngressQueue.OverflowPolicy;
+
+class IngressQueueTest {
+    private static final String NAME = "my-controller";
+    private static final String TOPIC = "my-topic";
+    private static final CommInfrastructure COMM = CommInfrastructure.NOOP;
+    private static final long WAIT_MS = 5000;
+
+    private BlockingQueue<String> handled;
+    private Semaphore started;
+    private Semaphore proceed;
+    private IngressQueue ingress;
+
+    /**
+     * Initializes the handler, which blocks until told to proceed.
+     */
+    @BeforeEach
+    void setUp() {
+        handled = new LinkedBlockingQueue<>();
+        started = new Semaphore(0);
+        proceed = new Semaphore(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (ingress != null) {
+            proceed.release(100);
+            ingress.stop();
+        }
+    }
+
+    private IngressQueue makeQueue(int capacity, OverflowPolicy policy) {
+        return new IngressQueue(NAME, capacity, policy, (commType, topic, event) -> {
+            started.release();
+            try {
+                proceed.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.add(event);
+        });
+    }
+
+    /**
+     * Starts the queue, and keeps its thread busy with a first event.
+     */
+    private void startBusy(int capacity, OverflowPolicy policy) throws InterruptedException {
+        ingress = makeQueue(capacity, policy);
+        ingress.start();
+        assertTrue(ingress.isAlive());
+
+        assertTrue(ingress.enqueue(COMM, TOPIC, "first"));
+        assertTrue(started.tryAcquire(WAIT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testOverflowPolicyFromString() {
+        assertEquals(OverflowPolicy.BLOCK, OverflowPolicy.fromString("block"));
+        assertEquals(OverflowPolicy.DROP_OLDEST, OverflowPolicy.fromString(" drop-oldest "));
+        assertEquals(OverflowPolicy.DROP_NEWEST, OverflowPolicy.fromString("DROP_NEWEST"));
+        assertEquals(OverflowPolicy.PAUSE, OverflowPolicy.fromString("Pause"));
+        assertNull(OverflowPolicy.fromString("unknown"));
+        assertNull(OverflowPolicy.fromString(null));
+    }
+
+    @Test
+    void testNotRunning() {
+        ingress = makeQueue(0, null);
+        assertEquals(1, ingress.getCapacity());
+        assertEquals(OverflowPolicy.BLOCK, ingress.getPolicy());
+
+        assertFalse(ingress.enqueue(COMM, TOPIC, "an event"));
+        assertEquals(0, ingress.getDepth());
+    }
+
+    @Test
+    void testDropNewest() throws InterruptedException {
+        startBusy(1, OverflowPolicy.DROP_NEWEST);
+
+        assertTrue(ingress.enqueue(COMM, TOPIC, "second"));
+        assertFalse(ingress.enqueue(COMM, TOPIC, "third"));
+        assertEquals(1, ingress.getDropped());
+        assertEquals(1, ingress.getMaxDepth());
+
+        proceed.release(2);
+        assertEquals("first", handled.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals("second", handled.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(ingress.getAverageWaitMicros() > 0);
+    }
+
+    @Test
+    void testDropOldest() throws InterruptedException {
+        startBusy(1, OverflowPolicy.DROP_OLDEST);
+
+        assertTrue(ingress.enqueue(COMM, TOPIC, "second"));
+        assertTrue(ingress.enqueue(COMM, TOPIC, "third"));
+        assertEquals(1, ingress.getDropped());
+
+        proceed.release(2);
+        assertEquals("first", handled.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertEquals("third", handled.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testPause() throws Exception {
+        startBusy(4, OverflowPolicy.PAUSE);
+        for (var event : List.of("second", "third", "fourth", "fifth")) {
+            assertTrue(ingress.enqueue(COMM, TOPIC, event));
+        }
+
+        // full: the topic source is held back until the queue is half empty
+        var held = CompletableFuture.supplyAsync(() -> ingress.enqueue(COMM, TOPIC, "sixth"));
+        await().atMost(WAIT_MS, TimeUnit.MILLISECONDS).until(ingress::isPaused);
+        assertEquals(1, ingress.getPauses());
+
+        // the queue has room, but it has not drained yet
+        proceed.release();
+        assertEquals("first", handled.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(started.tryAcquire(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertFalse(held.isDone());
+        assertTrue(ingress.isPaused());
+
+        proceed.release();
+        assertEquals("second", handled.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(held.get(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertFalse(ingress.isPaused());
+
+        proceed.release(4);
+        for (var event : List.of("third", "fourth", "fifth", "sixth")) {
+            assertEquals(event, handled.poll(WAIT_MS, TimeUnit.MILLISECONDS));
+        }
+        assertEquals(1, ingress.getPauses());
+        assertEquals(0, ingress.getDropped());
+    }
+
+    @Test
+    void testStop() throws InterruptedException {
+        startBusy(2, OverflowPolicy.BLOCK);
+        assertTrue(ingress.enqueue(COMM, TOPIC, "second"));
+        assertTrue(ingress.enqueue(COMM, TOPIC, "third"));
+        assertEquals(2, ingress.getDepth());
+
+        proceed.release(3);
+        ingress.stop();
+
+        // queued events are handled before stopping
+        assertFalse(ingress.isAlive());
+        assertEquals(0, ingress.getDepth());
+        assertEquals(List.of("first", "second", "third"), List.copyOf(handled));
+        assertEquals(0, ingress.getDropped());
+        assertFalse(ingress.enqueue(COMM, TOPIC, "fourth"));
+    }
+}
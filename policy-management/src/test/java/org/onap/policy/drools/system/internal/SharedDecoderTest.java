@@ -0,0 +1,169 @@
+/*
+ * ============LICENSE_START=======================================================
+ * ONAP
+ * ================================================================================
+ * Copyright (C) 2026 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.drools.system.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.drools.controller.DroolsController;
+import org.onap.policy.drools.protocol.coders.EventProtocolCoder;
+import org.onap.policy.drools.protocol.coders.ProtocolCoderToolset;
+
+class SharedDecoderTest {
+    private static final String GROUP = "my-group";
+    private static final String TOPIC = "my-topic";
+    private static final Set<String> SHARED = Set.of(StringBuilder.class.getName());
+
+    private EventProtocolCoder coderManager;
+    private ProtocolCoderToolset toolset1;
+    private ProtocolCoderToolset toolset2;
+    private ProtocolCoderToolset toolset3;
+    private DroolsController drools1;
+    private DroolsController drools2;
+    private DroolsController drools3;
+    private SharedDecoder decoder;
+
+    /**
+     * Initializes the controllers: the first two decode events alike, the third does not.
+     */
+    @BeforeEach
+    void setUp() {
+        coderManager = mock(EventProtocolCoder.class);
+
+        toolset1 = mock(ProtocolCoderToolset.class);
+        toolset2 = mock(ProtocolCoderToolset.class);
+        toolset3 = mock(ProtocolCoderToolset.class);
+        when(toolset1.decodesLike(toolset2)).thenReturn(true);
+        when(toolset2.decodesLike(toolset1)).thenReturn(true);
+
+        drools1 = makeDrools("artifact1", toolset1);
+        drools2 = makeDrools("artifact2", toolset2);
+        drools3 = makeDrools("artifact3", toolset3);
+
+        decoder = new SharedDecoder(coderManager);
+    }
+
+    private DroolsController makeDrools(String artifactId, ProtocolCoderToolset toolset) {
+        var drools = mock(DroolsController.class);
+        when(drools.getGroupId()).thenReturn(GROUP);
+        when(drools.getArtifactId()).thenReturn(artifactId);
+        when(drools.decode(any(), any())).thenAnswer(args -> new StringBuilder(args.getArgument(1, String.class)));
+
+        when(coderManager.isDecodingSupported(GROUP, artifactId, TOPIC)).thenReturn(true);
+        when(coderManager.getDecoders(GROUP, artifactId, TOPIC)).thenReturn(toolset);
+
+        return drools;
+    }
+
+    @Test
+    void testDecodeShared() {
+        var event = new String("an event");
+        Object fact = decoder.decode(drools1, TOPIC, event, SHARED);
+        assertNotNull(fact);
+
+        // decoded alike
+        assertSame(fact, decoder.decode(drools2, TOPIC, event, SHARED));
+        verify(drools2, never()).decode(any(), any());
+        assertEquals(1, decoder.getReused());
+
+        // counted as decoded by the controller reusing it
+        verify(toolset2).recordShared(anyLong());
+        verify(toolset1, never()).recordShared(anyLong());
+
+        // decoded differently
+        assertNotSame(fact, decoder.decode(drools3, TOPIC, event, SHARED));
+        verify(drools3).decode(TOPIC, event);
+    }
+
+    @Test
+    void testDecodeNotSame() {
+        // an equal event, but not the same one
+        Object fact = decoder.decode(drools1, TOPIC, new String("an event"), SHARED);
+        assertNotSame(fact, decoder.decode(drools2, TOPIC, new String("an event"), SHARED));
+
+        // offered again to the same controller
+        var event = new String("another event");
+        fact = decoder.decode(drools1, TOPIC, event, SHARED);
+        assertNotSame(fact, decoder.decode(drools1, TOPIC, event, SHARED));
+
+        assertEquals(0, decoder.getReused());
+    }
+
+    @Test
+    void testDecodeNotImmutable() {
+        // decoded into a class that is not declared immutable by the first controller
+        var event = new String("an event");
+        Object fact = decoder.decode(drools1, TOPIC, event, Set.of());
+        assertNotSame(fact, decoder.decode(drools2, TOPIC, event, SHARED));
+        verify(drools2).decode(TOPIC, event);
+
+        // nor by the second one
+        event = new String("another event");
+        fact = decoder.decode(drools1, TOPIC, event, SHARED);
+        assertNotSame(fact, decoder.decode(drools2, TOPIC, event, Set.of()));
+        verify(drools2).decode(TOPIC, event);
+
+        assertEquals(0, decoder.getReused());
+    }
+
+    @Test
+    void testDecodeNotDecoded() {
+        var event = new String("an event");
+        when(drools1.decode(TOPIC, event)).thenReturn(null);
+        assertNull(decoder.decode(drools1, TOPIC, event, SHARED));
+
+        // nothing to share
+        assertNotNull(decoder.decode(drools2, TOPIC, event, SHARED));
+        verify(drools2).decode(TOPIC, event);
+    }
+
+    @Test
+    void testDecodeUnsupported() {
+        var event = new String("an event");
+        when(coderManager.isDecodingSupported(GROUP, "artifact1", TOPIC)).thenReturn(false);
+        decoder.decode(drools1, TOPIC, event, SHARED);
+
+        when(coderManager.getDecoders(GROUP, "artifact2", TOPIC)).thenThrow(new IllegalArgumentException("expected"));
+        decoder.decode(drools2, TOPIC, event, SHARED);
+
+        verify(drools1).decode(TOPIC, event);
+        verify(drools2, times(1)).decode(TOPIC, event);
+        assertEquals(0, decoder.getReused());
+    }
+
+    @Test
+    void testGetInstance() {
+        assertNotNull(SharedDecoder.getInstance());
+    }
+}